@@ -1,17 +1,29 @@
 package org.example;
 
+import org.example.command.CommandServer;
 import org.example.config.ElevatorsConfig;
 import org.example.console.ConsoleApplication;
+import org.example.monitor.SharedStateMirror;
+import org.example.parking.DemandModel;
+import org.example.parking.IdleElevatorParking;
 import org.example.repository.ElevatorRepository;
 import org.example.repository.ElevatorRepositoryFromFile;
+import org.example.repository.IndexedElevatorRepository;
 import org.example.service.ElevatorService;
 import org.example.service.ElevatorServiceImpl;
+import org.example.statistics.RollingStatistics;
 import org.example.system.ElevatorSystem;
 import org.example.system.ElevatorSystemImpl;
+import org.example.telemetry.TelemetryWriter;
+import org.example.trace.TraceWriter;
+
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
 
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
 //        int numberOfElevators = 5;
 //        int minFloorValue = -2;
 //        int maxFloorValue = 10;
@@ -23,16 +35,71 @@ public class Main {
         // Repository
 //        ElevatorRepository elevatorRepositoryDefaultElevators = new ElevatorRepositoryDefaultElevators(predefinedConfig);
         ElevatorRepository elevatorRepositoryFromFile = new ElevatorRepositoryFromFile(configFromFile);
+        ElevatorRepository indexedElevatorRepository = new IndexedElevatorRepository(elevatorRepositoryFromFile);
 
         // Service
-        ElevatorService elevatorService = new ElevatorServiceImpl(elevatorRepositoryFromFile, configFromFile);
+        ElevatorService elevatorService = new ElevatorServiceImpl(indexedElevatorRepository, configFromFile);
 
         // System
-        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService,
+                configFromFile.getDispatchMode(), configFromFile.getElevatorCapacity(),
+                configFromFile.getMaxPendingCalls(), configFromFile.getOverloadPolicy());
+
+        // Monitoring
+        if (configFromFile.getSharedStateFile() != null) {
+            SharedStateMirror sharedStateMirror = new SharedStateMirror(Path.of(configFromFile.getSharedStateFile()), configFromFile);
+            sharedStateMirror.write(elevatorSystem.getStepNumber(), elevatorService.getElevators());
+            elevatorSystem.addListener(sharedStateMirror);
+        }
+
+        // Telemetry
+        TelemetryWriter telemetryWriter = null;
+        if (configFromFile.getTelemetryFile() != null) {
+            telemetryWriter = new TelemetryWriter(Path.of(configFromFile.getTelemetryFile()));
+            elevatorSystem.addListener(telemetryWriter);
+        }
+
+        // Trace
+        TraceWriter traceWriter = null;
+        if (configFromFile.getTraceFile() != null) {
+            traceWriter = new TraceWriter(Path.of(configFromFile.getTraceFile()));
+            traceWriter.write(elevatorSystem.getStepNumber(), elevatorService.getElevators());
+            elevatorSystem.addListener(traceWriter);
+        }
+
+        // Parking of idle elevators
+        if (configFromFile.getParkingBudget() > 0) {
+            DemandModel demandModel = new DemandModel(configFromFile.getMinFloorValue(), configFromFile.getMaxFloorValue(),
+                    configFromFile.getDemandWindowSteps(), configFromFile.getDemandWindows());
+            elevatorSystem.addListener(new IdleElevatorParking(elevatorSystem, demandModel,
+                    configFromFile.getParkingBudget(), configFromFile.getParkingIntervalSteps()));
+        }
+
+        // Statistics
+        RollingStatistics rollingStatistics = new RollingStatistics(configFromFile.getMinFloorValue(), configFromFile.getMaxFloorValue(),
+                Math.max(1, configFromFile.getNumberOfElevators()), configFromFile.getStepsPerMinute());
+        elevatorSystem.addListener(rollingStatistics);
+
+        if (configFromFile.getCommandSocket() != null) {
+            // Binary command server
+            try (CommandServer commandServer = new CommandServer(elevatorSystem, elevatorService,
+                    UnixDomainSocketAddress.of(configFromFile.getCommandSocket()))) {
+                commandServer.start();
+                System.out.printf("Serving commands on %s, press Enter to stop%n", configFromFile.getCommandSocket());
+                System.in.read();
+            }
+        } else {
+            // Console app
+            ConsoleApplication consoleApplication = new ConsoleApplication(elevatorSystem, rollingStatistics);
 
-        // Console app
-        ConsoleApplication consoleApplication = new ConsoleApplication(elevatorSystem);
+            consoleApplication.runApplication();
+        }
 
-        consoleApplication.runApplication();
+        if (telemetryWriter != null) {
+            telemetryWriter.close();
+        }
+        if (traceWriter != null) {
+            traceWriter.close();
+        }
     }
 }
\ No newline at end of file
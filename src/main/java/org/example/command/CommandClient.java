@@ -0,0 +1,134 @@
+package org.example.command;
+
+import org.example.model.Direction;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * The `CommandClient` class sends binary commands to `CommandServer`. Commands are buffered and sent without
+ * waiting for responses, `readResponse` flushes them and reads responses in the order of commands.
+ * Responses should be read at least every few thousand commands, see `CommandProtocol`.
+ */
+public class CommandClient implements AutoCloseable {
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer requests = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer responses = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long pendingResponses;
+
+    public CommandClient(SocketAddress address) throws IOException {
+        this.channel = address instanceof UnixDomainSocketAddress
+                ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                : SocketChannel.open();
+        this.channel.connect(address);
+        this.responses.flip();
+    }
+
+    /**
+     * @return The number of sent commands whose responses have not been read yet.
+     */
+    public long getPendingResponses() {
+        return pendingResponses;
+    }
+
+    public void call(int pickupFloor, Direction direction) throws IOException {
+        call(pickupFloor, direction, CommandProtocol.NO_FLOOR);
+    }
+
+    public void call(int pickupFloor, Direction direction, int targetFloor) throws IOException {
+        writeRequest(CommandProtocol.CALL, (byte) 0, 0, pickupFloor, direction.mapDirectionToValue(), targetFloor);
+    }
+
+    public void select(int elevatorId, int floor) throws IOException {
+        writeRequest(CommandProtocol.SELECT, (byte) 0, 0, elevatorId, floor, 0);
+    }
+
+    /**
+     * @param currentFloor The updated current floor, if you do not want to update then pass null.
+     * @param targetFloors The target floors, if you do not want to update then pass null.
+     */
+    public void update(int elevatorId, Integer currentFloor, int[] targetFloors) throws IOException {
+        final int count = targetFloors == null ? 0 : targetFloors.length;
+        if (count > CommandProtocol.MAX_UPDATE_TARGETS) {
+            throw new IllegalArgumentException("Update can have at most %d target floors (targetFloors = %d)"
+                    .formatted(CommandProtocol.MAX_UPDATE_TARGETS, count));
+        }
+        writeRequest(CommandProtocol.UPDATE, targetFloors == null ? 0 : CommandProtocol.UPDATE_TARGETS, count,
+                elevatorId, currentFloor == null ? CommandProtocol.NO_FLOOR : currentFloor, 0);
+        for (int i = 0; i < count; i++) {
+            ensureRequestSpace(Integer.BYTES);
+            this.requests.putInt(targetFloors[i]);
+        }
+    }
+
+    public void step(int steps) throws IOException {
+        writeRequest(CommandProtocol.STEP, (byte) 0, 0, steps, 0, 0);
+    }
+
+    /**
+     * The `flush` method sends all buffered commands.
+     */
+    public void flush() throws IOException {
+        this.requests.flip();
+        while (this.requests.hasRemaining()) {
+            this.channel.write(this.requests);
+        }
+        this.requests.clear();
+    }
+
+    /**
+     * The `readResponse` method flushes buffered commands and blocks until the response of the oldest command without
+     * a read response arrives.
+     */
+    public CommandResponse readResponse() throws IOException {
+        if (this.pendingResponses == 0) {
+            throw new IllegalStateException("No command is waiting for a response");
+        }
+        if (this.requests.position() > 0) {
+            flush();
+        }
+        while (this.responses.remaining() < CommandProtocol.RESPONSE_SIZE) {
+            this.responses.compact();
+            final int read = this.channel.read(this.responses);
+            this.responses.flip();
+            if (read < 0) {
+                throw new EOFException("Command server closed the connection");
+            }
+        }
+        final byte opcode = this.responses.get();
+        final byte status = this.responses.get();
+        this.responses.getShort();
+        final long value = this.responses.getLong();
+        this.pendingResponses--;
+        return new CommandResponse(opcode, status, value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void writeRequest(byte opcode, byte flags, int count, int a, int b, int c) throws IOException {
+        ensureRequestSpace(CommandProtocol.REQUEST_SIZE);
+        this.requests.put(opcode);
+        this.requests.put(flags);
+        this.requests.putShort((short) count);
+        this.requests.putInt(a);
+        this.requests.putInt(b);
+        this.requests.putInt(c);
+        this.pendingResponses++;
+    }
+
+    private void ensureRequestSpace(int bytes) throws IOException {
+        if (this.requests.remaining() < bytes) {
+            flush();
+        }
+    }
+}
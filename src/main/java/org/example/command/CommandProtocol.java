@@ -0,0 +1,51 @@
+package org.example.command;
+
+/**
+ * The `CommandProtocol` class describes the binary command protocol served by `CommandServer`.
+ * All numbers are big-endian. Every request starts with a fixed 16 bytes header:
+ * <pre>
+ * byte  opcode
+ * byte  flags
+ * short count    number of int values following the header (only UPDATE)
+ * int   a
+ * int   b
+ * int   c
+ * </pre>
+ * <pre>
+ * CALL:   a = pickup floor, b = direction value, c = target floor or NO_FLOOR   -> value = id of the called elevator
+ * SELECT: a = elevator id, b = floor                                            -> value = elevator id
+ * UPDATE: a = elevator id, b = current floor or NO_FLOOR, flags UPDATE_TARGETS,
+ *         count target floors follow the header                                 -> value = elevator id
+ * STEP:   a = number of steps, from 1 to MAX_STEPS                              -> value = step number after the steps
+ * </pre>
+ * Every request gets one 12 bytes response, in the order of requests:
+ * <pre>
+ * byte  opcode   opcode of the request
+ * byte  status   OK, REJECTED (the system did not accept the command) or INVALID (malformed request)
+ * short unused
+ * long  value
+ * </pre>
+ * Clients do not have to wait for responses before sending next requests, but they have to read responses
+ * while sending, otherwise the server stops reading when its response buffer is full.
+ */
+public final class CommandProtocol {
+    public static final int REQUEST_SIZE = 16;
+    public static final int RESPONSE_SIZE = 12;
+    public static final int MAX_UPDATE_TARGETS = 1024;
+    public static final int MAX_STEPS = 10_000;
+    public static final int NO_FLOOR = Integer.MIN_VALUE;
+
+    public static final byte CALL = 1;
+    public static final byte SELECT = 2;
+    public static final byte UPDATE = 3;
+    public static final byte STEP = 4;
+
+    public static final byte UPDATE_TARGETS = 1;
+
+    public static final byte OK = 0;
+    public static final byte REJECTED = 1;
+    public static final byte INVALID = 2;
+
+    private CommandProtocol() {
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.command;
+
+/**
+ * The `CommandResponse` class is a response of `CommandServer` read by `CommandClient`, see `CommandProtocol`.
+ */
+public class CommandResponse {
+    private final byte opcode;
+    private final byte status;
+    private final long value;
+
+    public CommandResponse(byte opcode, byte status, long value) {
+        this.opcode = opcode;
+        this.status = status;
+        this.value = value;
+    }
+
+    public byte getOpcode() {
+        return opcode;
+    }
+
+    public byte getStatus() {
+        return status;
+    }
+
+    public boolean isOk() {
+        return status == CommandProtocol.OK;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandResponse{opcode=%d, status=%d, value=%d}".formatted(opcode, status, value);
+    }
+}
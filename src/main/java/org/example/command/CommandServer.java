@@ -0,0 +1,304 @@
+package org.example.command;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ElevatorService;
+import org.example.system.ElevatorSystem;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.logging.Logger;
+
+/**
+ * The `CommandServer` class executes binary commands (see `CommandProtocol`) of many clients on its own thread.
+ * Requests are read in large chunks, every complete request in the chunk is executed and responses of the whole
+ * chunk are written at once, so pipelining clients pay for one read and one write per many commands.
+ * When a client does not read responses, the server stops reading its requests until the responses are written.
+ * While the server runs, the system must not be changed from other threads.
+ */
+public class CommandServer implements AutoCloseable {
+    private final static Logger LOG = Logger.getLogger(CommandServer.class.getName());
+    private final static int READ_BUFFER_SIZE = 64 * 1024;
+    private final static int WRITE_BUFFER_SIZE = READ_BUFFER_SIZE / CommandProtocol.REQUEST_SIZE * CommandProtocol.RESPONSE_SIZE;
+
+    private final ElevatorSystem elevatorSystem;
+    private final ElevatorService elevatorService;
+    private final ServerSocketChannel serverChannel;
+    private final SocketAddress localAddress;
+    private final Selector selector;
+    private volatile boolean isRunning;
+    private Thread thread;
+    private long executedCommands;
+    private long writes;
+
+    /**
+     * @param bindAddress Unix-domain socket address (the socket file must not exist) or TCP address.
+     */
+    public CommandServer(ElevatorSystem elevatorSystem, ElevatorService elevatorService, SocketAddress bindAddress) throws IOException {
+        this.elevatorSystem = elevatorSystem;
+        this.elevatorService = elevatorService;
+        this.serverChannel = bindAddress instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        this.serverChannel.bind(bindAddress);
+        this.serverChannel.configureBlocking(false);
+        this.localAddress = this.serverChannel.getLocalAddress();
+        this.selector = Selector.open();
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public SocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    public synchronized void start() {
+        if (this.isRunning) {
+            return;
+        }
+        this.isRunning = true;
+        this.thread = new Thread(this::run, "command-server");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public synchronized void stop() {
+        this.isRunning = false;
+        if (this.thread != null) {
+            this.selector.wakeup();
+            try {
+                this.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.thread = null;
+        }
+    }
+
+    /**
+     * Must be read only after `stop`.
+     */
+    public long getExecutedCommands() {
+        return executedCommands;
+    }
+
+    /**
+     * Must be read only after `stop`. The number of socket writes of responses, compare with `getExecutedCommands`
+     * to see how well responses are batched.
+     */
+    public long getWrites() {
+        return writes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stop();
+        for (SelectionKey key : this.selector.keys()) {
+            key.channel().close();
+        }
+        this.selector.close();
+        if (this.localAddress instanceof UnixDomainSocketAddress unixAddress) {
+            Files.deleteIfExists(unixAddress.getPath());
+        }
+    }
+
+    private void run() {
+        try {
+            while (this.isRunning) {
+                this.selector.select();
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            LOG.severe("Command server stopped: %s".formatted(e.getMessage()));
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            SocketChannel channel = this.serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                channel.register(this.selector, SelectionKey.OP_READ, new Connection());
+            }
+            return;
+        }
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isWritable() && !flush(channel, connection)) {
+                return;
+            }
+            if (key.isReadable() && channel.read(connection.requests) < 0) {
+                channel.close();
+                return;
+            }
+            do {
+                connection.requests.flip();
+                final boolean isValid = execute(connection);
+                connection.requests.compact();
+                if (!isValid) {
+                    flush(channel, connection);
+                    channel.close();
+                    return;
+                }
+            } while (flush(channel, connection) && hasCompleteRequest(connection.requests));
+            key.interestOps(connection.responses.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        } catch (IOException e) {
+            LOG.warning("Command client disconnected: %s".formatted(e.getMessage()));
+            channel.close();
+        }
+    }
+
+    /**
+     * @return True when all responses have been written.
+     */
+    private boolean flush(SocketChannel channel, Connection connection) throws IOException {
+        ByteBuffer responses = connection.responses;
+        if (responses.position() == 0) {
+            return true;
+        }
+        responses.flip();
+        channel.write(responses);
+        responses.compact();
+        this.writes++;
+        return responses.position() == 0;
+    }
+
+    private static boolean hasCompleteRequest(ByteBuffer requests) {
+        if (requests.position() < CommandProtocol.REQUEST_SIZE) {
+            return false;
+        }
+        return requests.get(0) != CommandProtocol.UPDATE
+                || requests.position() >= CommandProtocol.REQUEST_SIZE + Integer.BYTES * Short.toUnsignedInt(requests.getShort(2));
+    }
+
+    /**
+     * The `execute` method executes complete requests from the flipped request buffer while responses fit into the response buffer.
+     * @return False when a malformed request has been found and the connection should be closed.
+     */
+    private boolean execute(Connection connection) {
+        ByteBuffer requests = connection.requests;
+        ByteBuffer responses = connection.responses;
+        while (requests.remaining() >= CommandProtocol.REQUEST_SIZE && responses.remaining() >= CommandProtocol.RESPONSE_SIZE) {
+            final int start = requests.position();
+            final byte opcode = requests.get(start);
+            final byte flags = requests.get(start + 1);
+            final int count = Short.toUnsignedInt(requests.getShort(start + 2));
+            final int a = requests.getInt(start + 4);
+            final int b = requests.getInt(start + 8);
+            final int c = requests.getInt(start + 12);
+
+            if (opcode == CommandProtocol.UPDATE) {
+                if (count > CommandProtocol.MAX_UPDATE_TARGETS) {
+                    LOG.warning("Update with %d target floors exceeds the limit of %d".formatted(count, CommandProtocol.MAX_UPDATE_TARGETS));
+                    writeResponse(responses, opcode, CommandProtocol.INVALID, count);
+                    return false;
+                }
+                if (requests.remaining() < CommandProtocol.REQUEST_SIZE + Integer.BYTES * count) {
+                    return true;
+                }
+                requests.position(start + CommandProtocol.REQUEST_SIZE);
+                int[] targetFloors = null;
+                if ((flags & CommandProtocol.UPDATE_TARGETS) != 0) {
+                    targetFloors = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        targetFloors[i] = requests.getInt();
+                    }
+                } else {
+                    requests.position(requests.position() + Integer.BYTES * count);
+                }
+                final boolean isUpdated = this.elevatorSystem.updateElevator(a, b == CommandProtocol.NO_FLOOR ? null : b, targetFloors);
+                writeResponse(responses, opcode, isUpdated ? CommandProtocol.OK : CommandProtocol.REJECTED, a);
+            } else {
+                requests.position(start + CommandProtocol.REQUEST_SIZE);
+                if (opcode == CommandProtocol.CALL) {
+                    executeCall(responses, a, b, c);
+                } else if (opcode == CommandProtocol.SELECT) {
+                    executeSelect(responses, a, b);
+                } else if (opcode == CommandProtocol.STEP) {
+                    executeStep(responses, a);
+                } else {
+                    writeResponse(responses, opcode, CommandProtocol.INVALID, 0);
+                }
+            }
+            this.executedCommands++;
+        }
+        return true;
+    }
+
+    private void executeCall(ByteBuffer responses, int pickupFloor, int directionValue, int targetFloor) {
+        if (directionValue != Direction.UP.mapDirectionToValue() && directionValue != Direction.DOWN.mapDirectionToValue()) {
+            writeResponse(responses, CommandProtocol.CALL, CommandProtocol.INVALID, directionValue);
+            return;
+        }
+        final Direction direction = Direction.fromValue(directionValue);
+        try {
+            Elevator elevator = targetFloor == CommandProtocol.NO_FLOOR
+                    ? this.elevatorSystem.pickup(pickupFloor, direction)
+                    : this.elevatorSystem.pickup(pickupFloor, direction, targetFloor);
+            if (elevator == null) {
+                writeResponse(responses, CommandProtocol.CALL, CommandProtocol.REJECTED, pickupFloor);
+            } else {
+                writeResponse(responses, CommandProtocol.CALL, CommandProtocol.OK, elevator.getId());
+            }
+        } catch (RuntimeException e) {
+            writeResponse(responses, CommandProtocol.CALL, CommandProtocol.REJECTED, pickupFloor);
+        }
+    }
+
+    private void executeSelect(ByteBuffer responses, int elevatorId, int floor) {
+        Elevator elevator = this.elevatorService.getElevator(elevatorId).orElse(null);
+        if (elevator == null) {
+            writeResponse(responses, CommandProtocol.SELECT, CommandProtocol.REJECTED, elevatorId);
+            return;
+        }
+        try {
+            this.elevatorSystem.selectFloor(elevator, floor);
+            writeResponse(responses, CommandProtocol.SELECT, CommandProtocol.OK, elevatorId);
+        } catch (RuntimeException e) {
+            writeResponse(responses, CommandProtocol.SELECT, CommandProtocol.REJECTED, elevatorId);
+        }
+    }
+
+    /**
+     * The steps are done with `advance`, so idle periods are skipped, and their number is limited to `MAX_STEPS`,
+     * so one request does not keep the selector thread from other clients for long.
+     */
+    private void executeStep(ByteBuffer responses, int steps) {
+        if (steps < 1 || steps > CommandProtocol.MAX_STEPS) {
+            writeResponse(responses, CommandProtocol.STEP, CommandProtocol.INVALID, steps);
+            return;
+        }
+        this.elevatorSystem.advance(steps);
+        writeResponse(responses, CommandProtocol.STEP, CommandProtocol.OK, this.elevatorSystem.getStepNumber());
+    }
+
+    private static void writeResponse(ByteBuffer responses, byte opcode, byte status, long value) {
+        responses.put(opcode);
+        responses.put(status);
+        responses.putShort((short) 0);
+        responses.putLong(value);
+    }
+
+    private static class Connection {
+        private final ByteBuffer requests = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        private final ByteBuffer responses = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    }
+}
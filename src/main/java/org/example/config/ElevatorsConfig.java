@@ -1,5 +1,8 @@
 package org.example.config;
 
+import org.example.model.DispatchMode;
+import org.example.model.OverloadPolicy;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
@@ -12,6 +15,19 @@ public class ElevatorsConfig {
     private int numberOfElevators;
     private int minFloorValue;
     private int maxFloorValue;
+    private String sharedStateFile;
+    private String telemetryFile;
+    private String traceFile;
+    private String commandSocket;
+    private int parkingBudget = 0;
+    private int parkingIntervalSteps = 10;
+    private int demandWindowSteps = 60;
+    private int demandWindows = 5;
+    private DispatchMode dispatchMode = DispatchMode.DIRECTION;
+    private int elevatorCapacity = 8;
+    private int maxPendingCalls = 0;
+    private OverloadPolicy overloadPolicy = OverloadPolicy.SHED;
+    private int stepsPerMinute = 60;
 
     public ElevatorsConfig() {
         readConfig(configFileName);
@@ -36,6 +52,28 @@ public class ElevatorsConfig {
             this.maxFloorValue = Integer.parseInt(properties.getProperty("maxFloorValue"));
             this.minFloorValue = Integer.parseInt(properties.getProperty("minFloorValue"));
             validateMinMaxValues(this.minFloorValue, this.maxFloorValue);
+
+            this.sharedStateFile = properties.getProperty("sharedStateFile");
+            this.telemetryFile = properties.getProperty("telemetryFile");
+            this.traceFile = properties.getProperty("traceFile");
+            this.commandSocket = properties.getProperty("commandSocket");
+
+            this.parkingBudget = Integer.parseInt(properties.getProperty("parkingBudget", String.valueOf(this.parkingBudget)));
+            this.parkingIntervalSteps = Integer.parseInt(properties.getProperty("parkingIntervalSteps", String.valueOf(this.parkingIntervalSteps)));
+            this.demandWindowSteps = Integer.parseInt(properties.getProperty("demandWindowSteps", String.valueOf(this.demandWindowSteps)));
+            this.demandWindows = Integer.parseInt(properties.getProperty("demandWindows", String.valueOf(this.demandWindows)));
+            validateParking(this.parkingBudget, this.parkingIntervalSteps, this.demandWindowSteps, this.demandWindows);
+
+            this.dispatchMode = DispatchMode.valueOf(properties.getProperty("dispatchMode", this.dispatchMode.name()));
+            this.elevatorCapacity = Integer.parseInt(properties.getProperty("elevatorCapacity", String.valueOf(this.elevatorCapacity)));
+            validateElevatorCapacity(this.elevatorCapacity);
+
+            this.maxPendingCalls = Integer.parseInt(properties.getProperty("maxPendingCalls", String.valueOf(this.maxPendingCalls)));
+            validateMaxPendingCalls(this.maxPendingCalls);
+            this.overloadPolicy = OverloadPolicy.valueOf(properties.getProperty("overloadPolicy", this.overloadPolicy.name()));
+
+            this.stepsPerMinute = Integer.parseInt(properties.getProperty("stepsPerMinute", String.valueOf(this.stepsPerMinute)));
+            validateStepsPerMinute(this.stepsPerMinute);
         } catch (IOException e) {
             String errorMsg = "Error while reading config file";
             LOG.severe(errorMsg);
@@ -55,6 +93,180 @@ public class ElevatorsConfig {
         return minFloorValue;
     }
 
+    /**
+     * @return Path of file where state of elevators is mirrored for monitoring tools, or null when mirroring is disabled.
+     */
+    public String getSharedStateFile() {
+        return sharedStateFile;
+    }
+
+    public void setSharedStateFile(String sharedStateFile) {
+        this.sharedStateFile = sharedStateFile;
+    }
+
+    /**
+     * @return Path of file where state of elevators after every step is written for offline analysis,
+     * or null when telemetry is disabled.
+     */
+    public String getTelemetryFile() {
+        return telemetryFile;
+    }
+
+    public void setTelemetryFile(String telemetryFile) {
+        this.telemetryFile = telemetryFile;
+    }
+
+    /**
+     * @return Path of file where changes of elevators are traced for replay, or null when tracing is disabled.
+     */
+    public String getTraceFile() {
+        return traceFile;
+    }
+
+    public void setTraceFile(String traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    /**
+     * @return Path of Unix-domain socket where binary commands are served instead of the console, or null to use the console.
+     */
+    public String getCommandSocket() {
+        return commandSocket;
+    }
+
+    public void setCommandSocket(String commandSocket) {
+        this.commandSocket = commandSocket;
+    }
+
+    /**
+     * @return The maximal number of idle elevators moved toward busy floors in one rebalance, 0 disables parking.
+     */
+    public int getParkingBudget() {
+        return parkingBudget;
+    }
+
+    public void setParkingBudget(int parkingBudget) {
+        this.parkingBudget = parkingBudget;
+    }
+
+    /**
+     * @return The number of steps between rebalances of idle elevators.
+     */
+    public int getParkingIntervalSteps() {
+        return parkingIntervalSteps;
+    }
+
+    public void setParkingIntervalSteps(int parkingIntervalSteps) {
+        this.parkingIntervalSteps = parkingIntervalSteps;
+    }
+
+    /**
+     * @return The number of steps counted in one window of the demand model.
+     */
+    public int getDemandWindowSteps() {
+        return demandWindowSteps;
+    }
+
+    public void setDemandWindowSteps(int demandWindowSteps) {
+        this.demandWindowSteps = demandWindowSteps;
+    }
+
+    /**
+     * @return The number of recent windows used by the demand model to predict demand.
+     */
+    public int getDemandWindows() {
+        return demandWindows;
+    }
+
+    public void setDemandWindows(int demandWindows) {
+        this.demandWindows = demandWindows;
+    }
+
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    public void setDispatchMode(DispatchMode dispatchMode) {
+        this.dispatchMode = dispatchMode;
+    }
+
+    /**
+     * @return The maximal number of users assigned to one elevator in destination dispatch mode.
+     */
+    public int getElevatorCapacity() {
+        return elevatorCapacity;
+    }
+
+    public void setElevatorCapacity(int elevatorCapacity) {
+        this.elevatorCapacity = elevatorCapacity;
+    }
+
+    /**
+     * @return The maximal number of hall calls waiting for their elevators, 0 means no limit.
+     */
+    public int getMaxPendingCalls() {
+        return maxPendingCalls;
+    }
+
+    public void setMaxPendingCalls(int maxPendingCalls) {
+        this.maxPendingCalls = maxPendingCalls;
+    }
+
+    /**
+     * @return What happens with calls made when `maxPendingCalls` calls are pending.
+     */
+    public OverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+
+    public void setOverloadPolicy(OverloadPolicy overloadPolicy) {
+        this.overloadPolicy = overloadPolicy;
+    }
+
+    /**
+     * @return The number of steps in one minute of simulated time, used by rolling statistics.
+     */
+    public int getStepsPerMinute() {
+        return stepsPerMinute;
+    }
+
+    public void setStepsPerMinute(int stepsPerMinute) {
+        this.stepsPerMinute = stepsPerMinute;
+    }
+
+    private void validateStepsPerMinute(int stepsPerMinute) {
+        if (stepsPerMinute < 1) {
+            String errorMsg = "Steps per minute must be positive (stepsPerMinute = %d)".formatted(stepsPerMinute);
+            LOG.severe(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+        }
+    }
+
+    private void validateMaxPendingCalls(int maxPendingCalls) {
+        if (maxPendingCalls < 0) {
+            String errorMsg = "Maximal number of pending calls cannot be negative (maxPendingCalls = %d)".formatted(maxPendingCalls);
+            LOG.severe(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+        }
+    }
+
+    private void validateElevatorCapacity(int elevatorCapacity) {
+        if (elevatorCapacity < 1) {
+            String errorMsg = "Elevator capacity must be positive (elevatorCapacity = %d)".formatted(elevatorCapacity);
+            LOG.severe(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+        }
+    }
+
+    private void validateParking(int parkingBudget, int parkingIntervalSteps, int demandWindowSteps, int demandWindows) {
+        if (parkingBudget < 0 || parkingIntervalSteps < 1 || demandWindowSteps < 1 || demandWindows < 1) {
+            String errorMsg = "Invalid parking config (parkingBudget = %d, parkingIntervalSteps = %d, demandWindowSteps = %d, demandWindows = %d)"
+                    .formatted(parkingBudget, parkingIntervalSteps, demandWindowSteps, demandWindows);
+            LOG.severe(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+        }
+    }
+
     private void validateMinMaxValues(int minValue, int maxValue) {
         if (minValue > maxValue) {
             throw new IllegalArgumentException("minFloorValue is bigger then maxFloorValue");
@@ -1,6 +1,8 @@
 package org.example.console;
 
+import org.example.statistics.RollingStatistics;
 import org.example.system.ElevatorSystem;
+import org.example.system.HallCallCounters;
 import org.example.model.Direction;
 import org.example.model.Elevator;
 
@@ -12,14 +14,26 @@ public class ConsoleApplication {
     private final static String NULL_ARG = "null";
     private final static String EXIT_APPLICATION_COMMAND = "exit";
     private final static String DO_STEP_IN_SIMULATION_COMMAND = "step";
+    private final static String ADVANCE_SIMULATION_COMMAND = "advance";
+    private final static String RUN_UNTIL_IDLE_COMMAND = "idle";
     private final static String SHOW_STATUS_COMMAND = "status";
     private final static String UPDATE_COMMAND = "update";
     private final static String HELP_COMMAND = "help";
     private final static String CALL_ELEVATOR_COMMAND = "call";
+    private final static String SHOW_STATISTICS_COMMAND = "stats";
     private final ElevatorSystem elevatorSystem;
+    private final RollingStatistics rollingStatistics;
 
     public ConsoleApplication(ElevatorSystem elevatorSystem) {
+        this(elevatorSystem, null);
+    }
+
+    /**
+     * @param rollingStatistics Statistics displayed by the `stats` command, or null when they are not collected.
+     */
+    public ConsoleApplication(ElevatorSystem elevatorSystem, RollingStatistics rollingStatistics) {
         this.elevatorSystem = elevatorSystem;
+        this.rollingStatistics = rollingStatistics;
     }
 
     public void runApplication() {
@@ -35,8 +49,16 @@ public class ConsoleApplication {
             } else if (command.equals(DO_STEP_IN_SIMULATION_COMMAND)) {
                 handleStep();
                 handleStatus();
+            } else if (command.startsWith(ADVANCE_SIMULATION_COMMAND)) {
+                handleAdvance(command);
+                handleStatus();
+            } else if (command.equals(RUN_UNTIL_IDLE_COMMAND)) {
+                handleRunUntilIdle();
+                handleStatus();
             } else if (command.equals(SHOW_STATUS_COMMAND)) {
                 handleStatus();
+            } else if (command.equals(SHOW_STATISTICS_COMMAND)) {
+                handleStatistics();
             } else if (command.equals(HELP_COMMAND)) {
                 handleHelp();
             } else if (command.startsWith(UPDATE_COMMAND)) {
@@ -57,13 +79,39 @@ public class ConsoleApplication {
 
     private void handleStep() {
         this.elevatorSystem.step();
+        System.out.println("Elevators have been updated\n");
         System.out.println("Step in simulation has been finished");
     }
 
+    private void handleAdvance(String command) {
+        String[] commandParts = command.split(" ");
+        if (commandParts.length > 1) {
+            int ticks = Integer.parseInt(commandParts[1]);
+            this.elevatorSystem.advance(ticks);
+            System.out.printf("Simulation has been advanced by %d steps%n", ticks);
+        } else {
+            System.out.println("Simulation cannot be advanced because of lack of steps number");
+        }
+    }
+
+    private void handleRunUntilIdle() {
+        long doneTicks = this.elevatorSystem.runUntilIdle();
+        System.out.printf("Simulation has been run until idle in %d steps%n", doneTicks);
+    }
+
     private void handleStatus() {
         this.elevatorSystem.status();
     }
 
+    private void handleStatistics() {
+        System.out.println(this.elevatorSystem.getHallCallCounters().getSummaryText());
+        if (this.rollingStatistics == null) {
+            System.out.println("Statistics are not collected");
+            return;
+        }
+        System.out.println(this.rollingStatistics.getSnapshot().getSummaryText());
+    }
+
     private void handleCallElevator(String command) {
         String[] commandParts = command.split(" ");
         if (commandParts.length > 2) {
@@ -78,14 +126,26 @@ public class ConsoleApplication {
                 return;
             }
 
+            final HallCallCounters hallCallCounters = this.elevatorSystem.getHallCallCounters();
+            final long shedCallsBefore = hallCallCounters.getShedCalls();
+            final long queuedCallsBefore = hallCallCounters.getQueuedCalls();
+            final long coalescedCallsBefore = hallCallCounters.getCoalescedCalls();
             Elevator calledElevator;
             if (commandParts.length > 3 && !commandParts[3].equals(NULL_ARG)) {
                 int goToFloor = Integer.parseInt(commandParts[3]);
                 calledElevator = this.elevatorSystem.pickup(givenFloor, givenDirection, goToFloor);
+                if (calledElevator == null) {
+                    printNotCalledElevator(givenFloor, shedCallsBefore, queuedCallsBefore, coalescedCallsBefore);
+                    return;
+                }
                 System.out.printf("Elevator %d has been called on floor %d, and user wants to get on floor %d",
                         calledElevator.getId(), givenFloor, goToFloor);
             } else {
                 calledElevator = this.elevatorSystem.pickup(givenFloor, givenDirection);
+                if (calledElevator == null) {
+                    printNotCalledElevator(givenFloor, shedCallsBefore, queuedCallsBefore, coalescedCallsBefore);
+                    return;
+                }
                 System.out.printf("Elevator %d has been called on floor %d", calledElevator.getId(), givenFloor);
             }
 
@@ -95,6 +155,23 @@ public class ConsoleApplication {
         }
     }
 
+    /**
+     * The `printNotCalledElevator` method explains why no elevator has been called, the counters tell if the call
+     * has been queued or shed because too many calls are pending, or if the same call is already waiting in the queue.
+     */
+    private void printNotCalledElevator(int givenFloor, long shedCallsBefore, long queuedCallsBefore, long coalescedCallsBefore) {
+        final HallCallCounters hallCallCounters = this.elevatorSystem.getHallCallCounters();
+        if (hallCallCounters.getQueuedCalls() > queuedCallsBefore) {
+            System.out.printf("Call on floor %d has been queued, an elevator will be called when fewer calls are pending", givenFloor);
+        } else if (hallCallCounters.getShedCalls() > shedCallsBefore) {
+            System.out.printf("Call on floor %d has been shed, too many calls are pending", givenFloor);
+        } else if (hallCallCounters.getCoalescedCalls() > coalescedCallsBefore) {
+            System.out.printf("Call on floor %d is already queued", givenFloor);
+        } else {
+            System.out.printf("No elevator has been called on floor %d", givenFloor);
+        }
+    }
+
     private void handleUpdate(String command) {
         String[] commandParts = command.split(" ");
         if (commandParts.length > 1) {
@@ -138,7 +215,10 @@ public class ConsoleApplication {
                     %s - displays available commands.
                     %s - stops the application.
                     %s - performs a step in the simulation. Status is displayed after each step.
+                    %s <steps> - performs given number of steps in the simulation. Status is displayed at the end.
+                    %s - performs steps in the simulation until all elevators are idle. Status is displayed at the end.
                     %s - displays the statuses of the elevators.
+                    %s - displays call rates of floors and utilisation of elevators over the last 1, 5 and 15 minutes.
                     %s <id> <updatedCurrentFloor?> <updatedTargetFloors?> - updates the elevator with the given id.
                     %s <floorNumber> <direction> <desiredFloor?> - calls the elevator on the given floor number to move in the direction (1==UP and -1==DOWN). DesiredFloor is the floor number where the user wants to go.
                 
@@ -147,7 +227,10 @@ public class ConsoleApplication {
                 HELP_COMMAND,
                 EXIT_APPLICATION_COMMAND,
                 DO_STEP_IN_SIMULATION_COMMAND,
+                ADVANCE_SIMULATION_COMMAND,
+                RUN_UNTIL_IDLE_COMMAND,
                 SHOW_STATUS_COMMAND,
+                SHOW_STATISTICS_COMMAND,
                 UPDATE_COMMAND,
                 CALL_ELEVATOR_COMMAND
         );
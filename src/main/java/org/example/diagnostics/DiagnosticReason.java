@@ -0,0 +1,21 @@
+package org.example.diagnostics;
+
+public enum DiagnosticReason {
+    FLOOR_OUT_OF_RANGE("Given floor is out of scope (given floor = %d, minFloor = %d, maxFloor = %d)"),
+    IDLE_DIRECTION_SELECTED("Selected direction should be UP or DOWN, current selected direction is IDLE"),
+    ELEVATOR_NOT_FOUND("Elevator with id %d was not found"),
+    ELEVATOR_NOT_ADDED("Elevator with id %d was not added, an elevator with the same id already exists or elevators cannot be added"),
+    NO_ELEVATORS("There are no elevators"),
+    NO_FREE_CAPACITY("No elevator has free capacity for a call from floor %d"),
+    PASSENGER_DROPPED("Destination passenger called from floor %d was dropped, its elevator was removed or no longer serves it");
+
+    private final String messageTemplate;
+
+    DiagnosticReason(String messageTemplate) {
+        this.messageTemplate = messageTemplate;
+    }
+
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.diagnostics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The `Diagnostics` class counts invalid inputs per reason and logs them with sampling and rate limiting.
+ * Only every `sampleRate`-th occurrence of the reason can be logged and at most one line per reason is logged
+ * in `logInterval`. The message is formatted only when the line is logged, so reporting costs one atomic increment
+ * in most cases.
+ */
+public class Diagnostics {
+    private final static Logger LOG = Logger.getLogger(Diagnostics.class.getName());
+    private final static long DEFAULT_LOG_INTERVAL_MILLIS = 1000;
+    private final static int DEFAULT_SAMPLE_RATE = 1;
+    private final static DiagnosticReason[] reasons = DiagnosticReason.values();
+
+    private final long logIntervalNanos;
+    private final int sampleRate;
+    private final AtomicLongArray counters;
+    private final AtomicLongArray lastLoggedCounters;
+    private final AtomicLongArray nextLogTimesNanos;
+
+    public Diagnostics() {
+        this(DEFAULT_LOG_INTERVAL_MILLIS, DEFAULT_SAMPLE_RATE);
+    }
+
+    public Diagnostics(long logIntervalMillis, int sampleRate) {
+        if (logIntervalMillis < 0 || sampleRate < 1) {
+            throw new IllegalArgumentException("Invalid diagnostics configuration (logIntervalMillis = %d, sampleRate = %d)"
+                    .formatted(logIntervalMillis, sampleRate));
+        }
+        this.logIntervalNanos = TimeUnit.MILLISECONDS.toNanos(logIntervalMillis);
+        this.sampleRate = sampleRate;
+        this.counters = new AtomicLongArray(reasons.length);
+        this.lastLoggedCounters = new AtomicLongArray(reasons.length);
+        this.nextLogTimesNanos = new AtomicLongArray(reasons.length);
+
+        final long now = System.nanoTime();
+        for (int i = 0; i < reasons.length; i++) {
+            this.nextLogTimesNanos.set(i, now);
+        }
+    }
+
+    public void report(DiagnosticReason reason) {
+        final long count = this.counters.incrementAndGet(reason.ordinal());
+        if (shouldLog(reason, count)) {
+            log(reason, count, reason.getMessageTemplate());
+        }
+    }
+
+    public void report(DiagnosticReason reason, int value) {
+        final long count = this.counters.incrementAndGet(reason.ordinal());
+        if (shouldLog(reason, count)) {
+            log(reason, count, reason.getMessageTemplate().formatted(value));
+        }
+    }
+
+    public void report(DiagnosticReason reason, int firstValue, int secondValue, int thirdValue) {
+        final long count = this.counters.incrementAndGet(reason.ordinal());
+        if (shouldLog(reason, count)) {
+            log(reason, count, reason.getMessageTemplate().formatted(firstValue, secondValue, thirdValue));
+        }
+    }
+
+    public long getCount(DiagnosticReason reason) {
+        return this.counters.get(reason.ordinal());
+    }
+
+    /**
+     * @return Snapshot of counters of all reasons.
+     */
+    public Map<DiagnosticReason, Long> getCounts() {
+        Map<DiagnosticReason, Long> counts = new EnumMap<>(DiagnosticReason.class);
+        for (DiagnosticReason reason : reasons) {
+            counts.put(reason, getCount(reason));
+        }
+        return counts;
+    }
+
+    /**
+     * The `shouldLog` method checks if the occurrence is sampled and if the log interval of the reason has passed.
+     * Only one thread can win the interval, so concurrent reports do not log the same reason twice.
+     */
+    private boolean shouldLog(DiagnosticReason reason, long count) {
+        if ((count - 1) % this.sampleRate != 0 || !LOG.isLoggable(Level.WARNING)) {
+            return false;
+        }
+
+        final int index = reason.ordinal();
+        final long now = System.nanoTime();
+        final long nextLogTime = this.nextLogTimesNanos.get(index);
+        return now - nextLogTime >= 0
+                && this.nextLogTimesNanos.compareAndSet(index, nextLogTime, now + this.logIntervalNanos);
+    }
+
+    private void log(DiagnosticReason reason, long count, String message) {
+        final long lastLoggedCount = this.lastLoggedCounters.getAndSet(reason.ordinal(), count);
+        final long suppressedCount = Math.max(0, count - lastLoggedCount - 1);
+
+        LOG.warning("%s [%s, occurrences = %d, suppressed since last log = %d]"
+                .formatted(message, reason, count, suppressedCount));
+    }
+}
@@ -0,0 +1,306 @@
+package org.example.differential;
+
+import org.example.config.ElevatorsConfig;
+import org.example.model.Direction;
+import org.example.model.DispatchMode;
+import org.example.model.Elevator;
+import org.example.repository.IndexedElevatorRepository;
+import org.example.service.ActiveElevators;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.example.snapshot.ElevatorSnapshot;
+import org.example.system.ElevatorSystemImpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * The `DifferentialHarness` class checks that a candidate elevator system (e.g. a faster engine) behaves exactly like
+ * the reference. Seeded random sequences of calls and steps are applied to both systems created from the same elevators,
+ * outcomes of all calls are compared and the whole fleet (ids, floors, directions, targets) is compared after every step.
+ * A sequence which diverges is shrunk to a minimal reproducer: chunks of operations are removed and operations are
+ * simplified while the systems still diverge.
+ */
+public class DifferentialHarness {
+    private final static Logger LOG = Logger.getLogger(DifferentialHarness.class.getName());
+
+    private final List<ElevatorSnapshot> initialElevators;
+    private final int minFloorValue;
+    private final int maxFloorValue;
+    private final SystemFactory referenceFactory;
+    private final SystemFactory candidateFactory;
+    private int runs;
+
+    /**
+     * @param initialElevators State of elevators at the beginning of every run, both systems get their own copies.
+     */
+    public DifferentialHarness(List<Elevator> initialElevators, int minFloorValue, int maxFloorValue,
+                               SystemFactory referenceFactory, SystemFactory candidateFactory) {
+        if (minFloorValue > maxFloorValue) {
+            throw new IllegalArgumentException("minFloorValue is bigger then maxFloorValue (minFloorValue = %d, maxFloorValue = %d)"
+                    .formatted(minFloorValue, maxFloorValue));
+        }
+        this.initialElevators = initialElevators.stream().map(ElevatorSnapshot::of).toList();
+        this.minFloorValue = minFloorValue;
+        this.maxFloorValue = maxFloorValue;
+        this.referenceFactory = referenceFactory;
+        this.candidateFactory = candidateFactory;
+    }
+
+    /**
+     * @return The number of sequences run so far, including runs made while shrinking.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * The `check` method runs a random sequence generated from the seed and shrinks it when the systems diverge.
+     *
+     * @return The minimal divergence or null when the systems behave the same.
+     */
+    public Divergence check(long seed, int length) {
+        final Divergence divergence = run(generate(seed, length));
+        if (divergence == null) {
+            return null;
+        }
+        LOG.warning("Seed %d diverges after %d operations, shrinking".formatted(seed, divergence.getOperationIndex() + 1));
+        return shrink(divergence);
+    }
+
+    /**
+     * The `run` method applies the operations to new reference and candidate systems.
+     *
+     * @return The first divergence or null when the systems behave the same.
+     */
+    public Divergence run(List<Operation> operations) {
+        this.runs++;
+        final SystemUnderTest reference = this.referenceFactory.create(copyElevators());
+        final SystemUnderTest candidate = this.candidateFactory.create(copyElevators());
+        for (int i = 0; i < operations.size(); i++) {
+            final Operation operation = operations.get(i);
+            final String expectedOutcome = operation.apply(reference);
+            final String actualOutcome = operation.apply(candidate);
+            if (!expectedOutcome.equals(actualOutcome)) {
+                return new Divergence(operations, i, "expected outcome <%s> but was <%s>".formatted(expectedOutcome, actualOutcome));
+            }
+            if (operation.isStep()) {
+                final String difference = compareElevators(reference.getElevators(), candidate.getElevators());
+                if (difference != null) {
+                    return new Divergence(operations, i, difference);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The `shrink` method removes chunks of operations (halving the chunk size when nothing can be removed) and then
+     * simplifies single operations, every change is kept only when the systems still diverge.
+     */
+    public Divergence shrink(Divergence divergence) {
+        Divergence smallest = divergence;
+        int chunkSize = Math.max(1, smallest.getOperations().size() / 2);
+        while (chunkSize > 0) {
+            boolean isShrunk = false;
+            int start = 0;
+            while (start < smallest.getOperations().size()) {
+                final List<Operation> operations = new ArrayList<>(smallest.getOperations());
+                operations.subList(start, Math.min(start + chunkSize, operations.size())).clear();
+                final Divergence shrunk = operations.isEmpty() ? null : run(operations);
+                if (shrunk != null) {
+                    smallest = shrunk;
+                    isShrunk = true;
+                } else {
+                    start += chunkSize;
+                }
+            }
+            if (!isShrunk) {
+                chunkSize /= 2;
+            }
+        }
+
+        for (int i = 0; i < smallest.getOperations().size(); i++) {
+            Operation simplified = smallest.getOperations().get(i).simplify();
+            while (simplified != null) {
+                final List<Operation> operations = new ArrayList<>(smallest.getOperations());
+                operations.set(i, simplified);
+                final Divergence shrunk = run(operations);
+                if (shrunk == null || shrunk.getOperationIndex() < i) {
+                    break;
+                }
+                smallest = shrunk;
+                simplified = simplified.simplify();
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * The `generate` method creates a random sequence of calls and steps, about half of the operations are steps.
+     * Floors are sometimes out of range, so validation of both systems is compared too.
+     */
+    public List<Operation> generate(long seed, int length) {
+        final Random random = new Random(seed);
+        final List<Operation> operations = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            final int kind = random.nextInt(20);
+            if (kind < 4) {
+                final int pickupFloor = randomFloor(random);
+                final int targetFloor = randomFloor(random);
+                operations.add(Operation.pickup(pickupFloor, randomDirection(random, pickupFloor, targetFloor), targetFloor));
+            } else if (kind < 6) {
+                operations.add(Operation.pickup(randomFloor(random), random.nextBoolean() ? Direction.UP : Direction.DOWN));
+            } else if (kind == 6) {
+                operations.add(Operation.selectFloor(random.nextInt(Math.max(1, this.initialElevators.size())), randomFloor(random)));
+            } else if (kind == 7) {
+                operations.add(randomUpdate(random));
+            } else if (kind == 8) {
+                final int pickupFloor = randomFloor(random);
+                final int targetFloor = randomFloor(random);
+                operations.add(Operation.schedulePickup(random.nextInt(30), pickupFloor,
+                        randomDirection(random, pickupFloor, targetFloor), targetFloor));
+            } else if (kind == 9) {
+                operations.add(Operation.advance(1 + random.nextInt(25)));
+            } else {
+                operations.add(Operation.step());
+            }
+        }
+        return operations;
+    }
+
+    private Operation randomUpdate(Random random) {
+        final int elevatorId = this.initialElevators.isEmpty() || random.nextInt(10) == 0
+                ? -1
+                : this.initialElevators.get(random.nextInt(this.initialElevators.size())).getId();
+        final Integer currentFloor = random.nextBoolean() ? randomFloor(random) : null;
+        int[] targetFloors = null;
+        if (currentFloor == null || random.nextBoolean()) {
+            targetFloors = new int[random.nextInt(4)];
+            for (int i = 0; i < targetFloors.length; i++) {
+                targetFloors[i] = randomFloor(random);
+            }
+        }
+        return Operation.updateElevator(elevatorId, currentFloor, targetFloors);
+    }
+
+    private int randomFloor(Random random) {
+        if (random.nextInt(50) == 0) {
+            return random.nextBoolean() ? this.minFloorValue - 1 : this.maxFloorValue + 1;
+        }
+        return this.minFloorValue + random.nextInt(this.maxFloorValue - this.minFloorValue + 1);
+    }
+
+    private static Direction randomDirection(Random random, int pickupFloor, int targetFloor) {
+        if (pickupFloor != targetFloor && random.nextInt(10) > 0) {
+            return Direction.getDirectionByFloors(pickupFloor, targetFloor);
+        }
+        return random.nextBoolean() ? Direction.UP : Direction.DOWN;
+    }
+
+    private List<Elevator> copyElevators() {
+        final List<Elevator> elevators = new ArrayList<>(this.initialElevators.size());
+        for (ElevatorSnapshot snapshot : this.initialElevators) {
+            elevators.add(snapshot.toElevator());
+        }
+        return elevators;
+    }
+
+    /**
+     * @return Description of the first difference or null when both fleets are in the same state.
+     */
+    private static String compareElevators(List<Elevator> expected, List<Elevator> actual) {
+        if (expected.size() != actual.size()) {
+            return "expected %d elevators but were %d".formatted(expected.size(), actual.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            final ElevatorSnapshot expectedElevator = ElevatorSnapshot.of(expected.get(i));
+            if (!expectedElevator.hasStateOf(actual.get(i))) {
+                return "expected elevator <%s> but was <%s>".formatted(expectedElevator, ElevatorSnapshot.of(actual.get(i)));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The `referenceFactory` method creates `ElevatorSystemImpl` with `ElevatorServiceImpl`, the behaviour every engine must match.
+     */
+    public static SystemFactory referenceFactory(int minFloorValue, int maxFloorValue, DispatchMode dispatchMode, int elevatorCapacity) {
+        return elevators -> {
+            ElevatorService elevatorService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators),
+                    new ElevatorsConfig(elevators.size(), minFloorValue, maxFloorValue));
+            return new SystemUnderTest(new ElevatorSystemImpl(elevatorService, dispatchMode, elevatorCapacity),
+                    elevatorService::getElevators);
+        };
+    }
+
+    /**
+     * The `steppingAllElevatorsFactory` method creates the reference system which steps every elevator in every step,
+     * as before idle elevators were skipped.
+     */
+    public static SystemFactory steppingAllElevatorsFactory(int minFloorValue, int maxFloorValue, DispatchMode dispatchMode,
+                                                            int elevatorCapacity) {
+        return elevators -> {
+            final ActiveElevators allElevators = new ActiveElevators();
+            ElevatorService elevatorService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators),
+                    new ElevatorsConfig(elevators.size(), minFloorValue, maxFloorValue)) {
+                @Override
+                public ActiveElevators getActiveElevators() {
+                    allElevators.invalidate();
+                    return allElevators;
+                }
+            };
+            return new SystemUnderTest(new ElevatorSystemImpl(elevatorService, dispatchMode, elevatorCapacity),
+                    elevatorService::getElevators);
+        };
+    }
+
+    /**
+     * Usage: `DifferentialHarness seeds=100 length=500 elevators=8 floors=-2:20 mode=DIRECTION capacity=8`
+     * compares the reference with the system stepping all elevators on the given number of seeds
+     * and prints the reproducer of the first divergence.
+     */
+    public static void main(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                System.out.println("Usage: DifferentialHarness seeds=100 length=500 elevators=8 floors=-2:20 mode=DIRECTION capacity=8");
+                return;
+            }
+            arguments.put(keyValue[0], keyValue[1]);
+        }
+
+        final int seeds = Integer.parseInt(arguments.getOrDefault("seeds", "100"));
+        final int length = Integer.parseInt(arguments.getOrDefault("length", "500"));
+        final int numberOfElevators = Integer.parseInt(arguments.getOrDefault("elevators", "8"));
+        final String[] floors = arguments.getOrDefault("floors", "-2:20").split(":");
+        final int minFloorValue = Integer.parseInt(floors[0]);
+        final int maxFloorValue = Integer.parseInt(floors[1]);
+        final DispatchMode dispatchMode = DispatchMode.valueOf(arguments.getOrDefault("mode", DispatchMode.DIRECTION.name()));
+        final int elevatorCapacity = Integer.parseInt(arguments.getOrDefault("capacity", "8"));
+
+        final List<Elevator> elevators = new ArrayList<>();
+        final Random random = new Random(numberOfElevators);
+        for (int i = 0; i < numberOfElevators; i++) {
+            Elevator elevator = new Elevator(i);
+            elevator.setCurrentFloor(minFloorValue + random.nextInt(maxFloorValue - minFloorValue + 1));
+            elevators.add(elevator);
+        }
+        DifferentialHarness harness = new DifferentialHarness(elevators, minFloorValue, maxFloorValue,
+                referenceFactory(minFloorValue, maxFloorValue, dispatchMode, elevatorCapacity),
+                steppingAllElevatorsFactory(minFloorValue, maxFloorValue, dispatchMode, elevatorCapacity));
+        for (long seed = 0; seed < seeds; seed++) {
+            final Divergence divergence = harness.check(seed, length);
+            if (divergence != null) {
+                System.out.printf("Seed %d diverges (%d runs):%n%s%n", seed, harness.getRuns(), divergence.getReproducerText());
+                return;
+            }
+        }
+        System.out.printf("No divergence in %d seeds of %d operations%n", seeds, length);
+    }
+}
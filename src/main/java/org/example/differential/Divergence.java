@@ -0,0 +1,51 @@
+package org.example.differential;
+
+import java.util.List;
+
+/**
+ * The `Divergence` class describes the first operation after which the candidate system differs from the reference,
+ * together with the operations which lead to it.
+ */
+public final class Divergence {
+    private final List<Operation> operations;
+    private final int operationIndex;
+    private final String description;
+
+    Divergence(List<Operation> operations, int operationIndex, String description) {
+        this.operations = List.copyOf(operations);
+        this.operationIndex = operationIndex;
+        this.description = description;
+    }
+
+    /**
+     * @return Operations up to and including the diverging one.
+     */
+    public List<Operation> getOperations() {
+        return operations.subList(0, operationIndex + 1);
+    }
+
+    public int getOperationIndex() {
+        return operationIndex;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return The operations as a reproducer, one call per line, followed by the difference.
+     */
+    public String getReproducerText() {
+        StringBuilder builder = new StringBuilder();
+        for (Operation operation : getOperations()) {
+            builder.append(operation).append(';').append(System.lineSeparator());
+        }
+        builder.append("// ").append(description);
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "Divergence after operation %d (%s): %s".formatted(operationIndex, operations.get(operationIndex), description);
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.differential;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystem;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The `Operation` class is one call of the `ElevatorSystem` API made by `DifferentialHarness`. Applying an operation
+ * returns its outcome as text (e.g. id of the assigned elevator), so outcomes of two systems can be compared
+ * without knowing their types.
+ */
+public final class Operation {
+    private final Type type;
+    private final int first;
+    private final int second;
+    private final Direction direction;
+    private final int[] targetFloors;
+
+    private Operation(Type type, int first, int second, Direction direction, int[] targetFloors) {
+        this.type = type;
+        this.first = first;
+        this.second = second;
+        this.direction = direction;
+        this.targetFloors = targetFloors;
+    }
+
+    public static Operation pickup(int pickupFloor, Direction direction) {
+        return new Operation(Type.PICKUP, pickupFloor, 0, direction, null);
+    }
+
+    public static Operation pickup(int pickupFloor, Direction direction, int targetFloor) {
+        return new Operation(Type.PICKUP_WITH_TARGET, pickupFloor, targetFloor, direction, null);
+    }
+
+    /**
+     * @param elevatorIndex Index of the elevator in the list of elevators of the system.
+     */
+    public static Operation selectFloor(int elevatorIndex, int floor) {
+        return new Operation(Type.SELECT_FLOOR, elevatorIndex, floor, null, null);
+    }
+
+    /**
+     * @param currentFloor The updated current floor or null.
+     * @param targetFloors The updated target floors or null.
+     */
+    public static Operation updateElevator(int elevatorId, Integer currentFloor, int[] targetFloors) {
+        return new Operation(Type.UPDATE_ELEVATOR, elevatorId, currentFloor == null ? Integer.MIN_VALUE : currentFloor, null,
+                targetFloors == null ? null : targetFloors.clone());
+    }
+
+    public static Operation schedulePickup(int delay, int pickupFloor, Direction direction, int targetFloor) {
+        return new Operation(Type.SCHEDULE_PICKUP, delay, pickupFloor, direction, new int[]{targetFloor});
+    }
+
+    public static Operation step() {
+        return new Operation(Type.STEP, 0, 0, null, null);
+    }
+
+    public static Operation advance(int ticks) {
+        return new Operation(Type.ADVANCE, ticks, 0, null, null);
+    }
+
+    /**
+     * @return True when the fleet should be compared after the operation.
+     */
+    public boolean isStep() {
+        return type == Type.STEP || type == Type.ADVANCE;
+    }
+
+    /**
+     * The `apply` method makes the call on the system.
+     *
+     * @return The outcome of the call, an exception is an outcome too.
+     */
+    public String apply(SystemUnderTest systemUnderTest) {
+        final ElevatorSystem elevatorSystem = systemUnderTest.getElevatorSystem();
+        try {
+            if (type == Type.PICKUP) {
+                return describe(elevatorSystem.pickup(first, direction));
+            } else if (type == Type.PICKUP_WITH_TARGET) {
+                return describe(elevatorSystem.pickup(first, direction, second));
+            } else if (type == Type.SELECT_FLOOR) {
+                final List<Elevator> elevators = systemUnderTest.getElevators();
+                if (first >= elevators.size()) {
+                    return "no elevator";
+                }
+                elevatorSystem.selectFloor(elevators.get(first), second);
+                return "selected";
+            } else if (type == Type.UPDATE_ELEVATOR) {
+                return String.valueOf(elevatorSystem.updateElevator(first, second == Integer.MIN_VALUE ? null : second,
+                        targetFloors == null ? null : targetFloors.clone()));
+            } else if (type == Type.SCHEDULE_PICKUP) {
+                elevatorSystem.schedulePickup(elevatorSystem.getStepNumber() + first, second, direction, targetFloors[0]);
+                return "scheduled";
+            } else if (type == Type.STEP) {
+                elevatorSystem.step();
+            } else {
+                elevatorSystem.advance(first);
+            }
+            return "step " + elevatorSystem.getStepNumber();
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * @return A simpler operation with the same kind of effect, or null when the operation cannot be simplified.
+     */
+    Operation simplify() {
+        if (type == Type.ADVANCE) {
+            return first > 1 ? advance(first / 2) : step();
+        } else if (type == Type.SCHEDULE_PICKUP && first > 0) {
+            return schedulePickup(first / 2, second, direction, targetFloors[0]);
+        } else if (type == Type.UPDATE_ELEVATOR && targetFloors != null && targetFloors.length > 0) {
+            return new Operation(type, first, second, null, Arrays.copyOf(targetFloors, targetFloors.length - 1));
+        }
+        return null;
+    }
+
+    private static String describe(Elevator elevator) {
+        return elevator == null ? "none" : "elevator " + elevator.getId();
+    }
+
+    @Override
+    public String toString() {
+        if (type == Type.PICKUP) {
+            return "pickup(%d, %s)".formatted(first, direction);
+        } else if (type == Type.PICKUP_WITH_TARGET) {
+            return "pickup(%d, %s, %d)".formatted(first, direction, second);
+        } else if (type == Type.SELECT_FLOOR) {
+            return "selectFloor(elevators[%d], %d)".formatted(first, second);
+        } else if (type == Type.UPDATE_ELEVATOR) {
+            return "updateElevator(%d, %s, %s)".formatted(first, second == Integer.MIN_VALUE ? "null" : String.valueOf(second),
+                    targetFloors == null ? "null" : Arrays.toString(targetFloors));
+        } else if (type == Type.SCHEDULE_PICKUP) {
+            return "schedulePickup(now + %d, %d, %s, %d)".formatted(first, second, direction, targetFloors[0]);
+        } else if (type == Type.STEP) {
+            return "step()";
+        }
+        return "advance(%d)".formatted(first);
+    }
+
+    private enum Type {
+        PICKUP,
+        PICKUP_WITH_TARGET,
+        SELECT_FLOOR,
+        UPDATE_ELEVATOR,
+        SCHEDULE_PICKUP,
+        STEP,
+        ADVANCE
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.differential;
+
+import org.example.model.Elevator;
+
+import java.util.List;
+
+public interface SystemFactory {
+    /**
+     * Creates a new system which owns the given elevators, every run of the harness gets its own copies.
+     *
+     * @param elevators Elevators in their initial state.
+     */
+    SystemUnderTest create(List<Elevator> elevators);
+}
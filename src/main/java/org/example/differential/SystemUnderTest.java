@@ -0,0 +1,32 @@
+package org.example.differential;
+
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystem;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The `SystemUnderTest` class is an elevator system driven by `DifferentialHarness` together with the view of its
+ * elevators, which is compared with the reference after every step.
+ */
+public class SystemUnderTest {
+    private final ElevatorSystem elevatorSystem;
+    private final Supplier<List<Elevator>> elevators;
+
+    /**
+     * @param elevators Gives the current elevators of the system in a stable order, e.g. `ElevatorService::getElevators`.
+     */
+    public SystemUnderTest(ElevatorSystem elevatorSystem, Supplier<List<Elevator>> elevators) {
+        this.elevatorSystem = elevatorSystem;
+        this.elevators = elevators;
+    }
+
+    public ElevatorSystem getElevatorSystem() {
+        return elevatorSystem;
+    }
+
+    public List<Elevator> getElevators() {
+        return elevators.get();
+    }
+}
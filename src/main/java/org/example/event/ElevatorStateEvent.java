@@ -0,0 +1,63 @@
+package org.example.event;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+
+import java.util.Set;
+
+/**
+ * The `ElevatorStateEvent` class is an immutable copy of elevator state after a change.
+ */
+public class ElevatorStateEvent {
+    private final long stepNumber;
+    private final int elevatorId;
+    private final int currentFloor;
+    private final Direction currentDirection;
+    private final Set<Integer> targetFloors;
+    private final Set<Integer> targetFloorsOtherDirection;
+
+    public ElevatorStateEvent(long stepNumber, int elevatorId, int currentFloor, Direction currentDirection,
+                              Set<Integer> targetFloors, Set<Integer> targetFloorsOtherDirection) {
+        this.stepNumber = stepNumber;
+        this.elevatorId = elevatorId;
+        this.currentFloor = currentFloor;
+        this.currentDirection = currentDirection;
+        this.targetFloors = Set.copyOf(targetFloors);
+        this.targetFloorsOtherDirection = Set.copyOf(targetFloorsOtherDirection);
+    }
+
+    public static ElevatorStateEvent fromElevator(long stepNumber, Elevator elevator) {
+        return new ElevatorStateEvent(stepNumber, elevator.getId(), elevator.getCurrentFloor(), elevator.getCurrentDirection(),
+                elevator.getTargetFloors(), elevator.getTargetFloorsOtherDirection());
+    }
+
+    public long getStepNumber() {
+        return stepNumber;
+    }
+
+    public int getElevatorId() {
+        return elevatorId;
+    }
+
+    public int getCurrentFloor() {
+        return currentFloor;
+    }
+
+    public Direction getCurrentDirection() {
+        return currentDirection;
+    }
+
+    public Set<Integer> getTargetFloors() {
+        return targetFloors;
+    }
+
+    public Set<Integer> getTargetFloorsOtherDirection() {
+        return targetFloorsOtherDirection;
+    }
+
+    @Override
+    public String toString() {
+        return "ElevatorStateEvent{step=%d, elevatorId=%d, currentFloor=%d, currentDirection=%s, targetFloors=%s, targetFloorsOtherDirection=%s}"
+                .formatted(stepNumber, elevatorId, currentFloor, currentDirection, targetFloors, targetFloorsOtherDirection);
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.event;
+
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystemListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * The `ElevatorStatePublisher` class publishes `ElevatorStateEvent` for every elevator change reported by `ElevatorSystem`
+ * (register it with `ElevatorSystem.addListener`).
+ * Every subscriber keeps at most one pending event per elevator. When a subscriber requests less than it is offered,
+ * older pending events of the same elevator are replaced with the latest one, so slow subscribers get latest states
+ * instead of growing queues. Events are delivered on the given executor, so subscribers never slow down the simulation.
+ */
+public class ElevatorStatePublisher implements Flow.Publisher<ElevatorStateEvent>, ElevatorSystemListener, AutoCloseable {
+    private final static Logger LOG = Logger.getLogger(ElevatorStatePublisher.class.getName());
+
+    private final Executor executor;
+    private final List<CoalescingSubscription> subscriptions;
+    private volatile boolean isClosed;
+
+    public ElevatorStatePublisher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ElevatorStatePublisher(Executor executor) {
+        this.executor = executor;
+        this.subscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ElevatorStateEvent> subscriber) {
+        CoalescingSubscription subscription = new CoalescingSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (this.isClosed) {
+            subscription.complete();
+        } else {
+            this.subscriptions.add(subscription);
+        }
+    }
+
+    @Override
+    public void onElevatorChanged(long stepNumber, Elevator elevator) {
+        if (this.subscriptions.isEmpty() || this.isClosed) {
+            return;
+        }
+
+        ElevatorStateEvent event = ElevatorStateEvent.fromElevator(stepNumber, elevator);
+        for (CoalescingSubscription subscription : this.subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    public int getNumberOfSubscribers() {
+        return this.subscriptions.size();
+    }
+
+    /**
+     * The `close` method completes all subscriptions after their pending events are delivered.
+     */
+    @Override
+    public void close() {
+        this.isClosed = true;
+        for (CoalescingSubscription subscription : this.subscriptions) {
+            subscription.complete();
+        }
+        this.subscriptions.clear();
+    }
+
+    private class CoalescingSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ElevatorStateEvent> subscriber;
+        private final Map<Integer, ElevatorStateEvent> latestEvents = new ConcurrentHashMap<>();
+        private final Queue<Integer> pendingElevatorIds = new ConcurrentLinkedQueue<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private volatile boolean isCancelled;
+        private volatile boolean isCompleted;
+        private volatile Throwable error;
+        private boolean isTerminated;
+
+        private CoalescingSubscription(Flow.Subscriber<? super ElevatorStateEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Keeps only the latest event of the elevator. The elevator id is queued only when it had no pending event,
+         * so the queue never has more elements than there are elevators.
+         */
+        private void offer(ElevatorStateEvent event) {
+            if (this.isCancelled) {
+                return;
+            }
+            if (this.latestEvents.put(event.getElevatorId(), event) == null) {
+                this.pendingElevatorIds.add(event.getElevatorId());
+            }
+            scheduleDelivery();
+        }
+
+        private void complete() {
+            this.isCompleted = true;
+            scheduleDelivery();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.error = new IllegalArgumentException("Requested number of events must be positive (n = %d)".formatted(n));
+            } else {
+                this.demand.getAndAccumulate(n, (current, requested) -> {
+                    final long sum = current + requested;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            scheduleDelivery();
+        }
+
+        @Override
+        public void cancel() {
+            this.isCancelled = true;
+            ElevatorStatePublisher.this.subscriptions.remove(this);
+            this.latestEvents.clear();
+            this.pendingElevatorIds.clear();
+        }
+
+        private void scheduleDelivery() {
+            if (this.workInProgress.getAndIncrement() == 0) {
+                ElevatorStatePublisher.this.executor.execute(this::deliver);
+            }
+        }
+
+        /**
+         * Only one `deliver` runs at a time, `scheduleDelivery` calls made while it runs make it loop again.
+         */
+        private void deliver() {
+            int missed = 1;
+            do {
+                if (!this.isTerminated && !this.isCancelled) {
+                    deliverPendingEvents();
+                }
+                missed = this.workInProgress.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliverPendingEvents() {
+            if (this.error != null) {
+                terminate();
+                this.subscriber.onError(this.error);
+                return;
+            }
+
+            while (!this.isCancelled && this.demand.get() > 0) {
+                Integer elevatorId = this.pendingElevatorIds.poll();
+                if (elevatorId == null) {
+                    break;
+                }
+                ElevatorStateEvent event = this.latestEvents.remove(elevatorId);
+                if (event == null) {
+                    continue;
+                }
+                if (this.demand.get() != Long.MAX_VALUE) {
+                    this.demand.decrementAndGet();
+                }
+
+                try {
+                    this.subscriber.onNext(event);
+                } catch (RuntimeException e) {
+                    LOG.warning("Subscriber has thrown an exception, subscription is cancelled (%s)".formatted(e));
+                    cancel();
+                    return;
+                }
+            }
+
+            if (this.isCompleted && this.pendingElevatorIds.isEmpty()) {
+                terminate();
+                this.subscriber.onComplete();
+            }
+        }
+
+        private void terminate() {
+            this.isTerminated = true;
+            cancel();
+        }
+    }
+}
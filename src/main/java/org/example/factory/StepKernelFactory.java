@@ -0,0 +1,31 @@
+package org.example.factory;
+
+import org.example.fleet.ScalarStepKernel;
+import org.example.fleet.StepKernel;
+
+import java.util.logging.Logger;
+
+public class StepKernelFactory {
+    private final static Logger LOG = Logger.getLogger(StepKernelFactory.class.getName());
+    private final static String VECTOR_MODULE_NAME = "jdk.incubator.vector";
+    private final static String VECTOR_KERNEL_CLASS_NAME = "org.example.fleet.VectorStepKernel";
+
+    /**
+     * The `createStepKernel` method creates vectorised kernel when `jdk.incubator.vector` module is available
+     * (run with `--add-modules jdk.incubator.vector`), otherwise scalar kernel is created.
+     */
+    public static StepKernel createStepKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE_NAME).isPresent()) {
+            try {
+                return (StepKernel) Class.forName(VECTOR_KERNEL_CLASS_NAME).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                LOG.warning("Vector step kernel cannot be created, scalar kernel is used (%s)".formatted(e));
+            }
+        }
+        return createScalarStepKernel();
+    }
+
+    public static StepKernel createScalarStepKernel() {
+        return new ScalarStepKernel();
+    }
+}
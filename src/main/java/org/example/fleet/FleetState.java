@@ -0,0 +1,109 @@
+package org.example.fleet;
+
+import org.example.model.Elevator;
+import org.example.repository.ElevatorRepository;
+
+import java.util.List;
+
+/**
+ * The `FleetState` class keeps state of all elevators in primitive arrays, so the same operation
+ * can be done for the whole fleet at once (see `StepKernel`).
+ * The next stop of an elevator is the closest target floor in its current direction. Elevator that
+ * has no such target has its next stop set to its current floor, which means it does not move.
+ * It is a part of the `StepKernel` prototype and is not used by `ElevatorSystemImpl`.
+ */
+public class FleetState {
+    private final int size;
+    private final int[] elevatorIds;
+    private final int[] floors;
+    private final int[] directions;
+    private final int[] nextStops;
+    private final boolean[] arrivals;
+
+    public FleetState(int size) {
+        this.size = size;
+        this.elevatorIds = new int[size];
+        this.floors = new int[size];
+        this.directions = new int[size];
+        this.nextStops = new int[size];
+        this.arrivals = new boolean[size];
+    }
+
+    public static FleetState fromElevators(List<Elevator> elevators) {
+        FleetState fleetState = new FleetState(elevators.size());
+        for (int i = 0; i < elevators.size(); i++) {
+            fleetState.load(i, elevators.get(i));
+        }
+        return fleetState;
+    }
+
+    /**
+     * The `load` method copies state of the elevator into the given index of the arrays.
+     * @param index The index of elevator in fleet state.
+     * @param elevator The elevator to be copied.
+     */
+    public void load(int index, Elevator elevator) {
+        final int currentFloor = elevator.getCurrentFloor();
+        final int directionValue = elevator.getCurrentDirection().mapDirectionToValue();
+
+        int nextStop = currentFloor;
+        int distanceToNextStop = Integer.MAX_VALUE;
+        for (int targetFloor : elevator.getTargetFloors()) {
+            final int distance = (targetFloor - currentFloor) * directionValue;
+            if (distance > 0 && distance < distanceToNextStop) {
+                distanceToNextStop = distance;
+                nextStop = targetFloor;
+            }
+        }
+
+        this.elevatorIds[index] = elevator.getId();
+        this.floors[index] = currentFloor;
+        this.directions[index] = directionValue;
+        this.nextStops[index] = nextStop;
+        this.arrivals[index] = false;
+    }
+
+    /**
+     * The `storeFloors` method copies current floors back to the elevators. Every elevator which has changed its floor
+     * is passed to `onElevatorFloorChanged` of the repository, so its floor index stays up to date.
+     * @param elevators The elevators in the same order as they were loaded.
+     * @param elevatorRepository The repository which keeps the elevators.
+     */
+    public void storeFloors(List<Elevator> elevators, ElevatorRepository elevatorRepository) {
+        for (int i = 0; i < size; i++) {
+            final Elevator elevator = elevators.get(i);
+            final int previousFloor = elevator.getCurrentFloor();
+            if (previousFloor != this.floors[i]) {
+                elevator.setCurrentFloor(this.floors[i]);
+                elevatorRepository.onElevatorFloorChanged(elevator, previousFloor);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int[] getElevatorIds() {
+        return elevatorIds;
+    }
+
+    public int[] getFloors() {
+        return floors;
+    }
+
+    public int[] getDirections() {
+        return directions;
+    }
+
+    public int[] getNextStops() {
+        return nextStops;
+    }
+
+    /**
+     * @return Flags of elevators that have reached their next stop in the last step.
+     */
+    public boolean[] getArrivals() {
+        return arrivals;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.fleet;
+
+public class ScalarStepKernel implements StepKernel {
+
+    @Override
+    public int step(FleetState fleetState) {
+        return step(fleetState, 0, fleetState.size());
+    }
+
+    static int step(FleetState fleetState, int fromIndex, int toIndex) {
+        final int[] floors = fleetState.getFloors();
+        final int[] directions = fleetState.getDirections();
+        final int[] nextStops = fleetState.getNextStops();
+        final boolean[] arrivals = fleetState.getArrivals();
+        int arrivalsCount = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            final boolean isMoving = directions[i] != 0 && floors[i] != nextStops[i];
+            if (isMoving) {
+                floors[i] += directions[i];
+            }
+            arrivals[i] = isMoving && floors[i] == nextStops[i];
+            if (arrivals[i]) {
+                arrivalsCount++;
+            }
+        }
+        return arrivalsCount;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.fleet;
+
+/**
+ * The `StepKernel` interface is a standalone prototype of moving the whole fleet kept in `FleetState` at once.
+ * `ElevatorSystemImpl` does not use it: a step there also changes directions, stops elevators, boards users
+ * and notifies listeners for every elevator, which the arrays do not hold. Only the move by one floor would run
+ * in the kernel, and copying the fleet into `FleetState` and back in every step costs more than that move.
+ * The kernels are compared with `ElevatorServiceImpl.elevatorStep` by `StepKernelBenchmark`.
+ */
+public interface StepKernel {
+    /**
+     * Moves every elevator that is not idle and is not at its next stop by one floor in its direction
+     * and marks elevators that have reached their next stop.
+     *
+     * @param fleetState The state of elevators to be updated.
+     * @return The number of elevators that have reached their next stop.
+     */
+    int step(FleetState fleetState);
+}
@@ -0,0 +1,41 @@
+package org.example.fleet;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The `VectorStepKernel` class does the step using JDK Vector API, so many elevators are updated in one instruction.
+ * It requires `jdk.incubator.vector` module, use `StepKernelFactory` to get kernel that works without it.
+ */
+public class VectorStepKernel implements StepKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int step(FleetState fleetState) {
+        final int[] floors = fleetState.getFloors();
+        final int[] directions = fleetState.getDirections();
+        final int[] nextStops = fleetState.getNextStops();
+        final boolean[] arrivals = fleetState.getArrivals();
+        final int loopBound = SPECIES.loopBound(fleetState.size());
+        int arrivalsCount = 0;
+
+        for (int i = 0; i < loopBound; i += SPECIES.length()) {
+            IntVector floor = IntVector.fromArray(SPECIES, floors, i);
+            IntVector direction = IntVector.fromArray(SPECIES, directions, i);
+            IntVector nextStop = IntVector.fromArray(SPECIES, nextStops, i);
+
+            VectorMask<Integer> isMoving = direction.compare(VectorOperators.NE, 0)
+                    .and(floor.compare(VectorOperators.NE, nextStop));
+            IntVector movedFloor = floor.add(direction, isMoving);
+            movedFloor.intoArray(floors, i);
+
+            VectorMask<Integer> hasArrived = isMoving.and(movedFloor.compare(VectorOperators.EQ, nextStop));
+            hasArrived.intoArray(arrivals, i);
+            arrivalsCount += hasArrived.trueCount();
+        }
+
+        return arrivalsCount + ScalarStepKernel.step(fleetState, loopBound, fleetState.size());
+    }
+}
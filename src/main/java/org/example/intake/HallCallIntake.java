@@ -0,0 +1,77 @@
+package org.example.intake;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystem;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The `HallCallIntake` class collects calls from many threads (e.g. panels) without locks. Calls are dispatched
+ * in a batch by the simulation thread, so the elevator system state is changed by a single thread only.
+ * Futures are completed on the simulation thread, dependent actions should use `*Async` methods to not slow it down.
+ * At most `maxCallsPerDrain` calls are dispatched in one batch, so a burst of calls does not stall a step,
+ * the rest stays submitted for the following batches.
+ */
+public class HallCallIntake {
+    public final static int DEFAULT_MAX_CALLS_PER_DRAIN = 1024;
+
+    private final MpscLinkedQueue<HallCallRequest> requests = new MpscLinkedQueue<>();
+    private final int maxCallsPerDrain;
+
+    public HallCallIntake() {
+        this(DEFAULT_MAX_CALLS_PER_DRAIN);
+    }
+
+    public HallCallIntake(int maxCallsPerDrain) {
+        if (maxCallsPerDrain < 1) {
+            throw new IllegalArgumentException("Maximal number of calls per drain must be positive (maxCallsPerDrain = %d)"
+                    .formatted(maxCallsPerDrain));
+        }
+        this.maxCallsPerDrain = maxCallsPerDrain;
+    }
+
+    public CompletableFuture<Elevator> submit(int pickupFloor, Direction direction) {
+        return submit(HallCallRequest.of(pickupFloor, direction));
+    }
+
+    public CompletableFuture<Elevator> submit(int pickupFloor, Direction direction, int targetFloor) {
+        return submit(HallCallRequest.of(pickupFloor, direction, targetFloor));
+    }
+
+    private CompletableFuture<Elevator> submit(HallCallRequest request) {
+        this.requests.offer(request);
+        return request.getAssignment();
+    }
+
+    /**
+     * Must be called only from the simulation thread.
+     */
+    public boolean hasPendingCalls() {
+        return !this.requests.isEmpty();
+    }
+
+    /**
+     * The `drainTo` method dispatches submitted calls with `pickup` of the given system in the order they were submitted,
+     * at most `maxCallsPerDrain` of them. Calls submitted meanwhile by other threads are dispatched by a later call.
+     * Must be called only from the simulation thread.
+     *
+     * @return The number of dispatched calls.
+     */
+    public int drainTo(ElevatorSystem elevatorSystem) {
+        int dispatchedCalls = 0;
+        HallCallRequest request;
+        while (dispatchedCalls < this.maxCallsPerDrain && (request = this.requests.poll()) != null) {
+            try {
+                Elevator elevator = request.hasTargetFloor()
+                        ? elevatorSystem.pickup(request.getPickupFloor(), request.getDirection(), request.getTargetFloor())
+                        : elevatorSystem.pickup(request.getPickupFloor(), request.getDirection());
+                request.getAssignment().complete(elevator);
+            } catch (RuntimeException e) {
+                request.getAssignment().completeExceptionally(e);
+            }
+            dispatchedCalls++;
+        }
+        return dispatchedCalls;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.intake;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The `HallCallRequest` class is a call submitted to `HallCallIntake` that waits for the simulation thread.
+ */
+public class HallCallRequest {
+    private final int pickupFloor;
+    private final Direction direction;
+    private final boolean hasTargetFloor;
+    private final int targetFloor;
+    private final CompletableFuture<Elevator> assignment;
+
+    private HallCallRequest(int pickupFloor, Direction direction, boolean hasTargetFloor, int targetFloor) {
+        this.pickupFloor = pickupFloor;
+        this.direction = direction;
+        this.hasTargetFloor = hasTargetFloor;
+        this.targetFloor = targetFloor;
+        this.assignment = new CompletableFuture<>();
+    }
+
+    public static HallCallRequest of(int pickupFloor, Direction direction) {
+        return new HallCallRequest(pickupFloor, direction, false, 0);
+    }
+
+    public static HallCallRequest of(int pickupFloor, Direction direction, int targetFloor) {
+        return new HallCallRequest(pickupFloor, direction, true, targetFloor);
+    }
+
+    public int getPickupFloor() {
+        return pickupFloor;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public boolean hasTargetFloor() {
+        return hasTargetFloor;
+    }
+
+    public int getTargetFloor() {
+        return targetFloor;
+    }
+
+    /**
+     * @return Future completed with the assigned elevator (or null when the call is not possible) when the call is dispatched.
+     */
+    public CompletableFuture<Elevator> getAssignment() {
+        return assignment;
+    }
+}
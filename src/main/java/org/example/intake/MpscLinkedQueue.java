@@ -0,0 +1,70 @@
+package org.example.intake;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The `MpscLinkedQueue` class is an unbounded lock-free queue for many producers and a single consumer.
+ * `offer` is wait-free: a producer swaps the tail with one atomic exchange and links the previous node.
+ * `poll` and `isEmpty` must be called only by the consumer thread. An element whose producer has swapped the tail
+ * but not linked it yet is not visible to the consumer, it is returned by a later `poll`.
+ */
+public class MpscLinkedQueue<E> {
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final AtomicReference<Node<E>> tail;
+    private Node<E> head;
+
+    public MpscLinkedQueue() {
+        Node<E> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    public void offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("Queue does not accept null elements");
+        }
+        Node<E> node = new Node<>(element);
+        Node<E> previousTail = this.tail.getAndSet(node);
+        NEXT.setRelease(previousTail, node);
+    }
+
+    /**
+     * @return The oldest element or null when there is no visible element.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        Node<E> next = (Node<E>) NEXT.getAcquire(this.head);
+        if (next == null) {
+            return null;
+        }
+        E element = next.value;
+        next.value = null;
+        this.head = next;
+        return element;
+    }
+
+    public boolean isEmpty() {
+        return NEXT.getAcquire(this.head) == null && this.tail.get() == this.head;
+    }
+
+    private static class Node<E> {
+        private E value;
+        @SuppressWarnings("unused")
+        private Node<E> next;
+
+        private Node(E value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The `BoardingEvent` class is a Flight Recorder event covering passengers boarding an elevator on a called floor.
+ */
+@Name("org.example.Boarding")
+@Label("Elevator Boarding")
+@Category({"Elevator System"})
+@Description("Batch of destinations selected by passengers boarding an elevator on a called floor")
+@StackTrace(false)
+@Threshold("100 us")
+public class BoardingEvent extends Event {
+    private final static EventType EVENT_TYPE = EventType.getEventType(BoardingEvent.class);
+
+    @Label("Elevator")
+    public int elevatorId;
+
+    @Label("Floor")
+    public int floor;
+
+    @Label("Boarded Destinations")
+    public int boardedDestinations;
+
+    @Label("Remaining Destinations")
+    @Description("Destinations still waiting on the floor for an elevator going the other way")
+    public int remainingDestinations;
+
+    /**
+     * The `beginIfEnabled` method creates and begins the event only when it is enabled in a running recording,
+     * so nothing is allocated when the event is not recorded.
+     * @return The begun event or null when the event is disabled.
+     */
+    public static BoardingEvent beginIfEnabled() {
+        if (!EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        BoardingEvent event = new BoardingEvent();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The `DispatchEvent` class is a Flight Recorder event covering the choice of an elevator for a hall call.
+ */
+@Name("org.example.Dispatch")
+@Label("Elevator Dispatch")
+@Category({"Elevator System"})
+@Description("Choice of the elevator which serves a hall call")
+@StackTrace(false)
+@Threshold("100 us")
+public class DispatchEvent extends Event {
+    private final static EventType EVENT_TYPE = EventType.getEventType(DispatchEvent.class);
+
+    @Label("Floor")
+    public int floor;
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("Chosen Elevator")
+    @Description("Id of the chosen elevator, -1 if none was chosen")
+    public int elevatorId;
+
+    @Label("Candidates")
+    @Description("Number of elevators which could serve the call and were compared to choose one")
+    public int candidates;
+
+    /**
+     * The `beginIfEnabled` method creates and begins the event only when it is enabled in a running recording,
+     * so nothing is allocated when the event is not recorded.
+     * @return The begun event or null when the event is disabled.
+     */
+    public static DispatchEvent beginIfEnabled() {
+        if (!EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        DispatchEvent event = new DispatchEvent();
+        event.begin();
+        return event;
+    }
+}
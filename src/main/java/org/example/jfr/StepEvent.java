@@ -0,0 +1,41 @@
+package org.example.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The `StepEvent` class is a Flight Recorder event covering one step of the elevator system.
+ * By default only steps longer than the threshold are recorded, see `/jfr/elevators-profile.jfc` to record all of them.
+ */
+@Name("org.example.Step")
+@Label("Elevator System Step")
+@Category({"Elevator System"})
+@Description("One step of all elevators, including processing of calls on reached floors")
+@StackTrace(false)
+@Threshold("1 ms")
+public class StepEvent extends Event {
+    private final static EventType EVENT_TYPE = EventType.getEventType(StepEvent.class);
+
+    @Label("Step Number")
+    public long stepNumber;
+
+    @Label("Elevators")
+    public int elevators;
+
+    @Label("Called Floors")
+    @Description("Number of floors with waiting passengers after the step")
+    public int calledFloors;
+
+    /**
+     * The `beginIfEnabled` method creates and begins the event only when it is enabled in a running recording,
+     * so nothing is allocated when the event is not recorded.
+     * @return The begun event or null when the event is disabled.
+     */
+    public static StepEvent beginIfEnabled() {
+        if (!EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        StepEvent event = new StepEvent();
+        event.begin();
+        return event;
+    }
+}
@@ -5,6 +5,7 @@ public enum Direction {
     IDLE(0),
     DOWN(-1);
 
+    private final static Direction[] VALUES = values();
     private final int directionValue;
 
     Direction(int directionValue) {
@@ -21,7 +22,7 @@ public enum Direction {
     }
 
     public static Direction fromValue(int value) {
-        for (Direction direction : values()) {
+        for (Direction direction : VALUES) {
             if (direction.directionValue == value) {
                 return direction;
             }
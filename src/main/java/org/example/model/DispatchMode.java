@@ -0,0 +1,12 @@
+package org.example.model;
+
+public enum DispatchMode {
+    /**
+     * Elevators are called by direction, users choose their floor in any elevator that stops on the called floor.
+     */
+    DIRECTION,
+    /**
+     * Users give their destination when calling, each user is assigned to one elevator and boards only that elevator.
+     */
+    DESTINATION
+}
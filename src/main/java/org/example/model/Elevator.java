@@ -1,6 +1,7 @@
 package org.example.model;
 
-import java.util.HashSet;
+import org.example.util.FloorSet;
+
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -14,37 +15,45 @@ public class Elevator {
     /**
      * Target floor for current direction
      */
-    private Set<Integer> targetFloors;
+    private final FloorSet targetFloors;
 
     /**
      * Used when elevator is currently moving in different direction then called require but is called.
      */
-    private Set<Integer> targetFloorsOtherDirection;
+    private final FloorSet targetFloorsOtherDirection;
 
     public Elevator() {
-        id = nextId.getAndIncrement();
+        this(nextId.getAndIncrement());
+    }
+
+    /**
+     * Creates a copy of an existing elevator with the same id, e.g. a detached copy used to try changes
+     * without touching the elevator of the system.
+     */
+    public Elevator(int id) {
+        this.id = id;
         currentDirection = Direction.IDLE;
-        targetFloors = new HashSet<>();
+        targetFloors = new FloorSet();
+        targetFloorsOtherDirection = new FloorSet();
     }
 
     public void addTargetFloor(int floor) {
-        if (targetFloors == null) {
-            targetFloors = new HashSet<>();
-        }
         targetFloors.add(floor);
     }
 
     public void addTargetFloorInOtherDirection(int floor) {
-        if (targetFloorsOtherDirection == null) {
-            targetFloorsOtherDirection = new HashSet<>();
-        }
         targetFloorsOtherDirection.add(floor);
     }
 
     public void removeTargetFloor(int floor) {
-        if (targetFloors != null) {
-           targetFloors.remove(floor);
-        }
+        targetFloors.remove(floor);
+    }
+
+    /**
+     * Makes targets for the other direction the main targets and the other way round.
+     */
+    public void swapTargetFloors() {
+        targetFloors.swap(targetFloorsOtherDirection);
     }
 
     public int getId() {
@@ -67,19 +76,37 @@ public class Elevator {
         this.currentDirection = currentDirection;
     }
 
-    public Set<Integer> getTargetFloors() {
+    public FloorSet getTargetFloors() {
         return targetFloors;
     }
 
+    /**
+     * Replaces target floors with copy of the given floors.
+     */
     public void setTargetFloors(Set<Integer> targetFloors) {
-        this.targetFloors = targetFloors;
+        if (targetFloors == this.targetFloors) {
+            return;
+        }
+        this.targetFloors.clear();
+        if (targetFloors != null) {
+            this.targetFloors.addAll(targetFloors);
+        }
     }
 
-    public Set<Integer> getTargetFloorsOtherDirection() {
+    public FloorSet getTargetFloorsOtherDirection() {
         return targetFloorsOtherDirection;
     }
 
+    /**
+     * Replaces target floors for the other direction with copy of the given floors.
+     */
     public void setTargetFloorsOtherDirection(Set<Integer> targetFloorsOtherDirection) {
-        this.targetFloorsOtherDirection = targetFloorsOtherDirection;
+        if (targetFloorsOtherDirection == this.targetFloorsOtherDirection) {
+            return;
+        }
+        this.targetFloorsOtherDirection.clear();
+        if (targetFloorsOtherDirection != null) {
+            this.targetFloorsOtherDirection.addAll(targetFloorsOtherDirection);
+        }
     }
 }
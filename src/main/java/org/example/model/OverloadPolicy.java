@@ -0,0 +1,12 @@
+package org.example.model;
+
+public enum OverloadPolicy {
+    /**
+     * Calls exceeding the limit of pending calls are rejected, the caller has to call again later.
+     */
+    SHED,
+    /**
+     * Calls exceeding the limit of pending calls wait in a queue and are dispatched in order when pending calls are served.
+     */
+    QUEUE
+}
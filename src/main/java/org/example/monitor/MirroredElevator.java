@@ -0,0 +1,45 @@
+package org.example.monitor;
+
+import org.example.model.Direction;
+
+import java.util.Set;
+
+/**
+ * The `MirroredElevator` class is a read-only copy of elevator state read from the shared state file.
+ */
+public class MirroredElevator {
+    private final int id;
+    private final int currentFloor;
+    private final Direction currentDirection;
+    private final Set<Integer> targetFloors;
+    private final Set<Integer> targetFloorsOtherDirection;
+
+    public MirroredElevator(int id, int currentFloor, Direction currentDirection,
+                            Set<Integer> targetFloors, Set<Integer> targetFloorsOtherDirection) {
+        this.id = id;
+        this.currentFloor = currentFloor;
+        this.currentDirection = currentDirection;
+        this.targetFloors = Set.copyOf(targetFloors);
+        this.targetFloorsOtherDirection = Set.copyOf(targetFloorsOtherDirection);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getCurrentFloor() {
+        return currentFloor;
+    }
+
+    public Direction getCurrentDirection() {
+        return currentDirection;
+    }
+
+    public Set<Integer> getTargetFloors() {
+        return targetFloors;
+    }
+
+    public Set<Integer> getTargetFloorsOtherDirection() {
+        return targetFloorsOtherDirection;
+    }
+}
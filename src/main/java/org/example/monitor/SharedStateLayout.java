@@ -0,0 +1,67 @@
+package org.example.monitor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * The `SharedStateLayout` class describes the memory-mapped file shared by `SharedStateMirror` and `SharedStateReader`.
+ * All values are little-endian.
+ * <pre>
+ * header (64 bytes):
+ *   0  int  magic
+ *   4  int  layout version
+ *   8  long sequence - odd while the writer updates the file, incremented by 2 with every update
+ *   16 long step number
+ *   24 int  capacity - number of elevator records in the file
+ *   28 int  number of elevators written in the last update
+ *   32 int  min floor value - floor of bit 0 of target bitmaps
+ *   36 int  bitmap words - number of longs in one target bitmap
+ * elevator record (16 + 2 * 8 * bitmapWords bytes):
+ *   0  int  id
+ *   4  int  current floor
+ *   8  int  direction value (1 == UP, 0 == IDLE, -1 == DOWN)
+ *   16 long[bitmapWords] target floors
+ *   .. long[bitmapWords] target floors (other direction)
+ * </pre>
+ */
+public final class SharedStateLayout {
+    public static final int MAGIC = 0x454C5653;
+    public static final int VERSION = 1;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = 4;
+    public static final int SEQUENCE_OFFSET = 8;
+    public static final int STEP_NUMBER_OFFSET = 16;
+    public static final int CAPACITY_OFFSET = 24;
+    public static final int ELEVATOR_COUNT_OFFSET = 28;
+    public static final int MIN_FLOOR_OFFSET = 32;
+    public static final int BITMAP_WORDS_OFFSET = 36;
+    public static final int HEADER_SIZE = 64;
+
+    public static final int ID_OFFSET = 0;
+    public static final int FLOOR_OFFSET = 4;
+    public static final int DIRECTION_OFFSET = 8;
+    public static final int TARGETS_OFFSET = 16;
+
+    /**
+     * Used for ordered access to the sequence, which makes the file a seqlock.
+     */
+    static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, BYTE_ORDER);
+
+    private SharedStateLayout() {
+    }
+
+    public static int getBitmapWords(int minFloorValue, int maxFloorValue) {
+        return (maxFloorValue - minFloorValue) / Long.SIZE + 1;
+    }
+
+    public static int getRecordSize(int bitmapWords) {
+        return TARGETS_OFFSET + 2 * Long.BYTES * bitmapWords;
+    }
+
+    public static long getFileSize(int capacity, int bitmapWords) {
+        return HEADER_SIZE + (long) capacity * getRecordSize(bitmapWords);
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.monitor;
+
+import org.example.config.ElevatorsConfig;
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystemListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.example.monitor.SharedStateLayout.*;
+
+/**
+ * The `SharedStateMirror` class writes state of elevators after every step into a memory-mapped file
+ * (see `SharedStateLayout`). Other processes can read it with `SharedStateReader` without any calls to this process.
+ * The file is updated like a seqlock: the sequence is odd during update, so readers retry when they see an odd sequence
+ * or the sequence has changed while they were reading. The writer never waits for readers.
+ */
+public class SharedStateMirror implements ElevatorSystemListener, Closeable {
+    private final static Logger LOG = Logger.getLogger(SharedStateMirror.class.getName());
+
+    private final FileChannel fileChannel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int minFloorValue;
+    private final int maxFloorValue;
+    private final int bitmapWords;
+    private final int recordSize;
+    private long sequence;
+    private boolean isCapacityExceededLogged;
+
+    public SharedStateMirror(Path path, ElevatorsConfig elevatorsConfig) throws IOException {
+        this(path, elevatorsConfig, elevatorsConfig.getNumberOfElevators());
+    }
+
+    public SharedStateMirror(Path path, ElevatorsConfig elevatorsConfig, int capacity) throws IOException {
+        this.capacity = capacity;
+        this.minFloorValue = elevatorsConfig.getMinFloorValue();
+        this.maxFloorValue = elevatorsConfig.getMaxFloorValue();
+        this.bitmapWords = getBitmapWords(this.minFloorValue, this.maxFloorValue);
+        this.recordSize = getRecordSize(this.bitmapWords);
+
+        this.fileChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = this.fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, getFileSize(capacity, this.bitmapWords));
+        this.buffer.order(BYTE_ORDER);
+
+        this.buffer.putInt(VERSION_OFFSET, VERSION);
+        this.buffer.putInt(CAPACITY_OFFSET, capacity);
+        this.buffer.putInt(MIN_FLOOR_OFFSET, this.minFloorValue);
+        this.buffer.putInt(BITMAP_WORDS_OFFSET, this.bitmapWords);
+        LONG_VIEW.setRelease(this.buffer, SEQUENCE_OFFSET, this.sequence);
+        // magic is written last, so readers never see a file with partially written header
+        this.buffer.putInt(MAGIC_OFFSET, MAGIC);
+    }
+
+    @Override
+    public void onStep(long stepNumber, List<Elevator> elevators) {
+        write(stepNumber, elevators);
+    }
+
+    /**
+     * The `write` method copies state of elevators into the file.
+     * @param stepNumber The step number of the state.
+     * @param elevators The elevators, only first `capacity` elevators are written.
+     */
+    public void write(long stepNumber, List<Elevator> elevators) {
+        final int elevatorCount = Math.min(elevators.size(), this.capacity);
+        if (elevatorCount < elevators.size() && !this.isCapacityExceededLogged) {
+            LOG.warning("Shared state file can keep only %d of %d elevators".formatted(this.capacity, elevators.size()));
+            this.isCapacityExceededLogged = true;
+        }
+
+        LONG_VIEW.setOpaque(this.buffer, SEQUENCE_OFFSET, ++this.sequence);
+        VarHandle.storeStoreFence();
+
+        this.buffer.putLong(STEP_NUMBER_OFFSET, stepNumber);
+        this.buffer.putInt(ELEVATOR_COUNT_OFFSET, elevatorCount);
+        for (int i = 0; i < elevatorCount; i++) {
+            writeElevator(HEADER_SIZE + i * this.recordSize, elevators.get(i));
+        }
+
+        LONG_VIEW.setRelease(this.buffer, SEQUENCE_OFFSET, ++this.sequence);
+    }
+
+    private void writeElevator(int offset, Elevator elevator) {
+        this.buffer.putInt(offset + ID_OFFSET, elevator.getId());
+        this.buffer.putInt(offset + FLOOR_OFFSET, elevator.getCurrentFloor());
+        this.buffer.putInt(offset + DIRECTION_OFFSET, elevator.getCurrentDirection().mapDirectionToValue());
+
+        final int targetsOffset = offset + TARGETS_OFFSET;
+        writeBitmap(targetsOffset, elevator.getTargetFloors());
+        writeBitmap(targetsOffset + Long.BYTES * this.bitmapWords, elevator.getTargetFloorsOtherDirection());
+    }
+
+    private void writeBitmap(int offset, Set<Integer> floors) {
+        for (int word = 0; word < this.bitmapWords; word++) {
+            this.buffer.putLong(offset + word * Long.BYTES, 0L);
+        }
+        if (floors == null) {
+            return;
+        }
+        for (int floor : floors) {
+            if (floor < this.minFloorValue || floor > this.maxFloorValue) {
+                continue;
+            }
+            final int bit = floor - this.minFloorValue;
+            final int wordOffset = offset + (bit / Long.SIZE) * Long.BYTES;
+            this.buffer.putLong(wordOffset, this.buffer.getLong(wordOffset) | (1L << (bit % Long.SIZE)));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.buffer.force();
+        this.fileChannel.close();
+    }
+}
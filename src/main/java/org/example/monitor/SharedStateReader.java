@@ -0,0 +1,136 @@
+package org.example.monitor;
+
+import org.example.model.Direction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.example.monitor.SharedStateLayout.*;
+
+/**
+ * The `SharedStateReader` class reads state written by `SharedStateMirror` (possibly in another process).
+ * It maps the file read-only and copies it between two reads of the sequence, retrying when the writer
+ * was updating the file at the same time.
+ * Run `java -cp <jar> org.example.monitor.SharedStateReader <file> [intervalMillis]` to print the state periodically.
+ */
+public class SharedStateReader implements Closeable {
+    private final FileChannel fileChannel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int minFloorValue;
+    private final int bitmapWords;
+    private final int recordSize;
+    private final ByteBuffer copy;
+
+    public SharedStateReader(Path path) throws IOException {
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = this.fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, this.fileChannel.size());
+        this.buffer.order(BYTE_ORDER);
+
+        if (this.buffer.capacity() < HEADER_SIZE || this.buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+            this.fileChannel.close();
+            throw new IOException("File is not a shared elevators state file = %s".formatted(path));
+        }
+        if (this.buffer.getInt(VERSION_OFFSET) != VERSION) {
+            this.fileChannel.close();
+            throw new IOException("Unsupported shared state version (version = %d, supported = %d)"
+                    .formatted(this.buffer.getInt(VERSION_OFFSET), VERSION));
+        }
+        this.capacity = this.buffer.getInt(CAPACITY_OFFSET);
+        this.minFloorValue = this.buffer.getInt(MIN_FLOOR_OFFSET);
+        this.bitmapWords = this.buffer.getInt(BITMAP_WORDS_OFFSET);
+        this.recordSize = getRecordSize(this.bitmapWords);
+        this.copy = ByteBuffer.allocate((int) getFileSize(this.capacity, this.bitmapWords)).order(BYTE_ORDER);
+    }
+
+    /**
+     * The `read` method returns consistent state of elevators. It spins while the writer is updating the file.
+     */
+    public SharedStateSnapshot read() {
+        while (true) {
+            final long sequence = (long) LONG_VIEW.getAcquire(this.buffer, SEQUENCE_OFFSET);
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            this.copy.put(0, this.buffer, 0, this.copy.capacity());
+            VarHandle.loadLoadFence();
+
+            if ((long) LONG_VIEW.getOpaque(this.buffer, SEQUENCE_OFFSET) == sequence) {
+                return parseCopy(sequence);
+            }
+        }
+    }
+
+    private SharedStateSnapshot parseCopy(long sequence) {
+        final int elevatorCount = Math.min(this.copy.getInt(ELEVATOR_COUNT_OFFSET), this.capacity);
+        List<MirroredElevator> elevators = new ArrayList<>(elevatorCount);
+
+        for (int i = 0; i < elevatorCount; i++) {
+            final int offset = HEADER_SIZE + i * this.recordSize;
+            final int targetsOffset = offset + TARGETS_OFFSET;
+            elevators.add(new MirroredElevator(
+                    this.copy.getInt(offset + ID_OFFSET),
+                    this.copy.getInt(offset + FLOOR_OFFSET),
+                    Direction.fromValue(this.copy.getInt(offset + DIRECTION_OFFSET)),
+                    readBitmap(targetsOffset),
+                    readBitmap(targetsOffset + Long.BYTES * this.bitmapWords)
+            ));
+        }
+        return new SharedStateSnapshot(sequence, this.copy.getLong(STEP_NUMBER_OFFSET), elevators);
+    }
+
+    private Set<Integer> readBitmap(int offset) {
+        Set<Integer> floors = new TreeSet<>();
+        for (int word = 0; word < this.bitmapWords; word++) {
+            long bits = this.copy.getLong(offset + word * Long.BYTES);
+            while (bits != 0) {
+                final int bit = Long.numberOfTrailingZeros(bits);
+                floors.add(this.minFloorValue + word * Long.SIZE + bit);
+                bits &= bits - 1;
+            }
+        }
+        return floors;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.fileChannel.close();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Usage: SharedStateReader <file> [intervalMillis]");
+            return;
+        }
+        final long intervalMillis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+        try (SharedStateReader reader = new SharedStateReader(Path.of(args[0]))) {
+            long lastSequence = -1;
+            while (true) {
+                SharedStateSnapshot snapshot = reader.read();
+                if (snapshot.getSequence() != lastSequence) {
+                    lastSequence = snapshot.getSequence();
+                    System.out.printf("Step %d%n", snapshot.getStepNumber());
+                    for (MirroredElevator elevator : snapshot.getElevators()) {
+                        System.out.printf("  Elevator %d: floor = %d, direction = %s, targets = %s, targets (other direction) = %s%n",
+                                elevator.getId(), elevator.getCurrentFloor(), elevator.getCurrentDirection(),
+                                elevator.getTargetFloors(), elevator.getTargetFloorsOtherDirection());
+                    }
+                }
+                Thread.sleep(intervalMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.monitor;
+
+import java.util.List;
+
+/**
+ * The `SharedStateSnapshot` class keeps consistent state of all elevators read from the shared state file.
+ */
+public class SharedStateSnapshot {
+    private final long sequence;
+    private final long stepNumber;
+    private final List<MirroredElevator> elevators;
+
+    public SharedStateSnapshot(long sequence, long stepNumber, List<MirroredElevator> elevators) {
+        this.sequence = sequence;
+        this.stepNumber = stepNumber;
+        this.elevators = List.copyOf(elevators);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getStepNumber() {
+        return stepNumber;
+    }
+
+    public List<MirroredElevator> getElevators() {
+        return elevators;
+    }
+}
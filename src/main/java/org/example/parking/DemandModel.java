@@ -0,0 +1,110 @@
+package org.example.parking;
+
+import java.util.Arrays;
+
+/**
+ * The `DemandModel` class counts calls per floor in windows of `windowSteps` steps. Only the last `windows` windows
+ * are kept, older windows are reused for new calls. Predicted demand of a floor is the sum of its counts weighted by
+ * window age, so the most recent window has weight `windows` and the oldest one has weight 1.
+ */
+public class DemandModel {
+    private final int minFloorValue;
+    private final int windowSteps;
+    private final int[][] callsPerWindow;
+    private long currentWindow;
+
+    public DemandModel(int minFloorValue, int maxFloorValue, int windowSteps, int windows) {
+        if (minFloorValue > maxFloorValue || windowSteps < 1 || windows < 1) {
+            throw new IllegalArgumentException("Invalid demand model (minFloor = %d, maxFloor = %d, windowSteps = %d, windows = %d)"
+                    .formatted(minFloorValue, maxFloorValue, windowSteps, windows));
+        }
+        this.minFloorValue = minFloorValue;
+        this.windowSteps = windowSteps;
+        this.callsPerWindow = new int[windows][maxFloorValue - minFloorValue + 1];
+    }
+
+    /**
+     * The `recordCall` method counts a call from the floor in the window of the given step.
+     * Steps should not decrease between calls, calls from older windows than the current one are ignored.
+     */
+    public void recordCall(long stepNumber, int floor) {
+        advanceTo(stepNumber);
+        final long window = stepNumber / this.windowSteps;
+        final int floorIndex = floor - this.minFloorValue;
+        if (window == this.currentWindow && floorIndex >= 0 && floorIndex < getNumberOfFloors()) {
+            this.callsPerWindow[getWindowIndex(window)][floorIndex]++;
+        }
+    }
+
+    /**
+     * The `getPredictedDemand` method returns demand of the floor for windows up to the window of the given step.
+     */
+    public long getPredictedDemand(long stepNumber, int floor) {
+        advanceTo(stepNumber);
+        final int floorIndex = floor - this.minFloorValue;
+        if (floorIndex < 0 || floorIndex >= getNumberOfFloors()) {
+            return 0;
+        }
+        long demand = 0;
+        for (int age = 0; age < this.callsPerWindow.length; age++) {
+            final long window = this.currentWindow - age;
+            if (window < 0) {
+                break;
+            }
+            demand += (long) this.callsPerWindow[getWindowIndex(window)][floorIndex] * (this.callsPerWindow.length - age);
+        }
+        return demand;
+    }
+
+    /**
+     * The `getHotFloors` method returns floors with any predicted demand, ordered from the highest demand
+     * (the lower floor goes first when demand is equal).
+     * @param maxFloors The maximal number of returned floors.
+     */
+    public int[] getHotFloors(long stepNumber, int maxFloors) {
+        final int numberOfFloors = getNumberOfFloors();
+        final long[] demands = new long[numberOfFloors];
+        int floorsWithDemand = 0;
+        for (int i = 0; i < numberOfFloors; i++) {
+            demands[i] = getPredictedDemand(stepNumber, this.minFloorValue + i);
+            if (demands[i] > 0) {
+                floorsWithDemand++;
+            }
+        }
+
+        final int[] hotFloors = new int[Math.min(maxFloors, floorsWithDemand)];
+        final boolean[] taken = new boolean[numberOfFloors];
+        for (int i = 0; i < hotFloors.length; i++) {
+            int hottestFloorIndex = -1;
+            for (int floorIndex = 0; floorIndex < numberOfFloors; floorIndex++) {
+                if (!taken[floorIndex] && demands[floorIndex] > 0
+                        && (hottestFloorIndex < 0 || demands[floorIndex] > demands[hottestFloorIndex])) {
+                    hottestFloorIndex = floorIndex;
+                }
+            }
+            taken[hottestFloorIndex] = true;
+            hotFloors[i] = this.minFloorValue + hottestFloorIndex;
+        }
+        return hotFloors;
+    }
+
+    private void advanceTo(long stepNumber) {
+        final long window = stepNumber / this.windowSteps;
+        if (window <= this.currentWindow) {
+            return;
+        }
+        final long windowsToClear = Math.min(window - this.currentWindow, this.callsPerWindow.length);
+        for (long i = 1; i <= windowsToClear; i++) {
+            Arrays.fill(this.callsPerWindow[getWindowIndex(this.currentWindow + i)], 0);
+        }
+        this.currentWindow = window;
+    }
+
+    private int getWindowIndex(long window) {
+        return (int) (window % this.callsPerWindow.length);
+    }
+
+    private int getNumberOfFloors() {
+        return this.callsPerWindow[0].length;
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.parking;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemListener;
+import org.example.timer.ScheduledTimer;
+import org.example.timer.TimerAction;
+
+import java.util.List;
+
+/**
+ * The `IdleElevatorParking` class records calls in a `DemandModel` and every `intervalSteps` steps sends idle elevators
+ * to floors with the highest predicted demand. Each hot floor gets the closest idle elevator which does not already
+ * stand on a hot floor, at most `budget` elevators are sent in one rebalance.
+ * Elevators are sent with `ElevatorSystem.selectFloor`, so they serve calls on the way like any other elevator.
+ * <p>
+ * Rebalances are timers scheduled with `ElevatorSystem.schedule` from the first recorded call on, so `advance` stops
+ * at every rebalance step even when all elevators are idle. The timer marks the rebalance as due, and it is done
+ * in `onStep` of the same step, when elevators of the step are known.
+ */
+public class IdleElevatorParking implements ElevatorSystemListener {
+    private final ElevatorSystem elevatorSystem;
+    private final DemandModel demandModel;
+    private final int budget;
+    private final int intervalSteps;
+    private final TimerAction rebalanceTimerAction;
+    private ScheduledTimer rebalanceTimer;
+    private boolean isRebalanceDue;
+
+    public IdleElevatorParking(ElevatorSystem elevatorSystem, DemandModel demandModel, int budget, int intervalSteps) {
+        if (budget < 0 || intervalSteps < 1) {
+            throw new IllegalArgumentException("Invalid parking (budget = %d, intervalSteps = %d)".formatted(budget, intervalSteps));
+        }
+        this.elevatorSystem = elevatorSystem;
+        this.demandModel = demandModel;
+        this.budget = budget;
+        this.intervalSteps = intervalSteps;
+        this.rebalanceTimerAction = this::onRebalanceTimer;
+    }
+
+    @Override
+    public void onPickup(long stepNumber, int pickupFloor, Direction direction, Elevator elevator) {
+        this.demandModel.recordCall(stepNumber, pickupFloor);
+        if (this.budget > 0 && this.rebalanceTimer == null) {
+            this.rebalanceTimer = this.elevatorSystem.schedule(stepNumber + this.intervalSteps, this.rebalanceTimerAction);
+        }
+    }
+
+    @Override
+    public void onStep(long stepNumber, List<Elevator> elevators) {
+        if (!this.isRebalanceDue) {
+            return;
+        }
+        this.isRebalanceDue = false;
+        rebalance(stepNumber, elevators);
+    }
+
+    private void onRebalanceTimer(long stepNumber) {
+        this.isRebalanceDue = true;
+        this.rebalanceTimer = this.elevatorSystem.schedule(stepNumber + this.intervalSteps, this.rebalanceTimerAction);
+    }
+
+    /**
+     * The `rebalance` method sends idle elevators to hot floors which have no idle elevator and no elevator heading to them.
+     * @return The number of elevators sent.
+     */
+    public int rebalance(long stepNumber, List<Elevator> elevators) {
+        if (this.budget == 0) {
+            return 0;
+        }
+        final int idleElevators = countIdleElevators(elevators);
+        if (idleElevators == 0) {
+            return 0;
+        }
+        final int[] hotFloors = this.demandModel.getHotFloors(stepNumber, idleElevators);
+        final boolean[] sentElevators = new boolean[elevators.size()];
+        int sent = 0;
+
+        for (int hotFloor : hotFloors) {
+            if (sent == this.budget) {
+                break;
+            }
+            if (isFloorCovered(elevators, hotFloor)) {
+                continue;
+            }
+            final int elevatorIndex = findClosestFreeIdleElevator(elevators, hotFloors, sentElevators, hotFloor);
+            if (elevatorIndex < 0) {
+                break;
+            }
+            sentElevators[elevatorIndex] = true;
+            this.elevatorSystem.selectFloor(elevators.get(elevatorIndex), hotFloor);
+            sent++;
+        }
+        return sent;
+    }
+
+    private int countIdleElevators(List<Elevator> elevators) {
+        int idleElevators = 0;
+        for (int i = 0; i < elevators.size(); i++) {
+            if (isIdle(elevators.get(i))) {
+                idleElevators++;
+            }
+        }
+        return idleElevators;
+    }
+
+    private boolean isFloorCovered(List<Elevator> elevators, int floor) {
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            if ((isIdle(elevator) && elevator.getCurrentFloor() == floor)
+                    || elevator.getTargetFloors().contains(floor)
+                    || elevator.getTargetFloorsOtherDirection().contains(floor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int findClosestFreeIdleElevator(List<Elevator> elevators, int[] hotFloors, boolean[] sentElevators, int floor) {
+        int closestElevatorIndex = -1;
+        int closestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            if (sentElevators[i] || !isIdle(elevator) || isHotFloor(hotFloors, elevator.getCurrentFloor())) {
+                continue;
+            }
+            final int distance = Math.abs(elevator.getCurrentFloor() - floor);
+            if (distance < closestDistance) {
+                closestElevatorIndex = i;
+                closestDistance = distance;
+            }
+        }
+        return closestElevatorIndex;
+    }
+
+    private boolean isHotFloor(int[] hotFloors, int floor) {
+        for (int hotFloor : hotFloors) {
+            if (hotFloor == floor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isIdle(Elevator elevator) {
+        return elevator.getCurrentDirection() == Direction.IDLE
+                && elevator.getTargetFloors().isEmpty()
+                && elevator.getTargetFloorsOtherDirection().isEmpty();
+    }
+}
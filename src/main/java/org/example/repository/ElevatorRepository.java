@@ -2,8 +2,48 @@ package org.example.repository;
 
 import org.example.model.Elevator;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ElevatorRepository {
     List<Elevator> getElevators();
+
+    default Optional<Elevator> getElevator(int elevatorId) {
+        return getElevators().stream()
+                .filter(elevator -> elevator.getId() == elevatorId)
+                .findFirst();
+    }
+
+    default Collection<Elevator> getElevatorsOnFloor(int floor) {
+        return getElevators().stream()
+                .filter(elevator -> elevator.getCurrentFloor() == floor)
+                .toList();
+    }
+
+    /**
+     * The `addElevator` method adds the elevator to the repository at runtime.
+     * Repositories which do not support it keep the default, which adds nothing.
+     * @return true if the elevator was added, false if it was not (e.g. an elevator with the same id already exists).
+     */
+    default boolean addElevator(Elevator elevator) {
+        return false;
+    }
+
+    /**
+     * The `removeElevator` method removes the elevator from the repository at runtime.
+     * Repositories which do not support it keep the default, which removes nothing.
+     * @return true if the elevator was removed, false if it was not (e.g. there is no elevator with given id).
+     */
+    default boolean removeElevator(int elevatorId) {
+        return false;
+    }
+
+    /**
+     * Called by `ElevatorService` every time it changes current floor of the elevator, so repositories can keep their indexes up to date.
+     * @param elevator The elevator with already updated current floor.
+     * @param previousFloor The floor before the change.
+     */
+    default void onElevatorFloorChanged(Elevator elevator, int previousFloor) {
+    }
 }
@@ -6,12 +6,14 @@ import org.example.model.Elevator;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Logger;
 
 /**
  * The `ElevatorRepositoryDefaultElevators` class generates default Elevators based
  * on given configuration
  */
 public class ElevatorRepositoryDefaultElevators implements ElevatorRepository {
+    private final static Logger LOG = Logger.getLogger(ElevatorRepositoryDefaultElevators.class.getName());
     private final ElevatorsConfig elevatorsConfig;
 
     private List<Elevator> elevators = null;
@@ -29,6 +31,20 @@ public class ElevatorRepositoryDefaultElevators implements ElevatorRepository {
         return elevators;
     }
 
+    @Override
+    public boolean addElevator(Elevator elevator) {
+        if (getElevator(elevator.getId()).isPresent()) {
+            LOG.warning("Elevator with id %d already exists".formatted(elevator.getId()));
+            return false;
+        }
+        return getElevators().add(elevator);
+    }
+
+    @Override
+    public boolean removeElevator(int elevatorId) {
+        return getElevators().removeIf(elevator -> elevator.getId() == elevatorId);
+    }
+
     private void generateElevatorsBasedOnConfig() {
         this.elevators = new ArrayList<>();
 
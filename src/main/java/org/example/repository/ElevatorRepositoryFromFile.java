@@ -32,6 +32,20 @@ public class ElevatorRepositoryFromFile implements ElevatorRepository {
         return this.elevators;
     }
 
+    @Override
+    public boolean addElevator(Elevator elevator) {
+        if (getElevator(elevator.getId()).isPresent()) {
+            LOG.warning("Elevator with id %d already exists".formatted(elevator.getId()));
+            return false;
+        }
+        return getElevators().add(elevator);
+    }
+
+    @Override
+    public boolean removeElevator(int elevatorId) {
+        return getElevators().removeIf(elevator -> elevator.getId() == elevatorId);
+    }
+
     private List<Elevator> readElevatorsFromJsonFile(String path) {
         ObjectMapper mapper = new ObjectMapper();
         List<Elevator> elevatorList;
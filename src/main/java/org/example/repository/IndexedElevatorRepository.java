@@ -0,0 +1,221 @@
+package org.example.repository;
+
+import org.example.model.Elevator;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * The `IndexedElevatorRepository` class keeps elevators loaded from other repository with an id index and a floor index,
+ * so an elevator is found by id or floor without scanning the whole list. Elevators can be added and removed at runtime.
+ * The floor index is updated with `onElevatorFloorChanged`, which `ElevatorService` calls for every floor change it makes.
+ * <p>
+ * The floor index is an intrusive list: every elevator has a slot, and slots of elevators on the same floor are linked
+ * in primitive arrays, with the head and tail of each list kept in arrays indexed by `floor - lowestFloor`. Moving
+ * an elevator only relinks its slot, so it does not allocate. Arrays grow only when an elevator is added or reaches
+ * a floor outside of the indexed range.
+ */
+public class IndexedElevatorRepository implements ElevatorRepository {
+    private final static Logger LOG = Logger.getLogger(IndexedElevatorRepository.class.getName());
+    private final static int NO_SLOT = -1;
+    private final static int INITIAL_SLOTS = 16;
+
+    private final ElevatorRepository sourceRepository;
+
+    private List<Elevator> elevators = null;
+    private List<Elevator> elevatorsView;
+    private Map<Integer, Elevator> elevatorsById;
+
+    private Map<Elevator, Integer> slotsByElevator;
+    private Elevator[] slotElevators;
+    private int[] nextSlots;
+    private int[] previousSlots;
+    private int usedSlots;
+    private int freeSlot;
+
+    private int lowestFloor;
+    private int[] floorHeads;
+    private int[] floorTails;
+
+    public IndexedElevatorRepository(ElevatorRepository sourceRepository) {
+        this.sourceRepository = sourceRepository;
+    }
+
+    @Override
+    public List<Elevator> getElevators() {
+        if (elevators == null) {
+            loadElevatorsFromSource();
+        }
+        return elevatorsView;
+    }
+
+    @Override
+    public Optional<Elevator> getElevator(int elevatorId) {
+        getElevators();
+        return Optional.ofNullable(elevatorsById.get(elevatorId));
+    }
+
+    /**
+     * @return Elevators on the floor in the order they have reached it, as a copy which does not follow later moves.
+     */
+    @Override
+    public Collection<Elevator> getElevatorsOnFloor(int floor) {
+        getElevators();
+        if (!isFloorIndexed(floor) || floorHeads[floor - lowestFloor] == NO_SLOT) {
+            return Collections.emptyList();
+        }
+        List<Elevator> elevatorsOnFloor = new ArrayList<>();
+        for (int slot = floorHeads[floor - lowestFloor]; slot != NO_SLOT; slot = nextSlots[slot]) {
+            elevatorsOnFloor.add(slotElevators[slot]);
+        }
+        return elevatorsOnFloor;
+    }
+
+    @Override
+    public boolean addElevator(Elevator elevator) {
+        getElevators();
+        if (elevatorsById.containsKey(elevator.getId())) {
+            LOG.warning("Elevator with id %d already exists".formatted(elevator.getId()));
+            return false;
+        }
+        elevators.add(elevator);
+        addToIndexes(elevator);
+        return true;
+    }
+
+    @Override
+    public boolean removeElevator(int elevatorId) {
+        getElevators();
+        Elevator elevator = elevatorsById.remove(elevatorId);
+        if (elevator == null) {
+            return false;
+        }
+        elevators.remove(elevator);
+        final int slot = slotsByElevator.remove(elevator);
+        unlink(slot, elevator.getCurrentFloor());
+        slotElevators[slot] = null;
+        nextSlots[slot] = freeSlot;
+        freeSlot = slot;
+        return true;
+    }
+
+    @Override
+    public void onElevatorFloorChanged(Elevator elevator, int previousFloor) {
+        if (elevators == null || previousFloor == elevator.getCurrentFloor()) {
+            return;
+        }
+        final Integer slot = slotsByElevator.get(elevator);
+        if (slot == null) {
+            return;
+        }
+        unlink(slot, previousFloor);
+        link(slot, elevator.getCurrentFloor());
+    }
+
+    private void loadElevatorsFromSource() {
+        List<Elevator> sourceElevators = sourceRepository.getElevators();
+
+        this.elevators = new ArrayList<>();
+        this.elevatorsView = Collections.unmodifiableList(this.elevators);
+        this.elevatorsById = new HashMap<>();
+        this.slotsByElevator = new IdentityHashMap<>();
+        this.slotElevators = new Elevator[INITIAL_SLOTS];
+        this.nextSlots = new int[INITIAL_SLOTS];
+        this.previousSlots = new int[INITIAL_SLOTS];
+        this.usedSlots = 0;
+        this.freeSlot = NO_SLOT;
+        this.floorHeads = new int[0];
+        this.floorTails = new int[0];
+
+        if (sourceElevators != null) {
+            sourceElevators.forEach(this::addElevator);
+        }
+    }
+
+    private void addToIndexes(Elevator elevator) {
+        elevatorsById.put(elevator.getId(), elevator);
+        final int slot = allocateSlot();
+        slotElevators[slot] = elevator;
+        slotsByElevator.put(elevator, slot);
+        link(slot, elevator.getCurrentFloor());
+    }
+
+    private int allocateSlot() {
+        if (freeSlot != NO_SLOT) {
+            final int slot = freeSlot;
+            freeSlot = nextSlots[slot];
+            return slot;
+        }
+        if (usedSlots == slotElevators.length) {
+            slotElevators = Arrays.copyOf(slotElevators, usedSlots * 2);
+            nextSlots = Arrays.copyOf(nextSlots, usedSlots * 2);
+            previousSlots = Arrays.copyOf(previousSlots, usedSlots * 2);
+        }
+        return usedSlots++;
+    }
+
+    /**
+     * Appends the slot to the list of the floor, so elevators on a floor are kept in the order they have reached it.
+     */
+    private void link(int slot, int floor) {
+        ensureFloorIndexed(floor);
+        final int floorIndex = floor - lowestFloor;
+        final int tail = floorTails[floorIndex];
+        previousSlots[slot] = tail;
+        nextSlots[slot] = NO_SLOT;
+        if (tail == NO_SLOT) {
+            floorHeads[floorIndex] = slot;
+        } else {
+            nextSlots[tail] = slot;
+        }
+        floorTails[floorIndex] = slot;
+    }
+
+    private void unlink(int slot, int floor) {
+        final int floorIndex = floor - lowestFloor;
+        final int previous = previousSlots[slot];
+        final int next = nextSlots[slot];
+        if (previous == NO_SLOT) {
+            floorHeads[floorIndex] = next;
+        } else {
+            nextSlots[previous] = next;
+        }
+        if (next == NO_SLOT) {
+            floorTails[floorIndex] = previous;
+        } else {
+            previousSlots[next] = previous;
+        }
+    }
+
+    private boolean isFloorIndexed(int floor) {
+        return floor >= lowestFloor && floor - lowestFloor < floorHeads.length;
+    }
+
+    /**
+     * Grows the floor arrays to cover the floor, with some spare floors so an elevator going further does not grow
+     * them in every step.
+     */
+    private void ensureFloorIndexed(int floor) {
+        if (isFloorIndexed(floor)) {
+            return;
+        }
+        final int spareFloors = Math.max(INITIAL_SLOTS, floorHeads.length / 2);
+        int newLowestFloor = floor - spareFloors;
+        int newHighestFloor = floor + spareFloors;
+        if (floorHeads.length > 0) {
+            newLowestFloor = Math.min(lowestFloor, newLowestFloor);
+            newHighestFloor = Math.max(lowestFloor + floorHeads.length - 1, newHighestFloor);
+        }
+        final int[] newFloorHeads = new int[newHighestFloor - newLowestFloor + 1];
+        final int[] newFloorTails = new int[newFloorHeads.length];
+        Arrays.fill(newFloorHeads, NO_SLOT);
+        Arrays.fill(newFloorTails, NO_SLOT);
+        if (floorHeads.length > 0) {
+            System.arraycopy(floorHeads, 0, newFloorHeads, lowestFloor - newLowestFloor, floorHeads.length);
+            System.arraycopy(floorTails, 0, newFloorTails, lowestFloor - newLowestFloor, floorTails.length);
+        }
+        floorHeads = newFloorHeads;
+        floorTails = newFloorTails;
+        lowestFloor = newLowestFloor;
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.scheduler;
+
+import org.example.system.ElevatorSystem;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The `TickScheduler` class does steps of `ElevatorSystem` at a fixed rate of wall-clock time on its own thread.
+ * Ticks are scheduled at fixed times (start + n * period), so a late tick does not move the following ones.
+ * When the scheduler is behind, it does the overdue ticks one after another, but at most `maxCatchUpTicks` at once.
+ * Ticks above that limit are dropped for good: they are not carried into later batches, the system does fewer steps
+ * than the elapsed time asks for, and the dropped ticks are only counted as missed in `TickStatistics`, which keeps
+ * timing of all ticks. So the scheduler never falls further behind than `maxCatchUpTicks` periods.
+ * While the scheduler runs, the system must not be changed from other threads. The scheduler can be stopped
+ * from a step, e.g. by a listener of the system.
+ */
+public class TickScheduler implements AutoCloseable {
+    private final static Logger LOG = Logger.getLogger(TickScheduler.class.getName());
+    private final static long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ElevatorSystem elevatorSystem;
+    private final long periodNanos;
+    private final int maxCatchUpTicks;
+    private final TickStatistics statistics;
+    private final Ticker ticker;
+    private volatile Thread runningThread;
+    private Thread thread;
+
+    /**
+     * @param ticksPerSecond The rate of steps of the system.
+     * @param maxCatchUpTicks The most overdue ticks done at once, the overdue ticks above it are dropped and counted as missed.
+     */
+    public TickScheduler(ElevatorSystem elevatorSystem, double ticksPerSecond, int maxCatchUpTicks) {
+        this(elevatorSystem, ticksPerSecond, maxCatchUpTicks, Ticker.SYSTEM);
+    }
+
+    TickScheduler(ElevatorSystem elevatorSystem, double ticksPerSecond, int maxCatchUpTicks, Ticker ticker) {
+        if (ticksPerSecond <= 0 || maxCatchUpTicks < 1) {
+            throw new IllegalArgumentException("Invalid tick scheduler configuration (ticksPerSecond = %s, maxCatchUpTicks = %d)"
+                    .formatted(ticksPerSecond, maxCatchUpTicks));
+        }
+        this.elevatorSystem = elevatorSystem;
+        this.periodNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / ticksPerSecond));
+        this.maxCatchUpTicks = maxCatchUpTicks;
+        this.statistics = new TickStatistics();
+        this.ticker = ticker;
+    }
+
+    public synchronized void start() {
+        if (this.runningThread != null) {
+            return;
+        }
+        this.thread = new Thread(this::run, "tick-scheduler");
+        this.thread.setDaemon(true);
+        this.runningThread = this.thread;
+        this.thread.start();
+    }
+
+    /**
+     * The `stop` method ends the scheduler thread and waits until its current step is done. Called from the scheduler
+     * thread itself (from a step), it only ends the thread, a later call from other thread still waits for it.
+     * The running thread is interrupted, so it wakes up from parking at once. The monitor is held only to take
+     * the thread, so `start` and `stop` from other threads do not wait for the join.
+     */
+    public void stop() {
+        final Thread stoppedThread;
+        final boolean wasRunning;
+        synchronized (this) {
+            stoppedThread = this.thread;
+            wasRunning = stoppedThread != null && this.runningThread == stoppedThread;
+            this.runningThread = null;
+            if (stoppedThread == Thread.currentThread()) {
+                return;
+            }
+            this.thread = null;
+        }
+        if (stoppedThread != null) {
+            if (wasRunning) {
+                stoppedThread.interrupt();
+            }
+            try {
+                stoppedThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return runningThread != null;
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    public TickStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * The thread runs while it is the current thread of the scheduler, so a thread which has been stopped does not
+     * run on when the scheduler is started again before it has ended.
+     */
+    private void run() {
+        final Thread currentThread = Thread.currentThread();
+        long nextTickNanos = this.ticker.nanoTime() + this.periodNanos;
+
+        while (this.runningThread == currentThread) {
+            waitUntil(nextTickNanos, currentThread);
+            if (this.runningThread != currentThread) {
+                break;
+            }
+
+            final long wakeUpNanos = this.ticker.nanoTime();
+            this.statistics.recordJitter(wakeUpNanos - nextTickNanos);
+
+            final long dueTicks = (wakeUpNanos - nextTickNanos) / this.periodNanos + 1;
+            final long ticksToDo = Math.min(dueTicks, this.maxCatchUpTicks);
+            for (long i = 0; i < ticksToDo && this.runningThread == currentThread; i++) {
+                final long tickStartNanos = this.ticker.nanoTime();
+                doTick(currentThread);
+                final long tickEndNanos = this.ticker.nanoTime();
+
+                this.statistics.recordTick(tickStartNanos - nextTickNanos >= this.periodNanos,
+                        tickEndNanos - tickStartNanos > this.periodNanos);
+                nextTickNanos += this.periodNanos;
+            }
+
+            if (dueTicks > ticksToDo) {
+                final long missedTicks = dueTicks - ticksToDo;
+                this.statistics.recordMissedTicks(missedTicks);
+                nextTickNanos += missedTicks * this.periodNanos;
+            }
+        }
+    }
+
+    private void doTick(Thread currentThread) {
+        try {
+            this.elevatorSystem.step();
+        } catch (RuntimeException e) {
+            LOG.severe("Step failed, tick scheduler is stopped (%s)".formatted(e));
+            synchronized (this) {
+                if (this.runningThread == currentThread) {
+                    this.runningThread = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parks the thread until shortly before the deadline and spins the rest, since parking alone
+     * oversleeps by tens of microseconds.
+     */
+    private void waitUntil(long deadlineNanos, Thread currentThread) {
+        long remainingNanos;
+        while (this.runningThread == currentThread && (remainingNanos = deadlineNanos - this.ticker.nanoTime()) > 0) {
+            if (remainingNanos > SPIN_THRESHOLD_NANOS) {
+                this.ticker.parkNanos(this, remainingNanos - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
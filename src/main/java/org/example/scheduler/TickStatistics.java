@@ -0,0 +1,95 @@
+package org.example.scheduler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The `TickStatistics` class keeps timing of ticks done by `TickScheduler`. It is written only by the scheduler thread
+ * and can be read from any thread.
+ * Jitter is the time between the moment a tick was scheduled and the moment the scheduler started it.
+ */
+public class TickStatistics {
+    /**
+     * Jitter histogram bucket `i` counts jitters in range [2^(i-1), 2^i) microseconds, bucket 0 counts jitters below 1 microsecond.
+     */
+    public static final int JITTER_HISTOGRAM_BUCKETS = 32;
+
+    private final AtomicLongArray jitterHistogram = new AtomicLongArray(JITTER_HISTOGRAM_BUCKETS);
+    private volatile long executedTicks;
+    private volatile long catchUpTicks;
+    private volatile long missedTicks;
+    private volatile long overruns;
+    private volatile long jitterSamples;
+    private volatile long totalJitterNanos;
+    private volatile long maxJitterNanos;
+
+    void recordJitter(long jitterNanos) {
+        final long jitterMicros = Math.max(0, jitterNanos) / 1000;
+        final int bucket = Math.min(JITTER_HISTOGRAM_BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(jitterMicros));
+        this.jitterHistogram.incrementAndGet(bucket);
+        this.jitterSamples++;
+        this.totalJitterNanos += jitterNanos;
+        this.maxJitterNanos = Math.max(this.maxJitterNanos, jitterNanos);
+    }
+
+    void recordTick(boolean isCatchUp, boolean isOverrun) {
+        this.executedTicks++;
+        if (isCatchUp) {
+            this.catchUpTicks++;
+        }
+        if (isOverrun) {
+            this.overruns++;
+        }
+    }
+
+    void recordMissedTicks(long ticks) {
+        this.missedTicks += ticks;
+    }
+
+    public long getExecutedTicks() {
+        return executedTicks;
+    }
+
+    /**
+     * @return The number of ticks that were done later than one period after their scheduled time.
+     */
+    public long getCatchUpTicks() {
+        return catchUpTicks;
+    }
+
+    /**
+     * @return The number of ticks that were not done, because the scheduler was behind more than its catch-up limit.
+     */
+    public long getMissedTicks() {
+        return missedTicks;
+    }
+
+    /**
+     * @return The number of ticks whose step took longer than the tick period.
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    public long getMaxJitterNanos() {
+        return maxJitterNanos;
+    }
+
+    public double getMeanJitterNanos() {
+        final long samples = jitterSamples;
+        return samples == 0 ? 0 : (double) totalJitterNanos / samples;
+    }
+
+    public long[] getJitterHistogram() {
+        long[] histogram = new long[JITTER_HISTOGRAM_BUCKETS];
+        for (int i = 0; i < JITTER_HISTOGRAM_BUCKETS; i++) {
+            histogram[i] = this.jitterHistogram.get(i);
+        }
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return "executed = %d, catch-up = %d, missed = %d, overruns = %d, mean jitter = %.1f us, max jitter = %.1f us"
+                .formatted(executedTicks, catchUpTicks, missedTicks, overruns, getMeanJitterNanos() / 1000, maxJitterNanos / 1000.0);
+    }
+}
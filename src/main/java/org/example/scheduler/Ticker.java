@@ -0,0 +1,28 @@
+package org.example.scheduler;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The `Ticker` interface is the source of time of `TickScheduler`. The system ticker reads `System.nanoTime`,
+ * tests use a ticker with simulated time, so scheduling does not depend on the load of the machine.
+ */
+interface Ticker {
+    Ticker SYSTEM = new Ticker() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void parkNanos(Object blocker, long nanos) {
+            LockSupport.parkNanos(blocker, nanos);
+        }
+    };
+
+    long nanoTime();
+
+    /**
+     * Parks the calling thread for at most the given time, it may return earlier (e.g. when the thread is unparked).
+     */
+    void parkNanos(Object blocker, long nanos);
+}
@@ -0,0 +1,139 @@
+package org.example.service;
+
+import org.example.model.Elevator;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The `ActiveElevators` class marks elevators which may change in the next step, so idle elevators can be skipped.
+ * Elevators are marked by their index in the list of elevators, so active elevators are visited in the list order.
+ * `ElevatorServiceImpl` marks an elevator whenever it changes its targets or floor, the system unmarks it when
+ * the elevator has become idle. Until `sync` is called and after the list of elevators has changed, all elevators
+ * are treated as active.
+ */
+public class ActiveElevators {
+    private final Map<Elevator, Integer> indexes = new IdentityHashMap<>();
+    private long[] words = new long[0];
+    private int trackedSize;
+    private boolean isValid;
+    private int generation;
+
+    /**
+     * The `sync` method rebuilds marks when elevators have been added or removed since the previous call, after a rebuild
+     * all elevators are active. Must be called before iterating active elevators.
+     */
+    public void sync(List<Elevator> elevators) {
+        if (this.isValid && elevators.size() == this.trackedSize) {
+            return;
+        }
+        this.indexes.clear();
+        for (int i = 0; i < elevators.size(); i++) {
+            this.indexes.put(elevators.get(i), i);
+        }
+        this.trackedSize = elevators.size();
+        this.words = new long[(this.trackedSize + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < this.trackedSize; i++) {
+            this.words[i >>> 6] |= 1L << i;
+        }
+        this.isValid = true;
+        this.generation++;
+    }
+
+    /**
+     * The `activate` method marks the elevator, an elevator which is not known (added without the service) forces
+     * a rebuild in the next `sync`.
+     */
+    public void activate(Elevator elevator) {
+        if (!this.isValid) {
+            return;
+        }
+        final Integer index = this.indexes.get(elevator);
+        if (index == null) {
+            this.isValid = false;
+            return;
+        }
+        this.words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * The `activateFirstInactiveOnFloor` method marks the first unmarked elevator standing on the floor, e.g. when users
+     * start waiting there. Unmarked elevators have no calls and stay on their floor, so the first of them in list order
+     * picks up every user waiting on the floor and the others would not change in the step. Only unmarked elevators
+     * are checked and the scan stops at the first one on the floor.
+     */
+    public void activateFirstInactiveOnFloor(List<Elevator> elevators, int floor) {
+        if (!this.isValid) {
+            return;
+        }
+        for (int wordIndex = 0; wordIndex < this.words.length; wordIndex++) {
+            long inactive = ~this.words[wordIndex];
+            while (inactive != 0) {
+                final int index = wordIndex * Long.SIZE + Long.numberOfTrailingZeros(inactive);
+                if (index >= this.trackedSize) {
+                    return;
+                }
+                if (elevators.get(index).getCurrentFloor() == floor) {
+                    this.words[wordIndex] |= 1L << index;
+                    return;
+                }
+                inactive &= inactive - 1;
+            }
+        }
+    }
+
+    /**
+     * @return True when the elevator is in the list of elevators, valid after `sync`.
+     */
+    public boolean contains(Elevator elevator) {
+        return this.indexes.containsKey(elevator);
+    }
+
+    /**
+     * @return The number of rebuilds, it changes whenever elevators may have been added or removed.
+     */
+    public int getGeneration() {
+        return this.generation;
+    }
+
+    public void deactivate(int index) {
+        this.words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * The `invalidate` method makes all elevators active until the next `sync`, it is used when elevators are added or removed.
+     */
+    public void invalidate() {
+        this.isValid = false;
+    }
+
+    /**
+     * @return Index of the first active elevator at or after `fromIndex`, or -1 when there is none.
+     */
+    public int nextActiveIndex(int fromIndex) {
+        int wordIndex = fromIndex >>> 6;
+        if (wordIndex >= this.words.length) {
+            return -1;
+        }
+        long word = this.words[wordIndex] & (-1L << fromIndex);
+        while (word == 0) {
+            if (++wordIndex == this.words.length) {
+                return -1;
+            }
+            word = this.words[wordIndex];
+        }
+        return wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @return The number of active elevators, valid after `sync`.
+     */
+    public int size() {
+        int size = 0;
+        for (long word : this.words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+}
@@ -1,20 +1,33 @@
 package org.example.service;
 
+import org.example.diagnostics.Diagnostics;
 import org.example.model.Direction;
 import org.example.model.Elevator;
+import org.example.snapshot.FleetFork;
+import org.example.snapshot.FleetSnapshot;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface ElevatorService {
+    Diagnostics getDiagnostics();
     List<Elevator> getElevators();
     Optional<Elevator> getElevator(int elevatorId);
+    ActiveElevators getActiveElevators();
+    boolean addElevator(Elevator elevator);
+    boolean removeElevator(int elevatorId);
     void elevatorStep(Elevator elevator);
     Elevator getElevatorFromFloor(int floor);
     Elevator callElevator(int floor, Direction selectedDirection);
+    void assignCall(Elevator elevator, int floor, Direction selectedDirection);
+    boolean validateFloor(int floor);
     boolean setElevatorCurrentFloor(Elevator elevator, int floor);
     boolean setElevatorTargetFloors(Elevator elevator, int[] targetFloors);
     void selectFloor(Elevator elevator, int floor);
     boolean hasReachedTargetFloor(Elevator elevator);
     void removeCurrentFloorFromTarget(Elevator elevator);
+    int getStepsToNextStop(Elevator elevator);
+    void moveElevatorBySteps(Elevator elevator, int steps);
+    FleetSnapshot snapshot();
+    FleetFork fork();
 }
@@ -2,8 +2,14 @@ package org.example.service;
 
 import org.example.repository.ElevatorRepository;
 import org.example.config.ElevatorsConfig;
+import org.example.diagnostics.DiagnosticReason;
+import org.example.diagnostics.Diagnostics;
+import org.example.jfr.DispatchEvent;
 import org.example.model.Direction;
 import org.example.model.Elevator;
+import org.example.snapshot.FleetFork;
+import org.example.snapshot.FleetSnapshot;
+import org.example.util.FloorSet;
 
 import java.util.*;
 import java.util.logging.Logger;
@@ -12,10 +18,28 @@ public class ElevatorServiceImpl implements ElevatorService {
     private final static Logger LOG = Logger.getLogger(ElevatorServiceImpl.class.getName());
     private final ElevatorRepository elevatorRepository;
     private final ElevatorsConfig elevatorsConfig;
+    private final Diagnostics diagnostics;
+    private final ActiveElevators activeElevators;
+    /**
+     * The number of elevators which could serve the call in the stage of `findClosestElevator` that has chosen the elevator.
+     */
+    private int dispatchCandidates;
+    private FleetSnapshot lastSnapshot;
 
     public ElevatorServiceImpl(ElevatorRepository elevatorRepository, ElevatorsConfig elevatorsConfig) {
+        this(elevatorRepository, elevatorsConfig, new Diagnostics());
+    }
+
+    public ElevatorServiceImpl(ElevatorRepository elevatorRepository, ElevatorsConfig elevatorsConfig, Diagnostics diagnostics) {
         this.elevatorRepository = elevatorRepository;
         this.elevatorsConfig = elevatorsConfig;
+        this.diagnostics = diagnostics;
+        this.activeElevators = new ActiveElevators();
+    }
+
+    @Override
+    public Diagnostics getDiagnostics() {
+        return this.diagnostics;
     }
 
     @Override
@@ -25,9 +49,73 @@ public class ElevatorServiceImpl implements ElevatorService {
 
     @Override
     public Optional<Elevator> getElevator(int elevatorId) {
-        return getElevators().stream()
-                .filter(elevator -> elevator.getId() == elevatorId)
-                .findFirst();
+        return this.elevatorRepository.getElevator(elevatorId);
+    }
+
+    /**
+     * The `getActiveElevators` method returns marks of elevators which may change in the next step,
+     * every method of the service which gives an elevator a target or moves it marks the elevator.
+     */
+    @Override
+    public ActiveElevators getActiveElevators() {
+        return this.activeElevators;
+    }
+
+    /**
+     * The `snapshot` method takes an immutable snapshot of all elevators. Elevators which have not changed since
+     * the previous snapshot are shared with it, so taking a snapshot after every step is cheap.
+     */
+    @Override
+    public FleetSnapshot snapshot() {
+        this.lastSnapshot = FleetSnapshot.capture(getElevators(), this.lastSnapshot);
+        return this.lastSnapshot;
+    }
+
+    /**
+     * The `fork` method returns a what-if copy of the current elevators, changes of the fork never affect the system.
+     */
+    @Override
+    public FleetFork fork() {
+        return snapshot().fork(this.elevatorsConfig);
+    }
+
+    /**
+     * The `addElevator` method adds a new elevator to the system at runtime.
+     *
+     * @param elevator The elevator to be added, its current floor and targets have to be within the system floor range.
+     * @return true if the elevator was added, false if its floors are invalid or an elevator with the same id already exists.
+     */
+    @Override
+    public boolean addElevator(Elevator elevator) {
+        if (!isFloorValid(elevator.getCurrentFloor())) {
+            reportFloorOutOfRange(elevator.getCurrentFloor());
+            return false;
+        }
+        if (!areAllFloorsValid(elevator.getTargetFloors()) || !areAllFloorsValid(elevator.getTargetFloorsOtherDirection())) {
+            return false;
+        }
+        if (!this.elevatorRepository.addElevator(elevator)) {
+            diagnostics.report(DiagnosticReason.ELEVATOR_NOT_ADDED, elevator.getId());
+            return false;
+        }
+        this.activeElevators.invalidate();
+        return true;
+    }
+
+    /**
+     * The `removeElevator` method decommissions an elevator at runtime. Calls assigned to the elevator are dropped with it.
+     *
+     * @param elevatorId The id of the elevator to be removed.
+     * @return true if the elevator was removed, false if there is no elevator with given id.
+     */
+    @Override
+    public boolean removeElevator(int elevatorId) {
+        if (!this.elevatorRepository.removeElevator(elevatorId)) {
+            diagnostics.report(DiagnosticReason.ELEVATOR_NOT_FOUND, elevatorId);
+            return false;
+        }
+        this.activeElevators.invalidate();
+        return true;
     }
 
     /**
@@ -35,12 +123,20 @@ public class ElevatorServiceImpl implements ElevatorService {
      * If there are target floors, the elevator is moved by one step. If there are no target floors in the current direction,
      * the method checks if there are any target floors in the opposite direction. If there are, the targets from the opposite
      * direction are moved to the main set of targets and direction is changed to the opposite.
+     * The elevator does not move when its current floor is a target (it was called on the floor where it stands),
+     * and its direction is fixed when none of the targets is in the current direction.
      *
      * @param elevator The elevator to be updated.
      */
     @Override
     public void elevatorStep(Elevator elevator) {
         if (!elevator.getTargetFloors().isEmpty()) {
+            if (hasReachedTargetFloor(elevator)) {
+                return;
+            }
+            if (!hasTargetInCurrentDirection(elevator)) {
+                fixElevatorDirection(elevator);
+            }
             moveElevatorByStep(elevator);
         } else if (!elevator.getTargetFloorsOtherDirection().isEmpty()) {
             moveTargetFloorsOtherDirectionToTargetFloors(elevator);
@@ -52,14 +148,11 @@ public class ElevatorServiceImpl implements ElevatorService {
     @Override
     public Elevator getElevatorFromFloor(int floor) {
         if (!isFloorValid(floor)) {
-            LOG.warning("Given floor is out of scope (given floor = %d, minFloor = %d, maxFloor = %d)"
-                    .formatted(floor, this.elevatorsConfig.getMinFloorValue(), this.elevatorsConfig.getMaxFloorValue()));
+            reportFloorOutOfRange(floor);
             return null;
         }
-        return getElevators().stream()
-                .filter(elevator -> elevator.getCurrentFloor() == floor)
-                .findFirst()
-                .orElse(null);
+        Iterator<Elevator> elevatorsOnFloor = this.elevatorRepository.getElevatorsOnFloor(floor).iterator();
+        return elevatorsOnFloor.hasNext() ? elevatorsOnFloor.next() : null;
     }
 
     /**
@@ -74,49 +167,99 @@ public class ElevatorServiceImpl implements ElevatorService {
     @Override
     public Elevator callElevator(int floor, Direction selectedDirection) {
         if (!isFloorValid(floor)) {
-            LOG.warning("Given floor is out of scope (given floor = %d, minFloor = %d, maxFloor = %d)"
-                    .formatted(floor, this.elevatorsConfig.getMinFloorValue(), this.elevatorsConfig.getMaxFloorValue()));
+            reportFloorOutOfRange(floor);
             return null;
         }
         validateSelectedDirection(selectedDirection);
+        final DispatchEvent dispatchEvent = DispatchEvent.beginIfEnabled();
         Elevator closestElevator = findClosestElevator(floor, selectedDirection);
+        if (dispatchEvent != null) {
+            commitDispatchEvent(dispatchEvent, floor, selectedDirection, closestElevator);
+        }
 
-        addFloorCallToProperTargetList(closestElevator, selectedDirection, floor);
-        changeDirectionFromIdleToNewTarget(closestElevator, floor);
-
+        if (closestElevator != null) {
+            assignCall(closestElevator, floor, selectedDirection);
+        }
         return closestElevator;
     }
 
+    /**
+     * The `assignCall` method makes the elevator serve a call from the floor, the same way as `callElevator` does
+     * for the elevator it has chosen.
+     *
+     * @param elevator The elevator which should serve the call.
+     * @param floor The floor from which the elevator is called.
+     * @param selectedDirection The direction in which caller want to go.
+     */
+    @Override
+    public void assignCall(Elevator elevator, int floor, Direction selectedDirection) {
+        final boolean hadAnyCall = hasElevatorAnyCall(elevator);
+        addFloorCallToProperTargetList(elevator, selectedDirection, floor);
+        changeDirectionFromIdleToNewTarget(elevator, floor);
+        activateIfItHadNoCall(elevator, hadAnyCall);
+    }
+
+    /**
+     * The `validateFloor` method checks if the floor is within the system floor range, an invalid floor is reported
+     * in diagnostics.
+     *
+     * @param floor The floor to be checked.
+     * @return true if the floor is valid.
+     */
+    @Override
+    public boolean validateFloor(int floor) {
+        if (!isFloorValid(floor)) {
+            reportFloorOutOfRange(floor);
+            return false;
+        }
+        return true;
+    }
+
+    private void commitDispatchEvent(DispatchEvent dispatchEvent, int floor, Direction selectedDirection, Elevator closestElevator) {
+        dispatchEvent.end();
+        if (dispatchEvent.shouldCommit()) {
+            dispatchEvent.floor = floor;
+            dispatchEvent.direction = selectedDirection.name();
+            dispatchEvent.elevatorId = closestElevator != null ? closestElevator.getId() : -1;
+            dispatchEvent.candidates = this.dispatchCandidates;
+            dispatchEvent.commit();
+        }
+    }
+
     @Override
     public boolean setElevatorCurrentFloor(Elevator elevator, int floor) {
         if (!isFloorValid(floor)) {
-            LOG.warning("Given floor is out of scope (given floor = %d, minFloor = %d, maxFloor = %d)"
-                    .formatted(floor, this.elevatorsConfig.getMinFloorValue(), this.elevatorsConfig.getMaxFloorValue()));
+            reportFloorOutOfRange(floor);
             return false;
         }
 
+        final int previousFloor = elevator.getCurrentFloor();
         elevator.setCurrentFloor(floor);
+        this.elevatorRepository.onElevatorFloorChanged(elevator, previousFloor);
         elevator.removeTargetFloor(floor);
 
         fixElevatorDirection(elevator);
+        this.activeElevators.activate(elevator);
         return true;
     }
 
     @Override
     public boolean setElevatorTargetFloors(Elevator elevator, int[] targetFloors) {
-        elevator.setTargetFloors(new HashSet<>());
-        elevator.setTargetFloorsOtherDirection(new HashSet<>());
+        elevator.getTargetFloors().clear();
+        elevator.getTargetFloorsOtherDirection().clear();
         if (targetFloors != null) {
             setupProperTargetFloors(elevator, targetFloors);
         }
+        this.activeElevators.activate(elevator);
         return true;
     }
 
     @Override
     public void selectFloor(Elevator elevator, int floor) {
+        final boolean hadAnyCall = hasElevatorAnyCall(elevator);
         if (!isFloorValid(floor)) {
-            LOG.warning("Given floor is out of scope (given floor = %d, minFloor = %d, maxFloor = %d)"
-                    .formatted(floor, this.elevatorsConfig.getMinFloorValue(), this.elevatorsConfig.getMaxFloorValue()));
+            reportFloorOutOfRange(floor);
+            return;
         } else if (elevator.getTargetFloors().isEmpty()) {
             elevator.addTargetFloor(floor);
             fixElevatorDirection(elevator);
@@ -125,6 +268,7 @@ public class ElevatorServiceImpl implements ElevatorService {
         } else {
             elevator.addTargetFloorInOtherDirection(floor);
         }
+        activateIfItHadNoCall(elevator, hadAnyCall);
     }
 
     @Override
@@ -138,6 +282,56 @@ public class ElevatorServiceImpl implements ElevatorService {
         updateDirection(elevator);
     }
 
+    /**
+     * The `getStepsToNextStop` method calculates how many steps the elevator can make before anything else than its
+     * current floor changes. Until that step the elevator only moves by one floor per step in its current direction,
+     * so the movement can be done at once with `moveElevatorBySteps`.
+     *
+     * @param elevator The elevator to be checked.
+     * @return The number of steps to the closest target floor in the current direction, 1 when the next step does more
+     * than moving the elevator, or `Integer.MAX_VALUE` when the elevator has no calls.
+     */
+    @Override
+    public int getStepsToNextStop(Elevator elevator) {
+        if (!hasElevatorAnyCall(elevator)) {
+            return Integer.MAX_VALUE;
+        }
+        final int directionValue = elevator.getCurrentDirection().mapDirectionToValue();
+        if (elevator.getTargetFloors().isEmpty() || directionValue == 0) {
+            return 1;
+        }
+
+        final FloorSet targetFloors = elevator.getTargetFloors();
+        int stepsToNextStop = Integer.MAX_VALUE;
+        for (int i = 0; i < targetFloors.size(); i++) {
+            final int distance = (targetFloors.get(i) - elevator.getCurrentFloor()) * directionValue;
+            if (distance <= 0) {
+                return 1;
+            }
+            stepsToNextStop = Math.min(stepsToNextStop, distance);
+        }
+        return stepsToNextStop;
+    }
+
+    /**
+     * The `moveElevatorBySteps` method moves the elevator by the given number of steps in the current direction at once.
+     * It should be used only for steps in which nothing but the current floor changes (see `getStepsToNextStop`).
+     *
+     * @param elevator The elevator to be moved.
+     * @param steps The number of steps (floors) to move.
+     */
+    @Override
+    public void moveElevatorBySteps(Elevator elevator, int steps) {
+        if (steps <= 0 || elevator.getTargetFloors().isEmpty()) {
+            return;
+        }
+        final int reachedFloor = elevator.getCurrentFloor() + elevator.getCurrentDirection().mapDirectionToValue() * steps;
+        validateMovingToFloor(elevator, reachedFloor);
+        final int previousFloor = elevator.getCurrentFloor();
+        elevator.setCurrentFloor(reachedFloor);
+        this.elevatorRepository.onElevatorFloorChanged(elevator, previousFloor);
+    }
+
     private void updateDirection(Elevator elevator) {
         if (!hasElevatorAnyCall(elevator)) {
             elevator.setCurrentDirection(Direction.IDLE);
@@ -147,26 +341,31 @@ public class ElevatorServiceImpl implements ElevatorService {
     }
 
     /**
-     * The `findClosestElevator` method finds the closest elevator that can service a request. It first validates the selected direction,
-     * then checks if there is only one elevator in the repository. If there is, it returns that elevator. Otherwise, it tries to find an
-     * elevator on the same floor and direction, a passing elevator, or the fastest finishing elevator.
+     * The `findClosestElevator` method finds the closest elevator that can service a request. It first checks if there is only
+     * one elevator in the repository. If there is, it returns that elevator. Otherwise, it tries to find an elevator on the same floor and direction, a passing elevator, or the fastest finishing elevator.
      *
      * @param floor The floor from which the elevator is called.
      * @param selectedDirection The direction in which the elevator is supposed to go.
      * @return The closest elevator that can service the request.
      */
     private Elevator findClosestElevator(int floor, Direction selectedDirection) {
-        validateSelectedDirection(selectedDirection);
         Elevator closestElevator;
 
         if (getElevators().size() == 1) {
+            this.dispatchCandidates = 1;
             return getElevators().get(0);
         }
 
-        closestElevator = getElevatorOnSameFloorAndDirection(floor, selectedDirection)
-                .or(() -> getClosestPassingElevator(floor, selectedDirection))
-                .orElse(getFastestFinishingElevator());
-
+        closestElevator = getElevatorOnSameFloorAndDirection(floor, selectedDirection);
+        if (closestElevator != null) {
+            this.dispatchCandidates = 1;
+        } else {
+            closestElevator = getClosestPassingElevator(floor, selectedDirection);
+        }
+        if (closestElevator == null) {
+            this.dispatchCandidates = getElevators().size();
+            closestElevator = getFastestFinishingElevator();
+        }
         return closestElevator;
     }
 
@@ -176,15 +375,17 @@ public class ElevatorServiceImpl implements ElevatorService {
      *
      * @param floor The floor from which the elevator is called.
      * @param direction The direction in which the elevator is supposed to go.
-     * @return An Optional that may contain an elevator if one is found that meets the criteria.
+     * @return The first elevator that meets the criteria or null if there is no such elevator.
      */
-    private Optional<Elevator> getElevatorOnSameFloorAndDirection(int floor, Direction direction) {
-        validateSelectedDirection(direction);
-
-        return getElevators().stream()
-                .filter(elevator -> elevator.getCurrentFloor() == floor
-                        && hasElevatorValidDirection(elevator, direction))
-                .findFirst();
+    private Elevator getElevatorOnSameFloorAndDirection(int floor, Direction direction) {
+        final List<Elevator> elevators = getElevators();
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            if (elevator.getCurrentFloor() == floor && hasElevatorValidDirection(elevator, direction)) {
+                return elevator;
+            }
+        }
+        return null;
     }
 
     /**
@@ -192,13 +393,25 @@ public class ElevatorServiceImpl implements ElevatorService {
      *
      * @param floor The floor from which the elevator is called.
      * @param direction The direction in which the elevator is supposed to go.
-     * @return An Optional that may contain an elevator if one is found that meets the criteria.
+     * @return The closest elevator that meets the criteria or null if there is no such elevator.
      */
-    private Optional<Elevator> getClosestPassingElevator(int floor, Direction direction) {
-        return getElevators().stream()
-                .filter(elevator -> hasElevatorValidDirection(elevator, direction)
-                        && isElevatorPassingFloor(elevator, floor))
-                .min(Comparator.comparing(elevator -> Math.abs(elevator.getCurrentFloor() - floor)));
+    private Elevator getClosestPassingElevator(int floor, Direction direction) {
+        final List<Elevator> elevators = getElevators();
+        Elevator closestElevator = null;
+        int closestDistance = Integer.MAX_VALUE;
+        this.dispatchCandidates = 0;
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            if (hasElevatorValidDirection(elevator, direction) && isElevatorPassingFloor(elevator, floor)) {
+                this.dispatchCandidates++;
+                final int distance = Math.abs(elevator.getCurrentFloor() - floor);
+                if (closestElevator == null || distance < closestDistance) {
+                    closestElevator = elevator;
+                    closestDistance = distance;
+                }
+            }
+        }
+        return closestElevator;
     }
 
     /**
@@ -208,14 +421,46 @@ public class ElevatorServiceImpl implements ElevatorService {
      */
     private Elevator getFastestFinishingElevator() {
         if (getElevators().isEmpty()) {
-            LOG.warning("There are no elevators");
+            this.diagnostics.report(DiagnosticReason.NO_ELEVATORS);
             return null;
         }
 
-        return getElevators().stream()
-                .min(Comparator.comparing(elevator ->
-                        elevator.getTargetFloors().size() + elevator.getTargetFloorsOtherDirection().size()))
-                .get();
+        final List<Elevator> elevators = getElevators();
+        Elevator fastestFinishingElevator = elevators.get(0);
+        int fewestTargets = countTargets(fastestFinishingElevator);
+        for (int i = 1; i < elevators.size(); i++) {
+            final int targets = countTargets(elevators.get(i));
+            if (targets < fewestTargets) {
+                fastestFinishingElevator = elevators.get(i);
+                fewestTargets = targets;
+            }
+        }
+        return fastestFinishingElevator;
+    }
+
+    private int countTargets(Elevator elevator) {
+        return elevator.getTargetFloors().size() + elevator.getTargetFloorsOtherDirection().size();
+    }
+
+    private boolean hasTargetInCurrentDirection(Elevator elevator) {
+        final int directionValue = elevator.getCurrentDirection().mapDirectionToValue();
+        final FloorSet targetFloors = elevator.getTargetFloors();
+        for (int i = 0; i < targetFloors.size(); i++) {
+            if ((targetFloors.get(i) - elevator.getCurrentFloor()) * directionValue > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The `activateIfItHadNoCall` method marks the elevator which has got a call. Only elevators without calls are ever
+     * unmarked, so an elevator which already had a call is still marked and the lookup in `ActiveElevators` is skipped.
+     */
+    private void activateIfItHadNoCall(Elevator elevator, boolean hadAnyCall) {
+        if (!hadAnyCall) {
+            this.activeElevators.activate(elevator);
+        }
     }
 
     private boolean hasElevatorAnyCall(Elevator elevator) {
@@ -230,8 +475,11 @@ public class ElevatorServiceImpl implements ElevatorService {
      * @param elevator The elevator to be moved.
      */
     private void moveElevatorByStep(Elevator elevator) {
-        validateMovingToFloor(elevator);
-        elevator.setCurrentFloor(elevator.getCurrentFloor() + elevator.getCurrentDirection().mapDirectionToValue());
+        final int previousFloor = elevator.getCurrentFloor();
+        final int reachedFloor = previousFloor + elevator.getCurrentDirection().mapDirectionToValue();
+        validateMovingToFloor(elevator, reachedFloor);
+        elevator.setCurrentFloor(reachedFloor);
+        this.elevatorRepository.onElevatorFloorChanged(elevator, previousFloor);
     }
 
     private boolean hasElevatorValidDirection(Elevator elevator, Direction direction) {
@@ -248,8 +496,7 @@ public class ElevatorServiceImpl implements ElevatorService {
     private void setupProperTargetFloors(Elevator elevator, int[] targetFloors) {
         for (int floor : targetFloors) {
             if (!isFloorValid(floor)) {
-                LOG.warning("Given floor is out of range (given floor = %d, minFloor = %d, maxFloor = %d)"
-                        .formatted(floor, this.elevatorsConfig.getMinFloorValue(), this.elevatorsConfig.getMaxFloorValue()));
+                reportFloorOutOfRange(floor);
                 continue;
             }
             if (elevator.getCurrentDirection() == Direction.IDLE) {
@@ -273,12 +520,11 @@ public class ElevatorServiceImpl implements ElevatorService {
 
     private void validateSelectedDirection(Direction selectedDirection) {
         if (selectedDirection == Direction.IDLE) {
-            LOG.warning("Selected direction should be UP or DOWN, current selected direction is " + selectedDirection);
+            this.diagnostics.report(DiagnosticReason.IDLE_DIRECTION_SELECTED);
         }
     }
 
-    private void validateMovingToFloor(Elevator elevator) {
-        final int reachedFloor = elevator.getCurrentFloor() + elevator.getCurrentDirection().mapDirectionToValue();
+    private void validateMovingToFloor(Elevator elevator, int reachedFloor) {
         if (reachedFloor < this.elevatorsConfig.getMinFloorValue() || reachedFloor > this.elevatorsConfig.getMaxFloorValue()) {
             String errorMsg = "Elevator cannot do this invalid move (Elevator id = %d, currentFloor = %d, direction = %s) (minFloor = %d, maxFloor = %d)"
                     .formatted(elevator.getId(), elevator.getCurrentFloor(), elevator.getCurrentDirection(),
@@ -288,6 +534,21 @@ public class ElevatorServiceImpl implements ElevatorService {
         }
     }
 
+    private void reportFloorOutOfRange(int floor) {
+        this.diagnostics.report(DiagnosticReason.FLOOR_OUT_OF_RANGE,
+                floor, this.elevatorsConfig.getMinFloorValue(), this.elevatorsConfig.getMaxFloorValue());
+    }
+
+    private boolean areAllFloorsValid(FloorSet floors) {
+        for (int i = 0; i < floors.size(); i++) {
+            if (!isFloorValid(floors.get(i))) {
+                reportFloorOutOfRange(floors.get(i));
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean isFloorValid(int floor) {
         return floor >= this.elevatorsConfig.getMinFloorValue()
                 && floor <= this.elevatorsConfig.getMaxFloorValue();
@@ -303,13 +564,13 @@ public class ElevatorServiceImpl implements ElevatorService {
 
     /**
      * The `addFloorCallToProperTargetList` ensures that elevator will not stop on floor where caller expect to move in different direction then
-     * it is currently moving
+     * it is currently moving, and that floor which the elevator has already passed is not added to its current targets
      * @param elevator - selected elevator
      * @param selectedDirection - selected direction on elevator
      * @param callFloor - from witch floor user called elevator
      */
     private void addFloorCallToProperTargetList(Elevator elevator, Direction selectedDirection, int callFloor) {
-        if (hasElevatorValidDirection(elevator, selectedDirection)) {
+        if (hasElevatorValidDirection(elevator, selectedDirection) && isElevatorPassingFloor(elevator, callFloor)) {
             elevator.addTargetFloor(callFloor);
         } else {
             elevator.addTargetFloorInOtherDirection(callFloor);
@@ -323,8 +584,8 @@ public class ElevatorServiceImpl implements ElevatorService {
      * @param elevator The elevator whose target floors are to be updated.
      */
     private void moveTargetFloorsOtherDirectionToTargetFloors(Elevator elevator) {
-        elevator.setTargetFloors(elevator.getTargetFloorsOtherDirection());
-        elevator.setTargetFloorsOtherDirection(new HashSet<>());
+        elevator.swapTargetFloors();
+        elevator.getTargetFloorsOtherDirection().clear();
     }
 
     private void changeToOppositeElevatorDirection(Elevator elevator) {
@@ -346,7 +607,7 @@ public class ElevatorServiceImpl implements ElevatorService {
 
         if (!elevator.getTargetFloors().isEmpty()) {
             elevator.setCurrentDirection(
-                    Direction.getDirectionByFloors(elevator.getCurrentFloor(), elevator.getTargetFloors().iterator().next())
+                    Direction.getDirectionByFloors(elevator.getCurrentFloor(), elevator.getTargetFloors().first())
             );
         } else {
             elevator.setCurrentDirection(Direction.IDLE);
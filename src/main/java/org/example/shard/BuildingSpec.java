@@ -0,0 +1,70 @@
+package org.example.shard;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Elevator;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The `BuildingSpec` class describes a building simulated by a shard, written as `elevators:minFloor:maxFloor`.
+ */
+public class BuildingSpec {
+    private final int numberOfElevators;
+    private final int minFloorValue;
+    private final int maxFloorValue;
+
+    public BuildingSpec(int numberOfElevators, int minFloorValue, int maxFloorValue) {
+        if (numberOfElevators < 1 || minFloorValue > maxFloorValue) {
+            throw new IllegalArgumentException("Invalid building (elevators = %d, minFloor = %d, maxFloor = %d)"
+                    .formatted(numberOfElevators, minFloorValue, maxFloorValue));
+        }
+        this.numberOfElevators = numberOfElevators;
+        this.minFloorValue = minFloorValue;
+        this.maxFloorValue = maxFloorValue;
+    }
+
+    /**
+     * The `parseList` method reads buildings separated by commas, e.g. `4:0:20,2:-2:10`.
+     */
+    public static List<BuildingSpec> parseList(String specs) {
+        List<BuildingSpec> buildings = new ArrayList<>();
+        for (String spec : specs.split(",")) {
+            String[] parts = spec.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Building should be written as elevators:minFloor:maxFloor (%s)".formatted(spec));
+            }
+            buildings.add(new BuildingSpec(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+        }
+        return buildings;
+    }
+
+    /**
+     * The `createSystem` method creates the system of the building, elevators start on the floor closest to 0.
+     */
+    public ElevatorSystem createSystem() {
+        ElevatorsConfig elevatorsConfig = new ElevatorsConfig(this.numberOfElevators, this.minFloorValue, this.maxFloorValue);
+        final int initialFloor = Math.max(this.minFloorValue, Math.min(0, this.maxFloorValue));
+        List<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < this.numberOfElevators; i++) {
+            elevators.add(ElevatorFactory.createElevator(initialFloor));
+        }
+        return new ElevatorSystemImpl(new ElevatorServiceImpl(() -> elevators, elevatorsConfig));
+    }
+
+    public int getNumberOfElevators() {
+        return numberOfElevators;
+    }
+
+    public int getMinFloorValue() {
+        return minFloorValue;
+    }
+
+    public int getMaxFloorValue() {
+        return maxFloorValue;
+    }
+}
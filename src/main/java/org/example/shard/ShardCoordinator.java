@@ -0,0 +1,294 @@
+package org.example.shard;
+
+import org.example.model.Direction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * The `ShardCoordinator` class drives a simulation split across `ShardWorker`s. Buildings get global numbers
+ * in the order of shards, `pickup` is routed to the shard owning the building and `step` advances all shards
+ * in lockstep: the request is sent to every shard before any response is read, so shards step in parallel
+ * and the coordinator returns only when all of them finished the step. A coordinator connecting to running shards
+ * continues from their step number.
+ */
+public class ShardCoordinator implements AutoCloseable {
+    private final static Logger LOG = Logger.getLogger(ShardCoordinator.class.getName());
+
+    private final Shard[] shards;
+    private final int[] buildingShards;
+    private final int[] buildingLocalIndexes;
+    private long stepNumber;
+
+    public ShardCoordinator(List<SocketAddress> addresses) throws IOException {
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("Coordinator needs at least one shard");
+        }
+        this.shards = new Shard[addresses.size()];
+        List<Integer> buildingShardList = new ArrayList<>();
+        List<Integer> buildingLocalIndexList = new ArrayList<>();
+        try {
+            for (int i = 0; i < addresses.size(); i++) {
+                shards[i] = new Shard(addresses.get(i));
+                final int numberOfBuildings = shards[i].hello();
+                if (i > 0 && shards[i].initialStepNumber != shards[0].initialStepNumber) {
+                    LOG.severe("Shard %d is on step %d, shard 0 is on step %d"
+                            .formatted(i, shards[i].initialStepNumber, shards[0].initialStepNumber));
+                    throw new IOException("Shard %d is out of lockstep".formatted(i));
+                }
+                for (int j = 0; j < numberOfBuildings; j++) {
+                    buildingShardList.add(i);
+                    buildingLocalIndexList.add(j);
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        this.stepNumber = shards[0].initialStepNumber;
+        this.buildingShards = buildingShardList.stream().mapToInt(Integer::intValue).toArray();
+        this.buildingLocalIndexes = buildingLocalIndexList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public int getNumberOfShards() {
+        return shards.length;
+    }
+
+    public int getNumberOfBuildings() {
+        return buildingShards.length;
+    }
+
+    /**
+     * @return Index of the shard simulating the building.
+     */
+    public int getShardOfBuilding(int building) {
+        checkBuilding(building);
+        return buildingShards[building];
+    }
+
+    public long getStepNumber() {
+        return stepNumber;
+    }
+
+    public ShardLatency getLatency(int shard) {
+        return shards[shard].latency;
+    }
+
+    /**
+     * @return Id of the elevator assigned in the building or `ShardProtocol.NO_ELEVATOR` when the shard rejected the call.
+     */
+    public int pickup(int building, int pickupFloor, Direction direction) throws IOException {
+        return pickup(building, pickupFloor, direction, ShardProtocol.NO_TARGET_FLOOR);
+    }
+
+    public int pickup(int building, int pickupFloor, Direction direction, int targetFloor) throws IOException {
+        checkBuilding(building);
+        Shard shard = shards[buildingShards[building]];
+        shard.out.writeByte(ShardProtocol.PICKUP);
+        shard.out.writeInt(buildingLocalIndexes[building]);
+        shard.out.writeInt(pickupFloor);
+        shard.out.writeInt(direction.mapDirectionToValue());
+        shard.out.writeInt(targetFloor);
+        shard.out.flush();
+        return shard.in.readInt();
+    }
+
+    /**
+     * The `step` method advances all shards by one step.
+     * @return Step number after the step.
+     */
+    public long step() throws IOException {
+        return step(1);
+    }
+
+    /**
+     * The `step` method advances all shards by the given number of steps in one round,
+     * fewer rounds mean less coordination overhead but coarser interleaving with `pickup` calls.
+     * @return Step number after the steps.
+     */
+    public long step(int steps) throws IOException {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Number of steps must be positive (steps = %d)".formatted(steps));
+        }
+        final long start = System.nanoTime();
+        for (Shard shard : shards) {
+            shard.out.writeByte(ShardProtocol.STEP);
+            shard.out.writeInt(steps);
+            shard.out.flush();
+        }
+        final long expectedStepNumber = stepNumber + steps;
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            final long shardStepNumber = shard.in.readLong();
+            final long shardStepNanos = shard.in.readLong();
+            shard.latency.record(System.nanoTime() - start, shardStepNanos);
+            if (shardStepNumber != expectedStepNumber) {
+                LOG.severe("Shard %d is on step %d, expected step %d".formatted(i, shardStepNumber, expectedStepNumber));
+                throw new IllegalStateException("Shard %d is out of lockstep".formatted(i));
+            }
+        }
+        stepNumber = expectedStepNumber;
+        return stepNumber;
+    }
+
+    public String getLatencySummaryText() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < shards.length; i++) {
+            builder.append("shard %d (%s): %s%n".formatted(i, ShardProtocol.formatAddress(shards[i].address), shards[i].latency));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The `shutdown` method asks all shards to stop, then closes connections.
+     */
+    public void shutdown() throws IOException {
+        for (Shard shard : shards) {
+            shard.out.writeByte(ShardProtocol.SHUTDOWN);
+            shard.out.flush();
+        }
+        for (Shard shard : shards) {
+            shard.in.readByte();
+        }
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+        for (Shard shard : shards) {
+            if (shard == null) {
+                continue;
+            }
+            try {
+                shard.channel.close();
+            } catch (IOException e) {
+                exception = e;
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private void checkBuilding(int building) {
+        if (building < 0 || building >= buildingShards.length) {
+            throw new IllegalArgumentException("Building %d does not exist (number of buildings = %d)"
+                    .formatted(building, buildingShards.length));
+        }
+    }
+
+    private static class Shard {
+        private final SocketAddress address;
+        private final SocketChannel channel;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final ShardLatency latency = new ShardLatency();
+        private long initialStepNumber;
+
+        private Shard(SocketAddress address) throws IOException {
+            this.address = address;
+            if (address instanceof UnixDomainSocketAddress) {
+                this.channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            } else {
+                this.channel = SocketChannel.open();
+                this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            this.channel.connect(address);
+            this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        }
+
+        private int hello() throws IOException {
+            out.writeByte(ShardProtocol.HELLO);
+            out.writeInt(ShardProtocol.VERSION);
+            out.flush();
+            final int numberOfBuildings = in.readInt();
+            this.initialStepNumber = in.readLong();
+            return numberOfBuildings;
+        }
+    }
+
+    /**
+     * Usage: `ShardCoordinator shards=host1:4000,unix:/tmp/shard-1.sock steps=1000 calls=0.5 floors=0:20 seed=1`
+     * connects to running workers, `spawn=2 buildings=4:0:20` starts local worker processes instead.
+     * Every step each building gets a random call with probability `calls`, latency of shards is printed at the end.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                System.out.println("Usage: ShardCoordinator (shards=127.0.0.1:4000,unix:/tmp/shard-1.sock floors=0:20 "
+                        + "| spawn=2 buildings=4:0:20) steps=1000 calls=0.5 seed=1");
+                return;
+            }
+            arguments.put(keyValue[0], keyValue[1]);
+        }
+
+        final int steps = Integer.parseInt(arguments.getOrDefault("steps", "1000"));
+        final double calls = Double.parseDouble(arguments.getOrDefault("calls", "0.5"));
+        final Random random = new Random(Long.parseLong(arguments.getOrDefault("seed", "1")));
+        final String buildings = arguments.getOrDefault("buildings", "4:0:20");
+        final BuildingSpec floorsSpec = arguments.containsKey("floors")
+                ? BuildingSpec.parseList("1:" + arguments.get("floors")).get(0)
+                : BuildingSpec.parseList(buildings).get(0);
+
+        List<ShardProcess> processes = new ArrayList<>();
+        List<SocketAddress> addresses = new ArrayList<>();
+        try {
+            if (arguments.containsKey("shards")) {
+                Arrays.stream(arguments.get("shards").split(","))
+                        .map(ShardProtocol::parseAddress)
+                        .forEach(addresses::add);
+            } else {
+                final int spawn = Integer.parseInt(arguments.getOrDefault("spawn", "2"));
+                for (int i = 0; i < spawn; i++) {
+                    ShardProcess process = ShardProcess.start("127.0.0.1:0", buildings);
+                    processes.add(process);
+                    addresses.add(process.getAddress());
+                }
+            }
+
+            try (ShardCoordinator coordinator = new ShardCoordinator(addresses)) {
+                final int floors = floorsSpec.getMaxFloorValue() - floorsSpec.getMinFloorValue() + 1;
+                for (int i = 0; i < steps; i++) {
+                    for (int building = 0; building < coordinator.getNumberOfBuildings(); building++) {
+                        if (random.nextDouble() < calls) {
+                            final int floor = floorsSpec.getMinFloorValue() + random.nextInt(floors);
+                            final Direction direction = floor == floorsSpec.getMaxFloorValue()
+                                    || (floor != floorsSpec.getMinFloorValue() && random.nextBoolean())
+                                    ? Direction.DOWN : Direction.UP;
+                            coordinator.pickup(building, floor, direction);
+                        }
+                    }
+                    coordinator.step();
+                }
+                System.out.print(coordinator.getLatencySummaryText());
+                if (!processes.isEmpty()) {
+                    coordinator.shutdown();
+                }
+            }
+        } finally {
+            for (ShardProcess process : processes) {
+                process.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.shard;
+
+/**
+ * The `ShardLatency` class accumulates step latency of one shard, one round is one STEP request.
+ * Round trip is measured by the coordinator from sending STEP to all shards until the response of the shard is read,
+ * step time is reported by the shard itself, so the difference is network and waiting time.
+ */
+public class ShardLatency {
+    private long rounds;
+    private long totalRoundTripNanos;
+    private long maxRoundTripNanos;
+    private long totalStepNanos;
+    private long maxStepNanos;
+
+    void record(long roundTripNanos, long stepNanos) {
+        this.rounds++;
+        this.totalRoundTripNanos += roundTripNanos;
+        this.maxRoundTripNanos = Math.max(this.maxRoundTripNanos, roundTripNanos);
+        this.totalStepNanos += stepNanos;
+        this.maxStepNanos = Math.max(this.maxStepNanos, stepNanos);
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public double getMeanRoundTripMicros() {
+        return rounds == 0 ? 0.0 : totalRoundTripNanos / 1000.0 / rounds;
+    }
+
+    public double getMaxRoundTripMicros() {
+        return maxRoundTripNanos / 1000.0;
+    }
+
+    public double getMeanStepMicros() {
+        return rounds == 0 ? 0.0 : totalStepNanos / 1000.0 / rounds;
+    }
+
+    public double getMaxStepMicros() {
+        return maxStepNanos / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "%d rounds, round trip mean %.1f us max %.1f us, shard step mean %.1f us max %.1f us".formatted(
+                rounds, getMeanRoundTripMicros(), getMaxRoundTripMicros(), getMeanStepMicros(), getMaxStepMicros());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.shard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The `ShardProcess` class starts `ShardWorker` in a separate JVM with the class path of the current one,
+ * so a sharded simulation can be tested on one machine.
+ */
+public class ShardProcess implements AutoCloseable {
+    private final static Logger LOG = Logger.getLogger(ShardProcess.class.getName());
+
+    private final Process process;
+    private final SocketAddress address;
+
+    private ShardProcess(Process process, SocketAddress address) {
+        this.process = process;
+        this.address = address;
+    }
+
+    /**
+     * @param listen Address for the worker, e.g. `127.0.0.1:0` or `unix:/tmp/shard-0.sock`.
+     * @param buildings Buildings of the worker, e.g. `4:0:20,2:-2:10`.
+     */
+    public static ShardProcess start(String listen, String buildings) throws IOException {
+        final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(List.of(java, "-cp", System.getProperty("java.class.path"),
+                ShardWorker.class.getName(), "listen=" + listen, "buildings=" + buildings))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        final String address = reader.readLine();
+        if (address == null) {
+            process.destroy();
+            LOG.severe("Shard worker exited before reporting its address (listen = %s)".formatted(listen));
+            throw new IOException("Shard worker exited before reporting its address");
+        }
+        return new ShardProcess(process, ShardProtocol.parseAddress(address));
+    }
+
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    @Override
+    public void close() throws IOException {
+        process.destroy();
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            Files.deleteIfExists(unixAddress.getPath());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.shard;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+
+/**
+ * The `ShardProtocol` class describes messages between `ShardCoordinator` and `ShardWorker`, written with
+ * `DataOutputStream` (big-endian). Every request gets exactly one response, in the order of requests.
+ * <pre>
+ * HELLO:    request  byte 1, int version
+ *           response int number of buildings owned by the shard, long current step number
+ * PICKUP:   request  byte 2, int building, int floor, int direction value, int target floor or NO_TARGET_FLOOR
+ *           response int id of the assigned elevator or NO_ELEVATOR
+ * STEP:     request  byte 3, int steps
+ *           response long step number after the steps, long nanoseconds spent by the shard on the steps
+ * SHUTDOWN: request  byte 4
+ *           response byte 4
+ * </pre>
+ * Shards are reached over TCP (`host:port`) or, on a single machine, over Unix-domain sockets (`unix:/path`).
+ */
+public final class ShardProtocol {
+    public static final int VERSION = 1;
+    public static final int NO_TARGET_FLOOR = Integer.MIN_VALUE;
+    public static final int NO_ELEVATOR = -1;
+
+    static final byte HELLO = 1;
+    static final byte PICKUP = 2;
+    static final byte STEP = 3;
+    static final byte SHUTDOWN = 4;
+
+    static final String UNIX_ADDRESS_PREFIX = "unix:";
+
+    private ShardProtocol() {
+    }
+
+    /**
+     * The `parseAddress` method reads `host:port` or `unix:/path/to/socket` address.
+     */
+    public static SocketAddress parseAddress(String address) {
+        if (address.startsWith(UNIX_ADDRESS_PREFIX)) {
+            return UnixDomainSocketAddress.of(address.substring(UNIX_ADDRESS_PREFIX.length()));
+        }
+        final int separator = address.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Address should be written as host:port or unix:/path (%s)".formatted(address));
+        }
+        return new InetSocketAddress(address.substring(0, separator), Integer.parseInt(address.substring(separator + 1)));
+    }
+
+    /**
+     * The `formatAddress` method writes the address in the form accepted by `parseAddress`.
+     */
+    public static String formatAddress(SocketAddress address) {
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            return UNIX_ADDRESS_PREFIX + unixAddress.getPath();
+        }
+        InetSocketAddress inetAddress = (InetSocketAddress) address;
+        return inetAddress.getHostString() + ":" + inetAddress.getPort();
+    }
+}
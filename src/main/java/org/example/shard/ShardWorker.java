@@ -0,0 +1,181 @@
+package org.example.shard;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The `ShardWorker` class simulates some buildings of a sharded simulation. Each building is a separate `ElevatorSystem`,
+ * the worker executes requests of one `ShardCoordinator` at a time, see `ShardProtocol`.
+ */
+public class ShardWorker implements AutoCloseable {
+    private final static Logger LOG = Logger.getLogger(ShardWorker.class.getName());
+
+    private final List<ElevatorSystem> buildings = new ArrayList<>();
+    private final ServerSocketChannel serverChannel;
+    private final SocketAddress localAddress;
+
+    /**
+     * @param bindAddress TCP address (port 0 chooses a free port) or Unix-domain socket address, the socket file must not exist.
+     */
+    public ShardWorker(List<BuildingSpec> buildingSpecs, SocketAddress bindAddress) throws IOException {
+        if (buildingSpecs.isEmpty()) {
+            throw new IllegalArgumentException("Shard has to simulate at least one building");
+        }
+        for (BuildingSpec buildingSpec : buildingSpecs) {
+            this.buildings.add(buildingSpec.createSystem());
+        }
+        this.serverChannel = bindAddress instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        this.serverChannel.bind(bindAddress);
+        this.localAddress = this.serverChannel.getLocalAddress();
+    }
+
+    public SocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    public int getNumberOfBuildings() {
+        return buildings.size();
+    }
+
+    public ElevatorSystem getBuilding(int localIndex) {
+        return buildings.get(localIndex);
+    }
+
+    /**
+     * The `serve` method accepts coordinator connections one after another until a coordinator sends SHUTDOWN
+     * or the worker is closed.
+     */
+    public void serve() throws IOException {
+        while (serverChannel.isOpen()) {
+            final SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                if (!serverChannel.isOpen()) {
+                    return;
+                }
+                throw e;
+            }
+            try (channel) {
+                if (serveConnection(channel)) {
+                    return;
+                }
+            } catch (EOFException e) {
+                LOG.info("Coordinator disconnected from shard %s".formatted(ShardProtocol.formatAddress(localAddress)));
+            }
+        }
+    }
+
+    /**
+     * @return True when the coordinator requested shutdown.
+     */
+    private boolean serveConnection(SocketChannel channel) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        while (true) {
+            final byte opcode = in.readByte();
+            if (opcode == ShardProtocol.PICKUP) {
+                out.writeInt(pickup(in.readInt(), in.readInt(), in.readInt(), in.readInt()));
+            } else if (opcode == ShardProtocol.STEP) {
+                final int steps = in.readInt();
+                final long start = System.nanoTime();
+                for (int i = 0; i < steps; i++) {
+                    for (int j = 0; j < buildings.size(); j++) {
+                        buildings.get(j).step();
+                    }
+                }
+                final long stepNanos = System.nanoTime() - start;
+                out.writeLong(buildings.get(0).getStepNumber());
+                out.writeLong(stepNanos);
+            } else if (opcode == ShardProtocol.HELLO) {
+                final int version = in.readInt();
+                if (version != ShardProtocol.VERSION) {
+                    LOG.severe("Unsupported protocol version %d (expected %d)".formatted(version, ShardProtocol.VERSION));
+                    throw new IOException("Unsupported protocol version %d".formatted(version));
+                }
+                out.writeInt(buildings.size());
+                out.writeLong(buildings.get(0).getStepNumber());
+            } else if (opcode == ShardProtocol.SHUTDOWN) {
+                out.writeByte(ShardProtocol.SHUTDOWN);
+                out.flush();
+                return true;
+            } else {
+                LOG.severe("Unknown opcode %d".formatted(opcode));
+                throw new IOException("Unknown opcode %d".formatted(opcode));
+            }
+            out.flush();
+        }
+    }
+
+    private int pickup(int localIndex, int pickupFloor, int directionValue, int targetFloor) {
+        if (localIndex < 0 || localIndex >= buildings.size()) {
+            LOG.warning("Shard does not simulate building %d".formatted(localIndex));
+            return ShardProtocol.NO_ELEVATOR;
+        }
+        ElevatorSystem building = buildings.get(localIndex);
+        try {
+            final Direction direction = Direction.fromValue(directionValue);
+            Elevator elevator = targetFloor == ShardProtocol.NO_TARGET_FLOOR
+                    ? building.pickup(pickupFloor, direction)
+                    : building.pickup(pickupFloor, direction, targetFloor);
+            return elevator == null ? ShardProtocol.NO_ELEVATOR : elevator.getId();
+        } catch (RuntimeException e) {
+            LOG.warning("Pickup on floor %d rejected: %s".formatted(pickupFloor, e.getMessage()));
+            return ShardProtocol.NO_ELEVATOR;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        if (localAddress instanceof UnixDomainSocketAddress unixAddress) {
+            Files.deleteIfExists(unixAddress.getPath());
+        }
+    }
+
+    /**
+     * Usage: `ShardWorker listen=127.0.0.1:0 buildings=4:0:20,2:-2:10` or `listen=unix:/tmp/shard-0.sock`.
+     * The first line printed to standard output is the address the worker listens on.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                System.out.println("Usage: ShardWorker listen=127.0.0.1:0 buildings=4:0:20,2:-2:10");
+                return;
+            }
+            arguments.put(keyValue[0], keyValue[1]);
+        }
+
+        final SocketAddress bindAddress = ShardProtocol.parseAddress(arguments.getOrDefault("listen", "127.0.0.1:0"));
+        final List<BuildingSpec> buildingSpecs = BuildingSpec.parseList(arguments.getOrDefault("buildings", "4:0:20"));
+        try (ShardWorker worker = new ShardWorker(buildingSpecs, bindAddress)) {
+            System.out.println(ShardProtocol.formatAddress(worker.getLocalAddress()));
+            System.out.flush();
+            worker.serve();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.simulation;
+
+import org.example.model.DispatchMode;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * The `ParameterSweep` class runs independent workloads for every combination of fleet size, floor range and traffic
+ * intensity in parallel, and finds the smallest fleet which keeps p95 wait time within a target.
+ * It is used to choose `numberOfElevators` for a building, see `main` for the command line usage.
+ */
+public class ParameterSweep {
+    private final static Logger LOG = Logger.getLogger(ParameterSweep.class.getName());
+    private final static String ROW_FORMAT = "| %-8s | %-12s | %-12s | %-10s | %-12s | %-8s | %-8s | %-8s | %-8s |%n";
+    private final static String ROW_SEPARATOR =
+            "+----------+--------------+--------------+------------+--------------+----------+----------+----------+----------+%n";
+    private final static String[] HEADERS = {
+            "Fleet", "Floors", "Calls/step", "Pattern", "Steps/s", "Served", "p50", "p95", "p99"};
+
+    private final int parallelism;
+
+    public ParameterSweep(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive (parallelism = %d)".formatted(parallelism));
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * The `createWorkloads` method creates a workload for every combination of the given parameters,
+     * all workloads use the same seed so configurations are compared on similar traffic.
+     *
+     * @param fleetSizes Numbers of elevators.
+     * @param floorRanges Pairs of min and max floor value.
+     * @param callsPerStepValues Traffic intensities (average number of calls per step).
+     */
+    public static List<Workload> createWorkloads(int[] fleetSizes, int[][] floorRanges, double[] callsPerStepValues,
+                                                 TrafficPattern trafficPattern, int steps, long seed) {
+        return createWorkloads(fleetSizes, floorRanges, callsPerStepValues, trafficPattern, steps, seed,
+                DispatchMode.DIRECTION, Integer.MAX_VALUE);
+    }
+
+    public static List<Workload> createWorkloads(int[] fleetSizes, int[][] floorRanges, double[] callsPerStepValues,
+                                                 TrafficPattern trafficPattern, int steps, long seed,
+                                                 DispatchMode dispatchMode, int elevatorCapacity) {
+        List<Workload> workloads = new ArrayList<>();
+        for (int[] floorRange : floorRanges) {
+            for (double callsPerStep : callsPerStepValues) {
+                for (int fleetSize : fleetSizes) {
+                    String name = "%d@%d..%d/%.2f".formatted(fleetSize, floorRange[0], floorRange[1], callsPerStep);
+                    workloads.add(new Workload(name, fleetSize, floorRange[0], floorRange[1],
+                            trafficPattern, callsPerStep, steps, seed, dispatchMode, elevatorCapacity));
+                }
+            }
+        }
+        return workloads;
+    }
+
+    /**
+     * The `run` method runs the workloads on `parallelism` threads.
+     * @return Results in the same order as the workloads.
+     */
+    public List<WorkloadResult> run(List<Workload> workloads) {
+        ExecutorService executorService = Executors.newFixedThreadPool(this.parallelism);
+        try {
+            List<Future<WorkloadResult>> futures = new ArrayList<>();
+            for (Workload workload : workloads) {
+                futures.add(executorService.submit(() -> new WorkloadRunner().run(workload)));
+            }
+            List<WorkloadResult> results = new ArrayList<>();
+            for (Future<WorkloadResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Parameter sweep has been interrupted", e);
+        } catch (ExecutionException e) {
+            String errorMsg = "Workload in parameter sweep has failed";
+            LOG.severe(errorMsg);
+            throw new RuntimeException(errorMsg, e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * The `findSmallestFleets` method finds, for every floor range and traffic intensity, the result with the smallest
+     * fleet which served all calls with p95 wait time not longer than the target.
+     *
+     * @param results Results of a sweep.
+     * @param maxP95Wait The target p95 wait time in steps.
+     * @return Map from the configuration (floors and intensity) to the result with the smallest fleet, or to null
+     * when none of the fleets met the target.
+     */
+    public static Map<String, WorkloadResult> findSmallestFleets(List<WorkloadResult> results, int maxP95Wait) {
+        Map<String, WorkloadResult> smallestFleets = new LinkedHashMap<>();
+        for (WorkloadResult result : results) {
+            final String configuration = getConfigurationKey(result.getWorkload());
+            smallestFleets.putIfAbsent(configuration, null);
+            if (meetsTarget(result, maxP95Wait)) {
+                WorkloadResult smallestFleet = smallestFleets.get(configuration);
+                if (smallestFleet == null
+                        || result.getWorkload().getNumberOfElevators() < smallestFleet.getWorkload().getNumberOfElevators()) {
+                    smallestFleets.put(configuration, result);
+                }
+            }
+        }
+        return smallestFleets;
+    }
+
+    public static String getSummaryText(List<WorkloadResult> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(ROW_SEPARATOR));
+        sb.append(String.format(ROW_FORMAT, (Object[]) HEADERS));
+        sb.append(String.format(ROW_SEPARATOR));
+
+        for (WorkloadResult result : results) {
+            Workload workload = result.getWorkload();
+            sb.append(String.format(ROW_FORMAT,
+                    workload.getNumberOfElevators(),
+                    workload.getMinFloorValue() + ".." + workload.getMaxFloorValue(),
+                    "%.2f".formatted(workload.getCallsPerStep()),
+                    workload.getTrafficPattern(),
+                    "%.0f".formatted(result.getStepsPerSecond()),
+                    result.getServedCalls() + "/" + result.getCalls(),
+                    result.getWaitTimePercentile(50),
+                    result.getWaitTimePercentile(95),
+                    result.getWaitTimePercentile(99)
+            ));
+        }
+        sb.append(String.format(ROW_SEPARATOR));
+        return sb.toString();
+    }
+
+    private static boolean meetsTarget(WorkloadResult result, int maxP95Wait) {
+        return result.areAllElevatorsIdle()
+                && result.getServedCalls() == result.getCalls()
+                && result.getWaitTimePercentile(95) <= maxP95Wait;
+    }
+
+    private static String getConfigurationKey(Workload workload) {
+        return "floors %d..%d, %.2f calls/step".formatted(
+                workload.getMinFloorValue(), workload.getMaxFloorValue(), workload.getCallsPerStep());
+    }
+
+    /**
+     * Runs a sweep from the command line, arguments are `key=value` pairs:
+     * fleet=1..8 floors=0..10,-2..30 calls=0.1,0.5 pattern=MIXED steps=2000 seed=1 p95=40 threads=(number of cores)
+     * mode=DIRECTION capacity=8 (capacity is used only in DESTINATION mode)
+     */
+    public static void main(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                System.out.println("Usage: ParameterSweep fleet=1..8 floors=0..10,-2..30 calls=0.1,0.5 "
+                        + "pattern=MIXED steps=2000 seed=1 p95=40 threads=" + Runtime.getRuntime().availableProcessors()
+                        + " mode=DIRECTION capacity=8");
+                return;
+            }
+            arguments.put(keyValue[0], keyValue[1]);
+        }
+
+        final int[] fleetSizes = parseRange(arguments.getOrDefault("fleet", "1..8"));
+        final int[][] floorRanges = Arrays.stream(arguments.getOrDefault("floors", "0..10").split(","))
+                .map(ParameterSweep::parseRangeBounds)
+                .toArray(int[][]::new);
+        final double[] callsPerStepValues = Arrays.stream(arguments.getOrDefault("calls", "0.1").split(","))
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+        final TrafficPattern trafficPattern = TrafficPattern.valueOf(arguments.getOrDefault("pattern", "MIXED"));
+        final int steps = Integer.parseInt(arguments.getOrDefault("steps", "2000"));
+        final long seed = Long.parseLong(arguments.getOrDefault("seed", "1"));
+        final int maxP95Wait = Integer.parseInt(arguments.getOrDefault("p95", "40"));
+        final int threads = Integer.parseInt(arguments.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        final DispatchMode dispatchMode = DispatchMode.valueOf(arguments.getOrDefault("mode", DispatchMode.DIRECTION.name()));
+        final int elevatorCapacity = Integer.parseInt(arguments.getOrDefault("capacity", "8"));
+
+        List<Workload> workloads = createWorkloads(fleetSizes, floorRanges, callsPerStepValues, trafficPattern, steps, seed,
+                dispatchMode, elevatorCapacity);
+        System.out.printf("Running %d workloads on %d threads%n", workloads.size(), threads);
+        List<WorkloadResult> results = new ParameterSweep(threads).run(workloads);
+
+        System.out.println(getSummaryText(results));
+        System.out.printf("Smallest fleets with p95 wait <= %d steps:%n", maxP95Wait);
+        findSmallestFleets(results, maxP95Wait).forEach((configuration, result) ->
+                System.out.printf("  %s: %s%n", configuration, result == null
+                        ? "none of the fleets"
+                        : "%d elevators (p95 = %d)".formatted(result.getWorkload().getNumberOfElevators(), result.getWaitTimePercentile(95))));
+    }
+
+    private static int[] parseRange(String range) {
+        final int[] bounds = parseRangeBounds(range);
+        final int[] values = new int[bounds[1] - bounds[0] + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = bounds[0] + i;
+        }
+        return values;
+    }
+
+    private static int[] parseRangeBounds(String range) {
+        String[] bounds = range.split("\\.\\.", 2);
+        final int min = Integer.parseInt(bounds[0].trim());
+        final int max = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : min;
+        if (min > max) {
+            throw new IllegalArgumentException("Invalid range %s".formatted(range));
+        }
+        return new int[]{min, max};
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.simulation;
+
+import java.util.Random;
+
+/**
+ * The `TrafficPattern` enum describes where users call elevators from and where they want to go.
+ * The lobby is floor 0, or the closest floor to it when 0 is out of the building.
+ */
+public enum TrafficPattern {
+    /**
+     * Most users go from the lobby to upper floors (morning).
+     */
+    UP_PEAK(0.9, 0.0),
+    /**
+     * Most users go from upper floors to the lobby (evening).
+     */
+    DOWN_PEAK(0.0, 0.9),
+    /**
+     * Users go from and to the lobby and between floors in similar amounts.
+     */
+    MIXED(0.34, 0.33);
+
+    private final double fromLobbyProbability;
+    private final double toLobbyProbability;
+
+    TrafficPattern(double fromLobbyProbability, double toLobbyProbability) {
+        this.fromLobbyProbability = fromLobbyProbability;
+        this.toLobbyProbability = toLobbyProbability;
+    }
+
+    /**
+     * The `nextCall` method generates the next call. Pickup floor and target floor are always different.
+     *
+     * @return Two elements array, the pickup floor and the target floor.
+     */
+    public int[] nextCall(Random random, int minFloor, int maxFloor) {
+        final int lobby = getLobby(minFloor, maxFloor);
+        final double callType = random.nextDouble();
+
+        if (callType < fromLobbyProbability) {
+            return new int[]{lobby, randomFloorOtherThan(random, minFloor, maxFloor, lobby)};
+        } else if (callType < fromLobbyProbability + toLobbyProbability) {
+            return new int[]{randomFloorOtherThan(random, minFloor, maxFloor, lobby), lobby};
+        }
+
+        final int pickupFloor = minFloor + random.nextInt(maxFloor - minFloor + 1);
+        return new int[]{pickupFloor, randomFloorOtherThan(random, minFloor, maxFloor, pickupFloor)};
+    }
+
+    public static int getLobby(int minFloor, int maxFloor) {
+        return Math.max(minFloor, Math.min(0, maxFloor));
+    }
+
+    private static int randomFloorOtherThan(Random random, int minFloor, int maxFloor, int excludedFloor) {
+        final int floor = minFloor + random.nextInt(maxFloor - minFloor);
+        return floor >= excludedFloor ? floor + 1 : floor;
+    }
+}
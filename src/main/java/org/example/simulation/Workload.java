@@ -0,0 +1,90 @@
+package org.example.simulation;
+
+import org.example.model.DispatchMode;
+
+/**
+ * The `Workload` class describes one simulation run: the building, the fleet and the traffic.
+ * Calls are generated during the first `steps` steps, then the simulation runs until all elevators are idle.
+ */
+public class Workload {
+    private final String name;
+    private final int numberOfElevators;
+    private final int minFloorValue;
+    private final int maxFloorValue;
+    private final TrafficPattern trafficPattern;
+    private final double callsPerStep;
+    private final int steps;
+    private final long seed;
+    private final DispatchMode dispatchMode;
+    private final int elevatorCapacity;
+
+    public Workload(String name, int numberOfElevators, int minFloorValue, int maxFloorValue,
+                    TrafficPattern trafficPattern, double callsPerStep, int steps, long seed) {
+        this(name, numberOfElevators, minFloorValue, maxFloorValue, trafficPattern, callsPerStep, steps, seed,
+                DispatchMode.DIRECTION, Integer.MAX_VALUE);
+    }
+
+    public Workload(String name, int numberOfElevators, int minFloorValue, int maxFloorValue,
+                    TrafficPattern trafficPattern, double callsPerStep, int steps, long seed,
+                    DispatchMode dispatchMode, int elevatorCapacity) {
+        if (minFloorValue >= maxFloorValue || minFloorValue > 0 || maxFloorValue < 0) {
+            throw new IllegalArgumentException("Workload building must have at least two floors including floor 0 (minFloor = %d, maxFloor = %d)"
+                    .formatted(minFloorValue, maxFloorValue));
+        }
+        this.name = name;
+        this.numberOfElevators = numberOfElevators;
+        this.minFloorValue = minFloorValue;
+        this.maxFloorValue = maxFloorValue;
+        this.trafficPattern = trafficPattern;
+        this.callsPerStep = callsPerStep;
+        this.steps = steps;
+        this.seed = seed;
+        this.dispatchMode = dispatchMode;
+        this.elevatorCapacity = elevatorCapacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getNumberOfElevators() {
+        return numberOfElevators;
+    }
+
+    public int getMinFloorValue() {
+        return minFloorValue;
+    }
+
+    public int getMaxFloorValue() {
+        return maxFloorValue;
+    }
+
+    public TrafficPattern getTrafficPattern() {
+        return trafficPattern;
+    }
+
+    public double getCallsPerStep() {
+        return callsPerStep;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    public int getElevatorCapacity() {
+        return elevatorCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
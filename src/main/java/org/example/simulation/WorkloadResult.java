@@ -0,0 +1,75 @@
+package org.example.simulation;
+
+import java.util.Arrays;
+
+/**
+ * The `WorkloadResult` class keeps outcome of one workload run. Wait time is the number of steps
+ * from calling an elevator to the moment the called elevator stops on the pickup floor. Calls rejected by the system
+ * (e.g. when all elevators are full) are counted in `getCalls` but never served.
+ */
+public class WorkloadResult {
+    private final Workload workload;
+    private final long steps;
+    private final long elapsedNanos;
+    private final int calls;
+    private final int[] sortedWaitTimes;
+    private final boolean allElevatorsIdle;
+
+    public WorkloadResult(Workload workload, long steps, long elapsedNanos, int calls, int[] waitTimes, boolean allElevatorsIdle) {
+        this.workload = workload;
+        this.steps = steps;
+        this.elapsedNanos = elapsedNanos;
+        this.calls = calls;
+        this.sortedWaitTimes = waitTimes.clone();
+        this.allElevatorsIdle = allElevatorsIdle;
+        Arrays.sort(this.sortedWaitTimes);
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getStepsPerSecond() {
+        return elapsedNanos == 0 ? 0 : steps * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public int getCalls() {
+        return calls;
+    }
+
+    public int getServedCalls() {
+        return sortedWaitTimes.length;
+    }
+
+    public boolean areAllElevatorsIdle() {
+        return allElevatorsIdle;
+    }
+
+    /**
+     * The `getWaitTimePercentile` method returns wait time (in steps) using nearest-rank method.
+     * @param percentile The percentile in range (0, 100].
+     * @return The wait time or 0 when no call has been served.
+     */
+    public int getWaitTimePercentile(double percentile) {
+        if (sortedWaitTimes.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100.0 * sortedWaitTimes.length);
+        return sortedWaitTimes[Math.max(0, Math.min(sortedWaitTimes.length, rank) - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "%s: steps = %d, steps/s = %.0f, calls = %d, served = %d, wait p50 = %d, p95 = %d, p99 = %d"
+                .formatted(workload.getName(), steps, getStepsPerSecond(), calls, getServedCalls(),
+                        getWaitTimePercentile(50), getWaitTimePercentile(95), getWaitTimePercentile(99));
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.simulation;
+
+import org.example.config.ElevatorsConfig;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.repository.ElevatorRepositoryDefaultElevators;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The `WorkloadRunner` class runs a workload against `ElevatorSystemImpl` with default elevators
+ * and measures throughput and wait times.
+ */
+public class WorkloadRunner {
+    private final static int MAX_DRAIN_STEPS_PER_FLOOR = 100;
+
+    public WorkloadResult run(Workload workload) {
+        ElevatorsConfig elevatorsConfig = new ElevatorsConfig(
+                workload.getNumberOfElevators(), workload.getMinFloorValue(), workload.getMaxFloorValue());
+        ElevatorService elevatorService = new ElevatorServiceImpl(
+                new ElevatorRepositoryDefaultElevators(elevatorsConfig), elevatorsConfig);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService,
+                workload.getDispatchMode(), workload.getElevatorCapacity());
+        Random random = new Random(workload.getSeed());
+
+        List<PendingCall> pendingCalls = new ArrayList<>();
+        int[] waitTimes = new int[64];
+        int servedCalls = 0;
+        int calls = 0;
+        long step = 0;
+        final long maxSteps = workload.getSteps()
+                + (long) MAX_DRAIN_STEPS_PER_FLOOR * (workload.getMaxFloorValue() - workload.getMinFloorValue() + 1);
+
+        final long start = System.nanoTime();
+        while (step < workload.getSteps() || (hasAnyCall(elevatorService.getElevators()) && step < maxSteps)) {
+            if (step < workload.getSteps()) {
+                final int callsInStep = getCallsInStep(random, workload.getCallsPerStep());
+                for (int i = 0; i < callsInStep; i++) {
+                    int[] call = workload.getTrafficPattern()
+                            .nextCall(random, workload.getMinFloorValue(), workload.getMaxFloorValue());
+                    Elevator elevator = elevatorSystem.pickup(call[0], Direction.getDirectionByFloors(call[0], call[1]), call[1]);
+                    if (elevator != null) {
+                        pendingCalls.add(new PendingCall(call[0], elevator, step));
+                    }
+                    calls++;
+                }
+            }
+
+            elevatorSystem.step();
+            step++;
+
+            for (int i = pendingCalls.size() - 1; i >= 0; i--) {
+                PendingCall pendingCall = pendingCalls.get(i);
+                if (pendingCall.isServed()) {
+                    if (servedCalls == waitTimes.length) {
+                        waitTimes = Arrays.copyOf(waitTimes, waitTimes.length * 2);
+                    }
+                    waitTimes[servedCalls++] = (int) (step - pendingCall.callStep);
+                    pendingCalls.set(i, pendingCalls.get(pendingCalls.size() - 1));
+                    pendingCalls.remove(pendingCalls.size() - 1);
+                }
+            }
+        }
+        final long elapsedNanos = System.nanoTime() - start;
+
+        return new WorkloadResult(workload, step, elapsedNanos, calls, Arrays.copyOf(waitTimes, servedCalls),
+                !hasAnyCall(elevatorService.getElevators()));
+    }
+
+    private int getCallsInStep(Random random, double callsPerStep) {
+        final int calls = (int) callsPerStep;
+        return random.nextDouble() < callsPerStep - calls ? calls + 1 : calls;
+    }
+
+    private boolean hasAnyCall(List<Elevator> elevators) {
+        for (Elevator elevator : elevators) {
+            if (!elevator.getTargetFloors().isEmpty() || !elevator.getTargetFloorsOtherDirection().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class PendingCall {
+        private final int pickupFloor;
+        private final Elevator elevator;
+        private final long callStep;
+
+        private PendingCall(int pickupFloor, Elevator elevator, long callStep) {
+            this.pickupFloor = pickupFloor;
+            this.elevator = elevator;
+            this.callStep = callStep;
+        }
+
+        /**
+         * The call is served when the called elevator stands on the pickup floor and does not have it as a target anymore.
+         */
+        private boolean isServed() {
+            return elevator.getCurrentFloor() == pickupFloor
+                    && !elevator.getTargetFloors().contains(pickupFloor)
+                    && !elevator.getTargetFloorsOtherDirection().contains(pickupFloor);
+        }
+    }
+}
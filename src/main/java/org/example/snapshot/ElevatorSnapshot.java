@@ -0,0 +1,125 @@
+package org.example.snapshot;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.util.FloorSet;
+
+import java.util.Arrays;
+
+/**
+ * The `ElevatorSnapshot` class is an immutable state of one elevator. Snapshots of elevators which have not changed
+ * are shared by all fleet snapshots and forks which contain them.
+ */
+public final class ElevatorSnapshot {
+    private final int id;
+    private final int currentFloor;
+    private final Direction currentDirection;
+    private final int[] targetFloors;
+    private final int[] targetFloorsOtherDirection;
+
+    private ElevatorSnapshot(int id, int currentFloor, Direction currentDirection, int[] targetFloors, int[] targetFloorsOtherDirection) {
+        this.id = id;
+        this.currentFloor = currentFloor;
+        this.currentDirection = currentDirection;
+        this.targetFloors = targetFloors;
+        this.targetFloorsOtherDirection = targetFloorsOtherDirection;
+    }
+
+    public static ElevatorSnapshot of(Elevator elevator) {
+        return new ElevatorSnapshot(elevator.getId(), elevator.getCurrentFloor(), elevator.getCurrentDirection(),
+                toArray(elevator.getTargetFloors()), toArray(elevator.getTargetFloorsOtherDirection()));
+    }
+
+    /**
+     * The `toElevator` method creates a mutable elevator with the same id and state.
+     * The elevator is not kept by any repository; it is indexed on its floor once it is added with `addElevator`.
+     */
+    public Elevator toElevator() {
+        Elevator elevator = new Elevator(this.id);
+        elevator.setCurrentFloor(this.currentFloor);
+        elevator.setCurrentDirection(this.currentDirection);
+        for (int targetFloor : this.targetFloors) {
+            elevator.addTargetFloor(targetFloor);
+        }
+        for (int targetFloor : this.targetFloorsOtherDirection) {
+            elevator.addTargetFloorInOtherDirection(targetFloor);
+        }
+        return elevator;
+    }
+
+    /**
+     * The `hasStateOf` method checks if the elevator has the same id and state as the snapshot, without allocating.
+     */
+    public boolean hasStateOf(Elevator elevator) {
+        return elevator.getId() == this.id
+                && elevator.getCurrentFloor() == this.currentFloor
+                && elevator.getCurrentDirection() == this.currentDirection
+                && hasFloors(elevator.getTargetFloors(), this.targetFloors)
+                && hasFloors(elevator.getTargetFloorsOtherDirection(), this.targetFloorsOtherDirection);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getCurrentFloor() {
+        return currentFloor;
+    }
+
+    public Direction getCurrentDirection() {
+        return currentDirection;
+    }
+
+    public int getNumberOfTargetFloors() {
+        return this.targetFloors.length + this.targetFloorsOtherDirection.length;
+    }
+
+    public boolean hasAnyTargetFloor() {
+        return getNumberOfTargetFloors() > 0;
+    }
+
+    public boolean hasTargetFloor(int floor) {
+        return Arrays.binarySearch(this.targetFloors, floor) >= 0 || Arrays.binarySearch(this.targetFloorsOtherDirection, floor) >= 0;
+    }
+
+    /**
+     * @return Target floors for the current direction in ascending order.
+     */
+    public int[] getTargetFloors() {
+        return this.targetFloors.clone();
+    }
+
+    /**
+     * @return Target floors for the other direction in ascending order.
+     */
+    public int[] getTargetFloorsOtherDirection() {
+        return this.targetFloorsOtherDirection.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "ElevatorSnapshot{id=%d, currentFloor=%d, currentDirection=%s, targetFloors=%s, targetFloorsOtherDirection=%s}"
+                .formatted(this.id, this.currentFloor, this.currentDirection,
+                        Arrays.toString(this.targetFloors), Arrays.toString(this.targetFloorsOtherDirection));
+    }
+
+    private static int[] toArray(FloorSet floors) {
+        final int[] array = new int[floors.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = floors.get(i);
+        }
+        return array;
+    }
+
+    private static boolean hasFloors(FloorSet floors, int[] array) {
+        if (floors.size() != array.length) {
+            return false;
+        }
+        for (int i = 0; i < array.length; i++) {
+            if (floors.get(i) != array[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.snapshot;
+
+import org.example.config.ElevatorsConfig;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The `FleetFork` class is a copy-on-write what-if copy of a `FleetSnapshot`. An elevator is copied into a mutable
+ * `Elevator` only when the fork changes it, all other elevators are read from the snapshot, so a fork costs
+ * time and memory proportional to the number of changed elevators. Changes never affect the snapshot or the system.
+ * Elevators are changed and stepped by `ElevatorService` rules. Users waiting on floors are not part of a snapshot,
+ * so a fork only simulates elevators going to floors they already have as targets.
+ * A fork is not thread-safe, but forks of the same snapshot can be used by different threads at once.
+ */
+public class FleetFork {
+    private final FleetSnapshot base;
+    private final Map<Integer, Elevator> changedElevators = new HashMap<>();
+    /**
+     * All elevators of the fork for its service, elevators read by the service are copied.
+     */
+    private final List<Elevator> elevatorsView = new AbstractList<>() {
+        @Override
+        public Elevator get(int index) {
+            return edit(index);
+        }
+
+        @Override
+        public int size() {
+            return base.size();
+        }
+    };
+    private final ElevatorService elevatorService;
+    private int simulatedSteps;
+
+    FleetFork(FleetSnapshot base, ElevatorsConfig elevatorsConfig) {
+        this.base = base;
+        this.elevatorService = new ElevatorServiceImpl(() -> this.elevatorsView, elevatorsConfig);
+    }
+
+    /**
+     * @return The number of steps done by the fork.
+     */
+    public int getSimulatedSteps() {
+        return simulatedSteps;
+    }
+
+    public int size() {
+        return this.base.size();
+    }
+
+    /**
+     * @return The number of elevators which have been copied by the fork.
+     */
+    public int getNumberOfChangedElevators() {
+        return this.changedElevators.size();
+    }
+
+    /**
+     * @return The current floor of the elevator in the fork, without copying it.
+     */
+    public int getCurrentFloor(int index) {
+        final Elevator changedElevator = this.changedElevators.get(index);
+        return changedElevator != null ? changedElevator.getCurrentFloor() : this.base.get(index).getCurrentFloor();
+    }
+
+    /**
+     * @return The number of target floors of the elevator in the fork, without copying it.
+     */
+    public int getNumberOfTargetFloors(int index) {
+        final Elevator changedElevator = this.changedElevators.get(index);
+        return changedElevator != null
+                ? changedElevator.getTargetFloors().size() + changedElevator.getTargetFloorsOtherDirection().size()
+                : this.base.get(index).getNumberOfTargetFloors();
+    }
+
+    /**
+     * @return True if the elevator in the fork has the floor as a target, without copying it.
+     */
+    public boolean hasTargetFloor(int index, int floor) {
+        final Elevator changedElevator = this.changedElevators.get(index);
+        return changedElevator != null
+                ? changedElevator.getTargetFloors().contains(floor) || changedElevator.getTargetFloorsOtherDirection().contains(floor)
+                : this.base.get(index).hasTargetFloor(floor);
+    }
+
+    /**
+     * The `edit` method returns the mutable copy of the elevator, copying it on the first call.
+     */
+    public Elevator edit(int index) {
+        Elevator elevator = this.changedElevators.get(index);
+        if (elevator == null) {
+            elevator = this.base.get(index).toElevator();
+            this.changedElevators.put(index, elevator);
+        }
+        return elevator;
+    }
+
+    /**
+     * The `assignCall` method makes the elevator serve a call from the floor, like `ElevatorService.assignCall`.
+     */
+    public void assignCall(int index, int floor, Direction selectedDirection) {
+        this.elevatorService.assignCall(edit(index), floor, selectedDirection);
+    }
+
+    public void selectFloor(int index, int floor) {
+        this.elevatorService.selectFloor(edit(index), floor);
+    }
+
+    /**
+     * The `step` method does one step of every elevator that has any target floor. Idle elevators without targets
+     * do not change in a step, so they are not copied.
+     */
+    public void step() {
+        for (int index = 0; index < this.base.size(); index++) {
+            Elevator elevator = this.changedElevators.get(index);
+            if (elevator == null) {
+                if (!this.base.get(index).hasAnyTargetFloor()) {
+                    continue;
+                }
+                elevator = edit(index);
+            }
+            this.elevatorService.elevatorStep(elevator);
+            this.elevatorService.removeCurrentFloorFromTarget(elevator);
+        }
+        this.simulatedSteps++;
+    }
+
+    /**
+     * The `freeze` method returns a snapshot of the fork, which shares all unchanged elevators with the base snapshot.
+     */
+    public FleetSnapshot freeze() {
+        final Map<Integer, ElevatorSnapshot> changedSnapshots = new HashMap<>();
+        for (Map.Entry<Integer, Elevator> changedElevator : this.changedElevators.entrySet()) {
+            final ElevatorSnapshot baseSnapshot = this.base.get(changedElevator.getKey());
+            if (!baseSnapshot.hasStateOf(changedElevator.getValue())) {
+                changedSnapshots.put(changedElevator.getKey(), ElevatorSnapshot.of(changedElevator.getValue()));
+            }
+        }
+        return this.base.with(changedSnapshots);
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.snapshot;
+
+import org.example.config.ElevatorsConfig;
+import org.example.model.Elevator;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The `FleetSnapshot` class is an immutable state of all elevators, in the order of `ElevatorService.getElevators`.
+ * Elevators are kept in chunks of `CHUNK_SIZE` snapshots. A snapshot with changed elevators copies only the chunks
+ * of changed elevators and shares all other chunks and all unchanged `ElevatorSnapshot`s with the previous one,
+ * so snapshots of the same fleet taken after each step cost memory proportional to the number of changed elevators.
+ */
+public final class FleetSnapshot {
+    final static int CHUNK_SIZE = 32;
+    private final static ElevatorSnapshot[][] NO_CHUNKS = new ElevatorSnapshot[0][];
+
+    private final int size;
+    private final ElevatorSnapshot[][] chunks;
+
+    private FleetSnapshot(int size, ElevatorSnapshot[][] chunks) {
+        this.size = size;
+        this.chunks = chunks;
+    }
+
+    public static FleetSnapshot capture(List<Elevator> elevators) {
+        return capture(elevators, null);
+    }
+
+    /**
+     * The `capture` method takes a snapshot of elevators sharing all unchanged parts with the previous snapshot.
+     * @param previous The previous snapshot of the same fleet, or null.
+     */
+    public static FleetSnapshot capture(List<Elevator> elevators, FleetSnapshot previous) {
+        final int size = elevators.size();
+        final ElevatorSnapshot[][] previousChunks = previous != null && previous.size == size ? previous.chunks : NO_CHUNKS;
+        final ElevatorSnapshot[][] chunks = new ElevatorSnapshot[getNumberOfChunks(size)][];
+        for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+            final int chunkStart = chunkIndex * CHUNK_SIZE;
+            final int chunkLength = Math.min(CHUNK_SIZE, size - chunkStart);
+            final ElevatorSnapshot[] previousChunk = chunkIndex < previousChunks.length ? previousChunks[chunkIndex] : null;
+            ElevatorSnapshot[] chunk = previousChunk;
+            for (int i = 0; i < chunkLength; i++) {
+                final Elevator elevator = elevators.get(chunkStart + i);
+                if (previousChunk != null && previousChunk[i].hasStateOf(elevator)) {
+                    continue;
+                }
+                if (chunk == previousChunk) {
+                    chunk = previousChunk != null ? previousChunk.clone() : new ElevatorSnapshot[chunkLength];
+                }
+                chunk[i] = ElevatorSnapshot.of(elevator);
+            }
+            chunks[chunkIndex] = chunk;
+        }
+        return new FleetSnapshot(size, chunks);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ElevatorSnapshot get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Elevator index %d out of bounds for fleet of %d elevators".formatted(index, this.size));
+        }
+        return this.chunks[index / CHUNK_SIZE][index % CHUNK_SIZE];
+    }
+
+    /**
+     * @return The index of the elevator with the given id, or -1.
+     */
+    public int indexOf(int elevatorId) {
+        for (int i = 0; i < this.size; i++) {
+            if (get(i).getId() == elevatorId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The `fork` method starts a what-if copy of the fleet. It does not copy anything until elevators of the fork
+     * are changed.
+     * @param elevatorsConfig The floor range used to validate floors in the fork.
+     */
+    public FleetFork fork(ElevatorsConfig elevatorsConfig) {
+        return new FleetFork(this, elevatorsConfig);
+    }
+
+    /**
+     * The `with` method returns a snapshot with the given elevators replaced, copying only their chunks.
+     * @param changedElevators Map from elevator index to its new snapshot.
+     */
+    FleetSnapshot with(Map<Integer, ElevatorSnapshot> changedElevators) {
+        if (changedElevators.isEmpty()) {
+            return this;
+        }
+        final ElevatorSnapshot[][] chunks = this.chunks.clone();
+        final boolean[] isChunkCopied = new boolean[chunks.length];
+        for (Map.Entry<Integer, ElevatorSnapshot> changedElevator : changedElevators.entrySet()) {
+            final int chunkIndex = changedElevator.getKey() / CHUNK_SIZE;
+            if (!isChunkCopied[chunkIndex]) {
+                chunks[chunkIndex] = chunks[chunkIndex].clone();
+                isChunkCopied[chunkIndex] = true;
+            }
+            chunks[chunkIndex][changedElevator.getKey() % CHUNK_SIZE] = changedElevator.getValue();
+        }
+        return new FleetSnapshot(this.size, chunks);
+    }
+
+    boolean isChunkSharedWith(FleetSnapshot other, int index) {
+        return this.chunks[index / CHUNK_SIZE] == other.chunks[index / CHUNK_SIZE];
+    }
+
+    private static int getNumberOfChunks(int size) {
+        return (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+}
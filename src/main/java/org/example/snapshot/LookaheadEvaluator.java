@@ -0,0 +1,102 @@
+package org.example.snapshot;
+
+import org.example.config.ElevatorsConfig;
+import org.example.model.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * The `LookaheadEvaluator` class answers "what happens if elevator X takes this call?" for every elevator at once.
+ * Every candidate gets its own fork of the same fleet snapshot, the call is assigned to the candidate and the fork is
+ * stepped until the candidate stops on the called floor, which is when the floor is no longer its target. Forks are simulated in parallel on `parallelism` threads.
+ */
+public class LookaheadEvaluator implements AutoCloseable {
+    private final static Logger LOG = Logger.getLogger(LookaheadEvaluator.class.getName());
+
+    private final ElevatorsConfig elevatorsConfig;
+    private final ExecutorService executorService;
+
+    public LookaheadEvaluator(ElevatorsConfig elevatorsConfig, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive (parallelism = %d)".formatted(parallelism));
+        }
+        this.elevatorsConfig = elevatorsConfig;
+        this.executorService = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "lookahead");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The `evaluate` method simulates the call assigned to every elevator of the snapshot.
+     * @param horizonSteps The maximal number of simulated steps.
+     * @return Results in the order of elevators in the snapshot.
+     */
+    public List<LookaheadResult> evaluate(FleetSnapshot snapshot, int floor, Direction selectedDirection, int horizonSteps) {
+        try {
+            List<Future<LookaheadResult>> futures = new ArrayList<>();
+            for (int index = 0; index < snapshot.size(); index++) {
+                final int candidateIndex = index;
+                futures.add(this.executorService.submit(
+                        () -> evaluateCandidate(snapshot, candidateIndex, floor, selectedDirection, horizonSteps)));
+            }
+            List<LookaheadResult> results = new ArrayList<>();
+            for (Future<LookaheadResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Lookahead has been interrupted", e);
+        } catch (ExecutionException e) {
+            String errorMsg = "Lookahead of a candidate elevator has failed";
+            LOG.severe(errorMsg);
+            throw new RuntimeException(errorMsg, e.getCause());
+        }
+    }
+
+    /**
+     * The `findBest` method returns the result of the elevator which arrives first, on ties the one with fewer
+     * remaining target floors.
+     * @return The best result, or null when no elevator arrives within the horizon.
+     */
+    public static LookaheadResult findBest(List<LookaheadResult> results) {
+        LookaheadResult best = null;
+        for (LookaheadResult result : results) {
+            if (result.getStepsToArrival() == LookaheadResult.NOT_ARRIVED) {
+                continue;
+            }
+            if (best == null || result.getStepsToArrival() < best.getStepsToArrival()
+                    || (result.getStepsToArrival() == best.getStepsToArrival()
+                    && result.getRemainingTargetFloors() < best.getRemainingTargetFloors())) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void close() {
+        this.executorService.shutdownNow();
+    }
+
+    private LookaheadResult evaluateCandidate(FleetSnapshot snapshot, int index, int floor, Direction selectedDirection, int horizonSteps) {
+        final FleetFork fork = snapshot.fork(this.elevatorsConfig);
+        fork.assignCall(index, floor, selectedDirection);
+        int stepsToArrival = LookaheadResult.NOT_ARRIVED;
+        for (int step = 1; step <= horizonSteps && stepsToArrival == LookaheadResult.NOT_ARRIVED; step++) {
+            fork.step();
+            if (fork.getCurrentFloor(index) == floor && !fork.hasTargetFloor(index, floor)) {
+                stepsToArrival = step;
+            }
+        }
+        return new LookaheadResult(snapshot.get(index).getId(), stepsToArrival, fork.getNumberOfTargetFloors(index));
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.snapshot;
+
+/**
+ * The `LookaheadResult` class keeps the outcome of assigning a call to one elevator in a fork.
+ */
+public class LookaheadResult {
+    public final static int NOT_ARRIVED = Integer.MAX_VALUE;
+
+    private final int elevatorId;
+    private final int stepsToArrival;
+    private final int remainingTargetFloors;
+
+    public LookaheadResult(int elevatorId, int stepsToArrival, int remainingTargetFloors) {
+        this.elevatorId = elevatorId;
+        this.stepsToArrival = stepsToArrival;
+        this.remainingTargetFloors = remainingTargetFloors;
+    }
+
+    public int getElevatorId() {
+        return elevatorId;
+    }
+
+    /**
+     * @return The number of steps after which the elevator stops on the called floor, or `NOT_ARRIVED` when it does not
+     * stop there within the lookahead horizon.
+     */
+    public int getStepsToArrival() {
+        return stepsToArrival;
+    }
+
+    /**
+     * @return The number of target floors the elevator still has at the end of the lookahead.
+     */
+    public int getRemainingTargetFloors() {
+        return remainingTargetFloors;
+    }
+
+    @Override
+    public String toString() {
+        return "LookaheadResult{elevatorId=%d, stepsToArrival=%d, remainingTargetFloors=%d}"
+                .formatted(this.elevatorId, this.stepsToArrival, this.remainingTargetFloors);
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.statistics;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystemListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The `RollingStatistics` class keeps call rates of floors and utilisation of elevators over the last 1, 5 and 15
+ * minutes of simulated time. Counts are written on the simulation thread into preallocated ring buffers
+ * (see `RollingWindowCounters`), so recording does not allocate, and `getSnapshot` can be called from any thread while
+ * the simulation runs.
+ * Counts are kept in buckets of 1/6 of a minute, a window covers its last buckets including the current one,
+ * so its start moves by whole buckets.
+ * An elevator is busy in a step when it moves or has any target floor. Steps skipped by `advance` are counted
+ * with the state of elevators reported after the skip.
+ */
+public class RollingStatistics implements ElevatorSystemListener {
+    public final static int[] WINDOW_MINUTES = {1, 5, 15};
+    private final static int BUCKETS_PER_MINUTE = 6;
+    private final static int NO_ELEVATOR = 0;
+
+    private final int minFloorValue;
+    private final int numberOfFloors;
+    private final int stepsPerMinute;
+    private final int[] windowBuckets = new int[WINDOW_MINUTES.length];
+    private final RollingWindowCounters callCounters;
+    private final RollingWindowCounters busyStepCounters;
+    private final AtomicIntegerArray elevatorIds;
+    private final long[] elevatorLastSeenSteps;
+    private long lastStepNumber;
+    private volatile long publishedStepNumber;
+
+    /**
+     * @param maxElevators The number of elevators which can be counted at once, elevators over the limit are skipped.
+     * @param stepsPerMinute The number of steps in one minute of simulated time.
+     */
+    public RollingStatistics(int minFloorValue, int maxFloorValue, int maxElevators, int stepsPerMinute) {
+        if (minFloorValue > maxFloorValue || maxElevators < 1 || stepsPerMinute < 1) {
+            throw new IllegalArgumentException("Invalid statistics (minFloor = %d, maxFloor = %d, maxElevators = %d, stepsPerMinute = %d)"
+                    .formatted(minFloorValue, maxFloorValue, maxElevators, stepsPerMinute));
+        }
+        this.minFloorValue = minFloorValue;
+        this.numberOfFloors = maxFloorValue - minFloorValue + 1;
+        this.stepsPerMinute = stepsPerMinute;
+
+        final int bucketSteps = (stepsPerMinute + BUCKETS_PER_MINUTE - 1) / BUCKETS_PER_MINUTE;
+        for (int i = 0; i < WINDOW_MINUTES.length; i++) {
+            this.windowBuckets[i] = (int) ((WINDOW_MINUTES[i] * (long) stepsPerMinute + bucketSteps - 1) / bucketSteps);
+        }
+        final int buckets = this.windowBuckets[WINDOW_MINUTES.length - 1] + 1;
+        this.callCounters = new RollingWindowCounters(this.numberOfFloors, buckets, bucketSteps);
+        this.busyStepCounters = new RollingWindowCounters(maxElevators, buckets, bucketSteps);
+        this.elevatorIds = new AtomicIntegerArray(maxElevators);
+        this.elevatorLastSeenSteps = new long[maxElevators];
+    }
+
+    @Override
+    public void onPickup(long stepNumber, int pickupFloor, Direction direction, Elevator elevator) {
+        recordCall(stepNumber, pickupFloor);
+    }
+
+    @Override
+    public void onStep(long stepNumber, List<Elevator> elevators) {
+        recordStep(stepNumber, elevators);
+    }
+
+    /**
+     * The `recordCall` method counts a call from the floor. Calls from floors out of range are ignored.
+     */
+    public void recordCall(long stepNumber, int floor) {
+        this.callCounters.add(floor - this.minFloorValue, stepNumber, 1);
+        publish(stepNumber);
+    }
+
+    /**
+     * The `recordStep` method counts busy steps of elevators done since the previously recorded step.
+     * It should be called from one thread only, with not decreasing step numbers.
+     */
+    public void recordStep(long stepNumber, List<Elevator> elevators) {
+        final long fromStep = this.lastStepNumber;
+        if (stepNumber <= fromStep) {
+            return;
+        }
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            final int slot = findElevatorSlot(elevator.getId(), i, stepNumber);
+            if (slot < 0) {
+                continue;
+            }
+            this.elevatorLastSeenSteps[slot] = stepNumber;
+            if (isBusy(elevator)) {
+                this.busyStepCounters.addPerStep(slot, fromStep, stepNumber, 1);
+            }
+        }
+        this.lastStepNumber = stepNumber;
+        publish(stepNumber);
+    }
+
+    /**
+     * The `getSnapshot` method reads current statistics. It can be called from any thread.
+     * Counts written while the snapshot is read may be included or not, but each of them is read whole.
+     */
+    public RollingStatisticsSnapshot getSnapshot() {
+        final long stepNumber = this.publishedStepNumber;
+        final double[][] callsPerMinute = new double[WINDOW_MINUTES.length][this.numberOfFloors];
+        final int elevatorSlots = this.elevatorIds.length();
+        final int[] ids = new int[elevatorSlots];
+        for (int slot = 0; slot < elevatorSlots; slot++) {
+            ids[slot] = this.elevatorIds.get(slot);
+        }
+        final double[][] utilisation = new double[WINDOW_MINUTES.length][elevatorSlots];
+
+        for (int window = 0; window < WINDOW_MINUTES.length; window++) {
+            final long windowStartStep = Math.max(1, this.callCounters.getWindowStartStep(stepNumber, this.windowBuckets[window]));
+            final long coveredSteps = stepNumber - windowStartStep + 1;
+            if (coveredSteps <= 0) {
+                continue;
+            }
+            for (int floorIndex = 0; floorIndex < this.numberOfFloors; floorIndex++) {
+                final long calls = this.callCounters.sum(floorIndex, stepNumber, this.windowBuckets[window]);
+                callsPerMinute[window][floorIndex] = (double) calls * this.stepsPerMinute / coveredSteps;
+            }
+            for (int slot = 0; slot < elevatorSlots; slot++) {
+                if (ids[slot] != NO_ELEVATOR) {
+                    final long busySteps = this.busyStepCounters.sum(slot, stepNumber, this.windowBuckets[window]);
+                    utilisation[window][slot] = Math.min(1.0, (double) busySteps / coveredSteps);
+                }
+            }
+        }
+        return new RollingStatisticsSnapshot(stepNumber, this.minFloorValue, callsPerMinute, ids, utilisation);
+    }
+
+    private void publish(long stepNumber) {
+        if (stepNumber > this.publishedStepNumber) {
+            this.publishedStepNumber = stepNumber;
+        }
+    }
+
+    /**
+     * The `findElevatorSlot` method returns the slot of the elevator, usually equal to its index in the list.
+     * A new elevator gets a free slot or a slot of an elevator which was not seen in the previous step.
+     */
+    private int findElevatorSlot(int elevatorId, int elevatorIndex, long stepNumber) {
+        final int elevatorSlots = this.elevatorIds.length();
+        if (elevatorIndex < elevatorSlots && this.elevatorIds.get(elevatorIndex) == elevatorId) {
+            return elevatorIndex;
+        }
+        int freeSlot = -1;
+        for (int slot = 0; slot < elevatorSlots; slot++) {
+            final int slotElevatorId = this.elevatorIds.get(slot);
+            if (slotElevatorId == elevatorId) {
+                return slot;
+            }
+            if (freeSlot < 0 && (slotElevatorId == NO_ELEVATOR || this.elevatorLastSeenSteps[slot] < this.lastStepNumber)) {
+                freeSlot = slot;
+            }
+        }
+        if (freeSlot >= 0) {
+            this.busyStepCounters.clear(freeSlot);
+            this.elevatorIds.set(freeSlot, elevatorId);
+        }
+        return freeSlot;
+    }
+
+    private boolean isBusy(Elevator elevator) {
+        return elevator.getCurrentDirection() != Direction.IDLE
+                || !elevator.getTargetFloors().isEmpty()
+                || !elevator.getTargetFloorsOtherDirection().isEmpty();
+    }
+}
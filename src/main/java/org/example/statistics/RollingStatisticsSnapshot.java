@@ -0,0 +1,76 @@
+package org.example.statistics;
+
+/**
+ * The `RollingStatisticsSnapshot` class keeps statistics read by `RollingStatistics.getSnapshot`.
+ * Windows are selected by their length in minutes, one of `RollingStatistics.WINDOW_MINUTES`.
+ */
+public class RollingStatisticsSnapshot {
+    private final long stepNumber;
+    private final int minFloorValue;
+    private final double[][] callsPerMinute;
+    private final int[] elevatorIds;
+    private final double[][] utilisation;
+
+    RollingStatisticsSnapshot(long stepNumber, int minFloorValue, double[][] callsPerMinute, int[] elevatorIds, double[][] utilisation) {
+        this.stepNumber = stepNumber;
+        this.minFloorValue = minFloorValue;
+        this.callsPerMinute = callsPerMinute;
+        this.elevatorIds = elevatorIds;
+        this.utilisation = utilisation;
+    }
+
+    public long getStepNumber() {
+        return stepNumber;
+    }
+
+    /**
+     * @return The average number of calls per minute from the floor in the window, 0 for floors out of range.
+     */
+    public double getCallRate(int windowMinutes, int floor) {
+        final double[] rates = this.callsPerMinute[getWindowIndex(windowMinutes)];
+        final int floorIndex = floor - this.minFloorValue;
+        return floorIndex >= 0 && floorIndex < rates.length ? rates[floorIndex] : 0;
+    }
+
+    /**
+     * @return The part of steps in the window in which the elevator was busy, 0 for unknown elevators.
+     */
+    public double getUtilisation(int windowMinutes, int elevatorId) {
+        final double[] windowUtilisation = this.utilisation[getWindowIndex(windowMinutes)];
+        for (int slot = 0; slot < this.elevatorIds.length; slot++) {
+            if (this.elevatorIds[slot] == elevatorId) {
+                return windowUtilisation[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The `getSummaryText` method returns call rates of floors with any calls and utilisation of all elevators.
+     */
+    public String getSummaryText() {
+        final StringBuilder summary = new StringBuilder("Statistics at step %d (1 / 5 / 15 minutes)%n".formatted(this.stepNumber));
+        for (int floorIndex = 0; floorIndex < this.callsPerMinute[0].length; floorIndex++) {
+            if (this.callsPerMinute[this.callsPerMinute.length - 1][floorIndex] > 0) {
+                summary.append("Floor %d: %.2f / %.2f / %.2f calls per minute%n".formatted(floorIndex + this.minFloorValue,
+                        this.callsPerMinute[0][floorIndex], this.callsPerMinute[1][floorIndex], this.callsPerMinute[2][floorIndex]));
+            }
+        }
+        for (int slot = 0; slot < this.elevatorIds.length; slot++) {
+            if (this.elevatorIds[slot] != 0) {
+                summary.append("Elevator %d: %.0f%% / %.0f%% / %.0f%% utilisation%n".formatted(this.elevatorIds[slot],
+                        this.utilisation[0][slot] * 100, this.utilisation[1][slot] * 100, this.utilisation[2][slot] * 100));
+            }
+        }
+        return summary.toString();
+    }
+
+    private int getWindowIndex(int windowMinutes) {
+        for (int i = 0; i < RollingStatistics.WINDOW_MINUTES.length; i++) {
+            if (RollingStatistics.WINDOW_MINUTES[i] == windowMinutes) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown statistics window (windowMinutes = %d)".formatted(windowMinutes));
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.statistics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The `RollingWindowCounters` class counts events per entity (floor, elevator) in a ring of time buckets.
+ * Every slot of the ring keeps the bucket number and the count packed in one long, so writers update it with
+ * a single compare-and-set (a slot holding an older bucket is reset by the write) and never lock.
+ * Readers can sum windows from any thread while writers are running.
+ */
+class RollingWindowCounters {
+    private final static int COUNT_BITS = 24;
+    private final static long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int entities;
+    private final int buckets;
+    private final int bucketSteps;
+    private final AtomicLongArray slots;
+
+    /**
+     * @param entities The number of counted entities.
+     * @param buckets The number of kept buckets, windows can be at most `buckets - 1` buckets long.
+     * @param bucketSteps The number of steps counted in one bucket.
+     */
+    RollingWindowCounters(int entities, int buckets, int bucketSteps) {
+        if (entities < 1 || buckets < 2 || bucketSteps < 1 || bucketSteps > COUNT_MASK) {
+            throw new IllegalArgumentException("Invalid counters (entities = %d, buckets = %d, bucketSteps = %d)"
+                    .formatted(entities, buckets, bucketSteps));
+        }
+        this.entities = entities;
+        this.buckets = buckets;
+        this.bucketSteps = bucketSteps;
+        this.slots = new AtomicLongArray(entities * buckets);
+    }
+
+    /**
+     * The `add` method adds the value to the entity in the bucket of the step. Values added to buckets which are
+     * already out of the ring are dropped, counts saturate at 2^24 - 1 per bucket.
+     */
+    void add(int entity, long stepNumber, long value) {
+        if (entity < 0 || entity >= this.entities || value <= 0) {
+            return;
+        }
+        final long bucket = getBucket(stepNumber);
+        final int index = entity * this.buckets + (int) (bucket % this.buckets);
+        long slot;
+        long updatedSlot;
+        do {
+            slot = this.slots.get(index);
+            final long slotBucket = slot >>> COUNT_BITS;
+            if (slot != 0 && slotBucket > bucket) {
+                return;
+            }
+            final long count = slot != 0 && slotBucket == bucket ? slot & COUNT_MASK : 0;
+            updatedSlot = (bucket << COUNT_BITS) | Math.min(COUNT_MASK, count + value);
+        } while (!this.slots.compareAndSet(index, slot, updatedSlot));
+    }
+
+    /**
+     * The `addPerStep` method adds the value for every step in range (fromStep, toStep], splitting it between buckets.
+     */
+    void addPerStep(int entity, long fromStep, long toStep, long valuePerStep) {
+        final long oldestKeptStep = (getBucket(toStep) - this.buckets + 1) * this.bucketSteps;
+        long step = Math.max(fromStep + 1, oldestKeptStep);
+        while (step <= toStep) {
+            final long bucketEndStep = Math.min(toStep, (getBucket(step) + 1) * this.bucketSteps - 1);
+            add(entity, step, (bucketEndStep - step + 1) * valuePerStep);
+            step = bucketEndStep + 1;
+        }
+    }
+
+    /**
+     * The `sum` method sums counts of the entity in the last `windowBuckets` buckets up to the bucket of the step.
+     */
+    long sum(int entity, long stepNumber, int windowBuckets) {
+        final long currentBucket = getBucket(stepNumber);
+        final int bucketsToSum = Math.min(windowBuckets, this.buckets - 1);
+        long sum = 0;
+        for (int i = 0; i < bucketsToSum; i++) {
+            final long bucket = currentBucket - i;
+            if (bucket < 0) {
+                break;
+            }
+            final long slot = this.slots.get(entity * this.buckets + (int) (bucket % this.buckets));
+            if (slot != 0 && slot >>> COUNT_BITS == bucket) {
+                sum += slot & COUNT_MASK;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * The `clear` method removes all counts of the entity.
+     */
+    void clear(int entity) {
+        for (int i = 0; i < this.buckets; i++) {
+            this.slots.set(entity * this.buckets + i, 0);
+        }
+    }
+
+    /**
+     * The `getWindowStartStep` method returns the first step counted by `sum` for the given window.
+     */
+    long getWindowStartStep(long stepNumber, int windowBuckets) {
+        final int bucketsToSum = Math.min(windowBuckets, this.buckets - 1);
+        return Math.max(0, getBucket(stepNumber) - bucketsToSum + 1) * this.bucketSteps;
+    }
+
+    int getBucketSteps() {
+        return this.bucketSteps;
+    }
+
+    private long getBucket(long stepNumber) {
+        return Math.max(0, stepNumber) / this.bucketSteps;
+    }
+}
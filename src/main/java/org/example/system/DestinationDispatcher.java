@@ -0,0 +1,325 @@
+package org.example.system;
+
+import org.example.diagnostics.DiagnosticReason;
+import org.example.jfr.DispatchEvent;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ActiveElevators;
+import org.example.service.ElevatorService;
+import org.example.util.FloorSet;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The `DestinationDispatcher` class assigns users who give their destination when calling to elevators, so users going
+ * to the same or nearby floors share an elevator and elevators make fewer stops. Each user boards only the assigned
+ * elevator, and no elevator gets more users (waiting and riding) than its capacity.
+ */
+class DestinationDispatcher {
+    /**
+     * Cost of one stop, expressed as the number of floors an elevator could travel instead of stopping.
+     */
+    private final static int STOP_COST = 4;
+
+    private final ElevatorService elevatorService;
+    private final int capacity;
+    private final Map<Elevator, List<Passenger>> passengersByElevator;
+
+    /**
+     * Target floors of users who have boarded in the last `processCurrentFloor`, reused in every step.
+     */
+    private final FloorSet boardedFloors;
+
+    /**
+     * Passengers who have left or have been dropped, reused for new calls, so dispatching does not allocate in a steady state.
+     */
+    private final List<Passenger> freePassengers;
+
+    /**
+     * Generation of `ActiveElevators` in which passengers of removed elevators have been dropped last time.
+     */
+    private int checkedGeneration;
+
+    DestinationDispatcher(ElevatorService elevatorService, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Elevator capacity must be positive (capacity = %d)".formatted(capacity));
+        }
+        this.elevatorService = elevatorService;
+        this.capacity = capacity;
+        this.passengersByElevator = new IdentityHashMap<>();
+        this.boardedFloors = new FloorSet();
+        this.freePassengers = new ArrayList<>();
+    }
+
+    /**
+     * The `dispatch` method assigns the user to the elevator with free capacity which serves the call at the lowest cost.
+     * The cost is the travel to the pickup floor and the new stops, each new stop also delays users assigned to the
+     * elevator who go further in the same direction. A new stop next to an existing one costs half of a stop. When costs are equal, the elevator with fewer targets is chosen.
+     *
+     * @param pickupFloor The floor from which the user calls.
+     * @param direction The direction selected by the user.
+     * @param targetFloor The floor where the user wants to go.
+     * @return The assigned elevator or null when a floor is invalid or no elevator has free capacity.
+     */
+    Elevator dispatch(int pickupFloor, Direction direction, int targetFloor) {
+        if (!this.elevatorService.validateFloor(pickupFloor) || !this.elevatorService.validateFloor(targetFloor)) {
+            return null;
+        }
+        final DispatchEvent dispatchEvent = DispatchEvent.beginIfEnabled();
+        final List<Elevator> elevators = this.elevatorService.getElevators();
+        Elevator bestElevator = null;
+        int bestCost = Integer.MAX_VALUE;
+        int bestTargets = Integer.MAX_VALUE;
+        int candidates = 0;
+
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            if (getLoad(elevator) >= this.capacity) {
+                continue;
+            }
+            candidates++;
+            final int cost = getTravelCost(elevator, pickupFloor, direction)
+                    + getStopCost(elevator, pickupFloor, direction)
+                    + getStopCost(elevator, targetFloor, direction);
+            final int targets = elevator.getTargetFloors().size() + elevator.getTargetFloorsOtherDirection().size();
+            if (cost < bestCost || (cost == bestCost && targets < bestTargets)) {
+                bestElevator = elevator;
+                bestCost = cost;
+                bestTargets = targets;
+            }
+        }
+        if (dispatchEvent != null) {
+            commitDispatchEvent(dispatchEvent, pickupFloor, direction, bestElevator, candidates);
+        }
+
+        if (bestElevator == null) {
+            this.elevatorService.getDiagnostics().report(DiagnosticReason.NO_FREE_CAPACITY, pickupFloor);
+            return null;
+        }
+        this.elevatorService.assignCall(bestElevator, pickupFloor, direction);
+        this.passengersByElevator.computeIfAbsent(bestElevator, elevator -> new ArrayList<>())
+                .add(takeFreePassenger(pickupFloor, targetFloor));
+        return bestElevator;
+    }
+
+    private void commitDispatchEvent(DispatchEvent dispatchEvent, int pickupFloor, Direction direction,
+                                     Elevator bestElevator, int candidates) {
+        dispatchEvent.end();
+        if (dispatchEvent.shouldCommit()) {
+            dispatchEvent.floor = pickupFloor;
+            dispatchEvent.direction = direction.name();
+            dispatchEvent.elevatorId = bestElevator != null ? bestElevator.getId() : -1;
+            dispatchEvent.candidates = candidates;
+            dispatchEvent.commit();
+        }
+    }
+
+    /**
+     * The `processCurrentFloor` method lets riders of the elevator leave on its current floor, then lets users assigned
+     * to the elevator board when it goes toward their destination (or has no targets). Users who cannot board yet
+     * leave the floor as a target for the other direction.
+     * @return The number of users who have boarded.
+     */
+    int processCurrentFloor(Elevator elevator) {
+        this.boardedFloors.clear();
+        final List<Passenger> passengers = this.passengersByElevator.get(elevator);
+        if (passengers == null || passengers.isEmpty()) {
+            return 0;
+        }
+        final int currentFloor = elevator.getCurrentFloor();
+        int boardings = 0;
+        boolean isFloorServed = false;
+        boolean isAnyoneLeftWaiting = false;
+
+        for (int i = passengers.size() - 1; i >= 0; i--) {
+            final Passenger passenger = passengers.get(i);
+            if (passenger.boarded && passenger.targetFloor == currentFloor) {
+                removePassenger(passengers, i);
+                isFloorServed = true;
+            }
+        }
+        for (int i = 0; i < passengers.size(); i++) {
+            final Passenger passenger = passengers.get(i);
+            if (passenger.boarded || passenger.pickupFloor != currentFloor) {
+                continue;
+            }
+            if (elevator.getTargetFloors().isEmpty() || isElevatorMovingToFloor(elevator, passenger.targetFloor)) {
+                passenger.boarded = true;
+                this.boardedFloors.add(passenger.targetFloor);
+                this.elevatorService.selectFloor(elevator, passenger.targetFloor);
+                boardings++;
+                isFloorServed = true;
+            } else {
+                isAnyoneLeftWaiting = true;
+            }
+        }
+
+        if (isAnyoneLeftWaiting) {
+            elevator.addTargetFloorInOtherDirection(currentFloor);
+        } else if (isFloorServed) {
+            elevator.getTargetFloorsOtherDirection().remove(currentFloor);
+        }
+        return boardings;
+    }
+
+    /**
+     * The `dropPassengersOfRemovedElevators` method drops users assigned to elevators which are no longer in the system,
+     * otherwise they would be kept forever. Elevators are checked only after the list of elevators has changed.
+     * `activeElevators` must be synced.
+     */
+    void dropPassengersOfRemovedElevators(ActiveElevators activeElevators) {
+        if (activeElevators.getGeneration() == this.checkedGeneration) {
+            return;
+        }
+        this.checkedGeneration = activeElevators.getGeneration();
+        final Iterator<Map.Entry<Elevator, List<Passenger>>> entries = this.passengersByElevator.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<Elevator, List<Passenger>> entry = entries.next();
+            if (!activeElevators.contains(entry.getKey())) {
+                entry.getValue().forEach(this::reportDroppedPassenger);
+                this.freePassengers.addAll(entry.getValue());
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * The `dropStrandedPassengers` method drops users of the elevator whose floor it no longer serves, e.g. after its
+     * targets have been replaced with `updateElevator`. A waiting user needs the pickup floor and a riding user
+     * the target floor to be a target of the elevator or its current floor. Otherwise the elevator would keep
+     * a load and never become idle.
+     */
+    void dropStrandedPassengers(Elevator elevator) {
+        final List<Passenger> passengers = this.passengersByElevator.get(elevator);
+        if (passengers == null) {
+            return;
+        }
+        for (int i = passengers.size() - 1; i >= 0; i--) {
+            final Passenger passenger = passengers.get(i);
+            final int floor = passenger.boarded ? passenger.targetFloor : passenger.pickupFloor;
+            if (floor != elevator.getCurrentFloor()
+                    && !elevator.getTargetFloors().contains(floor)
+                    && !elevator.getTargetFloorsOtherDirection().contains(floor)) {
+                reportDroppedPassenger(passenger);
+                removePassenger(passengers, i);
+            }
+        }
+    }
+
+    private Passenger takeFreePassenger(int pickupFloor, int targetFloor) {
+        final Passenger passenger = this.freePassengers.isEmpty()
+                ? new Passenger()
+                : this.freePassengers.remove(this.freePassengers.size() - 1);
+        passenger.pickupFloor = pickupFloor;
+        passenger.targetFloor = targetFloor;
+        passenger.boarded = false;
+        return passenger;
+    }
+
+    /**
+     * The `removePassenger` method removes the passenger at the index by moving the last one in its place,
+     * and keeps the removed passenger for reuse.
+     */
+    private void removePassenger(List<Passenger> passengers, int index) {
+        this.freePassengers.add(passengers.get(index));
+        passengers.set(index, passengers.get(passengers.size() - 1));
+        passengers.remove(passengers.size() - 1);
+    }
+
+    private void reportDroppedPassenger(Passenger passenger) {
+        this.elevatorService.getDiagnostics().report(DiagnosticReason.PASSENGER_DROPPED, passenger.pickupFloor);
+    }
+
+    /**
+     * @return Target floors of users who have boarded in the last `processCurrentFloor`.
+     */
+    FloorSet getBoardedFloors() {
+        return boardedFloors;
+    }
+
+    /**
+     * @return The number of users waiting for and riding in the elevator.
+     */
+    int getLoad(Elevator elevator) {
+        final List<Passenger> passengers = this.passengersByElevator.get(elevator);
+        return passengers == null ? 0 : passengers.size();
+    }
+
+    private int getTravelCost(Elevator elevator, int pickupFloor, Direction direction) {
+        if (elevator.getCurrentDirection() == Direction.IDLE
+                || (elevator.getCurrentDirection() == direction && isElevatorMovingToFloor(elevator, pickupFloor))) {
+            return Math.abs(elevator.getCurrentFloor() - pickupFloor);
+        }
+        final int turnFloor = getFarthestTargetInCurrentDirection(elevator);
+        return Math.abs(elevator.getCurrentFloor() - turnFloor) + Math.abs(turnFloor - pickupFloor);
+    }
+
+    private int getStopCost(Elevator elevator, int floor, Direction direction) {
+        if (isStop(elevator, floor)) {
+            return 0;
+        }
+        final int newStopCost = isStop(elevator, floor - 1) || isStop(elevator, floor + 1) ? STOP_COST / 2 : STOP_COST;
+        return newStopCost + STOP_COST * countDelayedPassengers(elevator, floor, direction);
+    }
+
+    private boolean isStop(Elevator elevator, int floor) {
+        if (elevator.getTargetFloors().contains(floor) || elevator.getTargetFloorsOtherDirection().contains(floor)) {
+            return true;
+        }
+        final List<Passenger> passengers = this.passengersByElevator.get(elevator);
+        if (passengers != null) {
+            for (int i = 0; i < passengers.size(); i++) {
+                if (passengers.get(i).targetFloor == floor) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts users assigned to the elevator who go in the direction and whose destination is behind the floor.
+     */
+    private int countDelayedPassengers(Elevator elevator, int floor, Direction direction) {
+        final List<Passenger> passengers = this.passengersByElevator.get(elevator);
+        if (passengers == null) {
+            return 0;
+        }
+        final int directionValue = direction.mapDirectionToValue();
+        int delayedPassengers = 0;
+        for (int i = 0; i < passengers.size(); i++) {
+            final Passenger passenger = passengers.get(i);
+            if ((passenger.targetFloor - passenger.pickupFloor) * directionValue > 0
+                    && (passenger.targetFloor - floor) * directionValue > 0) {
+                delayedPassengers++;
+            }
+        }
+        return delayedPassengers;
+    }
+
+    private int getFarthestTargetInCurrentDirection(Elevator elevator) {
+        final FloorSet targetFloors = elevator.getTargetFloors();
+        if (targetFloors.isEmpty()) {
+            return elevator.getCurrentFloor();
+        }
+        return elevator.getCurrentDirection() == Direction.DOWN
+                ? Math.min(elevator.getCurrentFloor(), targetFloors.first())
+                : Math.max(elevator.getCurrentFloor(), targetFloors.get(targetFloors.size() - 1));
+    }
+
+    private boolean isElevatorMovingToFloor(Elevator elevator, int floor) {
+        return elevator.getCurrentDirection() == Direction.IDLE
+                || (elevator.getCurrentDirection() == Direction.UP && floor >= elevator.getCurrentFloor())
+                || (elevator.getCurrentDirection() == Direction.DOWN && floor <= elevator.getCurrentFloor());
+    }
+
+    private static class Passenger {
+        private int pickupFloor;
+        private int targetFloor;
+        private boolean boarded;
+    }
+}
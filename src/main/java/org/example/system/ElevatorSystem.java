@@ -2,13 +2,33 @@ package org.example.system;
 
 import org.example.model.Direction;
 import org.example.model.Elevator;
+import org.example.timer.ScheduledTimer;
+import org.example.timer.TimerAction;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface ElevatorSystem {
     void step();
+    void advance(int ticks);
+    long runUntilIdle();
     void status();
     void status(Elevator elevator);
     Elevator pickup(int pickupFloor, Direction direction);
     Elevator pickup(int pickupFloor, Direction direction, int targetFloor);
+    CompletableFuture<Elevator> submitPickup(int pickupFloor, Direction direction);
+    CompletableFuture<Elevator> submitPickup(int pickupFloor, Direction direction, int targetFloor);
+    CompletableFuture<Elevator> pickupAsync(int pickupFloor, Direction direction);
+    Ride pickupAsync(int pickupFloor, Direction direction, int targetFloor);
     void selectFloor(Elevator elevator, int floor);
     boolean updateElevator(int id, Integer currentFloor, int[] targetFloors);
+    long getStepNumber();
+    ScheduledTimer schedule(long stepNumber, TimerAction action);
+    ScheduledTimer schedulePickup(long stepNumber, int pickupFloor, Direction direction);
+    ScheduledTimer schedulePickup(long stepNumber, int pickupFloor, Direction direction, int targetFloor);
+    int getPendingTimers();
+    HallCallCounters getHallCallCounters();
+    int getPendingCalls();
+    int getQueuedCalls();
+    void addListener(ElevatorSystemListener listener);
+    void removeListener(ElevatorSystemListener listener);
 }
@@ -1,16 +1,29 @@
 package org.example.system;
 
+import org.example.diagnostics.DiagnosticReason;
+import org.example.intake.HallCallIntake;
+import org.example.jfr.BoardingEvent;
+import org.example.jfr.StepEvent;
 import org.example.model.Direction;
+import org.example.model.DispatchMode;
 import org.example.model.Elevator;
+import org.example.model.OverloadPolicy;
+import org.example.service.ActiveElevators;
 import org.example.service.ElevatorService;
+import org.example.timer.ScheduledTimer;
+import org.example.timer.TimerAction;
+import org.example.timer.TimingWheel;
 import org.example.util.ElevatorStatusSummary;
+import org.example.util.FloorSet;
+import org.example.util.FloorSetMap;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class ElevatorSystemImpl implements ElevatorSystem {
     private final static Logger LOG = Logger.getLogger(ElevatorSystemImpl.class.getName());
+    private final static int NO_TARGET_FLOOR = Ride.NO_TARGET_FLOOR;
     private final ElevatorService elevatorService;
 
     /**
@@ -18,30 +31,414 @@ public class ElevatorSystemImpl implements ElevatorSystem {
      * The Key is the floor where the user calls the elevator.
      * The Value is a set of floors that users from a given floor want to get to.
      */
-    private final Map<Integer, Set<Integer>> calledFloorToDestinationFloors;
+    private final FloorSetMap calledFloorToDestinationFloors;
+
+    /**
+     * Floors selected by users boarding an elevator, reused in every step.
+     */
+    private final FloorSet boardingFloors;
+    private final List<ElevatorSystemListener> listeners;
+    private final HallCallIntake hallCallIntake;
+    private final TimingWheel timers;
+
+    /**
+     * Elevators assigned to outstanding hall calls by floor and direction, repeated calls are coalesced onto them.
+     */
+    private final HallCallRegistry hallCalls;
+
+    /**
+     * Calls waiting for dispatch because `maxPendingCalls` calls were pending, used with `OverloadPolicy.QUEUE`.
+     */
+    private final Deque<QueuedHallCall> queuedHallCalls;
+    private final HallCallCounters hallCallCounters;
+    private final RideTracker rideTracker;
+    private final int maxPendingCalls;
+    private final OverloadPolicy overloadPolicy;
+
+    /**
+     * Assigns users calling with a destination in `DispatchMode.DESTINATION`, null in `DispatchMode.DIRECTION`.
+     */
+    private final DestinationDispatcher destinationDispatcher;
+    private long stepNumber;
 
     public ElevatorSystemImpl(ElevatorService elevatorService) {
+        this(elevatorService, DispatchMode.DIRECTION, Integer.MAX_VALUE);
+    }
+
+    public ElevatorSystemImpl(ElevatorService elevatorService, DispatchMode dispatchMode, int elevatorCapacity) {
+        this(elevatorService, dispatchMode, elevatorCapacity, 0, OverloadPolicy.SHED);
+    }
+
+    /**
+     * @param maxPendingCalls The maximal number of hall calls (floor and direction) waiting for their elevators, 0 means no limit.
+     * @param overloadPolicy What happens with calls over the limit.
+     */
+    public ElevatorSystemImpl(ElevatorService elevatorService, DispatchMode dispatchMode, int elevatorCapacity,
+                              int maxPendingCalls, OverloadPolicy overloadPolicy) {
+        if (maxPendingCalls < 0) {
+            String errorMsg = "Maximal number of pending calls cannot be negative (maxPendingCalls = %d)".formatted(maxPendingCalls);
+            LOG.severe(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+        }
         this.elevatorService = elevatorService;
-        this.calledFloorToDestinationFloors = new HashMap<>();
+        this.destinationDispatcher = dispatchMode == DispatchMode.DESTINATION
+                ? new DestinationDispatcher(elevatorService, elevatorCapacity)
+                : null;
+        this.calledFloorToDestinationFloors = new FloorSetMap();
+        this.boardingFloors = new FloorSet();
+        this.listeners = new ArrayList<>();
+        this.hallCallIntake = new HallCallIntake();
+        this.timers = new TimingWheel(0);
+        this.hallCalls = new HallCallRegistry();
+        this.queuedHallCalls = new ArrayDeque<>();
+        this.hallCallCounters = new HallCallCounters();
+        this.rideTracker = new RideTracker();
+        this.maxPendingCalls = maxPendingCalls;
+        this.overloadPolicy = overloadPolicy;
     }
 
+    /**
+     * The `step` method does one step in simulation. Steps in which elevators move and users are picked up do not allocate
+     * any objects, unless listeners do. Only active elevators are visited (see `ActiveElevators`), so idle elevators
+     * do not make steps slower.
+     */
     @Override
     public void step() {
-        this.elevatorService.getElevators().stream()
-                .peek(this.elevatorService::elevatorStep)
-                .peek(this.elevatorService::removeCurrentFloorFromTarget)
-                .forEach(this::processElevatorCallOnCurrentFloor);
+        doStep();
+    }
+
+    /**
+     * The `advance` method does the given number of steps in simulation. Steps in which elevators only move between
+     * floors are not done one by one, instead elevators are moved straight to the floor where the next step with any
+     * other change (reaching a target, picking up users, changing direction) happens. End state is the same as after
+     * calling `step` given number of times.
+     *
+     * @param ticks The number of steps to do.
+     */
+    @Override
+    public void advance(int ticks) {
+        int remainingTicks = ticks;
+        while (remainingTicks > 0) {
+            remainingTicks -= fastForwardStep(remainingTicks);
+        }
+    }
+
+    /**
+     * The `runUntilIdle` method does steps in simulation (in the same way as `advance`) until no elevator has any target floor
+     * and there are no submitted calls waiting for dispatch.
+     *
+     * @return The number of steps that has been done.
+     */
+    @Override
+    public long runUntilIdle() {
+        long doneTicks = 0;
+        while (hasAnyElevatorCall() || this.hallCallIntake.hasPendingCalls() || !this.queuedHallCalls.isEmpty()) {
+            doneTicks += fastForwardStep(Integer.MAX_VALUE);
+        }
+        return doneTicks;
+    }
+
+    @Override
+    public long getStepNumber() {
+        return this.stepNumber;
+    }
+
+    /**
+     * The `schedule` method runs the action at the beginning of the given step, before elevators move.
+     * A step which is already done is treated as the next step. `advance` and `runUntilIdle` do not skip steps
+     * with timers, but `runUntilIdle` does not wait for timers when elevators are idle.
+     * @param stepNumber The step in which the action should run.
+     * @param action The action, it gets the step number.
+     * @return The timer, it can be cancelled until the step.
+     */
+    @Override
+    public ScheduledTimer schedule(long stepNumber, TimerAction action) {
+        return this.timers.schedule(Math.max(stepNumber, this.stepNumber + 1), action);
+    }
+
+    /**
+     * The `schedulePickup` method calls an elevator at the beginning of the given step, e.g. a scheduled shuttle run
+     * or a call replayed at its original step.
+     */
+    @Override
+    public ScheduledTimer schedulePickup(long stepNumber, int pickupFloor, Direction direction) {
+        return schedule(stepNumber, step -> pickup(pickupFloor, direction));
+    }
+
+    @Override
+    public ScheduledTimer schedulePickup(long stepNumber, int pickupFloor, Direction direction, int targetFloor) {
+        return schedule(stepNumber, step -> pickup(pickupFloor, direction, targetFloor));
+    }
+
+    @Override
+    public int getPendingTimers() {
+        return this.timers.size();
+    }
+
+    @Override
+    public HallCallCounters getHallCallCounters() {
+        return this.hallCallCounters;
+    }
+
+    /**
+     * The `getPendingCalls` method counts hall calls (floor and direction) whose elevator has not arrived yet.
+     * Queued calls are not counted.
+     */
+    @Override
+    public int getPendingCalls() {
+        removeServedHallCalls();
+        return this.hallCalls.size();
+    }
+
+    @Override
+    public int getQueuedCalls() {
+        return this.queuedHallCalls.size();
+    }
+
+    @Override
+    public void addListener(ElevatorSystemListener listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(ElevatorSystemListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    private void doStep() {
+        final StepEvent stepEvent = StepEvent.beginIfEnabled();
+        this.hallCallIntake.drainTo(this);
+        dispatchQueuedHallCalls();
+
+        this.stepNumber++;
+        this.timers.advanceTo(this.stepNumber);
+        final List<Elevator> elevators = this.elevatorService.getElevators();
+        final ActiveElevators activeElevators = this.elevatorService.getActiveElevators();
+        activeElevators.sync(elevators);
+        if (this.destinationDispatcher != null) {
+            this.destinationDispatcher.dropPassengersOfRemovedElevators(activeElevators);
+        }
+        final boolean isTrackingRides = !this.rideTracker.isEmpty();
+        if (isTrackingRides) {
+            this.rideTracker.cancelRidesOfRemovedElevators(activeElevators);
+        }
+        for (int i = activeElevators.nextActiveIndex(0); i >= 0; i = activeElevators.nextActiveIndex(i + 1)) {
+            final Elevator elevator = elevators.get(i);
+            final int floorBefore = elevator.getCurrentFloor();
+            final Direction directionBefore = elevator.getCurrentDirection();
+            final boolean hadAnyCallBefore = hasAnyCall(elevator);
+
+            this.elevatorService.elevatorStep(elevator);
+            removeCurrentFloorFromTarget(elevator);
+            final int boardings = this.destinationDispatcher != null
+                    ? this.destinationDispatcher.processCurrentFloor(elevator)
+                    : processElevatorCallOnCurrentFloor(elevator);
+            if (boardings > 0) {
+                notifyBoarding(elevator, boardings);
+            }
+            if (isTrackingRides) {
+                this.rideTracker.onElevatorStep(elevator, boardings > 0 ? getBoardedFloors() : null, this.destinationDispatcher != null);
+            }
+
+            if (hadAnyCallBefore || hasAnyCall(elevator)
+                    || floorBefore != elevator.getCurrentFloor() || directionBefore != elevator.getCurrentDirection()) {
+                notifyElevatorChanged(elevator);
+            }
+            if (isIdle(elevator)) {
+                activeElevators.deactivate(i);
+            }
+        }
+        notifyStep();
+
+        if (stepEvent != null) {
+            stepEvent.end();
+            if (stepEvent.shouldCommit()) {
+                stepEvent.stepNumber = this.stepNumber;
+                stepEvent.elevators = this.elevatorService.getElevators().size();
+                stepEvent.calledFloors = this.calledFloorToDestinationFloors.size();
+                stepEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * The `removeCurrentFloorFromTarget` method stops the elevator on its floor if it is one of its targets,
+     * the hall calls assigned to the elevator on that floor are served by the stop.
+     */
+    private void removeCurrentFloorFromTarget(Elevator elevator) {
+        final boolean isStopping = this.elevatorService.hasReachedTargetFloor(elevator);
+        this.elevatorService.removeCurrentFloorFromTarget(elevator);
+        if (isStopping && this.hallCalls.size() > 0) {
+            removeHallCallsServedOnCurrentFloor(elevator);
+        }
+    }
+
+    private FloorSet getBoardedFloors() {
+        return this.destinationDispatcher != null ? this.destinationDispatcher.getBoardedFloors() : this.boardingFloors;
+    }
+
+    private void notifyStep() {
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).onStep(this.stepNumber, this.elevatorService.getElevators());
+        }
+    }
+
+    private void notifyPickup(int pickupFloor, Direction direction, Elevator elevator) {
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).onPickup(this.stepNumber, pickupFloor, direction, elevator);
+        }
+    }
+
+    private void notifyBoarding(Elevator elevator, int boardings) {
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).onBoarding(this.stepNumber, elevator, boardings);
+        }
+    }
+
+    private void notifyElevatorChanged(Elevator elevator) {
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).onElevatorChanged(this.stepNumber, elevator);
+        }
+    }
+
+    /**
+     * The `fastForwardStep` method skips steps in which elevators only change their floors by moving them at once,
+     * then does a regular step if there are ticks left.
+     *
+     * @param maxTicks The maximal number of steps that can be done.
+     * @return The number of steps that has been done.
+     */
+    private int fastForwardStep(int maxTicks) {
+        final int stepsToNextEvent = getStepsToNextEvent();
+        if (stepsToNextEvent == Integer.MAX_VALUE) {
+            this.stepNumber += maxTicks;
+            this.timers.advanceTo(this.stepNumber);
+            notifyStep();
+            return maxTicks;
+        }
+
+        final int skippedTicks = Math.min(stepsToNextEvent - 1, maxTicks);
+        if (skippedTicks > 0) {
+            final List<Elevator> elevators = this.elevatorService.getElevators();
+            final ActiveElevators activeElevators = this.elevatorService.getActiveElevators();
+            activeElevators.sync(elevators);
+            for (int i = activeElevators.nextActiveIndex(0); i >= 0; i = activeElevators.nextActiveIndex(i + 1)) {
+                this.elevatorService.moveElevatorBySteps(elevators.get(i), skippedTicks);
+            }
+            this.stepNumber += skippedTicks;
+            this.timers.advanceTo(this.stepNumber);
+        }
+        if (skippedTicks == maxTicks) {
+            notifyStep();
+            return skippedTicks;
+        }
+
+        doStep();
+        return skippedTicks + 1;
+    }
+
+    private int getStepsToNextEvent() {
+        if (this.hallCallIntake.hasPendingCalls() || !this.queuedHallCalls.isEmpty()) {
+            return 1;
+        }
+        final long stepsToNextTimer = Math.max(this.timers.getNextEventStep() - this.stepNumber, 1);
+        if (stepsToNextTimer == 1) {
+            return 1;
+        }
+        final List<Elevator> elevators = this.elevatorService.getElevators();
+        final ActiveElevators activeElevators = this.elevatorService.getActiveElevators();
+        activeElevators.sync(elevators);
+        int stepsToNextEvent = (int) Math.min(stepsToNextTimer, Integer.MAX_VALUE);
+        for (int i = activeElevators.nextActiveIndex(0); i >= 0; i = activeElevators.nextActiveIndex(i + 1)) {
+            stepsToNextEvent = Math.min(stepsToNextEvent, getStepsToNextEvent(elevators.get(i)));
+            if (stepsToNextEvent == 1) {
+                break;
+            }
+        }
+        return stepsToNextEvent;
+    }
+
+    /**
+     * The `getStepsToNextEvent` method calculates when the elevator reaches its next stop or passes a floor where users
+     * are waiting for an elevator. An idle elevator that stands on such floor picks the users up in the next step.
+     */
+    private int getStepsToNextEvent(Elevator elevator) {
+        final int stepsToNextStop = this.elevatorService.getStepsToNextStop(elevator);
+        if (stepsToNextStop == Integer.MAX_VALUE) {
+            return isFloorCalled(elevator.getCurrentFloor()) ? 1 : Integer.MAX_VALUE;
+        }
+
+        final int directionValue = elevator.getCurrentDirection().mapDirectionToValue();
+        int stepsToNextEvent = stepsToNextStop;
+        for (int i = 0; i < this.calledFloorToDestinationFloors.size(); i++) {
+            final int distance = (this.calledFloorToDestinationFloors.keyAt(i) - elevator.getCurrentFloor()) * directionValue;
+            if (distance > 0) {
+                stepsToNextEvent = Math.min(stepsToNextEvent, distance);
+            }
+        }
+        return stepsToNextEvent;
+    }
+
+    private boolean hasAnyElevatorCall() {
+        final List<Elevator> elevators = this.elevatorService.getElevators();
+        final ActiveElevators activeElevators = this.elevatorService.getActiveElevators();
+        activeElevators.sync(elevators);
+        for (int i = activeElevators.nextActiveIndex(0); i >= 0; i = activeElevators.nextActiveIndex(i + 1)) {
+            if (hasAnyCall(elevators.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The `isIdle` method checks if the next step cannot change the elevator: it has no targets and no users wait
+     * on its floor. Only such elevators are skipped in steps, they become active again when the service gives them
+     * a target or users call on their floor.
+     */
+    private boolean isIdle(Elevator elevator) {
+        return elevator.getCurrentDirection() == Direction.IDLE
+                && !hasAnyCall(elevator)
+                && !isFloorCalled(elevator.getCurrentFloor())
+                && (this.destinationDispatcher == null || this.destinationDispatcher.getLoad(elevator) == 0);
+    }
 
-        System.out.println("Elevators have been updated\n");
-        System.out.println();
+    private boolean hasAnyCall(Elevator elevator) {
+        return !elevator.getTargetFloors().isEmpty() || !elevator.getTargetFloorsOtherDirection().isEmpty();
     }
 
-    private void processElevatorCallOnCurrentFloor(Elevator elevator) {
+    /**
+     * @return The number of destination floors selected by users who have boarded the elevator.
+     */
+    private int processElevatorCallOnCurrentFloor(Elevator elevator) {
         final int currentFloor = elevator.getCurrentFloor();
         if (isFloorCalled(currentFloor)) {
-            Set<Integer> floorsThatMeetsCurrentDirection = getFloorsMeetingCurrentDirection(elevator, currentFloor);
-            floorsThatMeetsCurrentDirection.forEach(floor -> this.selectFloor(elevator, floor));
+            final BoardingEvent boardingEvent = BoardingEvent.beginIfEnabled();
+
+            final FloorSet floorsThatMeetsCurrentDirection = getFloorsMeetingCurrentDirection(elevator, currentFloor);
+            for (int i = 0; i < floorsThatMeetsCurrentDirection.size(); i++) {
+                this.elevatorService.selectFloor(elevator, floorsThatMeetsCurrentDirection.get(i));
+            }
             removeFloorsFromCalledFloors(currentFloor, floorsThatMeetsCurrentDirection);
+
+            if (boardingEvent != null) {
+                commitBoardingEvent(boardingEvent, elevator, currentFloor, floorsThatMeetsCurrentDirection.size());
+            }
+            return floorsThatMeetsCurrentDirection.size();
+        }
+        return 0;
+    }
+
+    private void commitBoardingEvent(BoardingEvent boardingEvent, Elevator elevator, int floor, int boardedDestinations) {
+        boardingEvent.end();
+        if (boardingEvent.shouldCommit()) {
+            boardingEvent.elevatorId = elevator.getId();
+            boardingEvent.floor = floor;
+            boardingEvent.boardedDestinations = boardedDestinations;
+            boardingEvent.remainingDestinations = isFloorCalled(floor)
+                    ? this.calledFloorToDestinationFloors.get(floor).size()
+                    : 0;
+            boardingEvent.commit();
         }
     }
 
@@ -49,17 +446,25 @@ public class ElevatorSystemImpl implements ElevatorSystem {
         return this.calledFloorToDestinationFloors.containsKey(floor);
     }
 
-    private Set<Integer> getFloorsMeetingCurrentDirection(Elevator elevator, int currentFloor) {
-        return this.calledFloorToDestinationFloors.get(currentFloor).stream()
-                .filter(floor -> isElevatorMovingToFloor(elevator, floor))
-                .collect(Collectors.toSet());
+    private FloorSet getFloorsMeetingCurrentDirection(Elevator elevator, int currentFloor) {
+        final FloorSet destinationFloors = this.calledFloorToDestinationFloors.get(currentFloor);
+        this.boardingFloors.clear();
+        for (int i = 0; i < destinationFloors.size(); i++) {
+            if (isElevatorMovingToFloor(elevator, destinationFloors.get(i))) {
+                this.boardingFloors.add(destinationFloors.get(i));
+            }
+        }
+        return this.boardingFloors;
     }
 
-    private void removeFloorsFromCalledFloors(int currentFloor, Set<Integer> floorsToRemove) {
-        this.calledFloorToDestinationFloors.get(currentFloor).removeAll(floorsToRemove);
-        this.calledFloorToDestinationFloors.get(currentFloor).remove(currentFloor);
+    private void removeFloorsFromCalledFloors(int currentFloor, FloorSet floorsToRemove) {
+        final FloorSet destinationFloors = this.calledFloorToDestinationFloors.get(currentFloor);
+        for (int i = 0; i < floorsToRemove.size(); i++) {
+            destinationFloors.remove(floorsToRemove.get(i));
+        }
+        destinationFloors.remove(currentFloor);
 
-        if (this.calledFloorToDestinationFloors.get(currentFloor).isEmpty()) {
+        if (destinationFloors.isEmpty()) {
             this.calledFloorToDestinationFloors.remove(currentFloor);
         }
     }
@@ -93,44 +498,260 @@ public class ElevatorSystemImpl implements ElevatorSystem {
 
     /**
      * The `pickup` method calls an elevator but do not select the floor that user would like to go.
+     * A call from the floor and direction which already waits for an elevator is coalesced onto that elevator.
      * @param pickupFloor The floor from where elevator should pick up user.
      * @param direction The Direction selected when user called an elevator.
-     * @return Returns the elevator that will pick up the user. Returns null when calling an elevator is not possible.
+     * @return Returns the elevator that will pick up the user. Returns null when calling an elevator is not possible,
+     * or when the call has been shed or queued because `maxPendingCalls` calls are pending.
      */
     @Override
     public Elevator pickup(int pickupFloor, Direction direction) {
-        return this.elevatorService.callElevator(pickupFloor, direction);
+        return pickupHallCall(pickupFloor, direction, NO_TARGET_FLOOR);
     }
 
     /**
      * The `pickup` method calls an elevator but do not select the floor that user would like to go.
      * This method also specifies where user would like to go (which floor) when the elevator arrives.
+     * In `DispatchMode.DESTINATION` the user is assigned to one elevator by destination and boards only that elevator,
+     * such calls are never coalesced.
      * @param pickupFloor The floor from where elevator should pick up user.
      * @param direction The Direction selected when user called an elevator.
      * @param targetFloor The targetFloor specifies where user wants to go when elevator arrives.
-     * @return Returns the elevator that will pick up the user. Returns null when calling an elevator is not possible.
+     * @return Returns the elevator that will pick up the user. Returns null when calling an elevator is not possible,
+     * or when the call has been shed or queued because `maxPendingCalls` calls are pending.
      */
     @Override
     public Elevator pickup(int pickupFloor, Direction direction, int targetFloor) {
-        Elevator elevatorToPickUp = this.pickup(pickupFloor, direction);
-        if (elevatorToPickUp != null) {
-            if (this.calledFloorToDestinationFloors.containsKey(pickupFloor)) {
-                Set<Integer> newTargetValue = this.calledFloorToDestinationFloors.get(pickupFloor);
-                newTargetValue.add(targetFloor);
+        return pickupHallCall(pickupFloor, direction, targetFloor);
+    }
+
+    /**
+     * The `pickupAsync` method calls an elevator like `pickup` and returns a future completed in the step in which
+     * the elevator stops on the pickup floor. The future is cancelled when the call is shed, or when the elevator
+     * no longer goes to the floor (the call has been reassigned or dropped) or has been removed from the system.
+     * @param pickupFloor The floor from where elevator should pick up user.
+     * @param direction The Direction selected when user called an elevator.
+     * @return Future completed with the elevator which has arrived.
+     */
+    @Override
+    public CompletableFuture<Elevator> pickupAsync(int pickupFloor, Direction direction) {
+        return trackRide(new Ride(pickupFloor, direction, NO_TARGET_FLOOR)).getPickupArrival();
+    }
 
-                this.calledFloorToDestinationFloors.put(pickupFloor, newTargetValue);
-            } else {
-                Set<Integer> targetValue = new HashSet<>();
-                targetValue.add(targetFloor);
-                this.calledFloorToDestinationFloors.put(pickupFloor, targetValue);
+    /**
+     * The `pickupAsync` method calls an elevator like `pickup` with the target floor and returns futures of the arrival
+     * on the pickup floor and of the arrival of the user on the target floor, see `Ride`.
+     * @param pickupFloor The floor from where elevator should pick up user.
+     * @param direction The Direction selected when user called an elevator.
+     * @param targetFloor The targetFloor specifies where user wants to go when elevator arrives.
+     */
+    @Override
+    public Ride pickupAsync(int pickupFloor, Direction direction, int targetFloor) {
+        return trackRide(new Ride(pickupFloor, direction, targetFloor));
+    }
+
+    private Ride trackRide(Ride ride) {
+        final Elevator elevator = pickupHallCall(ride.getPickupFloor(), ride.getDirection(), ride.getTargetFloor());
+        if (elevator != null) {
+            this.rideTracker.track(ride, elevator);
+        } else if (isQueued(ride.getPickupFloor(), ride.getDirection(), ride.getTargetFloor())) {
+            this.rideTracker.trackQueued(ride);
+        } else {
+            ride.cancel();
+        }
+        return ride;
+    }
+
+    private boolean isQueued(int pickupFloor, Direction direction, int targetFloor) {
+        for (QueuedHallCall queuedHallCall : this.queuedHallCalls) {
+            if (queuedHallCall.isSameCall(pickupFloor, direction, targetFloor)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private Elevator pickupHallCall(int pickupFloor, Direction direction, int targetFloor) {
+        final Elevator assignedElevator = coalesceHallCall(pickupFloor, direction, targetFloor);
+        if (assignedElevator != null) {
+            return assignedElevator;
+        }
+        if (!this.queuedHallCalls.isEmpty() || isPendingCallLimitReached()) {
+            handleOverload(pickupFloor, direction, targetFloor);
+            return null;
+        }
+        return dispatchHallCall(pickupFloor, direction, targetFloor);
+    }
+
+    /**
+     * @return The elevator which is already going to pick up users from the floor in the direction,
+     * or null when the call has to be dispatched.
+     */
+    private Elevator coalesceHallCall(int pickupFloor, Direction direction, int targetFloor) {
+        if (this.destinationDispatcher != null && targetFloor != NO_TARGET_FLOOR) {
+            return null;
+        }
+        final Elevator assignedElevator = this.hallCalls.get(pickupFloor, direction);
+        if (assignedElevator == null || !isServingHallCall(assignedElevator)) {
+            return null;
+        }
+        this.hallCallCounters.countCoalescedCall();
+        notifyPickup(pickupFloor, direction, assignedElevator);
+        addCalledDestination(pickupFloor, targetFloor);
+        return assignedElevator;
+    }
+
+    private Elevator dispatchHallCall(int pickupFloor, Direction direction, int targetFloor) {
+        final Elevator elevatorToPickUp = this.destinationDispatcher != null && targetFloor != NO_TARGET_FLOOR
+                ? this.destinationDispatcher.dispatch(pickupFloor, direction, targetFloor)
+                : this.elevatorService.callElevator(pickupFloor, direction);
+        if (elevatorToPickUp != null) {
+            this.hallCalls.put(pickupFloor, direction, elevatorToPickUp);
+            notifyPickup(pickupFloor, direction, elevatorToPickUp);
+            notifyElevatorChanged(elevatorToPickUp);
+            addCalledDestination(pickupFloor, targetFloor);
+        }
         return elevatorToPickUp;
     }
 
+    /**
+     * The `addCalledDestination` method remembers the destination of users waiting on the floor in `DispatchMode.DIRECTION`,
+     * they select it when they board any elevator stopping there.
+     */
+    private void addCalledDestination(int pickupFloor, int targetFloor) {
+        if (this.destinationDispatcher == null && targetFloor != NO_TARGET_FLOOR) {
+            if (!this.calledFloorToDestinationFloors.containsKey(pickupFloor)) {
+                this.elevatorService.getActiveElevators()
+                        .activateFirstInactiveOnFloor(this.elevatorService.getElevators(), pickupFloor);
+            }
+            this.calledFloorToDestinationFloors.getOrCreate(pickupFloor).add(targetFloor);
+        }
+    }
+
+    /**
+     * The `isServingHallCall` method checks if the elevator assigned to a call can still pick the users up.
+     * Calls are removed from the registry when their elevator stops on the floor, so it only checks that the elevator
+     * is still in the system.
+     */
+    private boolean isServingHallCall(Elevator elevator) {
+        final ActiveElevators activeElevators = this.elevatorService.getActiveElevators();
+        activeElevators.sync(this.elevatorService.getElevators());
+        return activeElevators.contains(elevator);
+    }
+
+    private void removeServedHallCalls() {
+        for (int i = this.hallCalls.size() - 1; i >= 0; i--) {
+            if (!isServingHallCall(this.hallCalls.elevatorAt(i))) {
+                this.hallCalls.removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * The `removeHallCallsServedOnCurrentFloor` method forgets the calls assigned to the elevator which has stopped
+     * on its floor. The call in the direction the elevator leaves in is served (both calls when it stays idle), the call
+     * in the opposite direction is kept while the floor remains one of the targets of the elevator.
+     */
+    private void removeHallCallsServedOnCurrentFloor(Elevator elevator) {
+        final int floor = elevator.getCurrentFloor();
+        final boolean isFloorStillTargeted = elevator.getTargetFloors().contains(floor)
+                || elevator.getTargetFloorsOtherDirection().contains(floor);
+        if (!isFloorStillTargeted || elevator.getCurrentDirection() != Direction.DOWN) {
+            this.hallCalls.remove(floor, Direction.UP, elevator);
+        }
+        if (!isFloorStillTargeted || elevator.getCurrentDirection() != Direction.UP) {
+            this.hallCalls.remove(floor, Direction.DOWN, elevator);
+        }
+    }
+
+    /**
+     * The `removeHallCallsOutsideTargets` method forgets the calls assigned to the updated elevator
+     * whose floor is no longer one of its targets, so the next call from the floor is dispatched again.
+     */
+    private void removeHallCallsOutsideTargets(Elevator elevator) {
+        for (int i = this.hallCalls.size() - 1; i >= 0; i--) {
+            final int floor = this.hallCalls.floorAt(i);
+            if (this.hallCalls.elevatorAt(i) == elevator && !elevator.getTargetFloors().contains(floor)
+                    && !elevator.getTargetFloorsOtherDirection().contains(floor)) {
+                this.hallCalls.removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * The `isPendingCallLimitReached` method forgets served calls only when the registry is full,
+     * so calls below the limit do not pay for checking all pending calls.
+     */
+    private boolean isPendingCallLimitReached() {
+        if (this.maxPendingCalls == 0 || this.hallCalls.size() < this.maxPendingCalls) {
+            return false;
+        }
+        removeServedHallCalls();
+        return this.hallCalls.size() >= this.maxPendingCalls;
+    }
+
+    /**
+     * The `handleOverload` method queues the call with `OverloadPolicy.QUEUE`, the same call waiting in the queue is coalesced.
+     * The queue holds at most `maxPendingCalls` calls, calls over the limit and all calls with `OverloadPolicy.SHED` are shed.
+     */
+    private void handleOverload(int pickupFloor, Direction direction, int targetFloor) {
+        if (this.overloadPolicy == OverloadPolicy.QUEUE) {
+            if (isQueued(pickupFloor, direction, targetFloor)) {
+                this.hallCallCounters.countCoalescedCall();
+                return;
+            }
+            if (this.queuedHallCalls.size() < this.maxPendingCalls) {
+                this.queuedHallCalls.addLast(new QueuedHallCall(pickupFloor, direction, targetFloor));
+                this.hallCallCounters.countQueuedCall();
+                return;
+            }
+        }
+        this.hallCallCounters.countShedCall();
+    }
+
+    /**
+     * The `dispatchQueuedHallCalls` method dispatches queued calls in order while fewer than `maxPendingCalls` calls are pending.
+     */
+    private void dispatchQueuedHallCalls() {
+        while (!this.queuedHallCalls.isEmpty() && !isPendingCallLimitReached()) {
+            final QueuedHallCall queuedHallCall = this.queuedHallCalls.pollFirst();
+            Elevator elevator = coalesceHallCall(queuedHallCall.pickupFloor, queuedHallCall.direction, queuedHallCall.targetFloor);
+            if (elevator == null) {
+                elevator = dispatchHallCall(queuedHallCall.pickupFloor, queuedHallCall.direction, queuedHallCall.targetFloor);
+            }
+            this.rideTracker.onQueuedCallDispatched(queuedHallCall.pickupFloor, queuedHallCall.direction,
+                    queuedHallCall.targetFloor, elevator);
+        }
+    }
+
+    /**
+     * The `submitPickup` method can be called from any thread. The call is queued without locking and dispatched
+     * with `pickup` by the simulation thread at the beginning of the next step.
+     * @param pickupFloor The floor from where elevator should pick up user.
+     * @param direction The Direction selected when user called an elevator.
+     * @return Future completed with the elevator that will pick up the user (or null when calling an elevator is not possible).
+     */
+    @Override
+    public CompletableFuture<Elevator> submitPickup(int pickupFloor, Direction direction) {
+        return this.hallCallIntake.submit(pickupFloor, direction);
+    }
+
+    /**
+     * The `submitPickup` method works like `submitPickup(int, Direction)`, but also specifies where user would like to go.
+     * @param pickupFloor The floor from where elevator should pick up user.
+     * @param direction The Direction selected when user called an elevator.
+     * @param targetFloor The targetFloor specifies where user wants to go when elevator arrives.
+     * @return Future completed with the elevator that will pick up the user (or null when calling an elevator is not possible).
+     */
+    @Override
+    public CompletableFuture<Elevator> submitPickup(int pickupFloor, Direction direction, int targetFloor) {
+        return this.hallCallIntake.submit(pickupFloor, direction, targetFloor);
+    }
+
     @Override
     public void selectFloor(Elevator elevator, int floor) {
         this.elevatorService.selectFloor(elevator, floor);
+        notifyElevatorChanged(elevator);
     }
 
     /**
@@ -145,7 +766,7 @@ public class ElevatorSystemImpl implements ElevatorSystem {
                 .orElse(null);
 
         if (elevatorToUpdate == null) {
-            LOG.warning("Elevator with id %d was not found%n".formatted(id));
+            this.elevatorService.getDiagnostics().report(DiagnosticReason.ELEVATOR_NOT_FOUND, id);
             return false;
         }
         boolean isAnythingUpdated = false;
@@ -157,7 +778,31 @@ public class ElevatorSystemImpl implements ElevatorSystem {
         if (updatedTargetFloors != null) {
             isAnythingUpdated = this.elevatorService.setElevatorTargetFloors(elevatorToUpdate, updatedTargetFloors) || isAnythingUpdated;
         }
+        if (isAnythingUpdated && this.destinationDispatcher != null) {
+            this.destinationDispatcher.dropStrandedPassengers(elevatorToUpdate);
+        }
+
+        if (isAnythingUpdated) {
+            removeHallCallsOutsideTargets(elevatorToUpdate);
+            notifyElevatorChanged(elevatorToUpdate);
+        }
 
         return isAnythingUpdated;
     }
+
+    private static class QueuedHallCall {
+        private final int pickupFloor;
+        private final Direction direction;
+        private final int targetFloor;
+
+        private QueuedHallCall(int pickupFloor, Direction direction, int targetFloor) {
+            this.pickupFloor = pickupFloor;
+            this.direction = direction;
+            this.targetFloor = targetFloor;
+        }
+
+        private boolean isSameCall(int pickupFloor, Direction direction, int targetFloor) {
+            return this.pickupFloor == pickupFloor && this.direction == direction && this.targetFloor == targetFloor;
+        }
+    }
 }
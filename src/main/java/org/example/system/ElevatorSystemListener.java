@@ -0,0 +1,50 @@
+package org.example.system;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+
+import java.util.List;
+
+/**
+ * The `ElevatorSystemListener` is notified about changes made by `ElevatorSystem`.
+ * Listeners are called on the simulation thread, so they should return quickly.
+ */
+public interface ElevatorSystemListener {
+
+    /**
+     * Called after each step and after steps skipped by `advance`.
+     * @param stepNumber The number of steps done since the system was created.
+     * @param elevators All elevators of the system.
+     */
+    default void onStep(long stepNumber, List<Elevator> elevators) {
+    }
+
+    /**
+     * Called when state of the elevator may have changed in a step, after a pickup, selecting a floor or an update.
+     * In a step it is called before `onStep`.
+     * @param stepNumber The step number in which the change happened.
+     * @param elevator The changed elevator.
+     */
+    default void onElevatorChanged(long stepNumber, Elevator elevator) {
+    }
+
+    /**
+     * Called when an elevator has been assigned to a call by `pickup`.
+     * @param stepNumber The step number in which the call has been made.
+     * @param pickupFloor The floor from which the elevator has been called.
+     * @param direction The direction selected by the user.
+     * @param elevator The elevator assigned to the call.
+     */
+    default void onPickup(long stepNumber, int pickupFloor, Direction direction, Elevator elevator) {
+    }
+
+    /**
+     * Called in a step when users have boarded the elevator on its current floor, before `onStep`.
+     * @param stepNumber The step number in which users have boarded.
+     * @param elevator The elevator which users have boarded.
+     * @param boardings The number of boarded users in destination dispatch mode, otherwise the number of selected
+     *                  destination floors.
+     */
+    default void onBoarding(long stepNumber, Elevator elevator, int boardings) {
+    }
+}
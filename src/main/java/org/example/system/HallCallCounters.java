@@ -0,0 +1,43 @@
+package org.example.system;
+
+/**
+ * The `HallCallCounters` class counts hall calls which have not been dispatched as new calls: calls coalesced onto
+ * an elevator already assigned to the same floor and direction, calls shed and calls queued because too many calls were pending.
+ * Counters are updated by the simulation thread.
+ */
+public class HallCallCounters {
+    private long coalescedCalls;
+    private long shedCalls;
+    private long queuedCalls;
+
+    public long getCoalescedCalls() {
+        return coalescedCalls;
+    }
+
+    public long getShedCalls() {
+        return shedCalls;
+    }
+
+    /**
+     * @return The number of calls which had to wait in the queue, including calls dispatched later.
+     */
+    public long getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    public String getSummaryText() {
+        return "Hall calls: %d coalesced, %d shed, %d queued".formatted(coalescedCalls, shedCalls, queuedCalls);
+    }
+
+    void countCoalescedCall() {
+        this.coalescedCalls++;
+    }
+
+    void countShedCall() {
+        this.shedCalls++;
+    }
+
+    void countQueuedCall() {
+        this.queuedCalls++;
+    }
+}
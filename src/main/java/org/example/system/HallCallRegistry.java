@@ -0,0 +1,84 @@
+package org.example.system;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+
+import java.util.Arrays;
+
+/**
+ * The `HallCallRegistry` class remembers the elevator assigned to the call of each floor and direction, so repeated presses
+ * of the same hall button can be coalesced onto the assignment. An assignment is kept until the elevator stops on the floor.
+ * Calls are kept sorted by floor and direction in plain arrays, so lookups do not allocate and the arrays grow only when
+ * a new floor and direction is called.
+ */
+class HallCallRegistry {
+    private final static int INITIAL_CAPACITY = 16;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private Elevator[] elevators = new Elevator[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @return The elevator assigned to the call or null when the floor and direction has not been called.
+     */
+    Elevator get(int floor, Direction direction) {
+        final int index = indexOf(key(floor, direction));
+        return index >= 0 ? this.elevators[index] : null;
+    }
+
+    void put(int floor, Direction direction, Elevator elevator) {
+        final int key = key(floor, direction);
+        final int index = indexOf(key);
+        if (index >= 0) {
+            this.elevators[index] = elevator;
+            return;
+        }
+        final int insertionIndex = -index - 1;
+        if (this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.size * 2);
+            this.elevators = Arrays.copyOf(this.elevators, this.size * 2);
+        }
+        System.arraycopy(this.keys, insertionIndex, this.keys, insertionIndex + 1, this.size - insertionIndex);
+        System.arraycopy(this.elevators, insertionIndex, this.elevators, insertionIndex + 1, this.size - insertionIndex);
+        this.keys[insertionIndex] = key;
+        this.elevators[insertionIndex] = elevator;
+        this.size++;
+    }
+
+    /**
+     * Removes the call of the floor and direction if it is assigned to the elevator.
+     */
+    void remove(int floor, Direction direction, Elevator elevator) {
+        final int index = indexOf(key(floor, direction));
+        if (index >= 0 && this.elevators[index] == elevator) {
+            removeAt(index);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int floorAt(int index) {
+        return this.keys[index] >> 1;
+    }
+
+    Elevator elevatorAt(int index) {
+        return this.elevators[index];
+    }
+
+    void removeAt(int index) {
+        System.arraycopy(this.keys, index + 1, this.keys, index, this.size - index - 1);
+        System.arraycopy(this.elevators, index + 1, this.elevators, index, this.size - index - 1);
+        this.size--;
+        this.elevators[this.size] = null;
+    }
+
+    private int indexOf(int key) {
+        return Arrays.binarySearch(this.keys, 0, this.size, key);
+    }
+
+    private static int key(int floor, Direction direction) {
+        return (floor << 1) | (direction == Direction.UP ? 1 : 0);
+    }
+}
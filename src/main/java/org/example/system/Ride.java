@@ -0,0 +1,91 @@
+package org.example.system;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The `Ride` class gives futures of a call made with `pickupAsync`, so callers do not have to poll `status`.
+ * `getPickupArrival` completes when the elevator stops on the pickup floor (or when the user boards another elevator
+ * stopping there), `getTargetArrival` completes when the elevator with the user stops on the target floor.
+ * Both futures are completed in `step` on the simulation thread and are cancelled when the call is shed, the assigned
+ * elevator no longer goes to the floor or it has been removed from the system. Dependent actions should use `*Async`
+ * methods to not slow the simulation down.
+ */
+public class Ride {
+    final static int NO_TARGET_FLOOR = Integer.MIN_VALUE;
+
+    private final int pickupFloor;
+    private final Direction direction;
+    private final int targetFloor;
+    private final CompletableFuture<Elevator> pickupArrival = new CompletableFuture<>();
+    private final CompletableFuture<Elevator> targetArrival = new CompletableFuture<>();
+    private Elevator elevator;
+    private Elevator boardedElevator;
+
+    /**
+     * @param targetFloor The target floor or `Integer.MIN_VALUE` when the user has not given it.
+     */
+    Ride(int pickupFloor, Direction direction, int targetFloor) {
+        this.pickupFloor = pickupFloor;
+        this.direction = direction;
+        this.targetFloor = targetFloor;
+    }
+
+    public int getPickupFloor() {
+        return pickupFloor;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public int getTargetFloor() {
+        return targetFloor;
+    }
+
+    /**
+     * @return The elevator assigned to the call, or null while the call is queued or after it has been shed.
+     */
+    public Elevator getElevator() {
+        return elevator;
+    }
+
+    public CompletableFuture<Elevator> getPickupArrival() {
+        return pickupArrival;
+    }
+
+    public CompletableFuture<Elevator> getTargetArrival() {
+        return targetArrival;
+    }
+
+    boolean hasTargetFloor() {
+        return targetFloor != NO_TARGET_FLOOR;
+    }
+
+    void assign(Elevator elevator) {
+        this.elevator = elevator;
+    }
+
+    Elevator getBoardedElevator() {
+        return boardedElevator;
+    }
+
+    void board(Elevator elevator) {
+        this.boardedElevator = elevator;
+        this.pickupArrival.complete(elevator);
+    }
+
+    void cancel() {
+        this.pickupArrival.cancel(false);
+        this.targetArrival.cancel(false);
+    }
+
+    /**
+     * @return True when both futures are done, also when the caller has cancelled them.
+     */
+    boolean isDone() {
+        return this.pickupArrival.isDone() && this.targetArrival.isDone();
+    }
+}
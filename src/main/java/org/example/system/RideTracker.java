@@ -0,0 +1,209 @@
+package org.example.system;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ActiveElevators;
+import org.example.util.FloorSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The `RideTracker` class completes futures of rides (see `Ride`) from steps of the system. Rides are indexed by the elevator
+ * they wait for, by the floor where users wait for boarding and by the elevator carrying users, so a step checks only
+ * rides of the stepped elevator. Methods must be called on the simulation thread.
+ */
+class RideTracker {
+    private final Map<Elevator, List<Ride>> ridesByAssignedElevator = new IdentityHashMap<>();
+    private final Map<Integer, List<Ride>> ridesByPickupFloor = new HashMap<>();
+    private final Map<Elevator, List<Ride>> ridesByBoardedElevator = new IdentityHashMap<>();
+    private final List<Ride> queuedRides = new ArrayList<>();
+
+    boolean isEmpty() {
+        return this.ridesByAssignedElevator.isEmpty() && this.ridesByPickupFloor.isEmpty()
+                && this.ridesByBoardedElevator.isEmpty() && this.queuedRides.isEmpty();
+    }
+
+    /**
+     * The `track` method starts waiting for the elevator assigned to the ride.
+     */
+    void track(Ride ride, Elevator elevator) {
+        ride.assign(elevator);
+        this.ridesByAssignedElevator.computeIfAbsent(elevator, key -> new ArrayList<>()).add(ride);
+        if (ride.hasTargetFloor()) {
+            this.ridesByPickupFloor.computeIfAbsent(ride.getPickupFloor(), key -> new ArrayList<>()).add(ride);
+        }
+    }
+
+    /**
+     * The `trackQueued` method keeps the ride of a queued call until the call is dispatched.
+     */
+    void trackQueued(Ride ride) {
+        this.queuedRides.add(ride);
+    }
+
+    /**
+     * The `onQueuedCallDispatched` method assigns rides of the queued call to the elevator, or cancels them when
+     * the call could not be dispatched.
+     */
+    void onQueuedCallDispatched(int pickupFloor, Direction direction, int targetFloor, Elevator elevator) {
+        for (int i = this.queuedRides.size() - 1; i >= 0; i--) {
+            final Ride ride = this.queuedRides.get(i);
+            if (ride.getPickupFloor() != pickupFloor || ride.getDirection() != direction || ride.getTargetFloor() != targetFloor) {
+                continue;
+            }
+            this.queuedRides.remove(i);
+            if (elevator == null) {
+                ride.cancel();
+            } else {
+                track(ride, elevator);
+            }
+        }
+    }
+
+    /**
+     * The `cancelRidesOfRemovedElevators` method cancels rides carried by an elevator which is no longer in the system
+     * and rides still waiting for such elevator. Rides which have already boarded another elevator are kept.
+     * `activeElevators` must be synced.
+     */
+    void cancelRidesOfRemovedElevators(ActiveElevators activeElevators) {
+        cancelRidesOfRemovedElevators(this.ridesByAssignedElevator, activeElevators);
+        cancelRidesOfRemovedElevators(this.ridesByBoardedElevator, activeElevators);
+    }
+
+    /**
+     * The `onElevatorStep` method updates rides after the elevator has made its step: users waiting on its floor board it,
+     * rides carried by it arrive on their target floor and rides assigned to it arrive on their pickup floor.
+     * A ride whose floor is no longer a target of the elevator has been reassigned or dropped and is cancelled.
+     *
+     * @param boardedFloors Target floors selected by users who have boarded in the step, or null when nobody boarded.
+     * @param isBoardingAssignedOnly True when users can board only the assigned elevator (destination dispatch).
+     */
+    void onElevatorStep(Elevator elevator, FloorSet boardedFloors, boolean isBoardingAssignedOnly) {
+        final int currentFloor = elevator.getCurrentFloor();
+        if (boardedFloors != null) {
+            boardRides(elevator, currentFloor, boardedFloors, isBoardingAssignedOnly);
+        }
+
+        final List<Ride> carriedRides = this.ridesByBoardedElevator.get(elevator);
+        if (carriedRides != null) {
+            for (int i = carriedRides.size() - 1; i >= 0; i--) {
+                final Ride ride = carriedRides.get(i);
+                if (!isTarget(elevator, ride.getTargetFloor())) {
+                    if (currentFloor == ride.getTargetFloor()) {
+                        ride.getTargetArrival().complete(elevator);
+                    } else {
+                        ride.cancel();
+                    }
+                }
+                if (ride.isDone()) {
+                    removeAt(carriedRides, i);
+                }
+            }
+            removeIfEmpty(this.ridesByBoardedElevator, elevator, carriedRides);
+        }
+
+        final List<Ride> assignedRides = this.ridesByAssignedElevator.get(elevator);
+        if (assignedRides != null) {
+            for (int i = assignedRides.size() - 1; i >= 0; i--) {
+                final Ride ride = assignedRides.get(i);
+                if (!ride.getPickupArrival().isDone() && !isTarget(elevator, ride.getPickupFloor())) {
+                    if (currentFloor == ride.getPickupFloor()) {
+                        ride.getPickupArrival().complete(elevator);
+                        if (!ride.hasTargetFloor()) {
+                            ride.getTargetArrival().complete(elevator);
+                        }
+                    } else {
+                        ride.cancel();
+                    }
+                }
+                if (ride.getPickupArrival().isDone()) {
+                    if (ride.isDone()) {
+                        removeWaitingRide(ride);
+                    }
+                    removeAt(assignedRides, i);
+                }
+            }
+            removeIfEmpty(this.ridesByAssignedElevator, elevator, assignedRides);
+        }
+    }
+
+    private void boardRides(Elevator elevator, int currentFloor, FloorSet boardedFloors, boolean isBoardingAssignedOnly) {
+        final List<Ride> waitingRides = this.ridesByPickupFloor.get(currentFloor);
+        if (waitingRides == null) {
+            return;
+        }
+        for (int i = waitingRides.size() - 1; i >= 0; i--) {
+            final Ride ride = waitingRides.get(i);
+            if (!ride.isDone() && ride.getBoardedElevator() == null && boardedFloors.contains(ride.getTargetFloor())
+                    && (!isBoardingAssignedOnly || ride.getElevator() == elevator)) {
+                ride.board(elevator);
+                this.ridesByBoardedElevator.computeIfAbsent(elevator, key -> new ArrayList<>()).add(ride);
+            }
+            if (ride.isDone() || ride.getBoardedElevator() != null) {
+                removeAt(waitingRides, i);
+            }
+        }
+        removeIfEmpty(this.ridesByPickupFloor, currentFloor, waitingRides);
+    }
+
+    private void cancelRidesOfRemovedElevators(Map<Elevator, List<Ride>> ridesByElevator, ActiveElevators activeElevators) {
+        final Iterator<Map.Entry<Elevator, List<Ride>>> entries = ridesByElevator.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<Elevator, List<Ride>> entry = entries.next();
+            final Elevator elevator = entry.getKey();
+            if (!activeElevators.contains(elevator)) {
+                final List<Ride> rides = entry.getValue();
+                for (int i = 0; i < rides.size(); i++) {
+                    final Ride ride = rides.get(i);
+                    if (ride.getBoardedElevator() == elevator || !ride.getPickupArrival().isDone()) {
+                        ride.cancel();
+                        removeWaitingRide(ride);
+                    }
+                }
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * The `removeWaitingRide` method removes the finished ride from rides waiting for boarding on its pickup floor,
+     * so rides cancelled before boarding do not stay there.
+     */
+    private void removeWaitingRide(Ride ride) {
+        if (!ride.hasTargetFloor() || ride.getBoardedElevator() != null) {
+            return;
+        }
+        final List<Ride> waitingRides = this.ridesByPickupFloor.get(ride.getPickupFloor());
+        if (waitingRides == null) {
+            return;
+        }
+        final int index = waitingRides.indexOf(ride);
+        if (index >= 0) {
+            removeAt(waitingRides, index);
+            removeIfEmpty(this.ridesByPickupFloor, ride.getPickupFloor(), waitingRides);
+        }
+    }
+
+    private static boolean isTarget(Elevator elevator, int floor) {
+        return elevator.getTargetFloors().contains(floor) || elevator.getTargetFloorsOtherDirection().contains(floor);
+    }
+
+    /**
+     * Removes the ride by moving the last ride in its place, the order of rides does not matter.
+     */
+    private static void removeAt(List<Ride> rides, int index) {
+        rides.set(index, rides.get(rides.size() - 1));
+        rides.remove(rides.size() - 1);
+    }
+
+    private static <K> void removeIfEmpty(Map<K, List<Ride>> ridesByKey, K key, List<Ride> rides) {
+        if (rides.isEmpty()) {
+            ridesByKey.remove(key);
+        }
+    }
+}
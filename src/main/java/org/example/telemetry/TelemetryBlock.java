@@ -0,0 +1,147 @@
+package org.example.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import static org.example.telemetry.TelemetryLayout.*;
+
+/**
+ * The `TelemetryBlock` class keeps columns of up to `capacity` rows and encodes them for the telemetry file.
+ * It is reused for the whole run, so adding rows does not allocate.
+ */
+public class TelemetryBlock {
+    private final int capacity;
+    private final int[] stepOffsets;
+    private final int[] elevatorIds;
+    private final int[] floors;
+    private final byte[] directions;
+    private final int[] targets;
+    private final int[] targetsOtherDirection;
+    private final int[] boardings;
+    private final ByteBuffer buffer;
+    private long firstStepNumber;
+    private int rows;
+
+    public TelemetryBlock(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Block capacity must be positive (capacity = %d)".formatted(capacity));
+        }
+        this.capacity = capacity;
+        this.stepOffsets = new int[capacity];
+        this.elevatorIds = new int[capacity];
+        this.floors = new int[capacity];
+        this.directions = new byte[capacity];
+        this.targets = new int[capacity];
+        this.targetsOtherDirection = new int[capacity];
+        this.boardings = new int[capacity];
+        this.buffer = ByteBuffer.allocateDirect(getBlockSize(capacity)).order(BYTE_ORDER);
+    }
+
+    /**
+     * The `canAdd` method checks if the block has space for a row of the step, step numbers of one block
+     * cannot be further than `Integer.MAX_VALUE` from the first one.
+     */
+    public boolean canAdd(long stepNumber) {
+        return this.rows == 0 || (this.rows < this.capacity && stepNumber - this.firstStepNumber <= Integer.MAX_VALUE);
+    }
+
+    public void add(long stepNumber, int elevatorId, int floor, int directionValue, int targets, int targetsOtherDirection, int boardings) {
+        if (this.rows == 0) {
+            this.firstStepNumber = stepNumber;
+        }
+        final int row = this.rows++;
+        this.stepOffsets[row] = (int) (stepNumber - this.firstStepNumber);
+        this.elevatorIds[row] = elevatorId;
+        this.floors[row] = floor;
+        this.directions[row] = (byte) directionValue;
+        this.targets[row] = targets;
+        this.targetsOtherDirection[row] = targetsOtherDirection;
+        this.boardings[row] = boardings;
+    }
+
+    /**
+     * The `encode` method writes the block into its buffer and returns it ready to be written into the file.
+     */
+    ByteBuffer encode() {
+        final int rows = this.rows;
+        this.buffer.clear();
+        this.buffer.putInt(rows).putInt(0).putLong(this.firstStepNumber);
+        putColumn(this.stepOffsets, rows);
+        putColumn(this.elevatorIds, rows);
+        putColumn(this.floors, rows);
+        this.buffer.put(this.directions, 0, rows);
+        putColumn(this.targets, rows);
+        putColumn(this.targetsOtherDirection, rows);
+        putColumn(this.boardings, rows);
+        return this.buffer.flip();
+    }
+
+    /**
+     * The `decode` method reads rows from the buffer, which should be positioned after the block header.
+     */
+    void decode(ByteBuffer source, int rows, long firstStepNumber) {
+        if (rows > this.capacity) {
+            throw new IllegalArgumentException("Block has too many rows (rows = %d, capacity = %d)".formatted(rows, this.capacity));
+        }
+        this.rows = rows;
+        this.firstStepNumber = firstStepNumber;
+        getColumn(source, this.stepOffsets, rows);
+        getColumn(source, this.elevatorIds, rows);
+        getColumn(source, this.floors, rows);
+        source.get(this.directions, 0, rows);
+        getColumn(source, this.targets, rows);
+        getColumn(source, this.targetsOtherDirection, rows);
+        getColumn(source, this.boardings, rows);
+    }
+
+    public void clear() {
+        this.rows = 0;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public boolean isEmpty() {
+        return this.rows == 0;
+    }
+
+    public long getStepNumber(int row) {
+        return this.firstStepNumber + this.stepOffsets[row];
+    }
+
+    public int getElevatorId(int row) {
+        return this.elevatorIds[row];
+    }
+
+    public int getFloor(int row) {
+        return this.floors[row];
+    }
+
+    public int getDirectionValue(int row) {
+        return this.directions[row];
+    }
+
+    public int getTargets(int row) {
+        return this.targets[row];
+    }
+
+    public int getTargetsOtherDirection(int row) {
+        return this.targetsOtherDirection[row];
+    }
+
+    public int getBoardings(int row) {
+        return this.boardings[row];
+    }
+
+    private void putColumn(int[] column, int rows) {
+        final IntBuffer view = this.buffer.asIntBuffer();
+        view.put(column, 0, rows);
+        this.buffer.position(this.buffer.position() + rows * Integer.BYTES);
+    }
+
+    private static void getColumn(ByteBuffer source, int[] column, int rows) {
+        source.asIntBuffer().get(column, 0, rows);
+        source.position(source.position() + rows * Integer.BYTES);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.telemetry;
+
+import java.nio.ByteOrder;
+
+/**
+ * The `TelemetryLayout` class describes the telemetry file written by `TelemetryWriter` and read by `TelemetryReader`.
+ * All values are little-endian. Rows are written in blocks, every block keeps its rows column by column.
+ * <pre>
+ * header (8 bytes):
+ *   0  int  magic
+ *   4  int  layout version
+ * block (16 + 25 * rows bytes):
+ *   0  int  number of rows
+ *   4  int  reserved
+ *   8  long first step number - step numbers of rows are stored as offsets from it
+ *   16 int[rows]  step number offset
+ *   .. int[rows]  elevator id
+ *   .. int[rows]  current floor
+ *   .. byte[rows] direction value (1 == UP, 0 == IDLE, -1 == DOWN)
+ *   .. int[rows]  number of target floors
+ *   .. int[rows]  number of target floors (other direction)
+ *   .. int[rows]  number of boardings in the step
+ * </pre>
+ */
+public final class TelemetryLayout {
+    public static final int MAGIC = 0x454C5654;
+    public static final int VERSION = 1;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int FILE_HEADER_SIZE = 8;
+    public static final int BLOCK_HEADER_SIZE = 16;
+    public static final int ROW_SIZE = 6 * Integer.BYTES + Byte.BYTES;
+
+    private TelemetryLayout() {
+    }
+
+    public static int getBlockSize(int rows) {
+        return BLOCK_HEADER_SIZE + rows * ROW_SIZE;
+    }
+}
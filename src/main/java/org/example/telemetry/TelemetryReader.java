@@ -0,0 +1,119 @@
+package org.example.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+import static org.example.telemetry.TelemetryLayout.*;
+
+/**
+ * The `TelemetryReader` class reads a telemetry file written by `TelemetryWriter` block by block, so files of any
+ * length can be read with constant memory. Run it with a file path to print the file as CSV.
+ */
+public class TelemetryReader implements Closeable {
+    private final static Logger LOG = Logger.getLogger(TelemetryReader.class.getName());
+    public final static String CSV_HEADER = "step,elevatorId,floor,direction,targets,targetsOtherDirection,boardings";
+
+    private final FileChannel fileChannel;
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE).order(BYTE_ORDER);
+    private ByteBuffer blockBuffer = ByteBuffer.allocate(0).order(BYTE_ORDER);
+    private TelemetryBlock block = new TelemetryBlock(1);
+
+    public TelemetryReader(Path path) throws IOException {
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        final ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER_SIZE).order(BYTE_ORDER);
+        if (!readFully(fileHeader) || fileHeader.getInt(0) != MAGIC || fileHeader.getInt(4) != VERSION) {
+            this.fileChannel.close();
+            String errorMsg = "File is not a telemetry file of version %d (%s)".formatted(VERSION, path);
+            LOG.severe(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+        }
+    }
+
+    /**
+     * The `readBlock` method reads the next block of rows. The returned block is reused by the next call.
+     * @return The next block, or null at the end of the file.
+     */
+    public TelemetryBlock readBlock() throws IOException {
+        this.blockHeader.clear();
+        if (!readFully(this.blockHeader)) {
+            return null;
+        }
+        final int rows = this.blockHeader.getInt(0);
+        final long firstStepNumber = this.blockHeader.getLong(8);
+        final int columnsSize = getBlockSize(rows) - BLOCK_HEADER_SIZE;
+        if (this.blockBuffer.capacity() < columnsSize) {
+            this.blockBuffer = ByteBuffer.allocate(columnsSize).order(BYTE_ORDER);
+            this.block = new TelemetryBlock(rows);
+        }
+        this.blockBuffer.clear().limit(columnsSize);
+        if (!readFully(this.blockBuffer)) {
+            String errorMsg = "Telemetry file ends inside a block";
+            LOG.severe(errorMsg);
+            throw new IOException(errorMsg);
+        }
+        this.block.decode(this.blockBuffer.flip(), rows, firstStepNumber);
+        return this.block;
+    }
+
+    /**
+     * The `writeCsv` method prints all remaining rows as CSV with `CSV_HEADER` header.
+     */
+    public void writeCsv(PrintStream output) throws IOException {
+        output.println(CSV_HEADER);
+        final StringBuilder line = new StringBuilder();
+        TelemetryBlock telemetryBlock;
+        while ((telemetryBlock = readBlock()) != null) {
+            for (int row = 0; row < telemetryBlock.getRows(); row++) {
+                line.setLength(0);
+                line.append(telemetryBlock.getStepNumber(row)).append(',')
+                        .append(telemetryBlock.getElevatorId(row)).append(',')
+                        .append(telemetryBlock.getFloor(row)).append(',')
+                        .append(telemetryBlock.getDirectionValue(row)).append(',')
+                        .append(telemetryBlock.getTargets(row)).append(',')
+                        .append(telemetryBlock.getTargetsOtherDirection(row)).append(',')
+                        .append(telemetryBlock.getBoardings(row));
+                output.println(line);
+            }
+        }
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.fileChannel.close();
+    }
+
+    /**
+     * @return False if the file has ended before any byte was read.
+     */
+    private boolean readFully(ByteBuffer buffer) throws IOException {
+        final int expectedBytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            if (this.fileChannel.read(buffer) < 0) {
+                if (buffer.remaining() == expectedBytes) {
+                    return false;
+                }
+                String errorMsg = "Telemetry file ends unexpectedly";
+                LOG.severe(errorMsg);
+                throw new IOException(errorMsg);
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: TelemetryReader <telemetryFile>");
+            return;
+        }
+        try (TelemetryReader reader = new TelemetryReader(Path.of(args[0]))) {
+            reader.writeCsv(System.out);
+        }
+    }
+}
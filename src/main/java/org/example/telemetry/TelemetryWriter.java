@@ -0,0 +1,187 @@
+package org.example.telemetry;
+
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystemListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import static org.example.telemetry.TelemetryLayout.*;
+
+/**
+ * The `TelemetryWriter` class streams state of every elevator after every step into a columnar telemetry file
+ * (see `TelemetryLayout`). Rows are collected in one of two reusable blocks, a full block is written by a background
+ * thread while the simulation fills the other one, so the simulation waits only when the disk is slower than it.
+ * Steps skipped by `advance` have no rows, the next row of every elevator has the step number after the skip.
+ */
+public class TelemetryWriter implements ElevatorSystemListener, Closeable {
+    private final static Logger LOG = Logger.getLogger(TelemetryWriter.class.getName());
+    public final static int DEFAULT_BLOCK_ROWS = 64 * 1024;
+    private final static int INITIAL_BOARDED_ELEVATORS = 64;
+
+    private final FileChannel fileChannel;
+    private final ExecutorService writeExecutor;
+    private TelemetryBlock fillingBlock;
+    private TelemetryBlock writtenBlock;
+    private Future<?> pendingWrite;
+    private int[] boardedElevatorIds = new int[INITIAL_BOARDED_ELEVATORS];
+    private int[] boardingCounts = new int[INITIAL_BOARDED_ELEVATORS];
+    private int boardedElevators;
+    private long writtenRows;
+    private boolean isClosed;
+
+    public TelemetryWriter(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_ROWS);
+    }
+
+    public TelemetryWriter(Path path, int blockRows) throws IOException {
+        this.fillingBlock = new TelemetryBlock(blockRows);
+        this.writtenBlock = new TelemetryBlock(blockRows);
+        this.fileChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writeFully(ByteBuffer.allocate(FILE_HEADER_SIZE).order(BYTE_ORDER).putInt(MAGIC).putInt(VERSION).flip());
+        this.writeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void onBoarding(long stepNumber, Elevator elevator, int boardings) {
+        for (int i = 0; i < this.boardedElevators; i++) {
+            if (this.boardedElevatorIds[i] == elevator.getId()) {
+                this.boardingCounts[i] += boardings;
+                return;
+            }
+        }
+        if (this.boardedElevators == this.boardedElevatorIds.length) {
+            growBoardedElevators();
+        }
+        this.boardedElevatorIds[this.boardedElevators] = elevator.getId();
+        this.boardingCounts[this.boardedElevators] = boardings;
+        this.boardedElevators++;
+    }
+
+    @Override
+    public void onStep(long stepNumber, List<Elevator> elevators) {
+        write(stepNumber, elevators);
+    }
+
+    /**
+     * The `write` method adds a row for every elevator with boardings reported since the previous write.
+     */
+    public void write(long stepNumber, List<Elevator> elevators) {
+        if (this.isClosed) {
+            return;
+        }
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            if (!this.fillingBlock.canAdd(stepNumber)) {
+                flush();
+            }
+            this.fillingBlock.add(stepNumber, elevator.getId(), elevator.getCurrentFloor(),
+                    elevator.getCurrentDirection().mapDirectionToValue(), elevator.getTargetFloors().size(),
+                    elevator.getTargetFloorsOtherDirection().size(), takeBoardings(elevator.getId()));
+        }
+        this.boardedElevators = 0;
+    }
+
+    /**
+     * @return The number of rows handed over to be written into the file.
+     */
+    public long getWrittenRows() {
+        return writtenRows;
+    }
+
+    /**
+     * The `close` method writes all collected rows and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.isClosed) {
+            return;
+        }
+        try {
+            flush();
+            awaitPendingWrite();
+        } finally {
+            this.isClosed = true;
+            this.writeExecutor.shutdown();
+            this.fileChannel.close();
+        }
+    }
+
+    private int takeBoardings(int elevatorId) {
+        for (int i = 0; i < this.boardedElevators; i++) {
+            if (this.boardedElevatorIds[i] == elevatorId) {
+                return this.boardingCounts[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The `growBoardedElevators` method doubles the arrays of boardings, so boardings of every elevator in the step
+     * are kept however large the fleet is. The arrays are reused in later steps, so they grow only a few times.
+     */
+    private void growBoardedElevators() {
+        final int newLength = this.boardedElevatorIds.length * 2;
+        this.boardedElevatorIds = Arrays.copyOf(this.boardedElevatorIds, newLength);
+        this.boardingCounts = Arrays.copyOf(this.boardingCounts, newLength);
+    }
+
+    /**
+     * The `flush` method hands the filling block to the background thread, after the previous block has been written.
+     */
+    private void flush() {
+        if (this.fillingBlock.isEmpty()) {
+            return;
+        }
+        awaitPendingWrite();
+        final TelemetryBlock block = this.fillingBlock;
+        this.fillingBlock = this.writtenBlock;
+        this.writtenBlock = block;
+        this.writtenRows += block.getRows();
+        this.pendingWrite = this.writeExecutor.submit(() -> {
+            writeFully(block.encode());
+            block.clear();
+            return null;
+        });
+    }
+
+    private void awaitPendingWrite() {
+        if (this.pendingWrite == null) {
+            return;
+        }
+        try {
+            this.pendingWrite.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while writing telemetry", e);
+        } catch (ExecutionException e) {
+            String errorMsg = "Error while writing telemetry file";
+            LOG.severe(errorMsg);
+            throw new RuntimeException(errorMsg, e.getCause());
+        } finally {
+            this.pendingWrite = null;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            this.fileChannel.write(buffer);
+        }
+    }
+}
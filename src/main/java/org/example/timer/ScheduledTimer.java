@@ -0,0 +1,64 @@
+package org.example.timer;
+
+/**
+ * The `ScheduledTimer` class is a timer scheduled in `TimingWheel`. It is also the node of the doubly linked list
+ * of its wheel slot, so it can be cancelled without searching.
+ */
+public class ScheduledTimer {
+    final TimingWheel wheel;
+    final long deadline;
+    final TimerAction action;
+    ScheduledTimer previous;
+    ScheduledTimer next;
+    int level;
+    int slot;
+    private State state = State.PENDING;
+
+    ScheduledTimer(TimingWheel wheel, long deadline, TimerAction action) {
+        this.wheel = wheel;
+        this.deadline = deadline;
+        this.action = action;
+    }
+
+    /**
+     * @return The step in which the timer expires.
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public boolean isPending() {
+        return state == State.PENDING;
+    }
+
+    public boolean isExpired() {
+        return state == State.EXPIRED;
+    }
+
+    public boolean isCancelled() {
+        return state == State.CANCELLED;
+    }
+
+    /**
+     * The `cancel` method removes the timer from its wheel.
+     * @return true if the timer was pending, false if it has already expired or been cancelled.
+     */
+    public boolean cancel() {
+        if (state != State.PENDING) {
+            return false;
+        }
+        state = State.CANCELLED;
+        wheel.unlink(this);
+        return true;
+    }
+
+    void expire() {
+        state = State.EXPIRED;
+    }
+
+    private enum State {
+        PENDING,
+        EXPIRED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.timer;
+
+/**
+ * The `TimerAction` interface is an action run by `TimingWheel` when its timer expires.
+ */
+@FunctionalInterface
+public interface TimerAction {
+    /**
+     * @param stepNumber The step in which the timer expired.
+     */
+    void onTimer(long stepNumber);
+}
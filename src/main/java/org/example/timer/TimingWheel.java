@@ -0,0 +1,185 @@
+package org.example.timer;
+
+/**
+ * The `TimingWheel` class keeps timers of the simulation clock (step numbers) in a hierarchical timing wheel.
+ * Level `l` has 64 slots of 64^l steps, a timer is put on the lowest level on which its deadline and the current step
+ * differ, and is moved (cascaded) to lower levels when the current step reaches its slot. Scheduling and cancelling are O(1),
+ * every timer is cascaded at most once per level, so the cost does not depend on the number of pending timers.
+ * Each level keeps a bitmap of occupied slots, so `advanceTo` jumps over steps without timers and the next step with
+ * a timer is found without scanning slots. Timers expiring in the same step run in the order they were scheduled
+ * (or cascaded). The wheel is not thread-safe, it is advanced by the simulation thread.
+ */
+public class TimingWheel {
+    private final static int SLOT_BITS = 6;
+    private final static int SLOTS = 1 << SLOT_BITS;
+    private final static int SLOT_MASK = SLOTS - 1;
+    private final static int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+    private final static int DETACHED = -1;
+
+    private final ScheduledTimer[][] heads = new ScheduledTimer[LEVELS][SLOTS];
+    private final ScheduledTimer[][] tails = new ScheduledTimer[LEVELS][SLOTS];
+    private final long[] occupiedSlots = new long[LEVELS];
+    private long currentStep;
+    private int size;
+
+    /**
+     * @param currentStep The step which is already done, timers can be scheduled for later steps.
+     */
+    public TimingWheel(long currentStep) {
+        this.currentStep = currentStep;
+    }
+
+    public long getCurrentStep() {
+        return currentStep;
+    }
+
+    /**
+     * @return The number of pending timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The `schedule` method adds a timer which expires in the given step, a timer for the current or earlier step
+     * expires in the next step.
+     */
+    public ScheduledTimer schedule(long deadline, TimerAction action) {
+        ScheduledTimer timer = new ScheduledTimer(this, Math.max(deadline, this.currentStep + 1), action);
+        insert(timer);
+        this.size++;
+        return timer;
+    }
+
+    /**
+     * The `getNextEventStep` method returns the first step in which the wheel has anything to do: a timer expires
+     * or timers are cascaded to a lower level. No timer expires before this step.
+     *
+     * @return The step or `Long.MAX_VALUE` when there are no timers.
+     */
+    public long getNextEventStep() {
+        long nextEventStep = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            final long occupied = this.occupiedSlots[level];
+            if (occupied == 0) {
+                continue;
+            }
+            final int shift = level * SLOT_BITS;
+            final int slot = Long.numberOfTrailingZeros(occupied);
+            final long levelStart = shift + SLOT_BITS >= Long.SIZE ? 0 : (this.currentStep >>> (shift + SLOT_BITS)) << (shift + SLOT_BITS);
+            nextEventStep = Math.min(nextEventStep, levelStart | ((long) slot << shift));
+        }
+        return nextEventStep;
+    }
+
+    /**
+     * The `advanceTo` method moves the wheel to the given step and runs actions of all timers with deadline up to the step.
+     * Actions can schedule and cancel timers.
+     *
+     * @return The number of expired timers.
+     */
+    public int advanceTo(long step) {
+        int expiredTimers = 0;
+        while (this.currentStep < step) {
+            final long nextEventStep = getNextEventStep();
+            if (nextEventStep > step) {
+                this.currentStep = step;
+                break;
+            }
+            this.currentStep = nextEventStep;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                final int shift = level * SLOT_BITS;
+                if ((this.currentStep & ((1L << shift) - 1)) == 0) {
+                    cascade(level, (int) (this.currentStep >>> shift) & SLOT_MASK);
+                }
+            }
+            expiredTimers += expire((int) this.currentStep & SLOT_MASK);
+        }
+        return expiredTimers;
+    }
+
+    void unlink(ScheduledTimer timer) {
+        this.size--;
+        if (timer.level == DETACHED) {
+            return;
+        }
+        final int level = timer.level;
+        final int slot = timer.slot;
+        if (timer.previous == null) {
+            this.heads[level][slot] = timer.next;
+        } else {
+            timer.previous.next = timer.next;
+        }
+        if (timer.next == null) {
+            this.tails[level][slot] = timer.previous;
+        } else {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        if (this.heads[level][slot] == null) {
+            this.occupiedSlots[level] &= ~(1L << slot);
+        }
+    }
+
+    private void insert(ScheduledTimer timer) {
+        final long differentBits = timer.deadline ^ this.currentStep;
+        final int level = differentBits == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(differentBits)) / SLOT_BITS;
+        final int slot = (int) (timer.deadline >>> (level * SLOT_BITS)) & SLOT_MASK;
+        timer.level = level;
+        timer.slot = slot;
+        timer.next = null;
+        timer.previous = this.tails[level][slot];
+        if (timer.previous == null) {
+            this.heads[level][slot] = timer;
+            this.occupiedSlots[level] |= 1L << slot;
+        } else {
+            timer.previous.next = timer;
+        }
+        this.tails[level][slot] = timer;
+    }
+
+    private void cascade(int level, int slot) {
+        ScheduledTimer timer = detach(level, slot);
+        while (timer != null) {
+            final ScheduledTimer next = timer.next;
+            if (timer.isPending()) {
+                insert(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private int expire(int slot) {
+        int expiredTimers = 0;
+        ScheduledTimer timer = detach(0, slot);
+        while (timer != null) {
+            final ScheduledTimer next = timer.next;
+            timer.previous = null;
+            timer.next = null;
+            if (timer.isPending()) {
+                timer.expire();
+                this.size--;
+                expiredTimers++;
+                timer.action.onTimer(this.currentStep);
+            }
+            timer = next;
+        }
+        return expiredTimers;
+    }
+
+    /**
+     * The `detach` method empties the slot and returns its list, timers of the list are marked as detached,
+     * so actions can cancel them while the list is processed.
+     */
+    private ScheduledTimer detach(int level, int slot) {
+        final ScheduledTimer head = this.heads[level][slot];
+        this.heads[level][slot] = null;
+        this.tails[level][slot] = null;
+        this.occupiedSlots[level] &= ~(1L << slot);
+        for (ScheduledTimer timer = head; timer != null; timer = timer.next) {
+            timer.level = DETACHED;
+        }
+        return head;
+    }
+}
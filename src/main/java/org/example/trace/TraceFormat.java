@@ -0,0 +1,44 @@
+package org.example.trace;
+
+/**
+ * The `TraceFormat` class describes the trace file written by `TraceWriter` and read by `TraceReader`.
+ * Numbers are unsigned LEB128 varints, signed numbers are zigzag-encoded first, fixed-size numbers are little-endian.
+ * <pre>
+ * header (12 bytes): int magic, int version, int keyframe interval
+ * keyframe: byte 1, varint step number, varint number of elevators, then for every elevator:
+ *   varint id, zigzag floor, byte direction value + 1, floor list of targets, floor list of targets (other direction)
+ * delta frame: byte 2, varint steps since the previous frame, varint number of changed elevators,
+ *   then for every changed elevator a change byte and changed values. Bits 0-1 of the change byte are the floor change
+ *   (FLOOR_UP, FLOOR_DOWN or FLOOR_MOVED followed by zigzag floor change), bits 2-4 are DIRECTION_CHANGED (followed by
+ *   byte direction value + 1), TARGETS_CHANGED and OTHER_TARGETS_CHANGED (followed by floor lists), bits 5-7 are
+ *   the number of unchanged elevators since the previous changed one, or INDEX_GAP_ESCAPE followed by varint gap - 7.
+ * floor list: varint size, zigzag first floor, varint differences between following floors minus 1
+ * end: byte 0, then index: int number of keyframes, (long step number, long file offset) per keyframe,
+ *   long last step number, long index offset, int magic
+ * </pre>
+ * Delta frames are written only for steps in which any elevator has changed, a keyframe is written every keyframe
+ * interval steps and whenever elevators have been added or removed.
+ */
+public final class TraceFormat {
+    public static final int MAGIC = 0x454C5652;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+    public static final int FOOTER_SIZE = 20;
+
+    static final byte END = 0;
+    static final byte KEYFRAME = 1;
+    static final byte DELTA_FRAME = 2;
+
+    static final int FLOOR_UP = 1;
+    static final int FLOOR_DOWN = 2;
+    static final int FLOOR_MOVED = 3;
+    static final int FLOOR_CHANGE_MASK = 3;
+    static final int DIRECTION_CHANGED = 1 << 2;
+    static final int TARGETS_CHANGED = 1 << 3;
+    static final int OTHER_TARGETS_CHANGED = 1 << 4;
+    static final int INDEX_GAP_SHIFT = 5;
+    static final int INDEX_GAP_ESCAPE = 7;
+
+    private TraceFormat() {
+    }
+}
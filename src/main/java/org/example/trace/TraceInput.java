@@ -0,0 +1,98 @@
+package org.example.trace;
+
+import org.example.util.FloorSet;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * The `TraceInput` class reads varints from any offset of a file through one reusable buffer.
+ */
+class TraceInput {
+    private final FileChannel fileChannel;
+    private final ByteBuffer buffer;
+    private long bufferOffset;
+
+    TraceInput(FileChannel fileChannel, int bufferSize) {
+        this.fileChannel = fileChannel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.limit(0);
+    }
+
+    long position() {
+        return this.bufferOffset + this.buffer.position();
+    }
+
+    void seek(long offset) {
+        if (offset >= this.bufferOffset && offset <= this.bufferOffset + this.buffer.limit()) {
+            this.buffer.position((int) (offset - this.bufferOffset));
+        } else {
+            this.bufferOffset = offset;
+            this.buffer.limit(0);
+        }
+    }
+
+    int readByte() throws IOException {
+        ensureRemaining(1);
+        return this.buffer.get();
+    }
+
+    int readInt() throws IOException {
+        ensureRemaining(Integer.BYTES);
+        return this.buffer.getInt();
+    }
+
+    long readLong() throws IOException {
+        ensureRemaining(Long.BYTES);
+        return this.buffer.getLong();
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in trace file");
+    }
+
+    int readVarInt() throws IOException {
+        return (int) readVarLong();
+    }
+
+    int readZigZag() throws IOException {
+        final int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    void readFloors(FloorSet floors) throws IOException {
+        floors.clear();
+        final int size = readVarInt();
+        int floor = 0;
+        for (int i = 0; i < size; i++) {
+            floor = i == 0 ? readZigZag() : floor + readVarInt() + 1;
+            floors.add(floor);
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (this.buffer.remaining() >= bytes) {
+            return;
+        }
+        this.bufferOffset += this.buffer.position();
+        this.buffer.compact();
+        while (this.buffer.position() < bytes) {
+            if (this.fileChannel.read(this.buffer, this.bufferOffset + this.buffer.position()) < 0) {
+                this.buffer.flip();
+                throw new EOFException("Trace file ends unexpectedly");
+            }
+        }
+        this.buffer.flip();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.trace;
+
+import org.example.util.FloorSet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * The `TraceOutput` class writes varints into a file through one reusable buffer.
+ */
+class TraceOutput {
+    private final FileChannel fileChannel;
+    private final ByteBuffer buffer;
+    private long flushedBytes;
+
+    TraceOutput(FileChannel fileChannel, int bufferSize) {
+        this.fileChannel = fileChannel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return The file offset of the next written byte.
+     */
+    long position() {
+        return this.flushedBytes + this.buffer.position();
+    }
+
+    void writeByte(int value) throws IOException {
+        if (!this.buffer.hasRemaining()) {
+            flush();
+        }
+        this.buffer.put((byte) value);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        this.buffer.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        this.buffer.putLong(value);
+    }
+
+    void writeVarLong(long value) throws IOException {
+        ensureRemaining(10);
+        while ((value & ~0x7FL) != 0) {
+            this.buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        this.buffer.put((byte) value);
+    }
+
+    void writeZigZag(int value) throws IOException {
+        writeVarLong(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+    }
+
+    void writeFloors(FloorSet floors) throws IOException {
+        writeVarLong(floors.size());
+        for (int i = 0; i < floors.size(); i++) {
+            if (i == 0) {
+                writeZigZag(floors.get(0));
+            } else {
+                writeVarLong(Integer.toUnsignedLong(floors.get(i) - floors.get(i - 1) - 1));
+            }
+        }
+    }
+
+    void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.flushedBytes += this.fileChannel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
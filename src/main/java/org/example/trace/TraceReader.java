@@ -0,0 +1,204 @@
+package org.example.trace;
+
+import org.example.model.Direction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import static org.example.trace.TraceFormat.*;
+
+/**
+ * The `TraceReader` class reads a trace file written by `TraceWriter` frame by frame into one reused `TraceState`.
+ * `seek` uses the keyframe index, so it reads at most one keyframe interval of frames to reach any step.
+ */
+public class TraceReader implements Closeable {
+    private final static Logger LOG = Logger.getLogger(TraceReader.class.getName());
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel fileChannel;
+    private final TraceInput input;
+    private final TraceState state = new TraceState();
+    private final long[] keyframeSteps;
+    private final long[] keyframeOffsets;
+    private final long lastStepNumber;
+    private boolean hasState;
+
+    public TraceReader(Path path) throws IOException {
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.input = new TraceInput(this.fileChannel, BUFFER_SIZE);
+            final long fileSize = this.fileChannel.size();
+            if (fileSize < HEADER_SIZE + FOOTER_SIZE || this.input.readInt() != MAGIC || this.input.readInt() != VERSION) {
+                throw invalidTrace(path, "not a trace file of version %d".formatted(VERSION));
+            }
+            this.input.seek(fileSize - FOOTER_SIZE);
+            this.lastStepNumber = this.input.readLong();
+            final long indexOffset = this.input.readLong();
+            if (this.input.readInt() != MAGIC || indexOffset < HEADER_SIZE || indexOffset > fileSize - FOOTER_SIZE) {
+                throw invalidTrace(path, "trace file has not been closed");
+            }
+            this.input.seek(indexOffset);
+            final int keyframes = this.input.readInt();
+            this.keyframeSteps = new long[keyframes];
+            this.keyframeOffsets = new long[keyframes];
+            for (int i = 0; i < keyframes; i++) {
+                this.keyframeSteps[i] = this.input.readLong();
+                this.keyframeOffsets[i] = this.input.readLong();
+            }
+            this.input.seek(HEADER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            this.fileChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The step number of the first frame, or -1 for an empty trace.
+     */
+    public long getFirstStepNumber() {
+        return this.keyframeSteps.length > 0 ? this.keyframeSteps[0] : -1;
+    }
+
+    public long getLastStepNumber() {
+        return lastStepNumber;
+    }
+
+    public int getNumberOfKeyframes() {
+        return this.keyframeSteps.length;
+    }
+
+    /**
+     * @return State read by the last call of `next` or `seek`, it is updated by following calls.
+     */
+    public TraceState getState() {
+        return state;
+    }
+
+    /**
+     * The `next` method reads the next frame into the state.
+     * @return False at the end of the trace.
+     */
+    public boolean next() throws IOException {
+        final int frameType = this.input.readByte();
+        if (frameType == KEYFRAME) {
+            readKeyframe();
+        } else if (frameType == DELTA_FRAME && this.hasState) {
+            readDeltaFrame();
+        } else if (frameType == END) {
+            this.input.seek(this.input.position() - 1);
+            return false;
+        } else {
+            String errorMsg = "Unexpected frame type %d at offset %d".formatted(frameType, this.input.position() - 1);
+            LOG.severe(errorMsg);
+            throw new IOException(errorMsg);
+        }
+        return true;
+    }
+
+    /**
+     * The `seek` method reads the state at the given step, it is the state of the last frame not after the step.
+     * Steps before the first frame are read as the first frame.
+     * @return State at the step.
+     */
+    public TraceState seek(long stepNumber) throws IOException {
+        if (this.keyframeSteps.length == 0) {
+            throw new IllegalStateException("Trace has no frames");
+        }
+        final int searchIndex = Arrays.binarySearch(this.keyframeSteps, stepNumber);
+        final int keyframeIndex = searchIndex >= 0
+                ? getLastKeyframeOfStep(searchIndex)
+                : Math.max(0, -searchIndex - 2);
+        this.input.seek(this.keyframeOffsets[keyframeIndex]);
+        next();
+        while (true) {
+            final long frameOffset = this.input.position();
+            final long previousStepNumber = this.state.getStepNumber();
+            if (!peekFrameBefore(stepNumber, previousStepNumber)) {
+                this.input.seek(frameOffset);
+                break;
+            }
+            this.input.seek(frameOffset);
+            next();
+        }
+        return this.state;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.fileChannel.close();
+    }
+
+    private int getLastKeyframeOfStep(int index) {
+        while (index + 1 < this.keyframeSteps.length && this.keyframeSteps[index + 1] == this.keyframeSteps[index]) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * The `peekFrameBefore` method reads the header of the next frame and checks if its step is not after the given one.
+     */
+    private boolean peekFrameBefore(long stepNumber, long previousStepNumber) throws IOException {
+        final int frameType = this.input.readByte();
+        if (frameType == KEYFRAME) {
+            return this.input.readVarLong() <= stepNumber;
+        }
+        if (frameType == DELTA_FRAME) {
+            return previousStepNumber + this.input.readVarLong() <= stepNumber;
+        }
+        return false;
+    }
+
+    private void readKeyframe() throws IOException {
+        this.state.setStepNumber(this.input.readVarLong());
+        final int elevatorCount = this.input.readVarInt();
+        this.state.resize(elevatorCount);
+        for (int i = 0; i < elevatorCount; i++) {
+            this.state.setId(i, this.input.readVarInt());
+            this.state.setFloor(i, this.input.readZigZag());
+            this.state.setDirection(i, Direction.fromValue(this.input.readByte() - 1));
+            this.input.readFloors(this.state.getTargetFloors(i));
+            this.input.readFloors(this.state.getTargetFloorsOtherDirection(i));
+        }
+        this.hasState = true;
+    }
+
+    private void readDeltaFrame() throws IOException {
+        this.state.setStepNumber(this.state.getStepNumber() + this.input.readVarLong());
+        final int changedElevators = this.input.readVarInt();
+        int index = -1;
+        for (int i = 0; i < changedElevators; i++) {
+            final int changeMask = this.input.readByte() & 0xFF;
+            final int indexGap = changeMask >>> INDEX_GAP_SHIFT;
+            index += (indexGap == INDEX_GAP_ESCAPE ? INDEX_GAP_ESCAPE + this.input.readVarInt() : indexGap) + 1;
+            final int floorChange = changeMask & FLOOR_CHANGE_MASK;
+            if (floorChange == FLOOR_UP) {
+                this.state.setFloor(index, this.state.getFloor(index) + 1);
+            } else if (floorChange == FLOOR_DOWN) {
+                this.state.setFloor(index, this.state.getFloor(index) - 1);
+            } else if (floorChange == FLOOR_MOVED) {
+                this.state.setFloor(index, this.state.getFloor(index) + this.input.readZigZag());
+            }
+            if ((changeMask & DIRECTION_CHANGED) != 0) {
+                this.state.setDirection(index, Direction.fromValue(this.input.readByte() - 1));
+            }
+            if ((changeMask & TARGETS_CHANGED) != 0) {
+                this.input.readFloors(this.state.getTargetFloors(index));
+            }
+            if ((changeMask & OTHER_TARGETS_CHANGED) != 0) {
+                this.input.readFloors(this.state.getTargetFloorsOtherDirection(index));
+            }
+        }
+    }
+
+    private IllegalArgumentException invalidTrace(Path path, String reason) {
+        String errorMsg = "Invalid trace file %s (%s)".formatted(path, reason);
+        LOG.severe(errorMsg);
+        return new IllegalArgumentException(errorMsg);
+    }
+}
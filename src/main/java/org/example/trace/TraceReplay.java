@@ -0,0 +1,59 @@
+package org.example.trace;
+
+import org.example.system.ElevatorSystem;
+import org.example.util.FloorSet;
+
+import java.io.IOException;
+
+/**
+ * The `TraceReplay` class replays a range of steps from a trace to a `TraceViewer`.
+ */
+public class TraceReplay {
+    private final TraceReader traceReader;
+
+    public TraceReplay(TraceReader traceReader) {
+        this.traceReader = traceReader;
+    }
+
+    /**
+     * The `replay` method gives the viewer the state at `fromStep` and then state of every following frame up to `toStep`.
+     * @return The number of frames given to the viewer.
+     */
+    public long replay(long fromStep, long toStep, TraceViewer viewer) throws IOException {
+        if (fromStep > toStep) {
+            throw new IllegalArgumentException("Replay cannot end before it starts (fromStep = %d, toStep = %d)".formatted(fromStep, toStep));
+        }
+        final TraceState state = this.traceReader.seek(fromStep);
+        viewer.onFrame(state);
+        long frames = 1;
+        while (this.traceReader.next()) {
+            if (state.getStepNumber() > toStep) {
+                break;
+            }
+            viewer.onFrame(state);
+            frames++;
+        }
+        return frames;
+    }
+
+    /**
+     * The `updating` method returns a viewer which sets current floors and target floors of elevators of the system
+     * to the replayed state with `ElevatorSystem.updateElevator`, so the system continues from the replayed state.
+     */
+    public static TraceViewer updating(ElevatorSystem elevatorSystem) {
+        return state -> {
+            for (int i = 0; i < state.getElevatorCount(); i++) {
+                final FloorSet targetFloors = state.getTargetFloors(i);
+                final FloorSet targetFloorsOtherDirection = state.getTargetFloorsOtherDirection(i);
+                final int[] allTargetFloors = new int[targetFloors.size() + targetFloorsOtherDirection.size()];
+                for (int j = 0; j < targetFloors.size(); j++) {
+                    allTargetFloors[j] = targetFloors.get(j);
+                }
+                for (int j = 0; j < targetFloorsOtherDirection.size(); j++) {
+                    allTargetFloors[targetFloors.size() + j] = targetFloorsOtherDirection.get(j);
+                }
+                elevatorSystem.updateElevator(state.getId(i), state.getFloor(i), allTargetFloors);
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.trace;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.util.FloorSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The `TraceState` class keeps state of all elevators at one step of a trace. Elevators are kept in the order
+ * of `ElevatorSystem` elevators. The state is reused while a trace is read, so arrays grow only when the number
+ * of elevators grows.
+ */
+public class TraceState {
+    private long stepNumber;
+    private int elevatorCount;
+    private int[] ids = new int[0];
+    private int[] floors = new int[0];
+    private Direction[] directions = new Direction[0];
+    private FloorSet[] targets = new FloorSet[0];
+    private FloorSet[] targetsOtherDirection = new FloorSet[0];
+
+    public long getStepNumber() {
+        return stepNumber;
+    }
+
+    public int getElevatorCount() {
+        return elevatorCount;
+    }
+
+    public int getId(int index) {
+        return this.ids[index];
+    }
+
+    public int getFloor(int index) {
+        return this.floors[index];
+    }
+
+    public Direction getDirection(int index) {
+        return this.directions[index];
+    }
+
+    public FloorSet getTargetFloors(int index) {
+        return this.targets[index];
+    }
+
+    public FloorSet getTargetFloorsOtherDirection(int index) {
+        return this.targetsOtherDirection[index];
+    }
+
+    /**
+     * The `isSameElevators` method checks if the state has the same elevators, in the same order, as the list.
+     */
+    boolean isSameElevators(List<Elevator> elevators) {
+        if (elevators.size() != this.elevatorCount) {
+            return false;
+        }
+        for (int i = 0; i < this.elevatorCount; i++) {
+            if (elevators.get(i).getId() != this.ids[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void setStepNumber(long stepNumber) {
+        this.stepNumber = stepNumber;
+    }
+
+    void resize(int elevatorCount) {
+        if (elevatorCount > this.ids.length) {
+            final int oldLength = this.ids.length;
+            this.ids = Arrays.copyOf(this.ids, elevatorCount);
+            this.floors = Arrays.copyOf(this.floors, elevatorCount);
+            this.directions = Arrays.copyOf(this.directions, elevatorCount);
+            this.targets = Arrays.copyOf(this.targets, elevatorCount);
+            this.targetsOtherDirection = Arrays.copyOf(this.targetsOtherDirection, elevatorCount);
+            for (int i = oldLength; i < elevatorCount; i++) {
+                this.targets[i] = new FloorSet();
+                this.targetsOtherDirection[i] = new FloorSet();
+            }
+        }
+        this.elevatorCount = elevatorCount;
+    }
+
+    void setId(int index, int id) {
+        this.ids[index] = id;
+    }
+
+    void setFloor(int index, int floor) {
+        this.floors[index] = floor;
+    }
+
+    void setDirection(int index, Direction direction) {
+        this.directions[index] = direction;
+    }
+
+    /**
+     * The `copyFrom` method copies state of the elevator into the given index.
+     */
+    void copyFrom(int index, Elevator elevator) {
+        this.ids[index] = elevator.getId();
+        this.floors[index] = elevator.getCurrentFloor();
+        this.directions[index] = elevator.getCurrentDirection();
+        this.targets[index].copyFrom(elevator.getTargetFloors());
+        this.targetsOtherDirection[index].copyFrom(elevator.getTargetFloorsOtherDirection());
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.trace;
+
+/**
+ * The `TraceViewer` is given states of a trace replayed by `TraceReplay`.
+ */
+@FunctionalInterface
+public interface TraceViewer {
+
+    /**
+     * Called for every replayed frame. The state is reused by following frames, so it should not be kept.
+     */
+    void onFrame(TraceState state);
+}
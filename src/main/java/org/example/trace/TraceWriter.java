@@ -0,0 +1,199 @@
+package org.example.trace;
+
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystemListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.example.trace.TraceFormat.*;
+
+/**
+ * The `TraceWriter` class writes state of elevators after every step into a trace file (see `TraceFormat`).
+ * Most steps only move elevators by one floor, so delta frames take a few bytes per moving elevator, and steps without
+ * any change take no bytes at all. Offsets of keyframes are written into an index at the end of the file,
+ * which lets `TraceReader` seek to any step. The file can be read only after `close`.
+ */
+public class TraceWriter implements ElevatorSystemListener, Closeable {
+    private final static Logger LOG = Logger.getLogger(TraceWriter.class.getName());
+    public final static int DEFAULT_KEYFRAME_INTERVAL = 1024;
+    private final static int BUFFER_SIZE = 256 * 1024;
+
+    private final FileChannel fileChannel;
+    private final TraceOutput output;
+    private final int keyframeInterval;
+    private final TraceState previousState = new TraceState();
+    private long[] keyframeSteps = new long[64];
+    private long[] keyframeOffsets = new long[64];
+    private int keyframes;
+    private long lastKeyframeStep;
+    private long lastFrameStep;
+    private long lastStepNumber;
+    private boolean isClosed;
+
+    public TraceWriter(Path path) throws IOException {
+        this(path, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public TraceWriter(Path path, int keyframeInterval) throws IOException {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be positive (keyframeInterval = %d)".formatted(keyframeInterval));
+        }
+        this.keyframeInterval = keyframeInterval;
+        this.fileChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.output = new TraceOutput(this.fileChannel, BUFFER_SIZE);
+        this.output.writeInt(MAGIC);
+        this.output.writeInt(VERSION);
+        this.output.writeInt(keyframeInterval);
+    }
+
+    @Override
+    public void onStep(long stepNumber, List<Elevator> elevators) {
+        write(stepNumber, elevators);
+    }
+
+    /**
+     * The `write` method writes state of elevators at the step, step numbers should not decrease.
+     */
+    public void write(long stepNumber, List<Elevator> elevators) {
+        if (this.isClosed) {
+            return;
+        }
+        try {
+            if (this.keyframes == 0 || stepNumber - this.lastKeyframeStep >= this.keyframeInterval
+                    || !this.previousState.isSameElevators(elevators)) {
+                writeKeyframe(stepNumber, elevators);
+            } else {
+                writeDeltaFrame(stepNumber, elevators);
+            }
+            this.lastStepNumber = Math.max(this.lastStepNumber, stepNumber);
+        } catch (IOException e) {
+            String errorMsg = "Error while writing trace file";
+            LOG.severe(errorMsg);
+            throw new UncheckedIOException(errorMsg, e);
+        }
+    }
+
+    /**
+     * The `close` method writes the keyframe index and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.isClosed) {
+            return;
+        }
+        this.isClosed = true;
+        try {
+            this.output.writeByte(END);
+            final long indexOffset = this.output.position();
+            this.output.writeInt(this.keyframes);
+            for (int i = 0; i < this.keyframes; i++) {
+                this.output.writeLong(this.keyframeSteps[i]);
+                this.output.writeLong(this.keyframeOffsets[i]);
+            }
+            this.output.writeLong(this.lastStepNumber);
+            this.output.writeLong(indexOffset);
+            this.output.writeInt(MAGIC);
+            this.output.flush();
+        } finally {
+            this.fileChannel.close();
+        }
+    }
+
+    private void writeKeyframe(long stepNumber, List<Elevator> elevators) throws IOException {
+        if (this.keyframes == this.keyframeSteps.length) {
+            this.keyframeSteps = Arrays.copyOf(this.keyframeSteps, this.keyframes * 2);
+            this.keyframeOffsets = Arrays.copyOf(this.keyframeOffsets, this.keyframes * 2);
+        }
+        this.keyframeSteps[this.keyframes] = stepNumber;
+        this.keyframeOffsets[this.keyframes] = this.output.position();
+        this.keyframes++;
+
+        this.output.writeByte(KEYFRAME);
+        this.output.writeVarLong(stepNumber);
+        this.output.writeVarLong(elevators.size());
+        this.previousState.resize(elevators.size());
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            this.output.writeVarLong(elevator.getId());
+            this.output.writeZigZag(elevator.getCurrentFloor());
+            this.output.writeByte(elevator.getCurrentDirection().mapDirectionToValue() + 1);
+            this.output.writeFloors(elevator.getTargetFloors());
+            this.output.writeFloors(elevator.getTargetFloorsOtherDirection());
+            this.previousState.copyFrom(i, elevator);
+        }
+        this.lastKeyframeStep = stepNumber;
+        this.lastFrameStep = stepNumber;
+    }
+
+    private void writeDeltaFrame(long stepNumber, List<Elevator> elevators) throws IOException {
+        final int changedElevators = countChangedElevators(elevators);
+        if (changedElevators == 0) {
+            return;
+        }
+        this.output.writeByte(DELTA_FRAME);
+        this.output.writeVarLong(stepNumber - this.lastFrameStep);
+        this.output.writeVarLong(changedElevators);
+        int previousIndex = -1;
+        for (int i = 0; i < elevators.size(); i++) {
+            final Elevator elevator = elevators.get(i);
+            final int changeMask = getChangeMask(i, elevator);
+            if (changeMask == 0) {
+                continue;
+            }
+            final int indexGap = i - previousIndex - 1;
+            this.output.writeByte(changeMask | Math.min(indexGap, INDEX_GAP_ESCAPE) << INDEX_GAP_SHIFT);
+            if (indexGap >= INDEX_GAP_ESCAPE) {
+                this.output.writeVarLong(indexGap - INDEX_GAP_ESCAPE);
+            }
+            if ((changeMask & FLOOR_CHANGE_MASK) == FLOOR_MOVED) {
+                this.output.writeZigZag(elevator.getCurrentFloor() - this.previousState.getFloor(i));
+            }
+            if ((changeMask & DIRECTION_CHANGED) != 0) {
+                this.output.writeByte(elevator.getCurrentDirection().mapDirectionToValue() + 1);
+            }
+            if ((changeMask & TARGETS_CHANGED) != 0) {
+                this.output.writeFloors(elevator.getTargetFloors());
+            }
+            if ((changeMask & OTHER_TARGETS_CHANGED) != 0) {
+                this.output.writeFloors(elevator.getTargetFloorsOtherDirection());
+            }
+            this.previousState.copyFrom(i, elevator);
+            previousIndex = i;
+        }
+        this.lastFrameStep = stepNumber;
+    }
+
+    private int countChangedElevators(List<Elevator> elevators) {
+        int changedElevators = 0;
+        for (int i = 0; i < elevators.size(); i++) {
+            if (getChangeMask(i, elevators.get(i)) != 0) {
+                changedElevators++;
+            }
+        }
+        return changedElevators;
+    }
+
+    private int getChangeMask(int index, Elevator elevator) {
+        final int floorChange = elevator.getCurrentFloor() - this.previousState.getFloor(index);
+        int changeMask = floorChange == 0 ? 0 : floorChange == 1 ? FLOOR_UP : floorChange == -1 ? FLOOR_DOWN : FLOOR_MOVED;
+        if (elevator.getCurrentDirection() != this.previousState.getDirection(index)) {
+            changeMask |= DIRECTION_CHANGED;
+        }
+        if (!elevator.getTargetFloors().hasSameFloors(this.previousState.getTargetFloors(index))) {
+            changeMask |= TARGETS_CHANGED;
+        }
+        if (!elevator.getTargetFloorsOtherDirection().hasSameFloors(this.previousState.getTargetFloorsOtherDirection(index))) {
+            changeMask |= OTHER_TARGETS_CHANGED;
+        }
+        return changeMask;
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.util;
+
+import java.util.*;
+
+/**
+ * The `FloorSet` class is a set of floors kept as a sorted array of primitive ints. Methods taking and returning `int`
+ * do not allocate (only `add` does when the array has to grow), so the set can be used in every simulation step.
+ * It still implements `Set<Integer>`, iteration and `toString` list floors in ascending order.
+ */
+public class FloorSet extends AbstractSet<Integer> {
+    private final static int DEFAULT_CAPACITY = 8;
+
+    private int[] floors;
+    private int size;
+
+    public FloorSet() {
+        this.floors = new int[DEFAULT_CAPACITY];
+    }
+
+    public FloorSet(Collection<Integer> floors) {
+        this();
+        if (floors != null) {
+            floors.forEach(this::add);
+        }
+    }
+
+    public boolean add(int floor) {
+        final int index = Arrays.binarySearch(this.floors, 0, this.size, floor);
+        if (index >= 0) {
+            return false;
+        }
+        final int insertionIndex = -index - 1;
+        if (this.size == this.floors.length) {
+            this.floors = Arrays.copyOf(this.floors, this.size * 2);
+        }
+        System.arraycopy(this.floors, insertionIndex, this.floors, insertionIndex + 1, this.size - insertionIndex);
+        this.floors[insertionIndex] = floor;
+        this.size++;
+        return true;
+    }
+
+    public boolean remove(int floor) {
+        final int index = Arrays.binarySearch(this.floors, 0, this.size, floor);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    public boolean contains(int floor) {
+        return Arrays.binarySearch(this.floors, 0, this.size, floor) >= 0;
+    }
+
+    /**
+     * The `get` method returns the floor at the given position, floors are sorted in ascending order.
+     * @param index The position of the floor, from 0 to `size() - 1`.
+     */
+    public int get(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.floors[index];
+    }
+
+    public int first() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("Floor set is empty");
+        }
+        return this.floors[0];
+    }
+
+    public void removeAt(int index) {
+        Objects.checkIndex(index, this.size);
+        System.arraycopy(this.floors, index + 1, this.floors, index, this.size - index - 1);
+        this.size--;
+    }
+
+    /**
+     * The `swap` method exchanges contents of two sets without copying floors.
+     */
+    public void swap(FloorSet other) {
+        final int[] floors = this.floors;
+        final int size = this.size;
+        this.floors = other.floors;
+        this.size = other.size;
+        other.floors = floors;
+        other.size = size;
+    }
+
+    /**
+     * The `copyFrom` method replaces floors of this set with floors of the other set.
+     */
+    public void copyFrom(FloorSet other) {
+        if (this.floors.length < other.size) {
+            this.floors = new int[other.floors.length];
+        }
+        System.arraycopy(other.floors, 0, this.floors, 0, other.size);
+        this.size = other.size;
+    }
+
+    /**
+     * The `hasSameFloors` method compares floors of two sets without boxing them.
+     */
+    public boolean hasSameFloors(FloorSet other) {
+        return Arrays.equals(this.floors, 0, this.size, other.floors, 0, other.size);
+    }
+
+    @Override
+    public boolean add(Integer floor) {
+        return add(floor.intValue());
+    }
+
+    @Override
+    public boolean remove(Object floor) {
+        return floor instanceof Integer && remove(((Integer) floor).intValue());
+    }
+
+    @Override
+    public boolean contains(Object floor) {
+        return floor instanceof Integer && contains(((Integer) floor).intValue());
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public void clear() {
+        this.size = 0;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+            private int nextIndex = 0;
+            private boolean canRemove = false;
+
+            @Override
+            public boolean hasNext() {
+                return this.nextIndex < size;
+            }
+
+            @Override
+            public Integer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                this.canRemove = true;
+                return floors[this.nextIndex++];
+            }
+
+            @Override
+            public void remove() {
+                if (!this.canRemove) {
+                    throw new IllegalStateException();
+                }
+                this.canRemove = false;
+                removeAt(--this.nextIndex);
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The `FloorSetMap` class maps floors to sets of floors, keys are kept as a sorted array of primitive ints.
+ * Sets of removed keys are cleared and reused for keys added later, so in a steady state the map does not allocate.
+ */
+public class FloorSetMap {
+    private final static int DEFAULT_CAPACITY = 8;
+
+    private int[] keys;
+    private FloorSet[] values;
+    private int size;
+
+    private FloorSet[] releasedValues;
+    private int releasedSize;
+
+    public FloorSetMap() {
+        this.keys = new int[DEFAULT_CAPACITY];
+        this.values = new FloorSet[DEFAULT_CAPACITY];
+        this.releasedValues = new FloorSet[DEFAULT_CAPACITY];
+    }
+
+    public boolean containsKey(int key) {
+        return Arrays.binarySearch(this.keys, 0, this.size, key) >= 0;
+    }
+
+    /**
+     * The `get` method returns the set of given key.
+     * @return The set mapped to the key or null when the key is not in the map.
+     */
+    public FloorSet get(int key) {
+        final int index = Arrays.binarySearch(this.keys, 0, this.size, key);
+        return index >= 0 ? this.values[index] : null;
+    }
+
+    /**
+     * The `getOrCreate` method returns the set of given key, an empty set is mapped to the key when it is not in the map.
+     */
+    public FloorSet getOrCreate(int key) {
+        final int index = Arrays.binarySearch(this.keys, 0, this.size, key);
+        if (index >= 0) {
+            return this.values[index];
+        }
+        final int insertionIndex = -index - 1;
+        if (this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.size * 2);
+            this.values = Arrays.copyOf(this.values, this.size * 2);
+        }
+        System.arraycopy(this.keys, insertionIndex, this.keys, insertionIndex + 1, this.size - insertionIndex);
+        System.arraycopy(this.values, insertionIndex, this.values, insertionIndex + 1, this.size - insertionIndex);
+
+        final FloorSet value = this.releasedSize > 0 ? this.releasedValues[--this.releasedSize] : new FloorSet();
+        this.releasedValues[this.releasedSize] = null;
+        this.keys[insertionIndex] = key;
+        this.values[insertionIndex] = value;
+        this.size++;
+        return value;
+    }
+
+    /**
+     * The `remove` method removes the key from the map, its set is cleared and must not be used any more.
+     * @return true if the key was in the map.
+     */
+    public boolean remove(int key) {
+        final int index = Arrays.binarySearch(this.keys, 0, this.size, key);
+        if (index < 0) {
+            return false;
+        }
+        final FloorSet value = this.values[index];
+        System.arraycopy(this.keys, index + 1, this.keys, index, this.size - index - 1);
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+        this.size--;
+        this.values[this.size] = null;
+
+        value.clear();
+        if (this.releasedSize == this.releasedValues.length) {
+            this.releasedValues = Arrays.copyOf(this.releasedValues, this.releasedSize * 2);
+        }
+        this.releasedValues[this.releasedSize++] = value;
+        return true;
+    }
+
+    /**
+     * The `keyAt` method returns the key at the given position, keys are sorted in ascending order.
+     * @param index The position of the key, from 0 to `size() - 1`.
+     */
+    public int keyAt(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.keys[index];
+    }
+
+    public FloorSet valueAt(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.values[index];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.command;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandServerTest {
+    private final ElevatorsConfig elevatorsConfig = new ElevatorsConfig(4, 0, 20);
+    private List<Elevator> elevators;
+    private ElevatorService elevatorService;
+    private ElevatorSystem elevatorSystem;
+
+    @BeforeEach
+    void setUp() {
+        this.elevators = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            this.elevators.add(ElevatorFactory.createElevator());
+        }
+        this.elevatorService = new ElevatorServiceImpl(() -> this.elevators, this.elevatorsConfig);
+        this.elevatorSystem = new ElevatorSystemImpl(this.elevatorService);
+    }
+
+    @Test
+    void executePipelinedCommandsWithBatchedResponses(@TempDir Path tempDir) throws Exception {
+        // given
+        final int windows = 20;
+        final int callsPerWindow = 2000;
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(tempDir.resolve("commands.sock"));
+        CommandServer server = new CommandServer(this.elevatorSystem, this.elevatorService, address);
+        server.start();
+
+        // when
+        int okCalls = 0;
+        long stepNumber = 0;
+        try (CommandClient client = new CommandClient(address)) {
+            for (int window = 0; window < windows; window++) {
+                for (int i = 0; i < callsPerWindow; i++) {
+                    final int floor = 1 + (window * callsPerWindow + i) % 20;
+                    client.call(floor, Direction.DOWN);
+                }
+                client.step(1);
+                for (int i = 0; i < callsPerWindow; i++) {
+                    okCalls += client.readResponse().isOk() ? 1 : 0;
+                }
+                CommandResponse stepResponse = client.readResponse();
+                assertEquals(CommandProtocol.STEP, stepResponse.getOpcode());
+                stepNumber = stepResponse.getValue();
+            }
+            assertEquals(0, client.getPendingResponses());
+        }
+        server.close();
+
+        // then
+        assertEquals(windows * callsPerWindow, okCalls);
+        assertEquals(windows, stepNumber);
+        assertEquals(windows * (callsPerWindow + 1), server.getExecutedCommands());
+        assertTrue(server.getWrites() * 100 < server.getExecutedCommands(),
+                "%d writes for %d commands".formatted(server.getWrites(), server.getExecutedCommands()));
+        assertFalse(tempDir.resolve("commands.sock").toFile().exists());
+    }
+
+    @Test
+    void executeSelectUpdateAndStep(@TempDir Path tempDir) throws Exception {
+        // given
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(tempDir.resolve("commands.sock"));
+        Elevator first = this.elevators.get(0);
+        Elevator second = this.elevators.get(1);
+
+        // when
+        List<CommandResponse> responses = new ArrayList<>();
+        try (CommandServer server = new CommandServer(this.elevatorSystem, this.elevatorService, address);
+             CommandClient client = new CommandClient(address)) {
+            server.start();
+            client.select(first.getId(), 5);
+            client.update(second.getId(), 10, new int[]{12, 15});
+            client.update(second.getId(), null, null);
+            client.step(3);
+            for (int i = 0; i < 4; i++) {
+                responses.add(client.readResponse());
+            }
+            server.stop();
+        }
+
+        // then
+        assertTrue(responses.get(0).isOk());
+        assertEquals(first.getId(), responses.get(0).getValue());
+        assertTrue(responses.get(1).isOk());
+        assertEquals(CommandProtocol.REJECTED, responses.get(2).getStatus());
+        assertEquals(3, responses.get(3).getValue());
+        assertEquals(3, first.getCurrentFloor());
+        assertEquals(13, second.getCurrentFloor());
+        assertTrue(second.getTargetFloors().contains(15));
+    }
+
+    @Test
+    void rejectInvalidCommandsWithoutClosingConnection(@TempDir Path tempDir) throws Exception {
+        // given
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(tempDir.resolve("commands.sock"));
+
+        // when
+        List<CommandResponse> responses = new ArrayList<>();
+        try (CommandServer server = new CommandServer(this.elevatorSystem, this.elevatorService, address);
+             CommandClient client = new CommandClient(address)) {
+            server.start();
+            client.call(3, Direction.IDLE);
+            client.select(Integer.MAX_VALUE, 3);
+            client.step(0);
+            client.step(CommandProtocol.MAX_STEPS + 1);
+            client.call(3, Direction.UP, 8);
+            for (int i = 0; i < 5; i++) {
+                responses.add(client.readResponse());
+            }
+            server.stop();
+        }
+
+        // then
+        assertEquals(CommandProtocol.INVALID, responses.get(0).getStatus());
+        assertEquals(CommandProtocol.REJECTED, responses.get(1).getStatus());
+        assertEquals(CommandProtocol.INVALID, responses.get(2).getStatus());
+        assertEquals(CommandProtocol.INVALID, responses.get(3).getStatus());
+        assertEquals(0, this.elevatorSystem.getStepNumber());
+        assertTrue(responses.get(4).isOk());
+        assertEquals(CommandProtocol.CALL, responses.get(4).getOpcode());
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticsTest {
+    private final Logger logger = Logger.getLogger(Diagnostics.class.getName());
+    private final List<LogRecord> logRecords = new ArrayList<>();
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            logRecords.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        logger.addHandler(handler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.removeHandler(handler);
+    }
+
+    @Test
+    void reportCountsEveryOccurrencePerReason() {
+        // given
+        Diagnostics diagnostics = new Diagnostics();
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            diagnostics.report(DiagnosticReason.FLOOR_OUT_OF_RANGE, 100 + i, -2, 10);
+        }
+        diagnostics.report(DiagnosticReason.ELEVATOR_NOT_FOUND, 7);
+
+        // then
+        assertEquals(5, diagnostics.getCount(DiagnosticReason.FLOOR_OUT_OF_RANGE));
+        assertEquals(1, diagnostics.getCount(DiagnosticReason.ELEVATOR_NOT_FOUND));
+        assertEquals(0, diagnostics.getCount(DiagnosticReason.IDLE_DIRECTION_SELECTED));
+        assertEquals(5, diagnostics.getCounts().get(DiagnosticReason.FLOOR_OUT_OF_RANGE));
+    }
+
+    @Test
+    void reportLogsOncePerIntervalForEachReason() {
+        // given
+        Diagnostics diagnostics = new Diagnostics(60_000, 1);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            diagnostics.report(DiagnosticReason.FLOOR_OUT_OF_RANGE, i, -2, 10);
+            diagnostics.report(DiagnosticReason.IDLE_DIRECTION_SELECTED);
+        }
+
+        // then
+        assertEquals(2, logRecords.size());
+        assertTrue(logRecords.get(0).getMessage().startsWith("Given floor is out of scope (given floor = 0,"));
+    }
+
+    @Test
+    void reportLogsOnlySampledOccurrences() {
+        // given
+        Diagnostics diagnostics = new Diagnostics(0, 10);
+
+        // when
+        for (int i = 0; i < 25; i++) {
+            diagnostics.report(DiagnosticReason.ELEVATOR_NOT_FOUND, i);
+        }
+
+        // then
+        assertEquals(3, logRecords.size());
+        assertTrue(logRecords.get(1).getMessage().contains("suppressed since last log = 9"));
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.differential;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.DispatchMode;
+import org.example.model.Elevator;
+import org.example.repository.IndexedElevatorRepository;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystemImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifferentialHarnessTest {
+    private final static int MIN_FLOOR = 0;
+    private final static int MAX_FLOOR = 10;
+
+    @Test
+    void activeSteppingMatchesSteppingAllElevators() {
+        for (DispatchMode dispatchMode : DispatchMode.values()) {
+            // given
+            DifferentialHarness harness = new DifferentialHarness(createElevators(), MIN_FLOOR, MAX_FLOOR,
+                    DifferentialHarness.referenceFactory(MIN_FLOOR, MAX_FLOOR, dispatchMode, 4),
+                    DifferentialHarness.steppingAllElevatorsFactory(MIN_FLOOR, MAX_FLOOR, dispatchMode, 4));
+
+            for (long seed = 0; seed < 20; seed++) {
+                // when
+                Divergence divergence = harness.check(seed, 300);
+
+                // then
+                assertNull(divergence, () -> divergence.getReproducerText());
+            }
+        }
+    }
+
+    @Test
+    void divergingCandidateIsShrunkToMinimalReproducer() {
+        // given
+        DifferentialHarness harness = new DifferentialHarness(createElevators(), MIN_FLOOR, MAX_FLOOR,
+                DifferentialHarness.referenceFactory(MIN_FLOOR, MAX_FLOOR, DispatchMode.DIRECTION, 4),
+                DifferentialHarnessTest::createCandidateIgnoringSeventhFloor);
+        List<Operation> operations = harness.generate(3L, 300);
+        Divergence unshrunk = harness.run(operations);
+
+        // when
+        Divergence divergence = harness.check(3L, 300);
+
+        // then
+        assertNotNull(unshrunk);
+        assertNotNull(divergence);
+        assertTrue(divergence.getOperations().size() <= 4, divergence.getReproducerText());
+        assertTrue(divergence.getOperations().size() < unshrunk.getOperations().size());
+        assertTrue(divergence.getOperations().stream().anyMatch(operation -> operation.toString().endsWith(", 7)")),
+                divergence.getReproducerText());
+        assertNotNull(harness.run(divergence.getOperations()));
+    }
+
+    /**
+     * The candidate takes users who want to go to floor 7 to floor 8.
+     */
+    private static SystemUnderTest createCandidateIgnoringSeventhFloor(List<Elevator> elevators) {
+        ElevatorService elevatorService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators),
+                new ElevatorsConfig(elevators.size(), MIN_FLOOR, MAX_FLOOR));
+        ElevatorSystemImpl elevatorSystem = new ElevatorSystemImpl(elevatorService) {
+            @Override
+            public Elevator pickup(int pickupFloor, Direction direction, int targetFloor) {
+                return super.pickup(pickupFloor, direction, targetFloor == 7 ? 8 : targetFloor);
+            }
+        };
+        return new SystemUnderTest(elevatorSystem, elevatorService::getElevators);
+    }
+
+    private static List<Elevator> createElevators() {
+        return List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(5), ElevatorFactory.createElevator(10));
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.event;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.repository.ElevatorRepository;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ElevatorStatePublisherTest {
+    private List<Elevator> elevators;
+    private ElevatorSystem elevatorSystem;
+    private ElevatorStatePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        ElevatorRepository elevatorRepositoryMock = Mockito.mock(ElevatorRepository.class, Mockito.CALLS_REAL_METHODS);
+        ElevatorsConfig elevatorsConfig = new ElevatorsConfig(2, 0, 200);
+        elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(5));
+        when(elevatorRepositoryMock.getElevators()).thenReturn(elevators);
+
+        elevatorSystem = new ElevatorSystemImpl(new ElevatorServiceImpl(elevatorRepositoryMock, elevatorsConfig));
+        publisher = new ElevatorStatePublisher(Runnable::run);
+        elevatorSystem.addListener(publisher);
+    }
+
+    @Test
+    void subscriberReceivesChangesFromPickupAndStep() {
+        // given
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        // when
+        Elevator calledElevator = elevatorSystem.pickup(3, Direction.UP);
+        elevatorSystem.step();
+
+        // then
+        assertEquals(2, subscriber.events.size());
+        assertEquals(calledElevator.getId(), subscriber.events.get(0).getElevatorId());
+        assertTrue(subscriber.events.get(0).getTargetFloors().contains(3));
+        assertEquals(1, subscriber.events.get(1).getStepNumber());
+        assertEquals(calledElevator.getCurrentFloor(), subscriber.events.get(1).getCurrentFloor());
+    }
+
+    @Test
+    void slowSubscriberReceivesOnlyLatestStatePerElevator() {
+        // given
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        elevatorSystem.updateElevator(elevators.get(0).getId(), null, new int[]{150});
+        elevatorSystem.updateElevator(elevators.get(1).getId(), null, new int[]{150});
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            elevatorSystem.step();
+        }
+        subscriber.subscription.request(10);
+
+        // then
+        assertEquals(2, subscriber.events.size());
+        assertEquals(100, subscriber.events.get(0).getStepNumber());
+        assertEquals(100, subscriber.events.get(0).getCurrentFloor());
+        assertEquals(105, subscriber.events.get(1).getCurrentFloor());
+    }
+
+    @Test
+    void closeCompletesSubscribers() {
+        // given
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publisher.subscribe(subscriber);
+
+        // when
+        publisher.close();
+
+        // then
+        assertTrue(subscriber.isCompleted);
+        assertEquals(0, publisher.getNumberOfSubscribers());
+    }
+
+    @Test
+    void cancelledSubscriberReceivesNothing() {
+        // given
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        // when
+        subscriber.subscription.cancel();
+        elevatorSystem.pickup(3, Direction.UP);
+
+        // then
+        assertTrue(subscriber.events.isEmpty());
+        assertEquals(0, publisher.getNumberOfSubscribers());
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<ElevatorStateEvent> {
+        private final long initialRequest;
+        private final List<ElevatorStateEvent> events = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean isCompleted;
+
+        private RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(ElevatorStateEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            isCompleted = true;
+        }
+    }
+}
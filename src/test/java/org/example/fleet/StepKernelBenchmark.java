@@ -0,0 +1,76 @@
+package org.example.fleet;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.factory.StepKernelFactory;
+import org.example.model.Elevator;
+import org.example.repository.ElevatorRepository;
+import org.example.repository.ElevatorRepositoryDefaultElevators;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The `StepKernelBenchmark` compares moving elevators with `ElevatorServiceImpl.elevatorStep` and with step kernels.
+ * Run after `mvn test-compile`:
+ * `java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes org.example.fleet.StepKernelBenchmark [numberOfElevators]`
+ */
+public class StepKernelBenchmark {
+    private static final int MAX_FLOOR = 1_000_000;
+    private static final int STEPS = 200;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        final int numberOfElevators = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        ElevatorsConfig elevatorsConfig = new ElevatorsConfig(numberOfElevators, 0, MAX_FLOOR);
+
+        List<Elevator> elevators = createElevators(numberOfElevators);
+        ElevatorRepository elevatorRepository = new ElevatorRepositoryDefaultElevators(elevatorsConfig);
+        ElevatorService elevatorService = new ElevatorServiceImpl(elevatorRepository, elevatorsConfig);
+        FleetState fleetState = FleetState.fromElevators(createElevators(numberOfElevators));
+        StepKernel scalarKernel = StepKernelFactory.createScalarStepKernel();
+        StepKernel kernel = StepKernelFactory.createStepKernel();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int step = 0; step < STEPS; step++) {
+                for (Elevator elevator : elevators) {
+                    elevatorService.elevatorStep(elevator);
+                }
+            }
+            long elevatorStepNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int step = 0; step < STEPS; step++) {
+                scalarKernel.step(fleetState);
+            }
+            long scalarNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int step = 0; step < STEPS; step++) {
+                kernel.step(fleetState);
+            }
+            long kernelNanos = System.nanoTime() - start;
+
+            System.out.printf("round %d, %d elevators: elevatorStep = %.2f ns/elevator, scalar kernel = %.2f ns/elevator, %s = %.2f ns/elevator%n",
+                    round, numberOfElevators,
+                    perElevator(elevatorStepNanos, numberOfElevators),
+                    perElevator(scalarNanos, numberOfElevators),
+                    kernel.getClass().getSimpleName(), perElevator(kernelNanos, numberOfElevators));
+        }
+    }
+
+    private static List<Elevator> createElevators(int numberOfElevators) {
+        List<Elevator> elevators = new ArrayList<>(numberOfElevators);
+        for (int i = 0; i < numberOfElevators; i++) {
+            elevators.add(ElevatorFactory.createElevator(i % 100, MAX_FLOOR));
+        }
+        return elevators;
+    }
+
+    private static double perElevator(long nanos, int numberOfElevators) {
+        return (double) nanos / STEPS / numberOfElevators;
+    }
+}
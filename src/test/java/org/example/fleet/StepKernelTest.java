@@ -0,0 +1,67 @@
+package org.example.fleet;
+
+import org.example.factory.ElevatorFactory;
+import org.example.factory.StepKernelFactory;
+import org.example.model.Elevator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepKernelTest {
+
+    @Test
+    void stepWhenElevatorsAreMovingIdleAndAtStop() {
+        // given
+        List<Elevator> elevators = List.of(
+                ElevatorFactory.createElevator(0, 3),
+                ElevatorFactory.createElevator(5, 4),
+                ElevatorFactory.createElevator(2),
+                ElevatorFactory.createElevator(7, 7)
+        );
+        FleetState fleetState = FleetState.fromElevators(elevators);
+
+        // when
+        int result = StepKernelFactory.createScalarStepKernel().step(fleetState);
+
+        // then
+        assertEquals(1, result);
+        assertArrayEquals(new int[]{1, 4, 2, 7}, fleetState.getFloors());
+        assertArrayEquals(new boolean[]{false, true, false, false}, fleetState.getArrivals());
+    }
+
+    @Test
+    void stepGivesSameResultsAsScalarKernel() {
+        // given
+        List<Elevator> elevators = createRandomElevators(1003);
+        FleetState expectedFleetState = FleetState.fromElevators(elevators);
+        FleetState fleetState = FleetState.fromElevators(elevators);
+        StepKernel scalarKernel = StepKernelFactory.createScalarStepKernel();
+        StepKernel kernel = StepKernelFactory.createStepKernel();
+
+        for (int i = 0; i < 20; i++) {
+            // when
+            int expectedArrivals = scalarKernel.step(expectedFleetState);
+            int arrivals = kernel.step(fleetState);
+
+            // then
+            assertEquals(expectedArrivals, arrivals);
+            assertArrayEquals(expectedFleetState.getFloors(), fleetState.getFloors());
+            assertArrayEquals(expectedFleetState.getArrivals(), fleetState.getArrivals());
+        }
+    }
+
+    private List<Elevator> createRandomElevators(int numberOfElevators) {
+        Random random = new Random(42);
+        List<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < numberOfElevators; i++) {
+            elevators.add(random.nextInt(4) == 0
+                    ? ElevatorFactory.createElevator(random.nextInt(20))
+                    : ElevatorFactory.createElevator(random.nextInt(20), random.nextInt(20)));
+        }
+        return elevators;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.intake;
+
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.system.ElevatorSystem;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class HallCallIntakeTest {
+
+    @Test
+    void drainDispatchesAtMostConfiguredNumberOfCallsInSubmitOrder() {
+        // given
+        ElevatorSystem elevatorSystemMock = Mockito.mock(ElevatorSystem.class);
+        HallCallIntake hallCallIntake = new HallCallIntake(2);
+        List<CompletableFuture<Elevator>> assignments = new ArrayList<>();
+        for (int floor = 1; floor <= 5; floor++) {
+            assignments.add(hallCallIntake.submit(floor, Direction.UP));
+        }
+
+        // when
+        int firstDrain = hallCallIntake.drainTo(elevatorSystemMock);
+        int secondDrain = hallCallIntake.drainTo(elevatorSystemMock);
+
+        // then
+        assertEquals(2, firstDrain);
+        assertEquals(2, secondDrain);
+        assertTrue(hallCallIntake.hasPendingCalls());
+        assertTrue(assignments.get(3).isDone());
+        assertFalse(assignments.get(4).isDone());
+        verify(elevatorSystemMock, times(1)).pickup(4, Direction.UP);
+        verify(elevatorSystemMock, times(0)).pickup(5, Direction.UP);
+
+        assertEquals(1, hallCallIntake.drainTo(elevatorSystemMock));
+        assertFalse(hallCallIntake.hasPendingCalls());
+    }
+
+    @Test
+    void rejectNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new HallCallIntake(0));
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.intake;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscLinkedQueueTest {
+
+    @Test
+    void pollReturnsElementsInOfferOrder() {
+        // given
+        MpscLinkedQueue<Integer> queue = new MpscLinkedQueue<>();
+
+        // when
+        queue.offer(1);
+        queue.offer(2);
+
+        // then
+        assertFalse(queue.isEmpty());
+        assertEquals(1, queue.poll());
+        assertEquals(2, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void consumerReceivesAllElementsFromManyProducersInProducerOrder() throws InterruptedException {
+        // given
+        final int producers = 4;
+        final int elementsPerProducer = 50_000;
+        MpscLinkedQueue<long[]> queue = new MpscLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            final int producerId = producer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    queue.offer(new long[]{producerId, i});
+                }
+            }));
+        }
+
+        // when
+        threads.forEach(Thread::start);
+        int[] nextExpected = new int[producers];
+        int received = 0;
+        while (received < producers * elementsPerProducer) {
+            long[] element = queue.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            // then
+            assertEquals(nextExpected[(int) element[0]]++, element[1]);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(queue.poll());
+    }
+}
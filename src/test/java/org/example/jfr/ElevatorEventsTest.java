@@ -0,0 +1,74 @@
+package org.example.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.model.DispatchMode;
+import org.example.simulation.TrafficPattern;
+import org.example.simulation.Workload;
+import org.example.simulation.WorkloadRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElevatorEventsTest {
+
+    @Test
+    void recordAllEventsWithProfileSettings(@TempDir Path tempDir) throws Exception {
+        // given
+        Workload workload = new Workload("jfr", 4, 0, 20, TrafficPattern.MIXED, 0.5, 200, 7L);
+
+        // when
+        List<RecordedEvent> events = recordEvents(workload, tempDir.resolve("elevators.jfr"));
+
+        // then
+        assertTrue(countEvents(events, "org.example.Step") >= workload.getSteps());
+        assertTrue(countEvents(events, "org.example.Dispatch") > 0);
+        assertTrue(countEvents(events, "org.example.Boarding") > 0);
+        assertTrue(events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.example.Dispatch"))
+                .allMatch(event -> event.getInt("candidates") >= 1 && event.getInt("candidates") <= 4
+                        && event.getInt("elevatorId") >= 0));
+    }
+
+    @Test
+    void recordDispatchEventsInDestinationMode(@TempDir Path tempDir) throws Exception {
+        // given
+        Workload workload = new Workload("jfr-destination", 4, 0, 20, TrafficPattern.UP_PEAK, 0.5, 200, 7L,
+                DispatchMode.DESTINATION, 8);
+
+        // when
+        List<RecordedEvent> events = recordEvents(workload, tempDir.resolve("elevators.jfr"));
+
+        // then
+        assertTrue(countEvents(events, "org.example.Dispatch") > 0);
+        assertTrue(events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.example.Dispatch"))
+                .allMatch(event -> event.getInt("candidates") <= 4
+                        && (event.getInt("elevatorId") >= 0) == (event.getInt("candidates") > 0)));
+    }
+
+    private List<RecordedEvent> recordEvents(Workload workload, Path recordingFile) throws Exception {
+        try (Reader settings = new InputStreamReader(getClass().getResourceAsStream("/jfr/elevators-profile.jfc"));
+             Recording recording = new Recording(Configuration.create(settings))) {
+            recording.start();
+            new WorkloadRunner().run(workload);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        return RecordingFile.readAllEvents(recordingFile);
+    }
+
+    private long countEvents(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .count();
+    }
+}
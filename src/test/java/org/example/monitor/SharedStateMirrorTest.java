@@ -0,0 +1,86 @@
+package org.example.monitor;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedStateMirrorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readReturnsWrittenState() throws Exception {
+        // given
+        ElevatorsConfig elevatorsConfig = new ElevatorsConfig(2, -2, 100);
+        Elevator elevatorMovingUp = ElevatorFactory.createElevator(-1, 70, -2);
+        elevatorMovingUp.addTargetFloor(3);
+        Elevator idleElevator = ElevatorFactory.createElevator(5);
+        Path file = tempDir.resolve("elevators.state");
+
+        try (SharedStateMirror mirror = new SharedStateMirror(file, elevatorsConfig);
+             SharedStateReader reader = new SharedStateReader(file)) {
+            // when
+            mirror.write(42, List.of(elevatorMovingUp, idleElevator));
+            SharedStateSnapshot result = reader.read();
+
+            // then
+            assertEquals(42, result.getStepNumber());
+            assertEquals(2, result.getElevators().size());
+            MirroredElevator mirroredElevator = result.getElevators().get(0);
+            assertEquals(elevatorMovingUp.getId(), mirroredElevator.getId());
+            assertEquals(-1, mirroredElevator.getCurrentFloor());
+            assertEquals(Direction.UP, mirroredElevator.getCurrentDirection());
+            assertEquals(Set.of(3, 70), mirroredElevator.getTargetFloors());
+            assertEquals(Set.of(-2), mirroredElevator.getTargetFloorsOtherDirection());
+            assertEquals(Direction.IDLE, result.getElevators().get(1).getCurrentDirection());
+            assertTrue(result.getElevators().get(1).getTargetFloors().isEmpty());
+        }
+    }
+
+    @Test
+    void readNeverReturnsPartiallyWrittenState() throws Exception {
+        // given
+        ElevatorsConfig elevatorsConfig = new ElevatorsConfig(50, 0, 100);
+        List<Elevator> elevators = IntStream.range(0, 50)
+                .mapToObj(i -> ElevatorFactory.createElevator(0))
+                .toList();
+        Path file = tempDir.resolve("elevators.state");
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+
+        try (SharedStateMirror mirror = new SharedStateMirror(file, elevatorsConfig);
+             SharedStateReader reader = new SharedStateReader(file)) {
+            Thread writer = new Thread(() -> {
+                for (int step = 1; step <= 100_000; step++) {
+                    for (Elevator elevator : elevators) {
+                        elevator.setCurrentFloor(step);
+                    }
+                    mirror.write(step, elevators);
+                }
+                isWriting.set(false);
+            });
+            writer.start();
+
+            // when
+            while (isWriting.get()) {
+                SharedStateSnapshot result = reader.read();
+
+                // then
+                for (MirroredElevator elevator : result.getElevators()) {
+                    assertEquals(result.getStepNumber(), elevator.getCurrentFloor());
+                }
+            }
+            writer.join();
+        }
+    }
+}
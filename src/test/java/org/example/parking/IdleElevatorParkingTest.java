@@ -0,0 +1,132 @@
+package org.example.parking;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleElevatorParkingTest {
+
+    @Test
+    void predictDemandFromRecentWindowsOnly() {
+        // given
+        DemandModel demandModel = new DemandModel(-2, 10, 10, 3);
+
+        // when
+        demandModel.recordCall(0, 5);
+        demandModel.recordCall(25, 0);
+        demandModel.recordCall(26, 0);
+        demandModel.recordCall(27, 8);
+
+        // then
+        assertEquals(1, demandModel.getPredictedDemand(29, 5));
+        assertEquals(6, demandModel.getPredictedDemand(29, 0));
+        assertArrayEquals(new int[]{0, 8, 5}, demandModel.getHotFloors(29, 5));
+        assertEquals(0, demandModel.getPredictedDemand(30, 5));
+        assertArrayEquals(new int[]{0}, demandModel.getHotFloors(45, 1));
+        assertEquals(0, demandModel.getHotFloors(60, 5).length);
+    }
+
+    @Test
+    void sendIdleElevatorsToHotFloorsWithinBudget() {
+        // given
+        List<Elevator> elevators = List.of(
+                ElevatorFactory.createElevator(10), ElevatorFactory.createElevator(9), ElevatorFactory.createElevator(7));
+        ElevatorSystem elevatorSystem = createSystem(elevators);
+        IdleElevatorParking parking = new IdleElevatorParking(elevatorSystem, new DemandModel(0, 10, 100, 2), 1, 5);
+        parking.onPickup(0, 0, Direction.UP, null);
+        parking.onPickup(0, 0, Direction.UP, null);
+        parking.onPickup(0, 4, Direction.UP, null);
+
+        // when
+        int sentFirst = parking.rebalance(1, elevators);
+        int sentSecond = parking.rebalance(2, elevators);
+        int sentThird = parking.rebalance(3, elevators);
+
+        // then
+        assertEquals(1, sentFirst);
+        assertEquals(1, sentSecond);
+        assertEquals(0, sentThird);
+        assertTrue(elevators.get(2).getTargetFloors().contains(0));
+        assertTrue(elevators.get(1).getTargetFloors().contains(4));
+        assertTrue(elevators.get(0).getTargetFloors().isEmpty());
+    }
+
+    @Test
+    void idleElevatorReturnsToLobbyAfterUpPeakCall() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = createSystem(elevators);
+        elevatorSystem.addListener(new IdleElevatorParking(elevatorSystem, new DemandModel(0, 10, 100, 2), 1, 5));
+
+        // when
+        elevatorSystem.pickup(0, Direction.UP, 10);
+        elevatorSystem.advance(40);
+
+        // then
+        assertEquals(0, elevators.get(0).getCurrentFloor());
+        assertTrue(elevators.get(0).getTargetFloors().isEmpty());
+    }
+
+    @Test
+    void advanceOfIdleFleetStopsAtRebalanceSteps() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(10));
+        ElevatorSystem elevatorSystem = createSystem(elevators);
+        IdleElevatorParking parking = new IdleElevatorParking(elevatorSystem, new DemandModel(0, 10, 100, 2), 1, 5);
+        elevatorSystem.addListener(parking);
+        parking.onPickup(0, 0, Direction.UP, null);
+
+        // when
+        elevatorSystem.advance(12);
+
+        // then
+        assertEquals(12, elevatorSystem.getStepNumber());
+        assertEquals(3, elevators.get(0).getCurrentFloor());
+        assertEquals(1, elevatorSystem.getPendingTimers());
+    }
+
+    @Test
+    void floorTargetedInOtherDirectionIsCovered() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(10), ElevatorFactory.createElevator(2));
+        elevators.get(1).addTargetFloor(6);
+        elevators.get(1).addTargetFloorInOtherDirection(0);
+        IdleElevatorParking parking = new IdleElevatorParking(createSystem(elevators), new DemandModel(0, 10, 100, 2), 1, 5);
+        parking.onPickup(0, 0, Direction.UP, null);
+
+        // when
+        int sent = parking.rebalance(1, elevators);
+
+        // then
+        assertEquals(0, sent);
+        assertTrue(elevators.get(0).getTargetFloors().isEmpty());
+    }
+
+    private ElevatorSystem createSystem(List<Elevator> elevators) {
+        ElevatorsConfig elevatorsConfig = new ElevatorsConfig(elevators.size(), 0, 10);
+        return new ElevatorSystemImpl(new ElevatorServiceImpl(() -> elevators, elevatorsConfig));
+    }
+
+    @Test
+    void parkingDisabledWithZeroBudget() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(10));
+        IdleElevatorParking parking = new IdleElevatorParking(null, new DemandModel(0, 10, 100, 2), 0, 5);
+        parking.onPickup(0, 0, Direction.UP, elevators.get(0));
+
+        // when
+        int sent = parking.rebalance(1, elevators);
+
+        // then
+        assertEquals(0, sent);
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.repository;
+
+import org.example.config.ElevatorsConfig;
+import org.example.diagnostics.DiagnosticReason;
+import org.example.factory.ElevatorFactory;
+import org.example.fleet.FleetState;
+import org.example.model.Elevator;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedElevatorRepositoryTest {
+    private IndexedElevatorRepository indexedElevatorRepository;
+    private ElevatorService elevatorService;
+    private Elevator elevatorMovingUp;
+    private Elevator idleElevator;
+
+    @BeforeEach
+    void setUp() {
+        elevatorMovingUp = ElevatorFactory.createElevator(0, 3);
+        idleElevator = ElevatorFactory.createElevator(0, 0);
+        List<Elevator> elevators = new ArrayList<>(List.of(elevatorMovingUp, idleElevator));
+
+        indexedElevatorRepository = new IndexedElevatorRepository(() -> elevators);
+        elevatorService = new ElevatorServiceImpl(indexedElevatorRepository, new ElevatorsConfig(16, -5, 20));
+    }
+
+    @Test
+    void findElevatorById() {
+        // given
+        int elevatorId = idleElevator.getId();
+
+        // when
+        Elevator foundElevator = indexedElevatorRepository.getElevator(elevatorId).orElse(null);
+
+        // then
+        assertSame(idleElevator, foundElevator);
+        assertTrue(indexedElevatorRepository.getElevator(Integer.MIN_VALUE).isEmpty());
+    }
+
+    @Test
+    void floorIndexFollowsElevatorMovedByService() {
+        // given
+        int startFloor = elevatorMovingUp.getCurrentFloor();
+
+        // when
+        elevatorService.elevatorStep(elevatorMovingUp);
+        elevatorService.moveElevatorBySteps(elevatorMovingUp, 1);
+        elevatorService.setElevatorCurrentFloor(idleElevator, 7);
+
+        // then
+        assertEquals(List.of(elevatorMovingUp), List.copyOf(indexedElevatorRepository.getElevatorsOnFloor(startFloor + 2)));
+        assertEquals(List.of(idleElevator), List.copyOf(indexedElevatorRepository.getElevatorsOnFloor(7)));
+        assertTrue(indexedElevatorRepository.getElevatorsOnFloor(startFloor).isEmpty());
+        assertSame(idleElevator, elevatorService.getElevatorFromFloor(7));
+    }
+
+    @Test
+    void floorIndexKeepsArrivalOrderAndFollowsFarMoves() {
+        // given
+        Elevator firstAdded = ElevatorFactory.createElevator(4, 4);
+        Elevator secondAdded = ElevatorFactory.createElevator(4, 4);
+        indexedElevatorRepository.addElevator(firstAdded);
+        indexedElevatorRepository.addElevator(secondAdded);
+
+        // when
+        elevatorService.setElevatorCurrentFloor(idleElevator, 4);
+        elevatorService.setElevatorCurrentFloor(firstAdded, -5);
+        elevatorService.setElevatorCurrentFloor(firstAdded, 4);
+        indexedElevatorRepository.removeElevator(secondAdded.getId());
+        elevatorService.setElevatorCurrentFloor(elevatorMovingUp, 20);
+
+        // then
+        assertEquals(List.of(idleElevator, firstAdded), List.copyOf(indexedElevatorRepository.getElevatorsOnFloor(4)));
+        assertEquals(List.of(elevatorMovingUp), List.copyOf(indexedElevatorRepository.getElevatorsOnFloor(20)));
+        assertTrue(indexedElevatorRepository.getElevatorsOnFloor(-5).isEmpty());
+        assertTrue(indexedElevatorRepository.getElevatorsOnFloor(1_000).isEmpty());
+    }
+
+    @Test
+    void addAndRemoveElevatorAtRuntime() {
+        // given
+        Elevator addedElevator = ElevatorFactory.createElevator(5, 5);
+
+        // when
+        boolean added = elevatorService.addElevator(addedElevator);
+        boolean addedTwice = elevatorService.addElevator(addedElevator);
+        boolean removed = elevatorService.removeElevator(elevatorMovingUp.getId());
+        boolean removedTwice = elevatorService.removeElevator(elevatorMovingUp.getId());
+
+        // then
+        assertTrue(added);
+        assertFalse(addedTwice);
+        assertTrue(removed);
+        assertFalse(removedTwice);
+        assertEquals(List.of(idleElevator, addedElevator), elevatorService.getElevators());
+        assertSame(addedElevator, elevatorService.getElevatorFromFloor(5));
+        assertTrue(elevatorService.getElevator(elevatorMovingUp.getId()).isEmpty());
+    }
+
+    @Test
+    void rejectElevatorOutsideFloorRange() {
+        // given
+        Elevator elevatorOutOfRange = ElevatorFactory.createElevator(30, 30);
+
+        // when
+        boolean added = elevatorService.addElevator(elevatorOutOfRange);
+
+        // then
+        assertFalse(added);
+        assertEquals(2, elevatorService.getElevators().size());
+    }
+
+    @Test
+    void repositoryWithoutRuntimeChangesRejectsAddAndRemove() {
+        // given
+        List<Elevator> elevators = new ArrayList<>(List.of(idleElevator));
+        ElevatorService serviceWithListRepository = new ElevatorServiceImpl(() -> elevators, new ElevatorsConfig(16, -5, 20));
+
+        // when
+        boolean added = serviceWithListRepository.addElevator(ElevatorFactory.createElevator(5, 5));
+        boolean removed = serviceWithListRepository.removeElevator(idleElevator.getId());
+
+        // then
+        assertFalse(added);
+        assertFalse(removed);
+        assertEquals(List.of(idleElevator), serviceWithListRepository.getElevators());
+        assertEquals(1, serviceWithListRepository.getDiagnostics().getCount(DiagnosticReason.ELEVATOR_NOT_ADDED));
+        assertEquals(1, serviceWithListRepository.getDiagnostics().getCount(DiagnosticReason.ELEVATOR_NOT_FOUND));
+    }
+
+    @Test
+    void floorIndexFollowsFloorsStoredFromFleetState() {
+        // given
+        List<Elevator> elevators = elevatorService.getElevators();
+        FleetState fleetState = FleetState.fromElevators(elevators);
+        fleetState.getFloors()[1] = 6;
+
+        // when
+        fleetState.storeFloors(elevators, indexedElevatorRepository);
+
+        // then
+        assertEquals(6, idleElevator.getCurrentFloor());
+        assertEquals(List.of(idleElevator), List.copyOf(indexedElevatorRepository.getElevatorsOnFloor(6)));
+        assertEquals(List.of(elevatorMovingUp), List.copyOf(indexedElevatorRepository.getElevatorsOnFloor(0)));
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.scheduler;
+
+import org.example.system.ElevatorSystem;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+class TickSchedulerTest {
+    private final static int STEPS = 50;
+
+    @Test
+    void schedulerDoesStepsAtGivenRate() throws InterruptedException {
+        // given
+        ElevatorSystem elevatorSystemMock = Mockito.mock(ElevatorSystem.class);
+        SimulatedTicker ticker = new SimulatedTicker();
+
+        // when
+        try (TickScheduler tickScheduler = new TickScheduler(elevatorSystemMock, 100, 10, ticker)) {
+            CountDownLatch stopped = stopAfterSteps(elevatorSystemMock, tickScheduler, ticker, 0);
+            long startNanos = ticker.nanoTime();
+            runUntilStopped(tickScheduler, stopped);
+
+            // then
+            TickStatistics statistics = tickScheduler.getStatistics();
+            long elapsedNanos = ticker.nanoTime() - startNanos;
+            assertFalse(tickScheduler.isRunning());
+            assertEquals(STEPS, statistics.getExecutedTicks());
+            assertTrue(elapsedNanos >= STEPS * tickScheduler.getPeriodNanos()
+                    && elapsedNanos < (STEPS + 1) * tickScheduler.getPeriodNanos(), "Unexpected elapsed time " + elapsedNanos);
+            assertEquals(0, statistics.getCatchUpTicks());
+            assertEquals(0, statistics.getOverruns());
+            assertEquals(0, statistics.getMissedTicks());
+        }
+    }
+
+    @Test
+    void schedulerCountsOverrunsAndMissedTicksWhenStepIsTooSlow() throws InterruptedException {
+        // given
+        ElevatorSystem elevatorSystemMock = Mockito.mock(ElevatorSystem.class);
+        SimulatedTicker ticker = new SimulatedTicker();
+
+        // when
+        try (TickScheduler tickScheduler = new TickScheduler(elevatorSystemMock, 100, 2, ticker)) {
+            CountDownLatch stopped = stopAfterSteps(elevatorSystemMock, tickScheduler, ticker, TimeUnit.MILLISECONDS.toNanos(25));
+            runUntilStopped(tickScheduler, stopped);
+
+            // then
+            TickStatistics statistics = tickScheduler.getStatistics();
+            assertEquals(STEPS, statistics.getExecutedTicks());
+            assertEquals(STEPS, statistics.getOverruns());
+            assertTrue(statistics.getCatchUpTicks() > 0);
+            assertTrue(statistics.getMissedTicks() > 0);
+            assertTrue(statistics.getMaxJitterNanos() >= tickScheduler.getPeriodNanos());
+        }
+    }
+
+    @Test
+    void schedulerCanBeStartedAgainAfterStop() throws InterruptedException {
+        // given
+        ElevatorSystem elevatorSystemMock = Mockito.mock(ElevatorSystem.class);
+        SimulatedTicker ticker = new SimulatedTicker();
+
+        // when
+        try (TickScheduler tickScheduler = new TickScheduler(elevatorSystemMock, 100, 10, ticker)) {
+            tickScheduler.start();
+            tickScheduler.stop();
+            long executedTicksAfterStop = tickScheduler.getStatistics().getExecutedTicks();
+            CountDownLatch stopped = stopAfterSteps(elevatorSystemMock, tickScheduler, ticker, 0);
+            runUntilStopped(tickScheduler, stopped);
+
+            // then
+            assertFalse(tickScheduler.isRunning());
+            assertEquals(executedTicksAfterStop + STEPS, tickScheduler.getStatistics().getExecutedTicks());
+        }
+    }
+
+    /**
+     * Each step takes `stepDurationNanos` of simulated time, the step number `STEPS` stops the scheduler.
+     */
+    private CountDownLatch stopAfterSteps(ElevatorSystem elevatorSystemMock, TickScheduler tickScheduler,
+                                          SimulatedTicker ticker, long stepDurationNanos) {
+        AtomicInteger steps = new AtomicInteger();
+        CountDownLatch stopped = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ticker.advance(stepDurationNanos);
+            if (steps.incrementAndGet() == STEPS) {
+                tickScheduler.stop();
+                stopped.countDown();
+            }
+            return null;
+        }).when(elevatorSystemMock).step();
+        return stopped;
+    }
+
+    private void runUntilStopped(TickScheduler tickScheduler, CountDownLatch stopped) throws InterruptedException {
+        tickScheduler.start();
+        assertTrue(stopped.await(10, TimeUnit.SECONDS), "Scheduler has not done %d steps".formatted(STEPS));
+        tickScheduler.stop();
+    }
+
+    /**
+     * Simulated time: parking moves the time forward immediately and every read takes a microsecond, so busy waiting ends too.
+     */
+    private static class SimulatedTicker implements Ticker {
+        private final static long READ_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+        private volatile long nanos;
+
+        @Override
+        public long nanoTime() {
+            this.nanos += READ_NANOS;
+            return this.nanos;
+        }
+
+        @Override
+        public void parkNanos(Object blocker, long nanos) {
+            advance(nanos);
+        }
+
+        void advance(long nanos) {
+            this.nanos += nanos;
+        }
+    }
+}
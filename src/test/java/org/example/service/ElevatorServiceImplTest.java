@@ -22,7 +22,7 @@ class ElevatorServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        elevatorRepositoryMock = Mockito.mock(ElevatorRepository.class);
+        elevatorRepositoryMock = Mockito.mock(ElevatorRepository.class, Mockito.CALLS_REAL_METHODS);
         elevatorsConfig = new ElevatorsConfig(Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE);
 
         elevatorService = new ElevatorServiceImpl(elevatorRepositoryMock, elevatorsConfig);
@@ -283,4 +283,49 @@ class ElevatorServiceImplTest {
         assertEquals(Direction.IDLE, elevator.getCurrentDirection());
     }
 
-}
\ No newline at end of file
+    @Test
+    void updateElevatorWhenCalledOnCurrentFloor() {
+        // given
+        Elevator elevator = ElevatorFactory.createElevator(3, 5);
+        elevator.addTargetFloor(3);
+
+        // when
+        this.elevatorService.elevatorStep(elevator);
+
+        // then
+        assertEquals(3, elevator.getCurrentFloor());
+        assertTrue(this.elevatorService.hasReachedTargetFloor(elevator));
+    }
+
+    @Test
+    void updateElevatorWhenAllTargetsAreBehind() {
+        // given
+        Elevator elevator = ElevatorFactory.createElevator(3, 5);
+        elevator.setCurrentFloor(6);
+
+        // when
+        this.elevatorService.elevatorStep(elevator);
+
+        // then
+        assertEquals(5, elevator.getCurrentFloor());
+        assertEquals(Direction.DOWN, elevator.getCurrentDirection());
+    }
+
+    @Test
+    void callElevatorWhenElevatorHasPassedGivenFloor() {
+        // given
+        int callFloor = 3;
+        Elevator elevatorMovingUp = ElevatorFactory.createElevator(8, 10);
+
+        when(elevatorRepositoryMock.getElevators()).thenReturn(List.of(elevatorMovingUp));
+
+        // when
+        Elevator result = elevatorService.callElevator(callFloor, Direction.UP);
+
+        // then
+        assertEquals(elevatorMovingUp, result);
+        assertFalse(elevatorMovingUp.getTargetFloors().contains(callFloor));
+        assertTrue(elevatorMovingUp.getTargetFloorsOtherDirection().contains(callFloor));
+    }
+
+}
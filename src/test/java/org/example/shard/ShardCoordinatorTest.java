@@ -0,0 +1,143 @@
+package org.example.shard;
+
+import org.example.model.Direction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardCoordinatorTest {
+
+    @Test
+    void routePickupToShardOwningBuilding() throws Exception {
+        // given
+        ShardWorker firstWorker = new ShardWorker(BuildingSpec.parseList("2:0:5"), new InetSocketAddress("127.0.0.1", 0));
+        ShardWorker secondWorker = new ShardWorker(BuildingSpec.parseList("1:0:5,3:-2:8"), new InetSocketAddress("127.0.0.1", 0));
+        Thread firstThread = serveInBackground(firstWorker);
+        Thread secondThread = serveInBackground(secondWorker);
+
+        // when
+        int rejected;
+        int assigned;
+        try (ShardCoordinator coordinator = new ShardCoordinator(
+                List.of(firstWorker.getLocalAddress(), secondWorker.getLocalAddress()))) {
+            assertEquals(3, coordinator.getNumberOfBuildings());
+            assertEquals(1, coordinator.getShardOfBuilding(2));
+            rejected = coordinator.pickup(0, 7, Direction.DOWN);
+            assigned = coordinator.pickup(2, 7, Direction.DOWN);
+            coordinator.shutdown();
+        }
+        firstThread.join(TimeUnit.SECONDS.toMillis(5));
+        secondThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        // then
+        assertEquals(ShardProtocol.NO_ELEVATOR, rejected);
+        assertNotEquals(ShardProtocol.NO_ELEVATOR, assigned);
+        assertFalse(firstThread.isAlive());
+        assertFalse(secondThread.isAlive());
+    }
+
+    @Test
+    void stepAllShardsInLockstepOverUnixDomainSockets(@TempDir Path tempDir) throws Exception {
+        // given
+        ShardWorker firstWorker = new ShardWorker(BuildingSpec.parseList("2:0:10"),
+                UnixDomainSocketAddress.of(tempDir.resolve("shard-0.sock")));
+        ShardWorker secondWorker = new ShardWorker(BuildingSpec.parseList("1:0:10,1:0:10"),
+                UnixDomainSocketAddress.of(tempDir.resolve("shard-1.sock")));
+        Thread firstThread = serveInBackground(firstWorker);
+        Thread secondThread = serveInBackground(secondWorker);
+
+        // when
+        long stepNumber;
+        ShardLatency firstLatency;
+        try (ShardCoordinator coordinator = new ShardCoordinator(
+                List.of(firstWorker.getLocalAddress(), secondWorker.getLocalAddress()))) {
+            coordinator.pickup(1, 6, Direction.DOWN);
+            for (int i = 0; i < 9; i++) {
+                coordinator.step();
+            }
+            stepNumber = coordinator.step(11);
+            firstLatency = coordinator.getLatency(0);
+            assertTrue(coordinator.getLatencySummaryText().contains("shard 1 (unix:"));
+            coordinator.shutdown();
+        }
+        firstThread.join(TimeUnit.SECONDS.toMillis(5));
+        secondThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        // then
+        assertEquals(20, stepNumber);
+        assertEquals(20, firstWorker.getBuilding(0).getStepNumber());
+        assertEquals(20, secondWorker.getBuilding(1).getStepNumber());
+        assertEquals(10, firstLatency.getRounds());
+        assertTrue(firstLatency.getMeanRoundTripMicros() >= firstLatency.getMeanStepMicros());
+        assertFalse(tempDir.resolve("shard-0.sock").toFile().exists());
+    }
+
+    @Test
+    void acceptNextCoordinatorAfterDisconnect() throws Exception {
+        // given
+        ShardWorker worker = new ShardWorker(BuildingSpec.parseList("1:0:10"), new InetSocketAddress("127.0.0.1", 0));
+        Thread thread = serveInBackground(worker);
+        List<SocketAddress> addresses = List.of(worker.getLocalAddress());
+        try (ShardCoordinator coordinator = new ShardCoordinator(addresses)) {
+            coordinator.step(3);
+        }
+
+        // when
+        long stepNumber;
+        try (ShardCoordinator coordinator = new ShardCoordinator(addresses)) {
+            coordinator.step(2);
+            stepNumber = worker.getBuilding(0).getStepNumber();
+            coordinator.shutdown();
+        }
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+
+        // then
+        assertEquals(5, stepNumber);
+        assertFalse(thread.isAlive());
+    }
+
+    @Test
+    void coordinateWorkerProcesses() throws Exception {
+        // given
+        try (ShardProcess firstProcess = ShardProcess.start("127.0.0.1:0", "2:0:10");
+             ShardProcess secondProcess = ShardProcess.start("127.0.0.1:0", "3:-1:15")) {
+
+            // when
+            int assigned;
+            long stepNumber;
+            try (ShardCoordinator coordinator = new ShardCoordinator(
+                    List.of(firstProcess.getAddress(), secondProcess.getAddress()))) {
+                assigned = coordinator.pickup(1, 14, Direction.DOWN, 2);
+                stepNumber = coordinator.step(4);
+                coordinator.shutdown();
+            }
+
+            // then
+            assertNotEquals(ShardProtocol.NO_ELEVATOR, assigned);
+            assertEquals(4, stepNumber);
+            assertTrue(secondProcess.getProcess().waitFor(10, TimeUnit.SECONDS));
+            assertEquals(0, secondProcess.getProcess().exitValue());
+        }
+    }
+
+    private static Thread serveInBackground(ShardWorker worker) {
+        Thread thread = new Thread(() -> {
+            try (worker) {
+                worker.serve();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }, "shard-worker");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
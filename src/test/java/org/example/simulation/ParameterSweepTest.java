@@ -0,0 +1,53 @@
+package org.example.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterSweepTest {
+
+    @Test
+    void parallelSweepGivesSameResultsAsSequentialRuns() {
+        // given
+        List<Workload> workloads = ParameterSweep.createWorkloads(
+                new int[]{1, 2, 4}, new int[][]{{0, 10}, {-2, 20}}, new double[]{0.2}, TrafficPattern.MIXED, 400, 9L);
+
+        // when
+        List<WorkloadResult> parallelResults = new ParameterSweep(4).run(workloads);
+
+        // then
+        assertEquals(6, parallelResults.size());
+        for (int i = 0; i < workloads.size(); i++) {
+            WorkloadResult sequentialResult = new WorkloadRunner().run(workloads.get(i));
+            assertSame(workloads.get(i), parallelResults.get(i).getWorkload());
+            assertEquals(sequentialResult.getSteps(), parallelResults.get(i).getSteps());
+            assertEquals(sequentialResult.getWaitTimePercentile(95), parallelResults.get(i).getWaitTimePercentile(95));
+        }
+    }
+
+    @Test
+    void findSmallestFleetMeetingTargetWait() {
+        // given
+        List<Workload> workloads = ParameterSweep.createWorkloads(
+                new int[]{1, 2, 3, 4, 6, 8}, new int[][]{{0, 20}}, new double[]{0.5}, TrafficPattern.UP_PEAK, 600, 3L);
+        List<WorkloadResult> results = new ParameterSweep(2).run(workloads);
+        int maxP95Wait = results.get(results.size() - 1).getWaitTimePercentile(95);
+
+        // when
+        Map<String, WorkloadResult> smallestFleets = ParameterSweep.findSmallestFleets(results, maxP95Wait);
+        Map<String, WorkloadResult> unreachableTarget = ParameterSweep.findSmallestFleets(results, -1);
+
+        // then
+        assertEquals(1, smallestFleets.size());
+        WorkloadResult smallestFleet = smallestFleets.values().iterator().next();
+        assertTrue(smallestFleet.getWaitTimePercentile(95) <= maxP95Wait);
+        assertTrue(results.stream()
+                .filter(result -> result.getWorkload().getNumberOfElevators() < smallestFleet.getWorkload().getNumberOfElevators())
+                .allMatch(result -> result.getWaitTimePercentile(95) > maxP95Wait || result.getServedCalls() < result.getCalls()));
+        assertNull(unreachableTarget.values().iterator().next());
+        assertTrue(ParameterSweep.getSummaryText(results).contains("0..20"));
+    }
+}
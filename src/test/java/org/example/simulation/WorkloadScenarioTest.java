@@ -0,0 +1,140 @@
+package org.example.simulation;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs canonical workloads and compares them with baselines from `scenario/baselines.properties`.
+ * Run with `-Dscenario.recordBaselines=true` to write measured values to `target/scenario/baselines.properties`
+ * (copy it to test resources to update baselines). By default only the deterministic p99 wait is checked, steps per
+ * second depend on the machine and its load. Run with `-Dscenario.checkThroughput=true` to check steps per second too,
+ * on the machine where the baselines were recorded.
+ */
+class WorkloadScenarioTest {
+    private final static String BASELINES_PATH = "scenario/baselines.properties";
+    private final static Path RECORDED_BASELINES_PATH = Path.of("target", "scenario", "baselines.properties");
+    private final static boolean RECORD_BASELINES = Boolean.getBoolean("scenario.recordBaselines");
+    private final static boolean CHECK_THROUGHPUT = Boolean.getBoolean("scenario.checkThroughput");
+    private final static int THROUGHPUT_MEASUREMENTS = 3;
+    private final static long MIN_THROUGHPUT_MEASUREMENT_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private final static long THROUGHPUT_WARM_UP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static Properties baselines;
+    private static Properties recordedBaselines;
+
+    static Stream<Workload> workloads() {
+        return Stream.of(
+                new Workload("up-peak-1", 1, 0, 10, TrafficPattern.UP_PEAK, 0.1, 300, 1),
+                new Workload("down-peak-1", 1, 0, 10, TrafficPattern.DOWN_PEAK, 0.1, 300, 2),
+                new Workload("up-peak-10", 10, -2, 20, TrafficPattern.UP_PEAK, 1, 500, 3),
+                new Workload("down-peak-10", 10, -2, 20, TrafficPattern.DOWN_PEAK, 1, 500, 4),
+                new Workload("mixed-10", 10, -2, 20, TrafficPattern.MIXED, 1, 500, 5),
+                new Workload("mixed-100", 100, -5, 60, TrafficPattern.MIXED, 8, 500, 6),
+                new Workload("up-peak-1000", 1000, 0, 100, TrafficPattern.UP_PEAK, 40, 200, 7),
+                new Workload("mixed-10000", 10000, -5, 150, TrafficPattern.MIXED, 100, 100, 8)
+        );
+    }
+
+    @BeforeAll
+    static void loadBaselines() throws IOException {
+        baselines = new Properties();
+        try (InputStream input = WorkloadScenarioTest.class.getClassLoader().getResourceAsStream(BASELINES_PATH)) {
+            assertNotNull(input, "Missing baselines file " + BASELINES_PATH);
+            baselines.load(input);
+        }
+        recordedBaselines = new Properties();
+        recordedBaselines.putAll(baselines);
+    }
+
+    @AfterAll
+    static void writeRecordedBaselines() throws IOException {
+        if (RECORD_BASELINES) {
+            Files.createDirectories(RECORDED_BASELINES_PATH.getParent());
+            try (OutputStream output = Files.newOutputStream(RECORDED_BASELINES_PATH)) {
+                recordedBaselines.store(output, "Scenario baselines");
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("workloads")
+    void workloadMeetsBaseline(Workload workload) {
+        // when
+        WorkloadResult result = new WorkloadRunner().run(workload);
+
+        // then
+        assertTrue(result.getCalls() > 0);
+        assertEquals(result.getCalls(), result.getServedCalls(), "All calls should be served");
+        assertTrue(result.areAllElevatorsIdle(), "All elevators should be idle at the end");
+
+        if (RECORD_BASELINES) {
+            record(workload, result, measureStepsPerSecond(workload));
+            return;
+        }
+
+        final double waitTolerance = getBaseline("tolerance.wait");
+        final double throughputTolerance = getBaseline("tolerance.throughput");
+        final double baselineP99Wait = getBaseline(workload.getName() + ".p99Wait");
+        final double baselineStepsPerSecond = getBaseline(workload.getName() + ".stepsPerSecond");
+
+        assertTrue(result.getWaitTimePercentile(99) <= Math.ceil(baselineP99Wait * (1 + waitTolerance)),
+                "p99 wait regression: %d > baseline %.0f".formatted(result.getWaitTimePercentile(99), baselineP99Wait));
+        if (CHECK_THROUGHPUT) {
+            final double stepsPerSecond = measureStepsPerSecond(workload);
+            assertTrue(stepsPerSecond >= baselineStepsPerSecond * (1 - throughputTolerance),
+                    "Throughput regression: %.0f steps/s < baseline %.0f steps/s"
+                            .formatted(stepsPerSecond, baselineStepsPerSecond));
+        }
+    }
+
+    /**
+     * steps/s of a single short run depends on JIT warm-up and load of the machine, so the workload is first run
+     * for `THROUGHPUT_WARM_UP_NANOS`, until the compilations triggered by its traffic are done. steps/s is then measured
+     * in `THROUGHPUT_MEASUREMENTS` windows of runs lasting at least `MIN_THROUGHPUT_MEASUREMENT_NANOS` each, and the best
+     * window counts, so a window slowed down by other processes does not decide the result.
+     */
+    private double measureStepsPerSecond(Workload workload) {
+        final long warmUpStartNanos = System.nanoTime();
+        while (System.nanoTime() - warmUpStartNanos < THROUGHPUT_WARM_UP_NANOS) {
+            new WorkloadRunner().run(workload);
+        }
+        double bestStepsPerSecond = 0;
+        for (int measurement = 0; measurement < THROUGHPUT_MEASUREMENTS; measurement++) {
+            long steps = 0;
+            long elapsedNanos = 0;
+            while (elapsedNanos < MIN_THROUGHPUT_MEASUREMENT_NANOS) {
+                WorkloadResult result = new WorkloadRunner().run(workload);
+                steps += result.getSteps();
+                elapsedNanos += result.getElapsedNanos();
+            }
+            bestStepsPerSecond = Math.max(bestStepsPerSecond, steps * 1_000_000_000.0 / elapsedNanos);
+        }
+        return bestStepsPerSecond;
+    }
+
+    private double getBaseline(String key) {
+        String value = baselines.getProperty(key);
+        assertNotNull(value, "Missing baseline " + key);
+        return Double.parseDouble(value);
+    }
+
+    private void record(Workload workload, WorkloadResult result, double stepsPerSecond) {
+        synchronized (recordedBaselines) {
+            recordedBaselines.setProperty(workload.getName() + ".p99Wait", String.valueOf(result.getWaitTimePercentile(99)));
+            recordedBaselines.setProperty(workload.getName() + ".stepsPerSecond", "%.0f".formatted(stepsPerSecond));
+        }
+    }
+}
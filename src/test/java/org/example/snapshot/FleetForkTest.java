@@ -0,0 +1,127 @@
+package org.example.snapshot;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetForkTest {
+    private final ElevatorsConfig elevatorsConfig = new ElevatorsConfig(0, 0, 30);
+
+    @Test
+    void shareUnchangedElevatorsBetweenSnapshots() {
+        // given
+        List<Elevator> elevators = createElevators(100);
+        ElevatorService elevatorService = new ElevatorServiceImpl(() -> elevators, this.elevatorsConfig);
+        FleetSnapshot firstSnapshot = elevatorService.snapshot();
+
+        // when
+        elevatorService.selectFloor(elevators.get(40), 25);
+        FleetSnapshot secondSnapshot = elevatorService.snapshot();
+
+        // then
+        assertEquals(100, secondSnapshot.size());
+        assertSame(firstSnapshot.get(39), secondSnapshot.get(39));
+        assertNotSame(firstSnapshot.get(40), secondSnapshot.get(40));
+        assertTrue(secondSnapshot.get(40).hasTargetFloor(25));
+        assertFalse(firstSnapshot.get(40).hasTargetFloor(25));
+        assertTrue(secondSnapshot.isChunkSharedWith(firstSnapshot, 0));
+        assertFalse(secondSnapshot.isChunkSharedWith(firstSnapshot, 40));
+        assertTrue(secondSnapshot.isChunkSharedWith(firstSnapshot, 99));
+    }
+
+    @Test
+    void copyOnlyChangedElevatorsIntoFork() {
+        // given
+        List<Elevator> elevators = createElevators(64);
+        ElevatorService elevatorService = new ElevatorServiceImpl(() -> elevators, this.elevatorsConfig);
+        FleetSnapshot snapshot = elevatorService.snapshot();
+
+        // when
+        FleetFork fork = snapshot.fork(this.elevatorsConfig);
+        fork.assignCall(3, 20, Direction.DOWN);
+        for (int step = 0; step < 5; step++) {
+            fork.step();
+        }
+        FleetSnapshot forkSnapshot = fork.freeze();
+
+        // then
+        assertEquals(1, fork.getNumberOfChangedElevators());
+        assertEquals(5, fork.getSimulatedSteps());
+        assertEquals(elevators.get(3).getCurrentFloor() + 5, fork.getCurrentFloor(3));
+        assertTrue(elevators.get(3).getTargetFloors().isEmpty());
+        assertFalse(snapshot.get(3).hasAnyTargetFloor());
+        assertTrue(forkSnapshot.get(3).hasTargetFloor(20));
+        assertSame(snapshot.get(4), forkSnapshot.get(4));
+        assertTrue(forkSnapshot.isChunkSharedWith(snapshot, 40));
+    }
+
+    @Test
+    void stepForkLikeService() {
+        // given
+        List<Elevator> elevators = createElevators(6);
+        ElevatorService elevatorService = new ElevatorServiceImpl(() -> elevators, this.elevatorsConfig);
+        elevatorService.selectFloor(elevators.get(0), 12);
+        elevatorService.selectFloor(elevators.get(0), 2);
+        elevatorService.assignCall(elevators.get(2), 3, Direction.UP);
+        elevatorService.selectFloor(elevators.get(5), 0);
+        FleetFork fork = elevatorService.fork();
+
+        // when
+        for (int step = 0; step < 30; step++) {
+            fork.step();
+            for (Elevator elevator : elevators) {
+                elevatorService.elevatorStep(elevator);
+                elevatorService.removeCurrentFloorFromTarget(elevator);
+            }
+
+            // then
+            FleetSnapshot forkSnapshot = fork.freeze();
+            for (int i = 0; i < elevators.size(); i++) {
+                assertTrue(forkSnapshot.get(i).hasStateOf(elevators.get(i)), "step %d, elevator %d".formatted(step, i));
+            }
+        }
+    }
+
+    @Test
+    void chooseElevatorArrivingFirstByLookahead() {
+        // given
+        List<Elevator> elevators = List.of(
+                ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(10), ElevatorFactory.createElevator(20));
+        ElevatorService elevatorService = new ElevatorServiceImpl(() -> elevators, this.elevatorsConfig);
+        FleetSnapshot idleSnapshot = elevatorService.snapshot();
+        elevatorService.selectFloor(elevators.get(1), 30);
+        FleetSnapshot busySnapshot = elevatorService.snapshot();
+
+        // when
+        List<LookaheadResult> idleResults;
+        List<LookaheadResult> busyResults;
+        try (LookaheadEvaluator lookaheadEvaluator = new LookaheadEvaluator(this.elevatorsConfig, 3)) {
+            idleResults = lookaheadEvaluator.evaluate(idleSnapshot, 12, Direction.DOWN, 100);
+            busyResults = lookaheadEvaluator.evaluate(busySnapshot, 12, Direction.DOWN, 100);
+        }
+
+        // then
+        assertEquals(List.of(12, 2, 8), idleResults.stream().map(LookaheadResult::getStepsToArrival).toList());
+        assertEquals(elevators.get(1).getId(), LookaheadEvaluator.findBest(idleResults).getElevatorId());
+        assertTrue(busyResults.get(1).getStepsToArrival() > 8);
+        assertEquals(elevators.get(2).getId(), LookaheadEvaluator.findBest(busyResults).getElevatorId());
+        assertFalse(elevators.get(2).getTargetFloors().contains(12));
+    }
+
+    private List<Elevator> createElevators(int numberOfElevators) {
+        List<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < numberOfElevators; i++) {
+            elevators.add(ElevatorFactory.createElevator(i % 31));
+        }
+        return elevators;
+    }
+}
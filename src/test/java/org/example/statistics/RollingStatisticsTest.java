@@ -0,0 +1,138 @@
+package org.example.statistics;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingStatisticsTest {
+
+    @Test
+    void countCallRatesInRollingWindows() {
+        // given
+        RollingStatistics statistics = new RollingStatistics(0, 10, 1, 60);
+
+        // when
+        for (int step = 0; step < 60; step++) {
+            if (step % 2 == 0) {
+                statistics.recordCall(step, 3);
+            }
+            statistics.recordStep(step + 1, List.of());
+        }
+        RollingStatisticsSnapshot afterMinute = statistics.getSnapshot();
+        statistics.recordStep(600, List.of());
+        RollingStatisticsSnapshot afterTenMinutes = statistics.getSnapshot();
+        statistics.recordStep(1200, List.of());
+        RollingStatisticsSnapshot afterTwentyMinutes = statistics.getSnapshot();
+
+        // then
+        assertEquals(60, afterMinute.getStepNumber());
+        assertEquals(30, afterMinute.getCallRate(1, 3), 1);
+        assertEquals(30, afterMinute.getCallRate(15, 3), 0.01);
+        assertEquals(0, afterMinute.getCallRate(1, 4));
+        assertEquals(0, afterTenMinutes.getCallRate(1, 3));
+        assertEquals(0, afterTenMinutes.getCallRate(5, 3));
+        assertEquals(3, afterTenMinutes.getCallRate(15, 3), 0.01);
+        assertEquals(0, afterTwentyMinutes.getCallRate(15, 3));
+        assertThrows(IllegalArgumentException.class, () -> afterMinute.getCallRate(2, 3));
+    }
+
+    @Test
+    void countUtilisationOfBusyElevatorsOnly() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(new ElevatorServiceImpl(() -> elevators, new ElevatorsConfig(2, 0, 10)));
+        RollingStatistics statistics = new RollingStatistics(0, 10, 2, 60);
+        elevatorSystem.addListener(statistics);
+
+        // when
+        Elevator calledElevator = elevatorSystem.pickup(10, Direction.DOWN);
+        for (int step = 0; step < 60; step++) {
+            elevatorSystem.step();
+        }
+        RollingStatisticsSnapshot afterMinute = statistics.getSnapshot();
+        elevatorSystem.advance(900);
+        RollingStatisticsSnapshot afterSixteenMinutes = statistics.getSnapshot();
+
+        // then
+        Elevator otherElevator = elevators.get(0) == calledElevator ? elevators.get(1) : elevators.get(0);
+        assertEquals(1, afterMinute.getCallRate(15, 10), 0.01);
+        assertTrue(afterMinute.getUtilisation(15, calledElevator.getId()) > 0.1);
+        assertTrue(afterMinute.getUtilisation(15, calledElevator.getId()) < 0.3);
+        assertEquals(0, afterMinute.getUtilisation(15, otherElevator.getId()));
+        assertEquals(960, afterSixteenMinutes.getStepNumber());
+        assertEquals(0, afterSixteenMinutes.getUtilisation(1, calledElevator.getId()));
+        assertEquals(0, afterSixteenMinutes.getCallRate(15, 10));
+    }
+
+    @Test
+    void reuseSlotOfRemovedElevator() {
+        // given
+        Elevator removedElevator = ElevatorFactory.createElevator(0);
+        Elevator keptElevator = ElevatorFactory.createElevator(0);
+        Elevator addedElevator = ElevatorFactory.createElevator(0);
+        removedElevator.addTargetFloor(5);
+        addedElevator.addTargetFloor(5);
+        RollingStatistics statistics = new RollingStatistics(0, 10, 2, 60);
+
+        // when
+        statistics.recordStep(10, List.of(removedElevator, keptElevator));
+        statistics.recordStep(11, List.of(keptElevator));
+        statistics.recordStep(20, List.of(keptElevator, addedElevator));
+        RollingStatisticsSnapshot snapshot = statistics.getSnapshot();
+
+        // then
+        assertEquals(0, snapshot.getUtilisation(1, removedElevator.getId()));
+        assertEquals(0, snapshot.getUtilisation(1, keptElevator.getId()));
+        assertEquals(0.45, snapshot.getUtilisation(1, addedElevator.getId()), 0.01);
+    }
+
+    @Test
+    void readSnapshotsWhileSimulationRuns() throws InterruptedException {
+        // given
+        RollingStatistics statistics = new RollingStatistics(0, 10, 1, 60);
+        Elevator elevator = ElevatorFactory.createElevator(0);
+        elevator.addTargetFloor(10);
+        List<Elevator> elevators = List.of(elevator);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> readError = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long lastStepNumber = 0;
+            while (running.get()) {
+                RollingStatisticsSnapshot snapshot = statistics.getSnapshot();
+                double utilisation = snapshot.getUtilisation(5, elevator.getId());
+                double callRate = snapshot.getCallRate(15, 7);
+                if (snapshot.getStepNumber() < lastStepNumber || utilisation < 0 || utilisation > 1 || callRate < 0 || callRate > 60) {
+                    readError.set("step = %d, utilisation = %f, callRate = %f"
+                            .formatted(snapshot.getStepNumber(), utilisation, callRate));
+                }
+                lastStepNumber = snapshot.getStepNumber();
+            }
+        });
+
+        // when
+        reader.start();
+        for (int step = 0; step < 500_000; step++) {
+            statistics.recordCall(step, step % 11);
+            statistics.recordStep(step + 1, elevators);
+        }
+        running.set(false);
+        reader.join();
+
+        // then
+        assertNull(readError.get());
+        RollingStatisticsSnapshot snapshot = statistics.getSnapshot();
+        assertEquals(1, snapshot.getUtilisation(15, elevator.getId()), 0.001);
+        assertEquals(60.0 / 11, snapshot.getCallRate(15, 7), 0.1);
+    }
+}
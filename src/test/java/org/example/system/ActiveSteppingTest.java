@@ -0,0 +1,186 @@
+package org.example.system;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.DispatchMode;
+import org.example.model.Elevator;
+import org.example.repository.IndexedElevatorRepository;
+import org.example.service.ActiveElevators;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.example.snapshot.ElevatorSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActiveSteppingTest {
+    private final static int MIN_FLOOR = -2;
+    private final static int MAX_FLOOR = 30;
+    private final ElevatorsConfig elevatorsConfig = new ElevatorsConfig(0, MIN_FLOOR, MAX_FLOOR);
+
+    @Test
+    void stepOnlyElevatorsWithCalls() {
+        // given
+        List<Elevator> elevators = createElevators(200, 0L);
+        ElevatorService elevatorService = new ElevatorServiceImpl(() -> elevators, this.elevatorsConfig);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService);
+        elevatorSystem.step();
+        final int activeAfterFirstStep = elevatorService.getActiveElevators().size();
+
+        // when
+        elevatorSystem.selectFloor(elevators.get(150), 20);
+        elevatorSystem.pickup(7, Direction.UP, 12);
+        elevatorSystem.step();
+
+        // then
+        assertEquals(0, activeAfterFirstStep);
+        assertTrue(elevatorService.getActiveElevators().size() <= 3);
+        assertEquals(elevators.get(150).getCurrentFloor() == 20 ? Direction.IDLE : Direction.UP,
+                elevators.get(150).getCurrentDirection());
+        assertNotEquals(-1, elevatorService.getActiveElevators().nextActiveIndex(0));
+    }
+
+    @Test
+    void idleElevatorOnCalledFloorPicksUpUsers() {
+        // given
+        List<Elevator> elevators = new ArrayList<>(List.of(ElevatorFactory.createElevator(5), ElevatorFactory.createElevator(5)));
+        ElevatorService elevatorService = new ElevatorServiceImpl(() -> elevators, this.elevatorsConfig);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService);
+        elevatorSystem.step();
+
+        // when
+        elevatorSystem.pickup(5, Direction.UP, 9);
+        elevatorSystem.step();
+        elevatorSystem.step();
+
+        // then
+        assertEquals(6, elevators.get(0).getCurrentFloor());
+        assertTrue(elevators.get(0).getTargetFloors().contains(9));
+        assertEquals(5, elevators.get(1).getCurrentFloor());
+    }
+
+    @Test
+    void stepElevatorsAddedAtRuntime() {
+        // given
+        List<Elevator> elevators = createElevators(10, 0L);
+        ElevatorService elevatorService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators), this.elevatorsConfig);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService);
+        elevatorSystem.step();
+        Elevator addedElevator = ElevatorFactory.createElevator(0, 10);
+
+        // when
+        assertTrue(elevatorService.addElevator(addedElevator));
+        assertTrue(elevatorService.removeElevator(elevatorService.getElevators().get(0).getId()));
+        elevatorSystem.step();
+        elevatorSystem.step();
+
+        // then
+        assertEquals(2, addedElevator.getCurrentFloor());
+    }
+
+    @Test
+    void activeSteppingMatchesSteppingAllElevators() {
+        for (DispatchMode dispatchMode : DispatchMode.values()) {
+            // given
+            List<Elevator> elevators = createElevators(40, 3L);
+            List<Elevator> referenceElevators = copyElevators(elevators);
+            ElevatorService elevatorService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators), this.elevatorsConfig);
+            ActiveElevators allElevators = new ActiveElevators();
+            ElevatorService referenceService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> referenceElevators), this.elevatorsConfig) {
+                @Override
+                public ActiveElevators getActiveElevators() {
+                    allElevators.invalidate();
+                    return allElevators;
+                }
+            };
+            ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService, dispatchMode, 6);
+            ElevatorSystem referenceSystem = new ElevatorSystemImpl(referenceService, dispatchMode, 6);
+            Random random = new Random(17L);
+
+            for (int step = 0; step < 3_000; step++) {
+                // when
+                final int operation = random.nextInt(40);
+                if (operation < 6) {
+                    final int pickupFloor = randomFloor(random);
+                    final int targetFloor = randomFloor(random);
+                    if (pickupFloor != targetFloor) {
+                        final Direction direction = Direction.getDirectionByFloors(pickupFloor, targetFloor);
+                        assertSameId(referenceSystem.pickup(pickupFloor, direction, targetFloor),
+                                elevatorSystem.pickup(pickupFloor, direction, targetFloor));
+                    }
+                } else if (operation == 6) {
+                    final int index = random.nextInt(elevatorService.getElevators().size());
+                    final int floor = randomFloor(random);
+                    referenceSystem.selectFloor(referenceService.getElevators().get(index), floor);
+                    elevatorSystem.selectFloor(elevatorService.getElevators().get(index), floor);
+                } else if (operation == 7) {
+                    final int id = elevatorService.getElevators().get(random.nextInt(elevatorService.getElevators().size())).getId();
+                    final int floor = randomFloor(random);
+                    assertEquals(referenceSystem.updateElevator(id, floor, null), elevatorSystem.updateElevator(id, floor, null));
+                } else if (operation == 8 && elevatorService.getElevators().size() > 20) {
+                    final int id = elevatorService.getElevators().get(random.nextInt(elevatorService.getElevators().size())).getId();
+                    assertEquals(referenceService.removeElevator(id), elevatorService.removeElevator(id));
+                } else if (operation == 9) {
+                    final int floor = randomFloor(random);
+                    Elevator addedElevator = new Elevator(1_000_000 + step);
+                    addedElevator.setCurrentFloor(floor);
+                    referenceService.addElevator(ElevatorSnapshot.of(addedElevator).toElevator());
+                    elevatorService.addElevator(addedElevator);
+                }
+                if (operation == 10) {
+                    final int ticks = 1 + random.nextInt(20);
+                    referenceSystem.advance(ticks);
+                    elevatorSystem.advance(ticks);
+                } else {
+                    referenceSystem.step();
+                    elevatorSystem.step();
+                }
+
+                // then
+                assertSameElevatorsState(referenceService.getElevators(), elevatorService.getElevators(), step);
+            }
+        }
+    }
+
+    private static void assertSameId(Elevator expected, Elevator actual) {
+        assertEquals(expected == null ? null : expected.getId(), actual == null ? null : actual.getId());
+    }
+
+    private static void assertSameElevatorsState(List<Elevator> expected, List<Elevator> actual, int step) {
+        assertEquals(expected.size(), actual.size(), "step %d".formatted(step));
+        for (int i = 0; i < expected.size(); i++) {
+            final String message = "step %d, elevator %d".formatted(step, expected.get(i).getId());
+            assertEquals(expected.get(i).getId(), actual.get(i).getId(), message);
+            assertEquals(expected.get(i).getCurrentFloor(), actual.get(i).getCurrentFloor(), message);
+            assertEquals(expected.get(i).getCurrentDirection(), actual.get(i).getCurrentDirection(), message);
+            assertEquals(expected.get(i).getTargetFloors(), actual.get(i).getTargetFloors(), message);
+            assertEquals(expected.get(i).getTargetFloorsOtherDirection(), actual.get(i).getTargetFloorsOtherDirection(), message);
+        }
+    }
+
+    private static int randomFloor(Random random) {
+        return MIN_FLOOR + random.nextInt(MAX_FLOOR - MIN_FLOOR + 1);
+    }
+
+    private static List<Elevator> createElevators(int numberOfElevators, long seed) {
+        Random random = new Random(seed);
+        List<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < numberOfElevators; i++) {
+            elevators.add(ElevatorFactory.createElevator(seed == 0L ? 0 : randomFloor(random)));
+        }
+        return elevators;
+    }
+
+    private static List<Elevator> copyElevators(List<Elevator> elevators) {
+        List<Elevator> copies = new ArrayList<>();
+        for (Elevator elevator : elevators) {
+            copies.add(ElevatorSnapshot.of(elevator).toElevator());
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.system;
+
+import org.example.config.ElevatorsConfig;
+import org.example.diagnostics.DiagnosticReason;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.DispatchMode;
+import org.example.model.Elevator;
+import org.example.repository.IndexedElevatorRepository;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.example.simulation.TrafficPattern;
+import org.example.simulation.Workload;
+import org.example.simulation.WorkloadResult;
+import org.example.simulation.WorkloadRunner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DestinationDispatcherTest {
+
+    @Test
+    void groupUsersBySameAndNearbyDestinations() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = createSystem(elevators, 8);
+
+        // when
+        Elevator first = elevatorSystem.pickup(0, Direction.UP, 15);
+        Elevator sameDestination = elevatorSystem.pickup(0, Direction.UP, 15);
+        Elevator lowDestination = elevatorSystem.pickup(0, Direction.UP, 3);
+        Elevator nearbyDestination = elevatorSystem.pickup(0, Direction.UP, 16);
+
+        // then
+        assertSame(first, sameDestination);
+        assertNotSame(first, lowDestination);
+        assertSame(first, nearbyDestination);
+    }
+
+    @Test
+    void respectElevatorCapacity() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorService elevatorService = createService(elevators);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService, DispatchMode.DESTINATION, 2);
+
+        // when
+        Elevator first = elevatorSystem.pickup(0, Direction.UP, 10);
+        Elevator second = elevatorSystem.pickup(0, Direction.UP, 10);
+        Elevator overCapacity = elevatorSystem.pickup(0, Direction.UP, 10);
+        elevatorSystem.runUntilIdle();
+        Elevator afterTrip = elevatorSystem.pickup(10, Direction.DOWN, 0);
+
+        // then
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(overCapacity);
+        assertSame(first, afterTrip);
+        assertEquals(1, elevatorService.getDiagnostics().getCount(DiagnosticReason.NO_FREE_CAPACITY));
+    }
+
+    @Test
+    void deliverAllUsersAndLeaveWaitingOnesForReturnTrip() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(5));
+        ElevatorSystem elevatorSystem = createSystem(elevators, 8);
+
+        // when
+        elevatorSystem.pickup(0, Direction.UP, 8);
+        elevatorSystem.pickup(3, Direction.DOWN, 1);
+        elevatorSystem.pickup(3, Direction.UP, 9);
+        long steps = elevatorSystem.runUntilIdle();
+
+        // then
+        assertTrue(steps > 0);
+        assertTrue(elevators.get(0).getTargetFloors().isEmpty());
+        assertTrue(elevators.get(0).getTargetFloorsOtherDirection().isEmpty());
+        assertEquals(Direction.IDLE, elevators.get(0).getCurrentDirection());
+    }
+
+    @Test
+    void dropPassengersWhenUpdateClearsTheirFloors() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorService elevatorService = createService(elevators);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService, DispatchMode.DESTINATION, 1);
+        Elevator assigned = elevatorSystem.pickup(5, Direction.UP, 10);
+
+        // when
+        elevatorSystem.updateElevator(assigned.getId(), null, new int[0]);
+        elevatorSystem.runUntilIdle();
+        Elevator afterUpdate = elevatorSystem.pickup(2, Direction.UP, 4);
+
+        // then
+        assertSame(assigned, afterUpdate);
+        assertEquals(1, elevatorService.getDiagnostics().getCount(DiagnosticReason.PASSENGER_DROPPED));
+    }
+
+    @Test
+    void dropPassengersOfRemovedElevator() {
+        // given
+        List<Elevator> elevators = new ArrayList<>(List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(20)));
+        ElevatorService elevatorService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators),
+                new ElevatorsConfig(elevators.size(), 0, 20));
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService, DispatchMode.DESTINATION, 8);
+        Elevator assigned = elevatorSystem.pickup(2, Direction.UP, 10);
+        elevatorSystem.step();
+        elevatorSystem.step();
+        elevatorSystem.step();
+
+        // when
+        elevatorService.removeElevator(assigned.getId());
+        elevatorSystem.step();
+
+        // then
+        assertEquals(1, elevatorService.getDiagnostics().getCount(DiagnosticReason.PASSENGER_DROPPED));
+        assertEquals(0, elevatorSystem.runUntilIdle());
+    }
+
+    @Test
+    void destinationDispatchServesAllUpPeakCalls() {
+        // given
+        Workload destinationWorkload = new Workload("up-peak-destination", 6, 0, 20, TrafficPattern.UP_PEAK, 1, 1000, 5,
+                DispatchMode.DESTINATION, 12);
+
+        // when
+        WorkloadResult destinationResult = new WorkloadRunner().run(destinationWorkload);
+
+        // then
+        assertEquals(destinationResult.getCalls(), destinationResult.getServedCalls());
+        assertTrue(destinationResult.areAllElevatorsIdle());
+    }
+
+    private ElevatorSystem createSystem(List<Elevator> elevators, int elevatorCapacity) {
+        return new ElevatorSystemImpl(createService(elevators), DispatchMode.DESTINATION, elevatorCapacity);
+    }
+
+    private ElevatorService createService(List<Elevator> elevators) {
+        return new ElevatorServiceImpl(() -> elevators, new ElevatorsConfig(elevators.size(), 0, 20));
+    }
+}
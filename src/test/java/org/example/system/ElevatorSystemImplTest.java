@@ -0,0 +1,203 @@
+package org.example.system;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.repository.ElevatorRepository;
+import org.example.service.ElevatorServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ElevatorSystemImplTest {
+    private ElevatorsConfig elevatorsConfig;
+    private List<Elevator> steppedElevators;
+    private List<Elevator> advancedElevators;
+    private ElevatorSystem steppedSystem;
+    private ElevatorSystem advancedSystem;
+
+    @BeforeEach
+    void setUp() {
+        elevatorsConfig = new ElevatorsConfig(3, -2, 20);
+
+        steppedElevators = createElevators();
+        advancedElevators = createElevators();
+        steppedSystem = createSystem(steppedElevators);
+        advancedSystem = createSystem(advancedElevators);
+    }
+
+    @Test
+    void advanceWhenElevatorsAreMoving() {
+        // given
+        callElevators(steppedSystem);
+        callElevators(advancedSystem);
+
+        // when
+        for (int i = 0; i < 7; i++) {
+            steppedSystem.step();
+        }
+        advancedSystem.advance(7);
+
+        // then
+        assertSameElevatorsState(steppedElevators, advancedElevators);
+    }
+
+    @Test
+    void advanceWhenAllElevatorsAreIdle() {
+        // given
+        List<Elevator> idleElevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(4));
+        ElevatorSystem idleSystem = createSystem(idleElevators);
+
+        // when
+        idleSystem.advance(1000);
+
+        // then
+        assertEquals(0, idleElevators.get(0).getCurrentFloor());
+        assertEquals(4, idleElevators.get(1).getCurrentFloor());
+        assertFalse(hasAnyCall(idleElevators));
+    }
+
+    @Test
+    void advanceDoesNotSkipScheduledPickups() {
+        // given
+        steppedSystem.schedulePickup(40, 12, Direction.DOWN, 3);
+        advancedSystem.schedulePickup(40, 12, Direction.DOWN, 3);
+        steppedSystem.schedulePickup(95, 1, Direction.UP);
+        advancedSystem.schedulePickup(95, 1, Direction.UP);
+        long[] pickupSteps = new long[2];
+        advancedSystem.addListener(new ElevatorSystemListener() {
+            @Override
+            public void onPickup(long stepNumber, int pickupFloor, Direction direction, Elevator elevator) {
+                pickupSteps[pickupFloor == 12 ? 0 : 1] = stepNumber;
+            }
+        });
+
+        // when
+        for (int i = 0; i < 120; i++) {
+            steppedSystem.step();
+        }
+        advancedSystem.advance(120);
+
+        // then
+        assertEquals(40, pickupSteps[0]);
+        assertEquals(95, pickupSteps[1]);
+        assertEquals(0, advancedSystem.getPendingTimers());
+        assertSameElevatorsState(steppedElevators, advancedElevators);
+    }
+
+    @Test
+    void timerScheduledInThePastAfterAdvanceRunsInNextStep() {
+        // given
+        List<Elevator> idleElevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorSystem idleSystem = createSystem(idleElevators);
+        idleSystem.advance(100);
+        long[] timerStep = new long[1];
+        idleSystem.schedule(50, step -> timerStep[0] = step);
+
+        // when
+        idleSystem.advance(10);
+
+        // then
+        assertEquals(110, idleSystem.getStepNumber());
+        assertEquals(101, timerStep[0]);
+        assertEquals(0, idleSystem.getPendingTimers());
+    }
+
+    @Test
+    void cancelledScheduledPickupIsNotDispatched() {
+        // given
+        List<Elevator> idleElevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorSystem idleSystem = createSystem(idleElevators);
+        idleSystem.schedulePickup(10, 5, Direction.UP).cancel();
+
+        // when
+        idleSystem.advance(50);
+
+        // then
+        assertEquals(0, idleSystem.getPendingTimers());
+        assertEquals(0, idleElevators.get(0).getCurrentFloor());
+        assertFalse(hasAnyCall(idleElevators));
+    }
+
+    @Test
+    void runUntilIdle() {
+        // given
+        callElevators(steppedSystem);
+        callElevators(advancedSystem);
+        long expectedTicks = 0;
+
+        // when
+        while (hasAnyCall(steppedElevators)) {
+            steppedSystem.step();
+            expectedTicks++;
+        }
+        long result = advancedSystem.runUntilIdle();
+
+        // then
+        assertEquals(expectedTicks, result);
+        assertFalse(hasAnyCall(advancedElevators));
+        assertSameElevatorsState(steppedElevators, advancedElevators);
+    }
+
+    @Test
+    void submitPickupIsDispatchedInNextStep() {
+        // given
+        CompletableFuture<Elevator> assignment = advancedSystem.submitPickup(5, Direction.UP, 12);
+
+        // when
+        boolean isDoneBeforeStep = assignment.isDone();
+        advancedSystem.step();
+
+        // then
+        assertFalse(isDoneBeforeStep);
+        assertTrue(assignment.isDone());
+        Elevator assignedElevator = assignment.join();
+        assertTrue(assignedElevator.getTargetFloors().contains(5)
+                || assignedElevator.getTargetFloorsOtherDirection().contains(5));
+    }
+
+    private List<Elevator> createElevators() {
+        return List.of(
+                ElevatorFactory.createElevator(0),
+                ElevatorFactory.createElevator(10, 2, 15),
+                ElevatorFactory.createElevator(-2, 18)
+        );
+    }
+
+    private ElevatorSystem createSystem(List<Elevator> elevators) {
+        ElevatorRepository elevatorRepositoryMock = Mockito.mock(ElevatorRepository.class, Mockito.CALLS_REAL_METHODS);
+        when(elevatorRepositoryMock.getElevators()).thenReturn(elevators);
+
+        return new ElevatorSystemImpl(new ElevatorServiceImpl(elevatorRepositoryMock, elevatorsConfig));
+    }
+
+    private void callElevators(ElevatorSystem elevatorSystem) {
+        elevatorSystem.pickup(5, Direction.UP, 12);
+        elevatorSystem.pickup(19, Direction.DOWN, -1);
+        elevatorSystem.pickup(7, Direction.DOWN, 3);
+        elevatorSystem.pickup(1, Direction.UP);
+    }
+
+    private boolean hasAnyCall(List<Elevator> elevators) {
+        return elevators.stream()
+                .anyMatch(elevator -> !elevator.getTargetFloors().isEmpty()
+                        || !elevator.getTargetFloorsOtherDirection().isEmpty());
+    }
+
+    private void assertSameElevatorsState(List<Elevator> expected, List<Elevator> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getCurrentFloor(), actual.get(i).getCurrentFloor());
+            assertEquals(expected.get(i).getCurrentDirection(), actual.get(i).getCurrentDirection());
+            assertEquals(expected.get(i).getTargetFloors(), actual.get(i).getTargetFloors());
+            assertEquals(expected.get(i).getTargetFloorsOtherDirection(), actual.get(i).getTargetFloorsOtherDirection());
+        }
+    }
+}
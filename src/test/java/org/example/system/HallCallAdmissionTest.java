@@ -0,0 +1,146 @@
+package org.example.system;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.DispatchMode;
+import org.example.model.Elevator;
+import org.example.model.OverloadPolicy;
+import org.example.service.ElevatorServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HallCallAdmissionTest {
+    private final ElevatorsConfig elevatorsConfig = new ElevatorsConfig(0, 0, 20);
+
+    @Test
+    void repeatedCallIsCoalescedOntoAssignedElevator() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(0),
+                ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = createSystem(elevators, 0, OverloadPolicy.SHED);
+
+        // when
+        Elevator first = elevatorSystem.pickup(5, Direction.UP);
+        Elevator second = elevatorSystem.pickup(5, Direction.UP);
+        Elevator third = elevatorSystem.pickup(5, Direction.UP, 9);
+
+        // then
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals(2, elevatorSystem.getHallCallCounters().getCoalescedCalls());
+        assertEquals(1, elevators.stream().filter(elevator -> !elevator.getTargetFloors().isEmpty()).count());
+        assertEquals(1, elevatorSystem.getPendingCalls());
+    }
+
+    @Test
+    void callIsDispatchedAgainAfterItHasBeenServed() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = createSystem(elevators, 0, OverloadPolicy.SHED);
+        elevatorSystem.pickup(3, Direction.UP);
+        elevatorSystem.runUntilIdle();
+
+        // when
+        Elevator elevator = elevatorSystem.pickup(3, Direction.UP);
+
+        // then
+        assertSame(elevators.get(0), elevator);
+        assertEquals(0, elevatorSystem.getHallCallCounters().getCoalescedCalls());
+        assertTrue(elevator.getTargetFloors().contains(3) || elevator.getTargetFloorsOtherDirection().contains(3));
+    }
+
+    @Test
+    void callIsNotCoalescedOntoElevatorWhichHasStoppedOnTheFloor() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(20));
+        ElevatorSystem elevatorSystem = createSystem(elevators, 0, OverloadPolicy.SHED);
+        Elevator first = elevatorSystem.pickup(5, Direction.UP, 9);
+        for (int i = 0; i < 6; i++) {
+            elevatorSystem.step();
+        }
+        elevatorSystem.selectFloor(first, 5);
+
+        // when
+        final int pendingCalls = elevatorSystem.getPendingCalls();
+        elevatorSystem.pickup(5, Direction.UP);
+
+        // then
+        assertEquals(6, first.getCurrentFloor());
+        assertEquals(0, pendingCalls);
+        assertEquals(0, elevatorSystem.getHallCallCounters().getCoalescedCalls());
+        assertEquals(1, elevatorSystem.getPendingCalls());
+    }
+
+    @Test
+    void callIsDispatchedAgainWhenUpdateRemovesItsFloor() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = createSystem(elevators, 0, OverloadPolicy.SHED);
+        Elevator first = elevatorSystem.pickup(5, Direction.UP);
+
+        // when
+        elevatorSystem.updateElevator(first.getId(), null, new int[]{3});
+        Elevator second = elevatorSystem.pickup(5, Direction.UP);
+
+        // then
+        assertSame(first, second);
+        assertEquals(0, elevatorSystem.getHallCallCounters().getCoalescedCalls());
+        assertTrue(second.getTargetFloors().contains(5) || second.getTargetFloorsOtherDirection().contains(5));
+    }
+
+    @Test
+    void callsOverLimitAreShed() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = createSystem(elevators, 2, OverloadPolicy.SHED);
+        elevatorSystem.pickup(5, Direction.UP);
+        elevatorSystem.pickup(6, Direction.DOWN);
+
+        // when
+        Elevator shed = elevatorSystem.pickup(7, Direction.UP);
+        Elevator coalesced = elevatorSystem.pickup(5, Direction.UP);
+        elevatorSystem.runUntilIdle();
+        Elevator afterServed = elevatorSystem.pickup(7, Direction.UP);
+
+        // then
+        assertNull(shed);
+        assertNotNull(coalesced);
+        assertNotNull(afterServed);
+        assertEquals(1, elevatorSystem.getHallCallCounters().getShedCalls());
+        assertEquals(1, elevatorSystem.getHallCallCounters().getCoalescedCalls());
+        assertEquals(0, elevatorSystem.getQueuedCalls());
+    }
+
+    @Test
+    void queuedCallsAreDispatchedWhenPendingCallsAreServed() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = createSystem(elevators, 1, OverloadPolicy.QUEUE);
+        elevatorSystem.pickup(5, Direction.UP, 8);
+
+        // when
+        Elevator queued = elevatorSystem.pickup(6, Direction.UP, 9);
+        elevatorSystem.pickup(6, Direction.UP, 9);
+        final int queuedCalls = elevatorSystem.getQueuedCalls();
+        elevatorSystem.runUntilIdle();
+
+        // then
+        assertNull(queued);
+        assertEquals(1, queuedCalls);
+        assertEquals(0, elevatorSystem.getQueuedCalls());
+        assertEquals(0, elevatorSystem.getPendingCalls());
+        assertEquals(1, elevatorSystem.getHallCallCounters().getQueuedCalls());
+        assertEquals(1, elevatorSystem.getHallCallCounters().getCoalescedCalls());
+        assertEquals(0, elevatorSystem.getHallCallCounters().getShedCalls());
+        assertTrue(elevators.stream().anyMatch(elevator -> elevator.getCurrentFloor() == 9));
+    }
+
+    private ElevatorSystem createSystem(List<Elevator> elevators, int maxPendingCalls, OverloadPolicy overloadPolicy) {
+        return new ElevatorSystemImpl(new ElevatorServiceImpl(() -> elevators, this.elevatorsConfig),
+                DispatchMode.DIRECTION, Integer.MAX_VALUE, maxPendingCalls, overloadPolicy);
+    }
+}
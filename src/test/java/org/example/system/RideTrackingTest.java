@@ -0,0 +1,180 @@
+package org.example.system;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.DispatchMode;
+import org.example.model.Elevator;
+import org.example.model.OverloadPolicy;
+import org.example.repository.IndexedElevatorRepository;
+import org.example.service.ActiveElevators;
+import org.example.service.ElevatorService;
+import org.example.service.ElevatorServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RideTrackingTest {
+    private final ElevatorsConfig elevatorsConfig = new ElevatorsConfig(0, 0, 20);
+
+    @Test
+    void pickupArrivalCompletesInStepInWhichElevatorStops() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(createService(elevators));
+
+        // when
+        CompletableFuture<Elevator> arrival = elevatorSystem.pickupAsync(3, Direction.UP);
+        elevatorSystem.step();
+        elevatorSystem.step();
+        final boolean isDoneBeforeArrival = arrival.isDone();
+        elevatorSystem.step();
+
+        // then
+        assertFalse(isDoneBeforeArrival);
+        assertSame(elevators.get(0), arrival.getNow(null));
+        assertEquals(3, elevators.get(0).getCurrentFloor());
+    }
+
+    @Test
+    void targetArrivalCompletesAfterPickupArrival() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(10));
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(createService(elevators));
+        AtomicLong pickupStep = new AtomicLong();
+        AtomicLong targetStep = new AtomicLong();
+
+        // when
+        Ride ride = elevatorSystem.pickupAsync(2, Direction.UP, 7);
+        ride.getPickupArrival().thenRun(() -> pickupStep.set(elevatorSystem.getStepNumber()));
+        ride.getTargetArrival().thenRun(() -> targetStep.set(elevatorSystem.getStepNumber()));
+        elevatorSystem.runUntilIdle();
+
+        // then
+        assertSame(elevators.get(0), ride.getElevator());
+        assertEquals(2, pickupStep.get());
+        assertEquals(7, targetStep.get());
+        assertSame(elevators.get(0), ride.getTargetArrival().join());
+    }
+
+    @Test
+    void targetArrivalCompletesInDestinationDispatchMode() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(0));
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(createService(elevators), DispatchMode.DESTINATION, 4);
+
+        // when
+        Ride firstRide = elevatorSystem.pickupAsync(1, Direction.UP, 6);
+        Ride secondRide = elevatorSystem.pickupAsync(4, Direction.DOWN, 0);
+        elevatorSystem.runUntilIdle();
+
+        // then
+        assertSame(firstRide.getElevator(), firstRide.getTargetArrival().join());
+        assertSame(secondRide.getElevator(), secondRide.getTargetArrival().join());
+        assertTrue(firstRide.getPickupArrival().isDone());
+        assertTrue(secondRide.getPickupArrival().isDone());
+    }
+
+    @Test
+    void rideIsCancelledWhenCallIsDroppedOrElevatorRemoved() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(20));
+        ElevatorService elevatorService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators), this.elevatorsConfig);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService);
+        Ride droppedRide = elevatorSystem.pickupAsync(5, Direction.UP, 8);
+        Ride removedRide = elevatorSystem.pickupAsync(15, Direction.DOWN, 12);
+
+        // when
+        elevatorSystem.updateElevator(droppedRide.getElevator().getId(), null, new int[0]);
+        elevatorService.removeElevator(removedRide.getElevator().getId());
+        elevatorSystem.step();
+
+        // then
+        assertTrue(droppedRide.getPickupArrival().isCancelled());
+        assertTrue(droppedRide.getTargetArrival().isCancelled());
+        assertTrue(removedRide.getPickupArrival().isCancelled());
+        assertTrue(removedRide.getTargetArrival().isCancelled());
+    }
+
+    @Test
+    void rideBoardedOnOtherElevatorIsKeptWhenAssignedElevatorIsRemoved() {
+        // given
+        List<Elevator> elevators = new ArrayList<>(List.of(ElevatorFactory.createElevator(3), ElevatorFactory.createElevator(0)));
+        ElevatorService elevatorService = new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators), this.elevatorsConfig);
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(elevatorService);
+        Elevator assignedElevator = elevators.get(0);
+        Elevator otherElevator = elevators.get(1);
+        Ride ride = elevatorSystem.pickupAsync(2, Direction.UP, 7);
+        elevatorSystem.updateElevator(assignedElevator.getId(), 10, null);
+        elevatorSystem.updateElevator(otherElevator.getId(), null, new int[]{2});
+        elevatorSystem.step();
+        elevatorSystem.step();
+
+        // when
+        elevatorService.removeElevator(assignedElevator.getId());
+        elevatorSystem.runUntilIdle();
+
+        // then
+        assertSame(assignedElevator, ride.getElevator());
+        assertSame(otherElevator, ride.getPickupArrival().join());
+        assertSame(otherElevator, ride.getTargetArrival().join());
+    }
+
+    @Test
+    void cancelledRidesAreNotTracked() {
+        // given
+        RideTracker rideTracker = new RideTracker();
+        Elevator droppingElevator = ElevatorFactory.createElevator(0);
+        Elevator removedElevator = ElevatorFactory.createElevator(0);
+        removedElevator.addTargetFloor(4);
+        ActiveElevators activeElevators = new ActiveElevators();
+        activeElevators.sync(List.of(droppingElevator));
+        Ride droppedRide = new Ride(5, Direction.UP, 8);
+        Ride removedRide = new Ride(4, Direction.DOWN, 1);
+        rideTracker.track(droppedRide, droppingElevator);
+        rideTracker.track(removedRide, removedElevator);
+
+        // when
+        rideTracker.onElevatorStep(droppingElevator, null, false);
+        rideTracker.cancelRidesOfRemovedElevators(activeElevators);
+
+        // then
+        assertTrue(droppedRide.getTargetArrival().isCancelled());
+        assertTrue(removedRide.getTargetArrival().isCancelled());
+        assertTrue(rideTracker.isEmpty());
+    }
+
+    @Test
+    void shedRideIsCancelledAndQueuedRideArrivesLater() {
+        // given
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorSystem sheddingSystem = new ElevatorSystemImpl(createService(elevators),
+                DispatchMode.DIRECTION, Integer.MAX_VALUE, 1, OverloadPolicy.SHED);
+        List<Elevator> otherElevators = List.of(ElevatorFactory.createElevator(0));
+        ElevatorSystem queueingSystem = new ElevatorSystemImpl(createService(otherElevators),
+                DispatchMode.DIRECTION, Integer.MAX_VALUE, 1, OverloadPolicy.QUEUE);
+
+        // when
+        sheddingSystem.pickupAsync(3, Direction.UP);
+        CompletableFuture<Elevator> shed = sheddingSystem.pickupAsync(6, Direction.UP);
+        queueingSystem.pickupAsync(3, Direction.UP);
+        Ride queued = queueingSystem.pickupAsync(6, Direction.UP, 9);
+        final Elevator elevatorWhileQueued = queued.getElevator();
+        queueingSystem.runUntilIdle();
+
+        // then
+        assertTrue(shed.isCancelled());
+        assertNull(elevatorWhileQueued);
+        assertSame(otherElevators.get(0), queued.getPickupArrival().join());
+        assertSame(otherElevators.get(0), queued.getTargetArrival().join());
+    }
+
+    private ElevatorService createService(List<Elevator> elevators) {
+        return new ElevatorServiceImpl(() -> elevators, this.elevatorsConfig);
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.system;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.DispatchMode;
+import org.example.model.Elevator;
+import org.example.repository.IndexedElevatorRepository;
+import org.example.service.ElevatorServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepAllocationTest {
+    private final static int MIN_FLOOR = -2;
+    private final static int MAX_FLOOR = 300;
+    private final static int WARMUP_STEPS = 60_000;
+    private final static int MEASURED_STEPS = 5_000;
+    private final static int MEASUREMENTS = 3;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void stepAndPickupDoNotAllocateInSteadyState() {
+        // given
+        assumeAllocationMeasurementSupported();
+        ElevatorSystem elevatorSystem = createSystem(8, DispatchMode.DIRECTION);
+        int[] calls = createCalls(4_096, 11L);
+
+        // when, then
+        assertNoAllocationsAfterWarmUp(elevatorSystem, calls, this::stepWithCall);
+    }
+
+    @Test
+    void stepAndHallCallPickupDoNotAllocateInSteadyState() {
+        // given
+        assumeAllocationMeasurementSupported();
+        ElevatorSystem elevatorSystem = createSystem(8, DispatchMode.DIRECTION);
+        int[] calls = createCalls(4_096, 12L);
+
+        // when, then
+        assertNoAllocationsAfterWarmUp(elevatorSystem, calls, this::stepWithHallCall);
+    }
+
+    @Test
+    void stepAndDestinationPickupDoNotAllocateInSteadyState() {
+        // given
+        assumeAllocationMeasurementSupported();
+        ElevatorSystem elevatorSystem = createSystem(8, DispatchMode.DESTINATION);
+        int[] calls = createCalls(4_096, 13L);
+
+        // when, then
+        assertNoAllocationsAfterWarmUp(elevatorSystem, calls, this::stepWithCall);
+    }
+
+    /**
+     * Does `WARMUP_STEPS` steps with calls, then checks that none of `MEASUREMENTS` windows of `MEASURED_STEPS` steps allocates.
+     */
+    private void assertNoAllocationsAfterWarmUp(ElevatorSystem elevatorSystem, int[] calls, CallStep callStep) {
+        int callIndex = 0;
+        for (int step = 0; step < WARMUP_STEPS; step++) {
+            callIndex = callStep.step(elevatorSystem, calls, callIndex);
+        }
+
+        for (int measurement = 0; measurement < MEASUREMENTS; measurement++) {
+            final long allocatedBytesBefore = getAllocatedBytes();
+            for (int step = 0; step < MEASURED_STEPS; step++) {
+                callIndex = callStep.step(elevatorSystem, calls, callIndex);
+            }
+            final long allocatedBytes = getAllocatedBytes() - allocatedBytesBefore - getMeasurementOverhead();
+
+            assertTrue(allocatedBytes <= 0, "Measurement %d: %d steps allocated %d bytes"
+                    .formatted(measurement, MEASURED_STEPS, allocatedBytes));
+        }
+    }
+
+    private int stepWithCall(ElevatorSystem elevatorSystem, int[] calls, int callIndex) {
+        final int pickupFloor = calls[callIndex];
+        final int targetFloor = calls[callIndex + 1];
+        elevatorSystem.pickup(pickupFloor, Direction.getDirectionByFloors(pickupFloor, targetFloor), targetFloor);
+        elevatorSystem.step();
+        return (callIndex + 2) % calls.length;
+    }
+
+    private int stepWithHallCall(ElevatorSystem elevatorSystem, int[] calls, int callIndex) {
+        final int pickupFloor = calls[callIndex];
+        final int targetFloor = calls[callIndex + 1];
+        elevatorSystem.pickup(pickupFloor, Direction.getDirectionByFloors(pickupFloor, targetFloor));
+        elevatorSystem.step();
+        return (callIndex + 2) % calls.length;
+    }
+
+    private ElevatorSystem createSystem(int numberOfElevators, DispatchMode dispatchMode) {
+        ElevatorsConfig elevatorsConfig = new ElevatorsConfig(numberOfElevators, MIN_FLOOR, MAX_FLOOR);
+        List<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < numberOfElevators; i++) {
+            Elevator elevator = ElevatorFactory.createElevator(i * MAX_FLOOR / numberOfElevators);
+            growTargetFloors(elevator);
+            elevators.add(elevator);
+        }
+        return new ElevatorSystemImpl(new ElevatorServiceImpl(new IndexedElevatorRepository(() -> elevators), elevatorsConfig),
+                dispatchMode, 8);
+    }
+
+    /**
+     * `FloorSet` allocates when it grows, and target sets of an elevator keep growing while new peaks of calls
+     * come during the whole run. So they are grown to the whole floor range up front, and measured windows show
+     * allocations of steps only.
+     */
+    private void growTargetFloors(Elevator elevator) {
+        for (int floor = MIN_FLOOR; floor <= MAX_FLOOR; floor++) {
+            elevator.addTargetFloor(floor);
+            elevator.addTargetFloorInOtherDirection(floor);
+        }
+        elevator.getTargetFloors().clear();
+        elevator.getTargetFloorsOtherDirection().clear();
+    }
+
+    private int[] createCalls(int numberOfCalls, long seed) {
+        Random random = new Random(seed);
+        int[] calls = new int[numberOfCalls * 2];
+        for (int i = 0; i < calls.length; i += 2) {
+            calls[i] = MIN_FLOOR + random.nextInt(MAX_FLOOR - MIN_FLOOR + 1);
+            do {
+                calls[i + 1] = MIN_FLOOR + random.nextInt(MAX_FLOOR - MIN_FLOOR + 1);
+            } while (calls[i + 1] == calls[i]);
+        }
+        return calls;
+    }
+
+    private long getAllocatedBytes() {
+        return this.threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private long getMeasurementOverhead() {
+        final long allocatedBytesBefore = getAllocatedBytes();
+        return getAllocatedBytes() - allocatedBytesBefore;
+    }
+
+    private void assumeAllocationMeasurementSupported() {
+        org.junit.jupiter.api.Assumptions.assumeTrue(this.threadMXBean.isThreadAllocatedMemorySupported()
+                && this.threadMXBean.isThreadAllocatedMemoryEnabled());
+    }
+
+    private interface CallStep {
+        int step(ElevatorSystem elevatorSystem, int[] calls, int callIndex);
+    }
+}
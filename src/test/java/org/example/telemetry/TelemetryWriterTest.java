@@ -0,0 +1,142 @@
+package org.example.telemetry;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeRowOfEveryElevatorInEveryStep() throws IOException {
+        // given
+        Path file = this.tempDir.resolve("run.telemetry");
+        List<Elevator> elevators = List.of(
+                ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(5), ElevatorFactory.createElevator(10));
+        ElevatorSystem elevatorSystem = new ElevatorSystemImpl(new ElevatorServiceImpl(() -> elevators, new ElevatorsConfig(3, 0, 10)));
+        TelemetryWriter telemetryWriter = new TelemetryWriter(file, 7);
+        elevatorSystem.addListener(telemetryWriter);
+
+        // when
+        elevatorSystem.pickup(2, Direction.UP, 8);
+        elevatorSystem.pickup(9, Direction.DOWN, 1);
+        for (int step = 0; step < 20; step++) {
+            elevatorSystem.step();
+        }
+        telemetryWriter.close();
+
+        // then
+        int rows = 0;
+        int boardings = 0;
+        long lastStepNumber = 0;
+        try (TelemetryReader reader = new TelemetryReader(file)) {
+            TelemetryBlock block;
+            while ((block = reader.readBlock()) != null) {
+                assertTrue(block.getRows() <= 7);
+                for (int row = 0; row < block.getRows(); row++) {
+                    Elevator elevator = elevators.get(rows % 3);
+                    assertEquals(elevator.getId(), block.getElevatorId(row));
+                    assertTrue(block.getStepNumber(row) >= lastStepNumber);
+                    lastStepNumber = block.getStepNumber(row);
+                    if (lastStepNumber == 20) {
+                        assertEquals(elevator.getCurrentFloor(), block.getFloor(row));
+                        assertEquals(elevator.getCurrentDirection().mapDirectionToValue(), block.getDirectionValue(row));
+                        assertEquals(elevator.getTargetFloors().size(), block.getTargets(row));
+                    }
+                    boardings += block.getBoardings(row);
+                    rows++;
+                }
+            }
+        }
+        assertEquals(60, rows);
+        assertEquals(60, telemetryWriter.getWrittenRows());
+        assertEquals(20, lastStepNumber);
+        assertEquals(2, boardings);
+    }
+
+    @Test
+    void keepBoardingsOfEveryElevatorInLargeFleet() throws IOException {
+        // given
+        Path file = this.tempDir.resolve("large.telemetry");
+        List<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            elevators.add(ElevatorFactory.createElevator(0));
+        }
+        TelemetryWriter telemetryWriter = new TelemetryWriter(file);
+
+        // when
+        for (Elevator elevator : elevators) {
+            telemetryWriter.onBoarding(1, elevator, 1);
+        }
+        telemetryWriter.write(1, elevators);
+        telemetryWriter.close();
+
+        // then
+        int boardings = 0;
+        try (TelemetryReader reader = new TelemetryReader(file)) {
+            TelemetryBlock block;
+            while ((block = reader.readBlock()) != null) {
+                for (int row = 0; row < block.getRows(); row++) {
+                    boardings += block.getBoardings(row);
+                }
+            }
+        }
+        assertEquals(200, boardings);
+    }
+
+    @Test
+    void streamMillionRowsInBlocksAndPrintThemAsCsv() throws IOException {
+        // given
+        Path file = this.tempDir.resolve("long.telemetry");
+        List<Elevator> elevators = List.of(ElevatorFactory.createElevator(0), ElevatorFactory.createElevator(3),
+                ElevatorFactory.createElevator(6), ElevatorFactory.createElevator(9));
+        elevators.get(0).addTargetFloor(10);
+
+        // when
+        try (TelemetryWriter telemetryWriter = new TelemetryWriter(file)) {
+            for (long step = 1; step <= 250_000; step++) {
+                telemetryWriter.write(step, elevators);
+            }
+        }
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        try (TelemetryReader reader = new TelemetryReader(file)) {
+            reader.writeCsv(new PrintStream(csv));
+        }
+
+        // then
+        int blocks = (1_000_000 + TelemetryWriter.DEFAULT_BLOCK_ROWS - 1) / TelemetryWriter.DEFAULT_BLOCK_ROWS;
+        assertEquals(TelemetryLayout.FILE_HEADER_SIZE + blocks * TelemetryLayout.BLOCK_HEADER_SIZE
+                + 1_000_000L * TelemetryLayout.ROW_SIZE, Files.size(file));
+        String[] lines = csv.toString().split("\n");
+        assertEquals(TelemetryReader.CSV_HEADER, lines[0]);
+        assertEquals("250000,%d,0,0,1,0,0".formatted(elevators.get(0).getId()), lines[lines.length - 4]);
+    }
+
+    @Test
+    void rejectFileOfOtherFormat() throws IOException {
+        // given
+        Path file = this.tempDir.resolve("other.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> new TelemetryReader(file));
+    }
+}
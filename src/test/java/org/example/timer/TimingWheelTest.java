@@ -0,0 +1,123 @@
+package org.example.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void expireTimersExactlyInTheirStep() {
+        // given
+        TimingWheel wheel = new TimingWheel(0);
+        Random random = new Random(5L);
+        List<long[]> expirations = new ArrayList<>();
+        long[] deadlines = new long[20_000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = random.nextInt(4) == 0 ? 1 + (random.nextLong() >>> 20) : 1 + random.nextInt(300_000);
+            final long deadline = deadlines[i];
+            wheel.schedule(deadline, step -> expirations.add(new long[]{deadline, step}));
+        }
+
+        // when
+        long step = 0;
+        while (wheel.size() > 0) {
+            step = random.nextBoolean() ? step + 1 + random.nextInt(5_000) : wheel.getNextEventStep() + random.nextInt(3);
+            wheel.advanceTo(step);
+        }
+
+        // then
+        Arrays.sort(deadlines);
+        assertEquals(deadlines.length, expirations.size());
+        for (int i = 0; i < deadlines.length; i++) {
+            assertEquals(deadlines[i], expirations.get(i)[0]);
+            assertEquals(deadlines[i], expirations.get(i)[1]);
+        }
+    }
+
+    @Test
+    void cancelledTimersDoNotExpire() {
+        // given
+        TimingWheel wheel = new TimingWheel(100);
+        int[] expired = new int[1];
+        List<ScheduledTimer> timers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            timers.add(wheel.schedule(101 + i * 37L, step -> expired[0]++));
+        }
+
+        // when
+        for (int i = 0; i < timers.size(); i += 2) {
+            assertTrue(timers.get(i).cancel());
+        }
+        final int pending = wheel.size();
+        final int expiredTimers = wheel.advanceTo(1_000_000);
+
+        // then
+        assertEquals(500, pending);
+        assertEquals(500, expiredTimers);
+        assertEquals(500, expired[0]);
+        assertEquals(0, wheel.size());
+        assertFalse(timers.get(0).cancel());
+        assertTrue(timers.get(0).isCancelled());
+        assertTrue(timers.get(1).isExpired());
+        assertEquals(Long.MAX_VALUE, wheel.getNextEventStep());
+    }
+
+    @Test
+    void actionsCanScheduleAndCancelTimers() {
+        // given
+        TimingWheel wheel = new TimingWheel(0);
+        List<String> events = new ArrayList<>();
+        ScheduledTimer[] cancelled = new ScheduledTimer[1];
+        wheel.schedule(10, step -> {
+            events.add("first " + step);
+            cancelled[0].cancel();
+            wheel.schedule(step, next -> events.add("rescheduled " + next));
+            wheel.schedule(step + 100, next -> events.add("later " + next));
+        });
+        cancelled[0] = wheel.schedule(10, step -> events.add("cancelled " + step));
+
+        // when
+        wheel.advanceTo(10);
+        final List<String> eventsInStep = new ArrayList<>(events);
+        wheel.advanceTo(500);
+
+        // then
+        assertEquals(List.of("first 10"), eventsInStep);
+        assertEquals(List.of("first 10", "rescheduled 11", "later 110"), events);
+    }
+
+    @Test
+    void expireMillionsOfPendingTimers() {
+        // given
+        final int numberOfTimers = 2_000_000;
+        TimingWheel wheel = new TimingWheel(0);
+        Random random = new Random(9L);
+        long[] lastExpiredDeadline = {0};
+        int[] outOfOrder = {0};
+        for (int i = 0; i < numberOfTimers; i++) {
+            final long deadline = 1 + random.nextInt(10_000_000);
+            wheel.schedule(deadline, step -> {
+                if (step != deadline || deadline < lastExpiredDeadline[0]) {
+                    outOfOrder[0]++;
+                }
+                lastExpiredDeadline[0] = deadline;
+            });
+        }
+
+        // when
+        int expiredTimers = 0;
+        for (long step = 1_000; step <= 10_000_000; step += 1_000) {
+            expiredTimers += wheel.advanceTo(step);
+        }
+
+        // then
+        assertEquals(numberOfTimers, expiredTimers);
+        assertEquals(0, outOfOrder[0]);
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.trace;
+
+import org.example.config.ElevatorsConfig;
+import org.example.factory.ElevatorFactory;
+import org.example.model.Direction;
+import org.example.model.Elevator;
+import org.example.service.ElevatorServiceImpl;
+import org.example.system.ElevatorSystem;
+import org.example.system.ElevatorSystemImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceReaderTest {
+    private final static int STEPS = 3_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void seekToAnyStepOfRecordedRun() throws IOException {
+        // given
+        Path file = this.tempDir.resolve("run.trace");
+        List<Elevator> elevators = createElevators(6);
+        ElevatorSystem elevatorSystem = createSystem(elevators);
+        List<String> expectedStates = recordRun(elevatorSystem, elevators, file, 100);
+
+        // when
+        try (TraceReader traceReader = new TraceReader(file)) {
+            // then
+            assertEquals(0, traceReader.getFirstStepNumber());
+            assertEquals(STEPS, traceReader.getLastStepNumber());
+            assertEquals(STEPS / 100 + 1, traceReader.getNumberOfKeyframes());
+            Random random = new Random(5);
+            for (int i = 0; i < 200; i++) {
+                int stepNumber = random.nextInt(STEPS + 1);
+                assertEquals(expectedStates.get(stepNumber), describe(traceReader.seek(stepNumber)), "step " + stepNumber);
+            }
+            assertEquals(expectedStates.get(STEPS), describe(traceReader.seek(STEPS + 100)));
+        }
+    }
+
+    @Test
+    void readFramesInOrderAndKeepFileSmall() throws IOException {
+        // given
+        Path file = this.tempDir.resolve("run.trace");
+        List<Elevator> elevators = createElevators(6);
+        List<String> expectedStates = recordRun(createSystem(elevators), elevators, file, TraceWriter.DEFAULT_KEYFRAME_INTERVAL);
+
+        // when
+        List<Long> frameSteps = new ArrayList<>();
+        try (TraceReader traceReader = new TraceReader(file)) {
+            while (traceReader.next()) {
+                TraceState state = traceReader.getState();
+                frameSteps.add(state.getStepNumber());
+                assertEquals(expectedStates.get((int) state.getStepNumber()), describe(state));
+            }
+        }
+
+        // then
+        for (int i = 1; i < frameSteps.size(); i++) {
+            assertTrue(frameSteps.get(i) > frameSteps.get(i - 1));
+        }
+        assertTrue(Files.size(file) < 2L * STEPS * elevators.size(), "trace has %d bytes".formatted(Files.size(file)));
+    }
+
+    @Test
+    void writeKeyframeWhenElevatorsChange() throws IOException {
+        // given
+        Path file = this.tempDir.resolve("fleet.trace");
+        List<Elevator> elevators = createElevators(3);
+
+        // when
+        try (TraceWriter traceWriter = new TraceWriter(file, 1000)) {
+            traceWriter.write(1, elevators);
+            traceWriter.write(2, elevators.subList(0, 2));
+            elevators.get(0).setCurrentFloor(4);
+            traceWriter.write(3, elevators.subList(0, 2));
+            traceWriter.write(4, elevators);
+        }
+
+        // then
+        try (TraceReader traceReader = new TraceReader(file)) {
+            assertEquals(3, traceReader.getNumberOfKeyframes());
+            assertEquals(2, traceReader.seek(2).getElevatorCount());
+            assertEquals(0, traceReader.seek(2).getFloor(0));
+            assertEquals(4, traceReader.seek(3).getFloor(0));
+            assertEquals(3, traceReader.seek(4).getElevatorCount());
+        }
+    }
+
+    @Test
+    void replayRecordedStateIntoSystem() throws IOException {
+        // given
+        Path file = this.tempDir.resolve("run.trace");
+        List<Elevator> elevators = createElevators(4);
+        ElevatorSystem elevatorSystem = createSystem(elevators);
+        List<String> expectedStates = recordRun(elevatorSystem, elevators, file, 100);
+        List<Long> viewedSteps = new ArrayList<>();
+
+        // when
+        long frames;
+        try (TraceReader traceReader = new TraceReader(file)) {
+            TraceReplay traceReplay = new TraceReplay(traceReader);
+            frames = traceReplay.replay(1234, 1300, state -> viewedSteps.add(state.getStepNumber()));
+            traceReplay.replay(1500, 1500, TraceReplay.updating(elevatorSystem));
+        }
+
+        // then
+        assertEquals(viewedSteps.size(), frames);
+        assertTrue(viewedSteps.get(0) <= 1234);
+        assertTrue(viewedSteps.get(viewedSteps.size() - 1) <= 1300);
+        for (int i = 0; i < elevators.size(); i++) {
+            Elevator elevator = elevators.get(i);
+            String expectedState = expectedStates.get(1500).split(";")[i];
+            assertEquals(expectedState.split(":")[1], String.valueOf(elevator.getCurrentFloor()));
+        }
+    }
+
+    private List<String> recordRun(ElevatorSystem elevatorSystem, List<Elevator> elevators, Path file, int keyframeInterval) throws IOException {
+        List<String> states = new ArrayList<>();
+        Random random = new Random(17);
+        try (TraceWriter traceWriter = new TraceWriter(file, keyframeInterval)) {
+            traceWriter.write(0, elevators);
+            states.add(describe(elevators));
+            elevatorSystem.addListener(traceWriter);
+            for (int step = 1; step <= STEPS; step++) {
+                if (random.nextInt(4) == 0) {
+                    int pickupFloor = random.nextInt(31);
+                    int targetFloor = random.nextInt(31);
+                    if (pickupFloor != targetFloor) {
+                        elevatorSystem.pickup(pickupFloor, Direction.getDirectionByFloors(pickupFloor, targetFloor), targetFloor);
+                    }
+                }
+                elevatorSystem.step();
+                states.add(describe(elevators));
+            }
+            elevatorSystem.removeListener(traceWriter);
+        }
+        return states;
+    }
+
+    private List<Elevator> createElevators(int numberOfElevators) {
+        List<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < numberOfElevators; i++) {
+            elevators.add(ElevatorFactory.createElevator(i * 5));
+        }
+        return elevators;
+    }
+
+    private ElevatorSystem createSystem(List<Elevator> elevators) {
+        return new ElevatorSystemImpl(new ElevatorServiceImpl(() -> elevators, new ElevatorsConfig(elevators.size(), 0, 30)));
+    }
+
+    private String describe(List<Elevator> elevators) {
+        StringBuilder description = new StringBuilder();
+        for (Elevator elevator : elevators) {
+            description.append(elevator.getId()).append(':').append(elevator.getCurrentFloor()).append(':')
+                    .append(elevator.getCurrentDirection()).append(':').append(elevator.getTargetFloors()).append(':')
+                    .append(elevator.getTargetFloorsOtherDirection()).append(';');
+        }
+        return description.toString();
+    }
+
+    private String describe(TraceState state) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < state.getElevatorCount(); i++) {
+            description.append(state.getId(i)).append(':').append(state.getFloor(i)).append(':')
+                    .append(state.getDirection(i)).append(':').append(state.getTargetFloors(i)).append(':')
+                    .append(state.getTargetFloorsOtherDirection(i)).append(';');
+        }
+        return description.toString();
+    }
+}
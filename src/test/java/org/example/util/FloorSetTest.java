@@ -0,0 +1,54 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloorSetTest {
+
+    @Test
+    void keepFloorsSortedAndUnique() {
+        // given
+        FloorSet floorSet = new FloorSet();
+
+        // when
+        for (int floor : new int[]{7, -2, 300, 7, 0, 12, 1, 5, 9, -1}) {
+            floorSet.add(floor);
+        }
+        floorSet.remove(12);
+        floorSet.remove(Integer.valueOf(1000));
+
+        // then
+        assertEquals(List.of(-2, -1, 0, 1, 5, 7, 9, 300), List.copyOf(floorSet));
+        assertEquals(-2, floorSet.first());
+        assertTrue(floorSet.contains(300));
+        assertFalse(floorSet.contains(12));
+        assertEquals(Set.of(-2, -1, 0, 1, 5, 7, 9, 300), floorSet);
+    }
+
+    @Test
+    void swapAndReuseReleasedSets() {
+        // given
+        FloorSet targetFloors = new FloorSet(Set.of(1, 2));
+        FloorSet targetFloorsOtherDirection = new FloorSet(Set.of(8));
+        FloorSetMap floorSetMap = new FloorSetMap();
+        FloorSet removedSet = floorSetMap.getOrCreate(4);
+        removedSet.add(6);
+
+        // when
+        targetFloors.swap(targetFloorsOtherDirection);
+        floorSetMap.remove(4);
+        FloorSet reusedSet = floorSetMap.getOrCreate(2);
+
+        // then
+        assertEquals(Set.of(8), targetFloors);
+        assertEquals(Set.of(1, 2), targetFloorsOtherDirection);
+        assertSame(removedSet, reusedSet);
+        assertTrue(reusedSet.isEmpty());
+        assertFalse(floorSetMap.containsKey(4));
+        assertEquals(2, floorSetMap.keyAt(0));
+    }
+}